@@ -414,13 +414,9 @@ public class VInjectApplication {
         }
 
         System.out.println("Shutting down VInject application...");
+        long shutdownStart = System.nanoTime();
 
-        // Call all @OnDestroy methods
-        if (dependencyContainer != null) {
-            dependencyContainer.getLifecycleManager().invokeDestroyMethods();
-        }
-
-        // Release dependency container resources
+        // Release dependency container resources, this calls all @OnDestroy methods in reverse dependency order
         if (dependencyContainer != null) {
             dependencyContainer.release();
         }
@@ -437,7 +433,8 @@ public class VInjectApplication {
             }
         }
 
-        System.out.println("VInject application shut down complete.");
+        System.out.println("VInject application shut down complete in " +
+                           TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - shutdownStart) + " ms.");
         // Flush output to ensure messages are printed before JVM exits
         System.out.flush();
         System.err.flush();
@@ -50,6 +50,7 @@ public @interface ArgumentResolver {
     
     /**
      * Priority order for resolution (higher values are checked first).
+     * Resolvers registered for an annotation present on the field or parameter are checked before all others.
      * Built-in resolvers (@Value, @Inject) have priorities 100 and 50 respectively.
      * 
      * @return The priority value (default: 10)
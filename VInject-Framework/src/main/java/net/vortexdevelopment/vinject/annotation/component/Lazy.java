@@ -0,0 +1,22 @@
+package net.vortexdevelopment.vinject.annotation.component;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Defers the creation of a component until it is first needed.
+ * <p>
+ * On a {@link Component} class the container registers a provider instead of an instance. The component is
+ * created exactly once, on the first {@code getDependency} call or when it is injected. Fields declared with an
+ * interface type (for example one listed in {@link Component#registerSubclasses()}) receive a proxy, so the
+ * component is only created on the first method call. Fields declared with the class type create it on injection.
+ * <p>
+ * On a {@link Service} class all of its {@link net.vortexdevelopment.vinject.annotation.Bean} methods become lazy,
+ * on a single {@code @Bean} method only that bean is created lazily.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Lazy {
+}
@@ -8,7 +8,7 @@ import java.lang.annotation.Target;
 /**
  * Annotation for methods that modify entity fields and should track the modification.
  * When a method is annotated with @Cached("fieldName"), the transformer will automatically
- * add code to track that the field has been modified by adding it to the modifiedFields set.
+ * add code to track that the field has been modified by setting its bit in the entity's dirty mask.
  * 
  * Example:
  * <pre>
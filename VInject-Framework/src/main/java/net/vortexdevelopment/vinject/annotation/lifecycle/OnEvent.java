@@ -7,11 +7,102 @@ import java.lang.annotation.Target;
 
 /**
  * Annotation to mark methods that should be triggered on specific events.
- * The value represents the event name, and the events array can specify additional event types.
+ * The value represents the event names, parameters of named listeners are injected from the container.
+ * <p>
+ * Without event names the method is a typed listener: its first parameter declares the event type and it
+ * receives every object passed to {@code EventManager.emitEvent(Object)} that is an instance of that type,
+ * the remaining parameters are injected from the container.
+ * <p>
+ * Listeners run on the emitting thread unless another {@link #mode()} is chosen. Asynchronous listeners
+ * queue events in a bounded queue of {@link #queueCapacity()} entries, {@link #overflow()} decides what
+ * happens when it is full.
+ * <p>
+ * Typed listeners of high-frequency events can {@link #coalesce()} them: events are buffered and delivered
+ * when {@code EventManager.flush()} is called, every {@link #window()} milliseconds, or once
+ * {@link #queueCapacity()} events or keys are buffered.
  */
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
 public @interface OnEvent {
 
-    String[] value();
+    String[] value() default {};
+
+    Mode mode() default Mode.SYNC;
+
+    int queueCapacity() default 1024;
+
+    Overflow overflow() default Overflow.BLOCK;
+
+    /**
+     * Number of ordered lanes for {@link Mode#ORDERED_ASYNC} listeners. Events with the same key always use
+     * the same lane, the key is the event name for named events and {@code KeyedEvent.getEventKey()} for
+     * typed events. With a single lane all events are delivered in emission order.
+     */
+    int lanes() default 1;
+
+    /**
+     * Maximum number of events an {@link Mode#ASYNC} listener handles at the same time, 0 to use the number
+     * of available processors.
+     */
+    int concurrency() default 0;
+
+    Coalesce coalesce() default Coalesce.NONE;
+
+    /**
+     * Flush interval in milliseconds for coalescing listeners, 0 to only flush on {@code EventManager.flush()}.
+     */
+    long window() default 0;
+
+    enum Mode {
+        /**
+         * Invoke the listener on the emitting thread.
+         */
+        SYNC,
+        /**
+         * Invoke the listener on virtual threads, events may be delivered concurrently and out of order.
+         */
+        ASYNC,
+        /**
+         * Invoke the listener off the emitting thread, one event at a time per lane in emission order.
+         */
+        ORDERED_ASYNC
+    }
+
+    enum Coalesce {
+        /**
+         * Deliver every event.
+         */
+        NONE,
+        /**
+         * Deliver only the last event per key since the previous flush, the key is
+         * {@code KeyedEvent.getEventKey()} or the same for all events that are not keyed.
+         */
+        LATEST,
+        /**
+         * Deliver the events since the previous flush as one {@code List}, declared as the first
+         * parameter, for example {@code List<PositionUpdate>}.
+         */
+        BATCH
+    }
+
+    enum Overflow {
+        /**
+         * Block the emitting thread until the queue has room. A listener emitting into its own full queue
+         * handles the event inline for {@link Mode#ASYNC}, and fails for {@link Mode#ORDERED_ASYNC}.
+         */
+        BLOCK,
+        /**
+         * Discard the event being emitted.
+         */
+        DROP_NEWEST,
+        /**
+         * Discard the oldest queued event to make room.
+         */
+        DROP_OLDEST,
+        /**
+         * Invoke the listener on the emitting thread. Ordered listeners use {@link #BLOCK} instead, as running
+         * an event on the emitting thread would overtake the events queued before it.
+         */
+        CALLER_RUNS
+    }
 }
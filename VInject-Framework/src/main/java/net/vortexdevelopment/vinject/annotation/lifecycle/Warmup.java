@@ -0,0 +1,18 @@
+package net.vortexdevelopment.vinject.annotation.lifecycle;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation for methods that warm up a component after the container is wired, for example
+ * preloading caches or scanning directories. All @Warmup methods of the registered components run
+ * concurrently once boot finished, and the {@link net.vortexdevelopment.vinject.di.lifecycle.ReadinessGate}
+ * opens when they are done. The HTTP server waits for the gate before accepting requests.
+ * These methods should return void and can optionally accept parameters for dependency injection.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Warmup {
+}
@@ -1,9 +1,18 @@
 package net.vortexdevelopment.vinject.config;
 
+import net.vortexdevelopment.vinject.config.PropertySnapshot.PropertyKey;
+import org.jetbrains.annotations.Nullable;
+
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.InputStream;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Environment class for reading application properties with support for:
@@ -12,14 +21,35 @@ import java.util.Properties;
  * - application.properties file (lowest priority)
  * 
  * Supports Spring Boot-style property resolution with default values.
+ * Property sources are held in an immutable {@link PropertySnapshot} which {@link #reload()} swaps
+ * atomically. {@code @Value} expressions of injection points are compiled once through {@link #compile},
+ * expressions passed to {@link #resolveProperty} and {@link #resolveValue} are parsed on every call so
+ * dynamic keys are not retained.
  */
 public class Environment {
-    private static Environment instance;
-    private final Properties applicationProperties;
+
+    /**
+     * Interval in milliseconds to check application.properties for changes, disabled when not set.
+     */
+    public static final String REFRESH_INTERVAL_PROPERTY = "vinject.properties.refresh";
+
+    private static final int MAX_CACHED_KEYS = 4096;
+
+    private static volatile Environment instance;
+    private volatile PropertySnapshot snapshot;
+    private final Map<ExpressionKey, ValueExpression> expressions = new ConcurrentHashMap<>();
+    private final Map<String, PropertyKey> propertyKeys = new ConcurrentHashMap<>();
+    private final List<Runnable> reloadListeners = new CopyOnWriteArrayList<>();
+
+    // application.properties values copied into system properties, so a reload can update them
+    private final Map<String, String> exportedProperties = new HashMap<>();
+    @Nullable private File sourceFile;
+    private long sourceLastModified;
+    private boolean refreshThreadStarted;
 
     private Environment() {
-        applicationProperties = new Properties();
-        loadApplicationProperties();
+        snapshot = new PropertySnapshot(1, System.getenv(), loadApplicationProperties());
+        exportSystemProperties(snapshot.getApplicationProperties());
     }
 
     /**
@@ -39,9 +69,7 @@ public class Environment {
     }
 
     /**
-     * Load properties from application.properties file and set them as system properties.
-     * System properties are only set if they don't already exist (to preserve existing values).
-     * This allows non-component classes to access properties via System.getProperty().
+     * Load properties from application.properties file.
      * 
      * <p>Looks for application.properties in the following order:
      * <ol>
@@ -49,8 +77,10 @@ public class Environment {
      *   <li>Classpath resource (src/main/resources/application.properties)</li>
      * </ol>
      */
-    private void loadApplicationProperties() {
+    private Properties loadApplicationProperties() {
+        Properties applicationProperties = new Properties();
         boolean loaded = false;
+        sourceFile = null;
         
         // First, try to load from current working directory
         String workingDir = System.getProperty("user.dir");
@@ -58,6 +88,7 @@ public class Environment {
         if (propertiesFile.exists() && propertiesFile.isFile()) {
             try (FileInputStream fileInputStream = new FileInputStream(propertiesFile)) {
                 applicationProperties.load(fileInputStream);
+                sourceFile = propertiesFile;
                 loaded = true;
             } catch (Exception e) {
                 // Working directory file exists but error reading - try classpath next
@@ -66,26 +97,170 @@ public class Environment {
         
         // If not loaded from working directory, try classpath resource
         if (!loaded) {
-            try (InputStream inputStream = Environment.class.getClassLoader()
-                    .getResourceAsStream("application.properties")) {
+            URL resource = Environment.class.getClassLoader().getResource("application.properties");
+            try (InputStream inputStream = resource != null ? resource.openStream() : null) {
                 if (inputStream != null) {
                     applicationProperties.load(inputStream);
+                    if ("file".equals(resource.getProtocol())) {
+                        sourceFile = new File(resource.toURI());
+                    }
                 }
             } catch (Exception e) {
                 // application.properties not found or error reading - that's okay
                 // Properties can come from environment variables or system properties
             }
         }
-        
-        // Set system properties from application.properties (only if not already set)
-        // This allows non-component classes to use System.getProperty()
-        for (String key : applicationProperties.stringPropertyNames()) {
-            if (System.getProperty(key) == null) {
-                // Only set if not already present, preserving existing system properties
-                System.setProperty(key, applicationProperties.getProperty(key));
+
+        sourceLastModified = sourceFile != null ? sourceFile.lastModified() : 0;
+        return applicationProperties;
+    }
+
+    /**
+     * Set system properties from application.properties (only if not already set).
+     * This allows non-component classes to use System.getProperty(). Values exported by a previous
+     * load are replaced or removed, unless they were changed by the application in the meantime.
+     */
+    private void exportSystemProperties(Map<String, String> applicationProperties) {
+        for (Map.Entry<String, String> exported : exportedProperties.entrySet()) {
+            String key = exported.getKey();
+            if (exported.getValue().equals(System.getProperty(key)) && !applicationProperties.containsKey(key)) {
+                System.clearProperty(key);
+            }
+        }
+
+        Map<String, String> previous = new HashMap<>(exportedProperties);
+        exportedProperties.clear();
+        for (Map.Entry<String, String> entry : applicationProperties.entrySet()) {
+            String key = entry.getKey();
+            String current = System.getProperty(key);
+            // Only set if not already present (or still our own value), preserving existing system properties
+            if (current == null || current.equals(previous.get(key))) {
+                System.setProperty(key, entry.getValue());
+                exportedProperties.put(key, entry.getValue());
             }
         }
     }
+
+    /**
+     * Reload application.properties, swap the property snapshot and notify reload listeners,
+     * which re-inject {@code @Value} fields of the registered components.
+     *
+     * @return The new snapshot
+     */
+    public PropertySnapshot reload() {
+        PropertySnapshot reloaded;
+        synchronized (this) {
+            Properties properties = loadApplicationProperties();
+            reloaded = new PropertySnapshot(snapshot.getVersion() + 1, System.getenv(), properties);
+            exportSystemProperties(reloaded.getApplicationProperties());
+            snapshot = reloaded;
+        }
+        for (Runnable listener : reloadListeners) {
+            try {
+                listener.run();
+            } catch (Exception e) {
+                System.err.println("Error while applying reloaded properties: " + e.getMessage());
+            }
+        }
+        return reloaded;
+    }
+
+    /**
+     * Reload application.properties if the file it was loaded from changed on disk.
+     *
+     * @return true if the properties were reloaded
+     */
+    public boolean reloadIfModified() {
+        synchronized (this) {
+            File file = sourceFile;
+            if (file == null || file.lastModified() == sourceLastModified) {
+                return false;
+            }
+        }
+        reload();
+        return true;
+    }
+
+    /**
+     * Register a listener called after every {@link #reload()}. The first listener starts the thread
+     * checking application.properties for changes if {@code vinject.properties.refresh} is set.
+     */
+    public void addReloadListener(Runnable listener) {
+        reloadListeners.add(listener);
+        synchronized (this) {
+            if (!refreshThreadStarted) {
+                refreshThreadStarted = true;
+                startRefreshThread();
+            }
+        }
+    }
+
+    public void removeReloadListener(Runnable listener) {
+        reloadListeners.remove(listener);
+    }
+
+    /**
+     * Get the current property snapshot.
+     */
+    public PropertySnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Get the compiled form of a {@code @Value} expression, parsing it only on first use.
+     * Meant for the fixed expressions of injection points, as every compiled expression is kept.
+     *
+     * @param expression The property expression (e.g., "${app.timeout:5000}")
+     * @param targetType The type the resolved value is converted to
+     * @return The compiled expression
+     */
+    public ValueExpression compile(String expression, Class<?> targetType) {
+        return expressions.computeIfAbsent(new ExpressionKey(expression, targetType),
+                key -> new ValueExpression(key.expression(), key.targetType()));
+    }
+
+    /**
+     * Resolve a {@code @Value} expression and convert it to the target type.
+     *
+     * @param expression The property expression (e.g., "${app.timeout:5000}")
+     * @param targetType The type to convert to
+     * @return The resolved and converted value
+     */
+    public Object resolveValue(String expression, Class<?> targetType) {
+        return new ValueExpression(expression, targetType).resolve(snapshot);
+    }
+
+    private void startRefreshThread() {
+        String interval = System.getProperty(REFRESH_INTERVAL_PROPERTY);
+        if (interval == null || interval.isBlank()) {
+            return;
+        }
+        long intervalMillis;
+        try {
+            intervalMillis = Long.parseLong(interval.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid " + REFRESH_INTERVAL_PROPERTY + " value: " + interval);
+            return;
+        }
+        if (intervalMillis <= 0) {
+            return;
+        }
+
+        Thread thread = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    Thread.sleep(intervalMillis);
+                    reloadIfModified();
+                } catch (InterruptedException e) {
+                    return;
+                } catch (Exception e) {
+                    System.err.println("Error while checking application.properties for changes: " + e.getMessage());
+                }
+            }
+        }, "vinject-properties-refresh");
+        thread.setDaemon(true);
+        thread.start();
+    }
     
     /**
      * Initialize the Environment early, before dependency injection.
@@ -110,21 +285,15 @@ public class Environment {
             return null;
         }
 
-        // 1. Check environment variables (convert app.name to APP_NAME)
-        String envKey = convertToEnvKey(key);
-        String value = System.getenv(envKey);
-        if (value != null) {
-            return value;
-        }
-
-        // 2. Check system properties
-        value = System.getProperty(key);
-        if (value != null) {
-            return value;
+        // The environment variable form (app.name -> APP_NAME) is computed once per key, up to a bounded number of keys
+        PropertyKey propertyKey = propertyKeys.get(key);
+        if (propertyKey == null) {
+            propertyKey = PropertyKey.of(key);
+            if (propertyKeys.size() < MAX_CACHED_KEYS) {
+                propertyKeys.put(key, propertyKey);
+            }
         }
-
-        // 3. Check application.properties
-        return applicationProperties.getProperty(key);
+        return snapshot.getProperty(propertyKey);
     }
 
     /**
@@ -194,7 +363,8 @@ public class Environment {
 
     /**
      * Resolve a property expression that may contain a default value.
-     * Supports Spring Boot-style syntax: ${property.key:defaultValue}
+     * Supports Spring Boot-style syntax: ${property.key:defaultValue}, placeholders nested in default
+     * values and placeholders mixed with text.
      * 
      * @param expression The property expression (e.g., "${app.name:MyApp}")
      * @return The resolved value
@@ -203,41 +373,9 @@ public class Environment {
         if (expression == null || expression.isEmpty()) {
             return expression;
         }
-
-        // Check if it's a property expression: ${key:default}
-        if (expression.startsWith("${") && expression.endsWith("}")) {
-            String content = expression.substring(2, expression.length() - 1);
-            
-            // Check for default value separator (use first colon to allow colons in default values)
-            int colonIndex = content.indexOf(':');
-            if (colonIndex >= 0) {
-                String key = content.substring(0, colonIndex).trim();
-                String defaultValue = content.substring(colonIndex + 1).trim();
-                return getProperty(key, defaultValue);
-            } else {
-                // No default value
-                String key = content.trim();
-                String value = getProperty(key);
-                if (value == null) {
-                    throw new RuntimeException("Property '" + key + "' not found and no default value provided");
-                }
-                return value;
-            }
-        }
-
-        // Not a property expression, return as-is
-        return expression;
+        return new ValueExpression(expression, String.class).resolveText(snapshot);
     }
 
-    /**
-     * Convert a property key from dot notation to environment variable format.
-     * Example: "app.name" -> "APP_NAME", "database.host" -> "DATABASE_HOST"
-     * 
-     * @param key The property key in dot notation
-     * @return The environment variable key in UPPER_SNAKE_CASE
-     */
-    private String convertToEnvKey(String key) {
-        return key.toUpperCase().replace('.', '_').replace('-', '_');
+    private record ExpressionKey(String expression, Class<?> targetType) {
     }
 }
-
@@ -0,0 +1,81 @@
+package net.vortexdevelopment.vinject.config;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Immutable view of the property sources used by the {@link Environment}.
+ * <p>
+ * Environment variables and the loaded application.properties are captured once, a reload of
+ * application.properties creates a new snapshot which is swapped atomically. System properties
+ * are mutable by design and are therefore still read live on every lookup.
+ */
+public final class PropertySnapshot {
+
+    private final long version;
+    private final Map<String, String> environmentVariables;
+    private final Map<String, String> applicationProperties;
+
+    PropertySnapshot(long version, Map<String, String> environmentVariables, Properties applicationProperties) {
+        this.version = version;
+        this.environmentVariables = environmentVariables;
+        this.applicationProperties = toMap(applicationProperties);
+    }
+
+    /**
+     * Resolve a property with the priority environment variables, system properties, application.properties.
+     *
+     * @param key The precompiled property key
+     * @return The property value, or null if not found
+     */
+    @Nullable
+    public String getProperty(PropertyKey key) {
+        String value = environmentVariables.get(key.environmentName());
+        if (value != null) {
+            return value;
+        }
+        value = System.getProperty(key.name());
+        if (value != null) {
+            return value;
+        }
+        return applicationProperties.get(key.name());
+    }
+
+    /**
+     * Properties loaded from application.properties when this snapshot was created.
+     */
+    public Map<String, String> getApplicationProperties() {
+        return applicationProperties;
+    }
+
+    /**
+     * Increasing number identifying this snapshot, the first snapshot has version 1.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    private static Map<String, String> toMap(Properties properties) {
+        Map<String, String> map = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            map.put(key, properties.getProperty(key));
+        }
+        return Map.copyOf(map);
+    }
+
+    /**
+     * A property name with its environment variable form computed once.
+     *
+     * @param name The property key in dot notation, e.g. "app.name"
+     * @param environmentName The environment variable name, e.g. "APP_NAME"
+     */
+    public record PropertyKey(String name, String environmentName) {
+
+        public static PropertyKey of(String name) {
+            return new PropertyKey(name, name.toUpperCase().replace('.', '_').replace('-', '_'));
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package net.vortexdevelopment.vinject.config;
+
+import net.vortexdevelopment.vinject.config.PropertySnapshot.PropertyKey;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A {@code @Value} expression parsed once and bound to its target type.
+ * <p>
+ * Supports plain text, {@code ${key}}, {@code ${key:default}}, placeholders nested in default values
+ * ({@code ${primary:${fallback:value}}}) and placeholders mixed with text ({@code http://${host}:${port}}).
+ * The last resolved text and its converted value are kept, so re-resolving an unchanged property
+ * does not convert it again. Instances are obtained through {@link Environment#compile}.
+ */
+public final class ValueExpression {
+
+    private final String expression;
+    private final Class<?> targetType;
+    private final Part[] parts;
+    @Nullable private final Function<String, Object> converter;
+    @Nullable private volatile Conversion lastConversion;
+
+    ValueExpression(String expression, Class<?> targetType) {
+        this.expression = expression;
+        this.targetType = targetType;
+        this.parts = parse(expression);
+        this.converter = converterFor(targetType);
+    }
+
+    /**
+     * Resolve the expression against the given snapshot and convert it to the target type.
+     *
+     * @param snapshot The property sources to resolve placeholders from
+     * @return The converted value
+     */
+    public Object resolve(PropertySnapshot snapshot) {
+        String text = resolveText(snapshot);
+
+        Conversion conversion = lastConversion;
+        if (conversion != null && conversion.text().equals(text)) {
+            return conversion.value();
+        }
+
+        if (converter == null) {
+            throw new RuntimeException("Unsupported type for @Value injection: " + targetType.getName() +
+                                       " for expression: " + expression);
+        }
+        Object value;
+        try {
+            value = converter.apply(text);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Cannot convert property value '" + text + "' to " +
+                                       targetType.getSimpleName() + " for expression: " + expression, e);
+        }
+        lastConversion = new Conversion(text, value);
+        return value;
+    }
+
+    /**
+     * Resolve the placeholders of the expression without converting the result.
+     *
+     * @param snapshot The property sources to resolve placeholders from
+     * @return The resolved text
+     */
+    public String resolveText(PropertySnapshot snapshot) {
+        if (parts.length == 1) {
+            return parts[0].resolve(snapshot);
+        }
+        StringBuilder builder = new StringBuilder();
+        for (Part part : parts) {
+            builder.append(part.resolve(snapshot));
+        }
+        return builder.toString();
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    public Class<?> getTargetType() {
+        return targetType;
+    }
+
+    @Nullable
+    private static Function<String, Object> converterFor(Class<?> type) {
+        return switch (type.getName()) {
+            case "java.lang.String" -> text -> text;
+            case "int", "java.lang.Integer" -> Integer::parseInt;
+            case "long", "java.lang.Long" -> Long::parseLong;
+            case "boolean", "java.lang.Boolean" -> Boolean::parseBoolean;
+            case "double", "java.lang.Double" -> Double::parseDouble;
+            case "float", "java.lang.Float" -> Float::parseFloat;
+            default -> null;
+        };
+    }
+
+    private static Part[] parse(String text) {
+        List<Part> parts = new ArrayList<>();
+        int literalStart = 0;
+        int index = text.indexOf("${");
+        while (index >= 0) {
+            int end = findClosingBrace(text, index + 2);
+            if (end < 0) {
+                break;
+            }
+            if (index > literalStart) {
+                parts.add(new Literal(text.substring(literalStart, index)));
+            }
+            parts.add(parsePlaceholder(text.substring(index + 2, end)));
+            literalStart = end + 1;
+            index = text.indexOf("${", literalStart);
+        }
+        if (literalStart < text.length() || parts.isEmpty()) {
+            parts.add(new Literal(text.substring(literalStart)));
+        }
+        return parts.toArray(new Part[0]);
+    }
+
+    private static Placeholder parsePlaceholder(String content) {
+        // The first colon separates key and default, so the default value may contain colons
+        int colonIndex = content.indexOf(':');
+        if (colonIndex < 0) {
+            return new Placeholder(PropertyKey.of(content.trim()), null);
+        }
+        String key = content.substring(0, colonIndex).trim();
+        String defaultValue = content.substring(colonIndex + 1).trim();
+        return new Placeholder(PropertyKey.of(key), parse(defaultValue));
+    }
+
+    private static int findClosingBrace(String text, int from) {
+        int depth = 0;
+        for (int i = from; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '$' && i + 1 < text.length() && text.charAt(i + 1) == '{') {
+                depth++;
+                i++;
+            } else if (c == '}') {
+                if (depth == 0) {
+                    return i;
+                }
+                depth--;
+            }
+        }
+        return -1;
+    }
+
+    private sealed interface Part permits Literal, Placeholder {
+        String resolve(PropertySnapshot snapshot);
+    }
+
+    private record Literal(String text) implements Part {
+        @Override
+        public String resolve(PropertySnapshot snapshot) {
+            return text;
+        }
+    }
+
+    private record Placeholder(PropertyKey key, @Nullable Part[] defaultValue) implements Part {
+        @Override
+        public String resolve(PropertySnapshot snapshot) {
+            String value = snapshot.getProperty(key);
+            if (value != null) {
+                return value;
+            }
+            if (defaultValue == null) {
+                throw new RuntimeException("Property '" + key.name() + "' not found and no default value provided");
+            }
+            if (defaultValue.length == 1) {
+                return defaultValue[0].resolve(snapshot);
+            }
+            StringBuilder builder = new StringBuilder();
+            for (Part part : defaultValue) {
+                builder.append(part.resolve(snapshot));
+            }
+            return builder.toString();
+        }
+    }
+
+    private record Conversion(String text, Object value) {
+    }
+}
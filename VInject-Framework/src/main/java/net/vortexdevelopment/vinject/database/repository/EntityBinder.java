@@ -0,0 +1,43 @@
+package net.vortexdevelopment.vinject.database.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Statement binder generated by the VInject-Transformer for an {@link net.vortexdevelopment.vinject.annotation.database.Entity}
+ * as {@code <Entity>$$Binder}. It binds the column fields of an entity straight into a {@link PreparedStatement}
+ * and reads its dirty mask, see {@link EntityStatementBinding}.
+ */
+public interface EntityBinder {
+
+    /**
+     * Names of the entity's instance fields, one slot per field in dirty mask order.
+     */
+    String[] getFields();
+
+    /**
+     * Bind the {@code @Id}, {@code @Column} and {@code @Temporal} fields of an entity.
+     *
+     * @param entity The entity instance
+     * @param statement The statement to bind
+     * @param parameters The 1-based parameter index for every field slot, 0 to leave the field alone
+     */
+    void bind(Object entity, PreparedStatement statement, int[] parameters) throws SQLException;
+
+    /**
+     * Whether the field in a slot was modified since the entity was loaded or saved.
+     */
+    boolean isModified(Object entity, int slot);
+
+    /**
+     * Clear the dirty mask of an entity.
+     */
+    void resetModified(Object entity);
+
+    /**
+     * Clear the dirty bit of one field slot, leaving bits set concurrently by other setters alone.
+     * Binders generated by older transformer versions keep the field marked as modified.
+     */
+    default void resetModified(Object entity, int slot) {
+    }
+}
@@ -31,6 +31,8 @@ public class EntityMetadata {
     private final Map<String, Field> fieldsMap = new HashMap<>();
     private final Map<String, SerializedFieldInfo> serializedFields = new HashMap<>(); // columnName -> info
     @Getter private final Map<String, Field> autoLoadFields = new HashMap<>(); // namespace -> field
+    @Getter private final EntityRowMapping rowMapping; // null without a generated row mapper
+    @Getter private final EntityStatementBinding statementBinding; // null without a generated binder
 
     public EntityMetadata(Class<?> entityClass, SerializerRegistry serializerRegistry) {
         Entity entity = entityClass.getAnnotation(Entity.class);
@@ -97,6 +99,8 @@ public class EntityMetadata {
         }
         this.primaryKeyColumn = pkColumn;
         this.primaryKeyField = pkField;
+        this.rowMapping = EntityRowMapping.create(entityClass, this);
+        this.statementBinding = EntityStatementBinding.create(entityClass, this);
     }
 
     public String getTableName() {
@@ -0,0 +1,26 @@
+package net.vortexdevelopment.vinject.database.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Row mapper generated by the VInject-Transformer for an {@link net.vortexdevelopment.vinject.annotation.database.Entity}
+ * as {@code <Entity>$$RowMapper}. It reads columns by index with typed getters and assigns the entity's fields
+ * directly, see {@link EntityRowMapping}.
+ */
+public interface EntityRowMapper {
+
+    /**
+     * Names of the fields the mapper can assign, one slot per field.
+     */
+    String[] getFields();
+
+    /**
+     * Assign the fields of an entity from the current row.
+     *
+     * @param entity The entity instance
+     * @param resultSet The result set positioned on the row
+     * @param columns The 1-based column index for every field slot, 0 to leave the field alone
+     */
+    void map(Object entity, ResultSet resultSet, int[] columns) throws SQLException;
+}
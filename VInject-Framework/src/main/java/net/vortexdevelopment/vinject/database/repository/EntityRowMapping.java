@@ -0,0 +1,118 @@
+package net.vortexdevelopment.vinject.database.repository;
+
+import net.vortexdevelopment.vinject.annotation.database.Entity;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Binds the generated {@link EntityRowMapper} of an entity to its {@link EntityMetadata}.
+ * <p>
+ * Column indexes are resolved once per {@link ResultSet} and reused for every row. Foreign key and serialized
+ * fields depend on runtime state, so they are left to the reflective mapping together with the columns of
+ * fields the mapper does not know. Set {@code vinject.database.rowmappers=false} to always map reflectively.
+ */
+public final class EntityRowMapping {
+
+    public static final String ENABLED_PROPERTY = "vinject.database.rowmappers";
+
+    private static final String MAPPER_SUFFIX = "$$RowMapper";
+    private static final ClassValue<Optional<EntityRowMapper>> MAPPERS = new ClassValue<>() {
+        @Override
+        protected Optional<EntityRowMapper> computeValue(Class<?> entityClass) {
+            return Optional.ofNullable(RepositoryUtils.instantiateGenerated(entityClass, MAPPER_SUFFIX, EntityRowMapper.class));
+        }
+    };
+
+    private final EntityRowMapper mapper;
+    private final String[] columns;
+    private final List<Map.Entry<String, String>> unmappedColumns;
+    private volatile ResolvedColumns resolved;
+
+    private EntityRowMapping(EntityRowMapper mapper, String[] columns, List<Map.Entry<String, String>> unmappedColumns) {
+        this.mapper = mapper;
+        this.columns = columns;
+        this.unmappedColumns = unmappedColumns;
+    }
+
+    /**
+     * Bind the generated mapper of an entity class.
+     *
+     * @return The mapping, or null if the entity has no generated mapper or they are disabled
+     */
+    @Nullable
+    static EntityRowMapping create(Class<?> entityClass, EntityMetadata metadata) {
+        if ("false".equalsIgnoreCase(System.getProperty(ENABLED_PROPERTY))) {
+            return null;
+        }
+        EntityRowMapper mapper = MAPPERS.get(entityClass).orElse(null);
+        if (mapper == null) {
+            return null;
+        }
+
+        String[] fields = mapper.getFields();
+        String[] columns = new String[fields.length];
+        List<String> mappedFields = new ArrayList<>();
+        for (int i = 0; i < fields.length; i++) {
+            Field field = metadata.getField(fields[i]);
+            String column = metadata.getColumnName(fields[i]);
+            if (field == null || column == null || metadata.isSerializedColumn(column)
+                    || field.getType().isAnnotationPresent(Entity.class)) {
+                continue;
+            }
+            columns[i] = column;
+            mappedFields.add(fields[i]);
+        }
+
+        List<Map.Entry<String, String>> unmappedColumns = new ArrayList<>();
+        for (Map.Entry<String, String> entry : metadata.getFieldToColumnMap().entrySet()) {
+            if (!mappedFields.contains(entry.getKey())) {
+                unmappedColumns.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+        }
+        return new EntityRowMapping(mapper, columns, unmappedColumns);
+    }
+
+    /**
+     * Assign the fields handled by the generated mapper from the current row.
+     */
+    public void map(Object entity, ResultSet resultSet) throws SQLException {
+        mapper.map(entity, resultSet, getColumnIndexes(resultSet));
+    }
+
+    /**
+     * Field to column entries left to the reflective mapping.
+     */
+    public Collection<Map.Entry<String, String>> getUnmappedColumns() {
+        return unmappedColumns;
+    }
+
+    private int[] getColumnIndexes(ResultSet resultSet) throws SQLException {
+        ResolvedColumns last = resolved;
+        if (last != null && last.resultSet.get() == resultSet) {
+            return last.indexes;
+        }
+        int[] indexes = new int[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i] != null) {
+                indexes[i] = resultSet.findColumn(columns[i]);
+            }
+        }
+        resolved = new ResolvedColumns(new WeakReference<>(resultSet), indexes);
+        return indexes;
+    }
+
+    /**
+     * Column indexes of the last result set, held weakly so a closed result set is not kept alive.
+     */
+    private record ResolvedColumns(WeakReference<ResultSet> resultSet, int[] indexes) {
+    }
+}
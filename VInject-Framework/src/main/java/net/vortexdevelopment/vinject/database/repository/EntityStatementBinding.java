@@ -0,0 +1,240 @@
+package net.vortexdevelopment.vinject.database.repository;
+
+import net.vortexdevelopment.vinject.annotation.database.Entity;
+import net.vortexdevelopment.vinject.database.formatter.SchemaFormatter;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Field;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Binds the generated {@link EntityBinder} of an entity to its {@link EntityMetadata}.
+ * <p>
+ * The insert statement and one update statement per set of dirty columns are built once and cached with the
+ * parameter index of every column. Foreign key and serialized fields depend on runtime state, so they are bound
+ * by the caller from {@link Shape#reflectiveColumns()}. Set {@code vinject.database.binders=false} to always
+ * bind reflectively.
+ */
+public final class EntityStatementBinding {
+
+    public static final String ENABLED_PROPERTY = "vinject.database.binders";
+
+    private static final String BINDER_SUFFIX = "$$Binder";
+    private static final ClassValue<Optional<EntityBinder>> BINDERS = new ClassValue<>() {
+        @Override
+        protected Optional<EntityBinder> computeValue(Class<?> entityClass) {
+            return Optional.ofNullable(RepositoryUtils.instantiateGenerated(entityClass, BINDER_SUFFIX, EntityBinder.class));
+        }
+    };
+
+    private final EntityBinder binder;
+    private final EntityMetadata metadata;
+    private final SlotColumn[] slots;
+    private final int primaryKeySlot;
+    private final Map<Object, Shape> updateShapes = new ConcurrentHashMap<>();
+    private volatile Shape insertShape;
+
+    private EntityStatementBinding(EntityBinder binder, EntityMetadata metadata, SlotColumn[] slots, int primaryKeySlot) {
+        this.binder = binder;
+        this.metadata = metadata;
+        this.slots = slots;
+        this.primaryKeySlot = primaryKeySlot;
+    }
+
+    /**
+     * Bind the generated binder of an entity class.
+     *
+     * @return The binding, or null if the entity has no generated binder, it does not cover every column or binders are disabled
+     */
+    @Nullable
+    static EntityStatementBinding create(Class<?> entityClass, EntityMetadata metadata) {
+        if ("false".equalsIgnoreCase(System.getProperty(ENABLED_PROPERTY))) {
+            return null;
+        }
+        EntityBinder binder = BINDERS.get(entityClass).orElse(null);
+        if (binder == null) {
+            return null;
+        }
+
+        String[] fields = binder.getFields();
+        SlotColumn[] slots = new SlotColumn[fields.length];
+        Set<String> covered = new HashSet<>();
+        int primaryKeySlot = -1;
+        for (int slot = 0; slot < fields.length; slot++) {
+            Field field = metadata.getField(fields[slot]);
+            if (field == null) {
+                continue;
+            }
+            List<String> serializedColumns = metadata.getSerializedColumnNames(fields[slot]);
+            if (!serializedColumns.isEmpty()) {
+                SerializedFieldInfo info = metadata.getSerializedFieldInfo(serializedColumns.get(0));
+                List<String> keys = new ArrayList<>();
+                for (String column : serializedColumns) {
+                    keys.add(serializedKey(info, column));
+                }
+                slots[slot] = new SlotColumn(field, serializedColumns, false, info, keys);
+                covered.addAll(serializedColumns);
+                continue;
+            }
+            String column = metadata.getColumnName(fields[slot]);
+            if (column == null) {
+                continue;
+            }
+            boolean foreignKey = field.getType().isAnnotationPresent(Entity.class);
+            slots[slot] = new SlotColumn(field, List.of(column), !foreignKey, null, List.of());
+            covered.add(fields[slot]);
+            if (field.equals(metadata.getPrimaryKeyField())) {
+                primaryKeySlot = slot;
+            }
+        }
+
+        if (primaryKeySlot < 0 || !covered.containsAll(metadata.getFieldToColumnMap().keySet())) {
+            System.err.println("Generated binder of " + entityClass.getName() + " does not match its columns, binding reflectively");
+            return null;
+        }
+        return new EntityStatementBinding(binder, metadata, slots, primaryKeySlot);
+    }
+
+    private static String serializedKey(SerializedFieldInfo info, String column) {
+        String prefix = info.baseColumnName() + "_";
+        return info.usePrefix() && column.startsWith(prefix) ? column.substring(prefix.length()) : column;
+    }
+
+    /**
+     * The insert statement, all columns except an auto generated primary key.
+     */
+    public Shape getInsertShape(SchemaFormatter formatter) {
+        Shape shape = insertShape;
+        if (shape == null) {
+            BitSet columns = new BitSet(slots.length);
+            for (int slot = 0; slot < slots.length; slot++) {
+                if (slots[slot] != null && !(slot == primaryKeySlot && RepositoryUtils.isAutoGenerated(slots[slot].field()))) {
+                    columns.set(slot);
+                }
+            }
+            shape = createShape(formatter, columns, false);
+            insertShape = shape;
+        }
+        return shape;
+    }
+
+    /**
+     * The update statement of the modified columns of an entity, its primary key is the last parameter.
+     *
+     * @return The statement, or null if no column was modified
+     */
+    @Nullable
+    public Shape getUpdateShape(Object entity, SchemaFormatter formatter) {
+        if (slots.length <= 64) {
+            long mask = 0;
+            for (int slot = 0; slot < slots.length; slot++) {
+                if (slots[slot] != null && slot != primaryKeySlot && binder.isModified(entity, slot)) {
+                    mask |= 1L << slot;
+                }
+            }
+            if (mask == 0) {
+                return null;
+            }
+            long columns = mask;
+            return updateShapes.computeIfAbsent(mask, key -> createShape(formatter, BitSet.valueOf(new long[]{columns}), true));
+        }
+
+        BitSet columns = new BitSet(slots.length);
+        for (int slot = 0; slot < slots.length; slot++) {
+            if (slots[slot] != null && slot != primaryKeySlot && binder.isModified(entity, slot)) {
+                columns.set(slot);
+            }
+        }
+        if (columns.isEmpty()) {
+            return null;
+        }
+        return updateShapes.computeIfAbsent(columns, key -> createShape(formatter, columns, true));
+    }
+
+    private Shape createShape(SchemaFormatter formatter, BitSet columns, boolean update) {
+        int[] parameters = new int[slots.length];
+        List<ReflectiveColumn> reflectiveColumns = new ArrayList<>();
+        List<String> columnNames = new ArrayList<>();
+        for (int slot = columns.nextSetBit(0); slot >= 0; slot = columns.nextSetBit(slot + 1)) {
+            SlotColumn column = slots[slot];
+            if (column.generated()) {
+                parameters[slot] = columnNames.size() + 1;
+            } else {
+                reflectiveColumns.add(new ReflectiveColumn(column.field(), columnNames.size() + 1, column.serialized(), column.keys()));
+            }
+            for (String name : column.columnNames()) {
+                columnNames.add(formatter.formatColumnName(name));
+            }
+        }
+
+        String table = formatter.formatTableName(metadata.getTableName());
+        if (update) {
+            String sql = "UPDATE " + table + " SET " + String.join(" = ?, ", columnNames) + " = ? WHERE " +
+                         formatter.formatColumnName(metadata.getPrimaryKeyColumn()) + " = ?";
+            return new Shape(sql, parameters, reflectiveColumns, columnNames.size() + 1, columns.stream().toArray());
+        }
+        String sql = "INSERT INTO " + table + " (" + String.join(", ", columnNames) + ") VALUES (" +
+                     String.join(", ", Collections.nCopies(columnNames.size(), "?")) + ")";
+        return new Shape(sql, parameters, reflectiveColumns, 0, columns.stream().toArray());
+    }
+
+    /**
+     * Bind the columns handled by the generated binder.
+     */
+    public void bind(Object entity, PreparedStatement statement, Shape shape) throws SQLException {
+        binder.bind(entity, statement, shape.parameters());
+    }
+
+    /**
+     * Clear the dirty mask of an entity.
+     */
+    public void resetModified(Object entity) {
+        binder.resetModified(entity);
+    }
+
+    /**
+     * Clear the dirty bits of the columns a statement bound, fields modified since stay dirty.
+     */
+    public void resetModified(Object entity, Shape shape) {
+        for (int slot : shape.slots()) {
+            binder.resetModified(entity, slot);
+        }
+    }
+
+    /**
+     * A prepared statement text with the parameter index of each column.
+     *
+     * @param sql The statement
+     * @param parameters Parameter index per field slot for the generated binder
+     * @param reflectiveColumns Columns the caller binds
+     * @param primaryKeyIndex Parameter index of the primary key in the WHERE clause, 0 for inserts
+     * @param slots The field slots of the bound columns
+     */
+    public record Shape(String sql, int[] parameters, List<ReflectiveColumn> reflectiveColumns, int primaryKeyIndex, int[] slots) {
+    }
+
+    /**
+     * A foreign key or serialized field bound by the caller.
+     *
+     * @param field The entity field
+     * @param index Parameter index of the (first) column
+     * @param serialized Serialization info, null for foreign keys
+     * @param keys The serializer keys of the columns in parameter order
+     */
+    public record ReflectiveColumn(Field field, int index, @Nullable SerializedFieldInfo serialized, List<String> keys) {
+    }
+
+    private record SlotColumn(Field field, List<String> columnNames, boolean generated,
+                              @Nullable SerializedFieldInfo serialized, List<String> keys) {
+    }
+}
@@ -124,6 +124,30 @@ public class RepositoryUtils {
         }
     }
 
+    /**
+     * Sets a {@link net.vortexdevelopment.vinject.annotation.database.Temporal} parameter, epoch milliseconds as a timestamp.
+     */
+    public static void setTemporalParameter(PreparedStatement statement, int index, Object value) throws SQLException {
+        setStatementParameter(statement, index, value == null ? null : new Timestamp((long) value));
+    }
+
+    /**
+     * Instantiates a class generated by the VInject-Transformer for an entity, e.g. {@code <Entity>$$RowMapper}.
+     *
+     * @return The instance, or null if the entity was not transformed
+     */
+    static <T> T instantiateGenerated(Class<?> entityClass, String suffix, Class<T> type) {
+        try {
+            Class<?> generatedClass = Class.forName(entityClass.getName() + suffix, true, entityClass.getClassLoader());
+            return type.cast(generatedClass.getDeclaredConstructor().newInstance());
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (ReflectiveOperationException | LinkageError | ClassCastException e) {
+            System.err.println("Unable to load " + suffix + " for entity " + entityClass.getName() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Unboxes Byte[] to byte[].
      */
@@ -0,0 +1,58 @@
+package net.vortexdevelopment.vinject.database.repository;
+
+import java.sql.Blob;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * Conversions called by the generated {@link EntityRowMapper} classes for columns without a typed getter.
+ * They convert values the same way as the reflective mapping in {@code BaseMethodHandler.mapEntity}.
+ */
+public final class RowMapperSupport {
+
+    private RowMapperSupport() {
+    }
+
+    /**
+     * Read a column and convert it to the field type.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Object readObject(ResultSet resultSet, int column, Class<?> type) throws SQLException {
+        Object value = RepositoryUtils.convertValueToFieldType(resultSet.getObject(column), type);
+        if (value == null) {
+            return null;
+        }
+        if (type.isEnum()) {
+            return Enum.valueOf((Class<? extends Enum>) type, value.toString());
+        }
+        if (type == byte[].class && value instanceof Blob blob) {
+            return blob.length() == 0 ? new byte[0] : blob.getBytes(1, (int) blob.length());
+        }
+        return value;
+    }
+
+    /**
+     * Read a {@link net.vortexdevelopment.vinject.annotation.database.Temporal} column, timestamps as epoch milliseconds.
+     *
+     * @param temporalType The name of the {@link net.vortexdevelopment.vinject.database.TemporalType}
+     */
+    public static Object readTemporal(ResultSet resultSet, int column, String temporalType) throws SQLException {
+        return switch (temporalType) {
+            case "DATE" -> resultSet.getDate(column);
+            case "TIME" -> resultSet.getTime(column);
+            case "TIMESTAMP" -> {
+                Timestamp timestamp = resultSet.getTimestamp(column);
+                yield timestamp != null ? timestamp.getTime() : null;
+            }
+            default -> throw new UnsupportedOperationException("Unsupported Temporal type");
+        };
+    }
+
+    /**
+     * Unbox a temporal value for a primitive {@code long} field, null becomes 0.
+     */
+    public static long toLong(Object value) {
+        return value == null ? 0L : ((Number) value).longValue();
+    }
+}
@@ -3,6 +3,7 @@ package net.vortexdevelopment.vinject.database.repository.handler;
 import net.vortexdevelopment.vinject.annotation.database.Entity;
 import net.vortexdevelopment.vinject.annotation.database.Temporal;
 import net.vortexdevelopment.vinject.database.repository.EntityMetadata;
+import net.vortexdevelopment.vinject.database.repository.EntityRowMapping;
 import net.vortexdevelopment.vinject.database.repository.RepositoryInvocationContext;
 import net.vortexdevelopment.vinject.database.repository.RepositoryMethodHandler;
 import net.vortexdevelopment.vinject.database.repository.RepositoryUtils;
@@ -15,6 +16,7 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -39,12 +41,24 @@ public abstract class BaseMethodHandler implements RepositoryMethodHandler {
      */
     @SuppressWarnings("unchecked")
     protected Object mapEntity(RepositoryInvocationContext<?, ?> context, Connection connection, Class<?> entityCls, ResultSet resultSet) throws Exception {
-        EntityMetadata metadata = new EntityMetadata(entityCls, context.getDatabase().getSerializerRegistry());
+        EntityMetadata metadata = entityCls == context.getEntityClass() && context.getEntityMetadata() != null
+                ? context.getEntityMetadata()
+                : new EntityMetadata(entityCls, context.getDatabase().getSerializerRegistry());
         Object entityInstance = context.getDependencyContainer().newInstance(entityCls);
 
+        // The generated row mapper assigns the plain columns, the rest is mapped reflectively
+        EntityRowMapping rowMapping = metadata.getRowMapping();
+        Collection<Map.Entry<String, String>> columns;
+        if (rowMapping != null) {
+            rowMapping.map(entityInstance, resultSet);
+            columns = rowMapping.getUnmappedColumns();
+        } else {
+            columns = metadata.getFieldToColumnMap().entrySet();
+        }
+
         Set<String> processedSerializedFields = new HashSet<>();
 
-        for (Map.Entry<String, String> entry : metadata.getFieldToColumnMap().entrySet()) {
+        for (Map.Entry<String, String> entry : columns) {
             String fieldName = entry.getKey();
             String columnName = entry.getValue();
 
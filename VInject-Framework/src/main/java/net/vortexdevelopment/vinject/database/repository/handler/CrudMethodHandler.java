@@ -5,6 +5,7 @@ import net.vortexdevelopment.vinject.annotation.database.Temporal;
 import net.vortexdevelopment.vinject.database.cache.Cache;
 import net.vortexdevelopment.vinject.database.cache.CacheManager;
 import net.vortexdevelopment.vinject.database.repository.EntityMetadata;
+import net.vortexdevelopment.vinject.database.repository.EntityStatementBinding;
 import net.vortexdevelopment.vinject.database.repository.RepositoryInvocationContext;
 import net.vortexdevelopment.vinject.database.repository.RepositoryUtils;
 import net.vortexdevelopment.vinject.database.repository.SerializedFieldInfo;
@@ -656,6 +657,13 @@ public class CrudMethodHandler extends BaseMethodHandler {
 
     private void insert(RepositoryInvocationContext<?, ?> context, Object entity) throws Exception {
         EntityMetadata metadata = context.getEntityMetadata();
+        EntityStatementBinding binding = metadata.getStatementBinding();
+        if (binding != null) {
+            EntityStatementBinding.Shape shape = binding.getInsertShape(context.getSchemaFormatter());
+            executeInsert(context, entity, shape.sql(), statement -> bindShape(context, entity, binding, shape, statement));
+            return;
+        }
+
         List<String> columns = new ArrayList<>();
         List<Object> values = new ArrayList<>();
         List<String> placeholders = new ArrayList<>();
@@ -734,9 +742,14 @@ public class CrudMethodHandler extends BaseMethodHandler {
                 String.join(", ", columns) + ") VALUES (" +
                 String.join(", ", placeholders) + ")";
 
+        executeInsert(context, entity, sql, statement -> RepositoryUtils.setStatementParameters(statement, values));
+    }
+
+    private void executeInsert(RepositoryInvocationContext<?, ?> context, Object entity, String sql, ParameterBinder parameters) throws Exception {
+        EntityMetadata metadata = context.getEntityMetadata();
         context.getDatabase().connect(connection -> {
             try (PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-                RepositoryUtils.setStatementParameters(statement, values);
+                parameters.bind(statement);
                 statement.executeUpdate();
 
                 if (RepositoryUtils.isAutoGenerated(metadata.getPrimaryKeyField())) {
@@ -754,6 +767,20 @@ public class CrudMethodHandler extends BaseMethodHandler {
 
     private void update(RepositoryInvocationContext<?, ?> context, Object entity) throws Exception {
         EntityMetadata metadata = context.getEntityMetadata();
+        EntityStatementBinding binding = metadata.getStatementBinding();
+        if (binding != null) {
+            // Only the dirty columns, with the statement text cached per set of dirty columns
+            EntityStatementBinding.Shape shape = binding.getUpdateShape(entity, context.getSchemaFormatter());
+            if (shape == null) {
+                return;
+            }
+            // Only the bits of the written columns, and only once the row was written
+            if (executeUpdate(context, shape.sql(), statement -> bindShape(context, entity, binding, shape, statement))) {
+                binding.resetModified(entity, shape);
+            }
+            return;
+        }
+
         List<String> setClauses = new ArrayList<>();
         List<Object> values = new ArrayList<>();
 
@@ -854,14 +881,52 @@ public class CrudMethodHandler extends BaseMethodHandler {
         Object pkValue = pkField.get(entity);
         values.add(pkValue);
 
-        context.getDatabase().connect(connection -> {
+        executeUpdate(context, sql, statement -> RepositoryUtils.setStatementParameters(statement, values));
+    }
+
+    /**
+     * @return true if the statement was executed, false if it failed
+     */
+    private boolean executeUpdate(RepositoryInvocationContext<?, ?> context, String sql, ParameterBinder parameters) throws Exception {
+        return context.getDatabase().connect(connection -> {
             try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                RepositoryUtils.setStatementParameters(statement, values);
+                parameters.bind(statement);
                 statement.executeUpdate();
+                return true;
             } catch (Exception e) {
                 System.err.println("Error executing update statement: " + sql);
                 e.printStackTrace();
+                return false;
             }
         });
     }
+
+    /**
+     * Binds a statement built by the generated binder, foreign key and serialized columns are bound here.
+     */
+    private void bindShape(RepositoryInvocationContext<?, ?> context, Object entity, EntityStatementBinding binding,
+                           EntityStatementBinding.Shape shape, PreparedStatement statement) throws Exception {
+        binding.bind(entity, statement, shape);
+        for (EntityStatementBinding.ReflectiveColumn column : shape.reflectiveColumns()) {
+            Object value = column.field().get(entity);
+            if (column.serialized() == null) {
+                RepositoryUtils.setStatementParameter(statement, column.index(), RepositoryUtils.unwrapEntityId(value, context));
+                continue;
+            }
+            DatabaseSerializer<Object> serializer = column.serialized().getSerializer();
+            Map<String, Object> serializedValues = serializer.serialize(value);
+            for (int i = 0; i < column.keys().size(); i++) {
+                RepositoryUtils.setStatementParameter(statement, column.index() + i, serializedValues.get(column.keys().get(i)));
+            }
+        }
+        if (shape.primaryKeyIndex() > 0) {
+            Object pkValue = context.getEntityMetadata().getPrimaryKeyField().get(entity);
+            RepositoryUtils.setStatementParameter(statement, shape.primaryKeyIndex(), pkValue);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ParameterBinder {
+        void bind(PreparedStatement statement) throws Exception;
+    }
 }
@@ -11,6 +11,7 @@ import net.vortexdevelopment.vinject.config.yaml.RenderOptions;
 import net.vortexdevelopment.vinject.config.yaml.YamlConfig;
 import net.vortexdevelopment.vinject.di.config.ConfigurationMapper;
 import net.vortexdevelopment.vinject.di.scan.ClasspathScanner;
+import org.jetbrains.annotations.Nullable;
 import org.reflections.Reflections;
 
 import java.io.File;
@@ -90,7 +91,11 @@ public class ConfigurationContainer {
     private final Map<String, BatchInfo> batches = new ConcurrentHashMap<>();
     private final Map<Class<?>, String> directoryClassToBatchId = new ConcurrentHashMap<>();
 
-    public ConfigurationContainer(DependencyContainer container, ClasspathScanner scanner, Reflections reflections, Set<Class<?>> yamlConfigClasses) {
+    public ConfigurationContainer(DependencyContainer container, ClasspathScanner scanner, Set<Class<?>> yamlConfigClasses) {
+        this(container, scanner, null, yamlConfigClasses);
+    }
+
+    public ConfigurationContainer(DependencyContainer container, ClasspathScanner scanner, @Nullable Reflections reflections, Set<Class<?>> yamlConfigClasses) {
         INSTANCE = this;
         this.container = container;
         this.mapper = new ConfigurationMapper(container);
@@ -114,7 +119,11 @@ public class ConfigurationContainer {
 
         // 3. Load batch directories
         try {
-            loadBatches(reflections, container);
+            if (reflections != null) {
+                loadBatches(reflections, container);
+            } else {
+                loadBatches(scanner.getTypesAnnotatedWith(YamlDirectory.class));
+            }
         } catch (Exception e) {
             throw new RuntimeException("Unable to load YAML batch directories", e);
         }
@@ -578,7 +587,11 @@ public class ConfigurationContainer {
     }
 
     public void loadBatches(org.reflections.Reflections reflections, DependencyContainer container) {
-        for (Class<?> annotated : reflections.getTypesAnnotatedWith(YamlDirectory.class)) {
+        loadBatches(reflections.getTypesAnnotatedWith(YamlDirectory.class));
+    }
+
+    public void loadBatches(Collection<Class<?>> directoryClasses) {
+        for (Class<?> annotated : directoryClasses) {
             YamlDirectory ann = annotated.getAnnotation(YamlDirectory.class);
             if (ann == null) {
                 continue;
@@ -7,6 +7,7 @@ import net.vortexdevelopment.vinject.annotation.component.Component;
 import net.vortexdevelopment.vinject.annotation.DependsOn;
 import net.vortexdevelopment.vinject.annotation.OptionalDependency;
 import net.vortexdevelopment.vinject.annotation.component.Element;
+import net.vortexdevelopment.vinject.annotation.component.Lazy;
 import net.vortexdevelopment.vinject.annotation.component.Repository;
 import net.vortexdevelopment.vinject.annotation.component.Root;
 import net.vortexdevelopment.vinject.annotation.component.Service;
@@ -16,6 +17,7 @@ import net.vortexdevelopment.vinject.annotation.database.RegisterCacheContributo
 import net.vortexdevelopment.vinject.annotation.database.RegisterDatabaseSerializer;
 import net.vortexdevelopment.vinject.annotation.yaml.YamlConfiguration;
 import net.vortexdevelopment.vinject.annotation.yaml.YamlDirectory;
+import net.vortexdevelopment.vinject.config.Environment;
 import net.vortexdevelopment.vinject.database.Database;
 import net.vortexdevelopment.vinject.database.cache.CacheContributor;
 import net.vortexdevelopment.vinject.database.cache.CacheCoordinator;
@@ -27,9 +29,14 @@ import net.vortexdevelopment.vinject.database.repository.RepositoryInvocationHan
 import net.vortexdevelopment.vinject.database.serializer.DatabaseSerializer;
 import net.vortexdevelopment.vinject.di.context.InjectionContext;
 import net.vortexdevelopment.vinject.di.engine.ConditionEvaluator;
+import net.vortexdevelopment.vinject.di.engine.ContainerSnapshot;
+import net.vortexdevelopment.vinject.di.engine.CreationTracker;
 import net.vortexdevelopment.vinject.di.engine.DependencyGraphResolver;
 import net.vortexdevelopment.vinject.di.engine.InjectionEngine;
+import net.vortexdevelopment.vinject.di.engine.InstanceFactory;
+import net.vortexdevelopment.vinject.di.engine.LazyProvider;
 import net.vortexdevelopment.vinject.di.lifecycle.LifecycleManager;
+import net.vortexdevelopment.vinject.di.lifecycle.ReadinessGate;
 import net.vortexdevelopment.vinject.di.registry.AnnotationHandler;
 import net.vortexdevelopment.vinject.di.registry.AnnotationHandlerRegistry;
 import net.vortexdevelopment.vinject.di.registry.RegistryOrder;
@@ -37,12 +44,13 @@ import net.vortexdevelopment.vinject.di.resolver.ArgumentResolverContext;
 import net.vortexdevelopment.vinject.di.resolver.ArgumentResolverProcessor;
 import net.vortexdevelopment.vinject.di.resolver.ArgumentResolverRegistry;
 import net.vortexdevelopment.vinject.di.scan.ClasspathScanner;
+import net.vortexdevelopment.vinject.di.startup.StartupReport;
 import net.vortexdevelopment.vinject.di.utils.DependencyUtils;
 import net.vortexdevelopment.vinject.event.EventManager;
+import net.vortexdevelopment.vinject.event.EventMetrics;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.reflections.ReflectionUtils;
-import org.reflections.Reflections;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
@@ -50,52 +58,92 @@ import java.lang.reflect.Executable;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 public class DependencyContainer implements DependencyRepository {
 
-    @Getter private final Map<Class<?>, Object> dependencies;
+    private static final Class<?>[] NO_ELEMENTS = new Class<?>[0];
+
+    private final Map<Class<?>, Object> dependencies;
+    private final Map<Class<?>, Object> dependenciesView;
     @Getter private final Class<?> rootClass;
     private final Set<Class<?>> entities;
     private final Set<Class<?>> elementClasses;
+
+    // @Element classes by every supertype, sorted by priority, and the cached collections without extra arguments
+    private final Map<Class<?>, Class<?>[]> elementIndex = new ConcurrentHashMap<>();
+    private final Map<Class<?>, List<?>> cachedElements = new ConcurrentHashMap<>();
     private final Set<Class<?>> skippedDueToDependsOn;
     private final Map<Class<?>, List<String>> missingDependenciesByClass;
     private AnnotationHandlerRegistry annotationHandlerRegistry;
-    private final ArgumentResolverRegistry argumentResolverRegistry;
+    @Getter private final ArgumentResolverRegistry argumentResolverRegistry;
     private final java.util.List<ComponentInterceptor> componentInterceptors;
     @Getter private final EventManager eventManager;
     @Getter private final LifecycleManager lifecycleManager;
     @Getter private final InjectionEngine injectionEngine;
     private final ConditionEvaluator conditionEvaluator;
-    private final DependencyGraphResolver dependencyGraphResolver;
+    @Getter private final DependencyGraphResolver dependencyGraphResolver;
     @Getter private final CacheCoordinator cacheCoordinator;
     @Getter private final CacheManager cacheManager;
+    @Getter private final StartupReport startupReport;
+    @Getter private final ReadinessGate readinessGate;
     
     // Circular dependency handling
-    private final ThreadLocal<Set<Class<?>>> currentlyCreating = ThreadLocal.withInitial(HashSet::new);
+    private final CreationTracker creationTracker;
+
+    // Boot decisions replayed from and recorded to -Dvinject.snapshot.file, null when disabled
+    @Getter @Nullable private final ContainerSnapshot snapshot;
+
+    // Per-class singleton slots mirroring the dependencies map, so hot lookups skip hashing the Class key
+    private final Set<SingletonRef<?>> createdSlots = ConcurrentHashMap.newKeySet();
+    private volatile ClassValue<SingletonRef<?>> singletonSlots = createSingletonSlots();
+
+    // Constructors and instantiation metadata, looked up once per class
+    private final Map<Class<?>, InstanceFactory> instanceFactories = new ConcurrentHashMap<>();
+
+    // Providers for @Lazy components and beans, keyed by every type they are registered for
+    private final Map<Class<?>, LazyProvider> lazyProviders = new ConcurrentHashMap<>();
+
+    // Re-injects @Value fields of the singletons when application.properties is reloaded
+    private final Runnable propertyReloadListener = this::refreshValues;
 
     @Getter private static DependencyContainer instance;
 
     @SuppressWarnings({"unchecked"})
     public DependencyContainer(Root rootAnnotation, Class<?> rootClass, @Nullable Object rootInstance, Database database, RepositoryContainer repositoryContainer, @Nullable Consumer<Void> onPreComponentLoad) {
         instance = this;
+        startupReport = new StartupReport();
+        readinessGate = new ReadinessGate();
+        startupReport.beginPhase("core");
         eventManager = new EventManager(this);
         lifecycleManager = new LifecycleManager(this);
         injectionEngine = new InjectionEngine(this);
         conditionEvaluator = new ConditionEvaluator();
         dependencyGraphResolver = new DependencyGraphResolver(this);
         dependencies = new ConcurrentHashMap<>();
+        dependenciesView = new DependencyMap();
+        creationTracker = new CreationTracker(dependencies);
         entities = ConcurrentHashMap.newKeySet();
         elementClasses = ConcurrentHashMap.newKeySet();
         skippedDueToDependsOn = ConcurrentHashMap.newKeySet();
@@ -118,18 +166,23 @@ public class DependencyContainer implements DependencyRepository {
         }
 
         // Add root as a bean so components can inject it
-        dependencies.put(rootClass, rootInstance);
+        registerSingleton(rootClass, rootInstance);
         this.rootClass = rootClass;
 
         if (repositoryContainer != null) {
-            dependencies.put(RepositoryContainer.class, repositoryContainer);
+            registerSingleton(RepositoryContainer.class, repositoryContainer);
         }
         
         // Add core services as beans
-        dependencies.put(CacheCoordinator.class, cacheCoordinator);
-        dependencies.put(CacheManager.class, cacheManager);
-        dependencies.put(CacheManagerImpl.class, cacheManager);
-        if (eventManager != null) dependencies.put(EventManager.class, eventManager);
+        registerSingleton(CacheCoordinator.class, cacheCoordinator);
+        registerSingleton(CacheManager.class, cacheManager);
+        registerSingleton(CacheManagerImpl.class, cacheManager);
+        if (eventManager != null) {
+            registerSingleton(EventManager.class, eventManager);
+            registerSingleton(EventMetrics.class, eventManager.getMetrics());
+        }
+        registerSingleton(StartupReport.class, startupReport);
+        registerSingleton(ReadinessGate.class, readinessGate);
 
         // Manually inject into core services since they were created before injection engine was fully ready
         injectionEngine.inject(cacheCoordinator);
@@ -139,15 +192,20 @@ public class DependencyContainer implements DependencyRepository {
             onPreComponentLoad.accept(null);
         }
 
+        startupReport.beginPhase("snapshot");
+        snapshot = ContainerSnapshot.open(rootAnnotation, rootClass);
+
+        startupReport.beginPhase("scan");
         // Included packages override ignored packages
         ClasspathScanner scanner = new ClasspathScanner(rootAnnotation, rootClass);
-        Reflections reflections = scanner.getReflections();
+        injectionEngine.setComponentIndex(scanner.getComponentIndex());
 
         // Get all entities first so we can initialize the database before components
         if (database != null && database.isInitialized()) {
             entities.addAll(scanner.getTypesAnnotatedWith(Entity.class));
         }
 
+        startupReport.beginPhase("yaml-configurations");
         // Load YAML configuration classes so components/services can depend on them
         // We collect only classes that can be loaded (respect DependsOn)
         Set<Class<?>> yamlConfigClasses = scanner.scanAndFilter(YamlConfiguration.class, this::canLoadClass);
@@ -156,20 +214,23 @@ public class DependencyContainer implements DependencyRepository {
         final ConfigurationContainer configurationContainer;
         if (!yamlConfigClasses.isEmpty() || !yamlDirectoryClasses.isEmpty()) {
             // Create the configuration container and register configs into this dependency container
-            configurationContainer = new ConfigurationContainer(this, scanner, reflections, yamlConfigClasses);
+            configurationContainer = new ConfigurationContainer(this, scanner, yamlConfigClasses);
         } else {
             configurationContainer = null;
         }
         // Register the ConfigurationContainer itself so it can be injected
         if (configurationContainer != null) {
-            this.dependencies.put(ConfigurationContainer.class, configurationContainer);
+            registerSingleton(ConfigurationContainer.class, configurationContainer);
         }
 
+        startupReport.beginPhase("elements");
         // Collect all classes annotated with @Element
         elementClasses.addAll(scanner.scanAndFilter(Element.class, this::canLoadClass));
+        indexElements();
 
         processAnnotationHandlers(RegistryOrder.ENTITIES, scanner);
 
+        startupReport.beginPhase("database-serializers");
         // Auto-register RegisterDatabaseSerializer implementations FIRST
         // This must happen before repository registration because RepositoryInvocationHandler
         // creates EntityMetadata in its constructor, which needs serializers to be registered
@@ -191,6 +252,7 @@ public class DependencyContainer implements DependencyRepository {
             });
         }
 
+        startupReport.beginPhase("repositories");
         // Register Repositories (after serializers are registered)
         scanner.getTypesAnnotatedWith(Repository.class).forEach(repositoryClass -> {
             // Check if the class implements CrudRepository
@@ -218,10 +280,14 @@ public class DependencyContainer implements DependencyRepository {
         
         //Run database initialization (Create, Update tables)
         if (database != null && database.isInitialized()) {
+            startupReport.beginPhase("entity-metadata");
             database.initializeEntityMetadata(this);
+            startupReport.beginPhase("verify-tables");
             database.verifyTables();
         }
 
+        startupReport.beginPhase("registries");
+
         //Collect all ComponentInterceptors
         registerComponentInterceptors(scanner);
 
@@ -233,6 +299,7 @@ public class DependencyContainer implements DependencyRepository {
 
         processAnnotationHandlers(RegistryOrder.FIRST, scanner);
 
+        startupReport.beginPhase("services");
         //Register Beans and Services
         scanner.scanAndFilter(Service.class, this::canLoadClass).forEach(serviceClass -> {
             eventManager.registerEventListeners(serviceClass);
@@ -243,74 +310,96 @@ public class DependencyContainer implements DependencyRepository {
 
         processAnnotationHandlers(RegistryOrder.REPOSITORIES, scanner);
 
+        startupReport.beginPhase("components");
         // Unified loading for Components and Registry-handled classes
         // This takes into account dependencies between registry-handled classes and components
+        List<AnnotationHandler> componentHandlers = annotationHandlerRegistry.getHandlers(RegistryOrder.COMPONENTS);
+        List<String> handlerNames = componentHandlers.stream().map(handler -> handler.getClass().getName()).sorted().toList();
+        Map<Class<?>, List<String>> candidates = snapshot != null ? snapshot.getComponentCandidates(handlerNames) : null;
+        if (candidates == null) {
+            candidates = collectComponentCandidates(scanner, componentHandlers);
+            if (snapshot != null) {
+                snapshot.recordComponentCandidates(handlerNames, candidates);
+            }
+        }
+
+        Map<String, AnnotationHandler> handlersByName = new java.util.HashMap<>();
+        componentHandlers.forEach(handler -> handlersByName.put(handler.getClass().getName(), handler));
         Map<Class<?>, List<AnnotationHandler>> classHandlers = new java.util.HashMap<>();
         Set<Class<?>> loadableClasses = new HashSet<>();
-
-        // 1. Collect Registry items
-        annotationHandlerRegistry.getHandlers(RegistryOrder.COMPONENTS).forEach(handler -> {
-            Class<? extends Annotation> annotation = DependencyUtils.getAnnotationFromHandler(handler);
-            if (annotation != null) {
-                scanner.getTypesAnnotatedWith(annotation).forEach(clazz -> {
-                    if (canLoadClass(clazz)) {
-                        loadableClasses.add(clazz);
-                        classHandlers.computeIfAbsent(clazz, k -> new ArrayList<>()).add(handler);
-                    }
-                });
+        candidates.forEach((clazz, names) -> {
+            if (!canLoadClass(clazz)) {
+                return;
+            }
+            loadableClasses.add(clazz);
+            for (String name : names) {
+                classHandlers.computeIfAbsent(clazz, k -> new ArrayList<>()).add(handlersByName.get(name));
             }
         });
 
-        // 2. Collect Components
-        scanner.getTypesAnnotatedWith(Component.class).stream()
-                .filter(this::canLoadClass)
-                .forEach(loadableClasses::add);
-
-        // 2.5 Collect RestControllers via reflection (VInject-HTTP module support)
-        try {
-            Class<? extends Annotation> restControllerClass = (Class<? extends Annotation>) Class.forName("net.vortexdevelopment.vinject.http.annotation.RestController");
-            Set<Class<?>> restClasses = scanner.getTypesAnnotatedWith(restControllerClass);
-            restClasses.stream()
-                    .filter(this::canLoadClass)
-                    .forEach(loadableClasses::add);
-        } catch (ClassNotFoundException ignored) {}
-
         // 3. Resolve Graph and Sort
-        dependencyGraphResolver.createLoadingOrder(loadableClasses).stream()
-            .sorted(Comparator.comparingInt(value -> {
-                Component component = value.getAnnotation(Component.class);
-                return component != null ? component.priority() : 10;
-            }))
-            .forEach(clazz -> {
-                // Process Handlers first
-                if (classHandlers.containsKey(clazz)) {
-                    classHandlers.get(clazz).forEach(handler -> {
-                        handler.handle(clazz, dependencies.get(clazz), this);
-                    });
-                }
-                
-                // Process Component Registration
-                boolean isRestController = false;
-                try {
-                    Class<? extends Annotation> restAnn = (Class<? extends Annotation>) Class.forName("net.vortexdevelopment.vinject.http.annotation.RestController");
-                    isRestController = clazz.isAnnotationPresent(restAnn);
-                } catch (ClassNotFoundException ignored) {}
-
-                if (clazz.isAnnotationPresent(Component.class) || isRestController) {
-                    eventManager.registerEventListeners(clazz);
-                    registerComponent(clazz, isRestController);
-                }
-            });
+        Class<? extends Annotation> restControllerAnnotation = getRestControllerAnnotation();
 
+        boolean parallel = Boolean.getBoolean("vinject.boot.parallel");
+        List<List<Class<?>>> layers = snapshot != null ? snapshot.getLoadingOrder(loadableClasses, dependencies.keySet()) : null;
+        if (layers == null) {
+            if (parallel) {
+                layers = dependencyGraphResolver.createLoadingLayers(loadableClasses);
+            } else {
+                layers = List.of(dependencyGraphResolver.createLoadingOrder(loadableClasses).stream()
+                        .sorted(Comparator.comparingInt(DependencyGraphResolver::getPriority))
+                        .collect(Collectors.toList()));
+            }
+            if (snapshot != null) {
+                snapshot.recordLoadingOrder(loadableClasses, dependencies.keySet(), layers);
+            }
+        }
 
+        if (parallel) {
+            loadComponentsInParallel(layers, classHandlers, restControllerAnnotation);
+        } else {
+            for (List<Class<?>> layer : layers) {
+                for (Class<?> clazz : layer) {
+                    prepareComponent(clazz, classHandlers, restControllerAnnotation);
+                    createComponent(clazz, restControllerAnnotation);
+                }
+            }
+        }
 
+        startupReport.beginPhase("root-injection");
         // Fully inject the root instance after all dependencies are ready
         injectionEngine.inject(rootInstance);
 
         // Scan for @OnDestroy methods (including root instance)
         lifecycleManager.scanDestroyMethods();
 
-        // Auto-start VInject-HTTP if present on classpath
+        startupReport.beginPhase("cache-contributors");
+        // Register Cache Contributors
+        scanner.scanAndFilter(RegisterCacheContributor.class, this::canLoadClass).forEach(contributorClass -> {
+            if (CacheContributor.class.isAssignableFrom(contributorClass)) {
+                CacheContributor<?> contributor = (CacheContributor<?>) newInstance(contributorClass);
+                cacheCoordinator.registerContributor(contributor);
+            }
+        });
+
+        startupReport.beginPhase("warmup");
+        // Warm-ups run in the background once every boot phase is done, so they can use the cache contributors
+        lifecycleManager.startWarmups(readinessGate);
+
+        startupReport.beginPhase("http-server");
+        // Auto-start VInject-HTTP if present on classpath, once the readiness gate opens (right away without warm-ups)
+        readinessGate.whenReady(this::startHttpServer);
+
+        if (snapshot != null) {
+            snapshot.save();
+        }
+
+        startupReport.finish();
+        startupReport.publish();
+        Environment.getInstance().addReloadListener(propertyReloadListener);
+    }
+
+    private void startHttpServer() {
         try {
             Class<?> httpServerClass = Class.forName("net.vortexdevelopment.vinject.http.server.VInjectHttpServer");
             java.lang.reflect.Method startMethod = httpServerClass.getMethod("start", DependencyContainer.class);
@@ -321,14 +410,110 @@ public class DependencyContainer implements DependencyRepository {
             System.err.println("Failed to start VInject HTTP Server: " + e.getMessage());
             e.printStackTrace();
         }
+    }
 
-        // Register Cache Contributors
-        scanner.scanAndFilter(RegisterCacheContributor.class, this::canLoadClass).forEach(contributorClass -> {
-            if (CacheContributor.class.isAssignableFrom(contributorClass)) {
-                CacheContributor<?> contributor = (CacheContributor<?>) newInstance(contributorClass);
-                cacheCoordinator.registerContributor(contributor);
+    /**
+     * Collect the classes handled by component registry handlers, components and RestControllers
+     * together with the names of their handlers, before filtering them with {@link #canLoadClass}.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<Class<?>, List<String>> collectComponentCandidates(ClasspathScanner scanner, List<AnnotationHandler> componentHandlers) {
+        Map<Class<?>, List<String>> candidates = new java.util.LinkedHashMap<>();
+
+        // 1. Collect Registry items
+        componentHandlers.forEach(handler -> {
+            Class<? extends Annotation> annotation = DependencyUtils.getAnnotationFromHandler(handler);
+            if (annotation != null) {
+                scanner.getTypesAnnotatedWith(annotation).forEach(clazz ->
+                        candidates.computeIfAbsent(clazz, k -> new ArrayList<>()).add(handler.getClass().getName()));
             }
         });
+
+        // 2. Collect Components
+        scanner.getTypesAnnotatedWith(Component.class).forEach(clazz -> candidates.computeIfAbsent(clazz, k -> new ArrayList<>()));
+
+        // 2.5 Collect RestControllers via reflection (VInject-HTTP module support)
+        Class<? extends Annotation> restControllerAnnotation = getRestControllerAnnotation();
+        if (restControllerAnnotation != null) {
+            scanner.getTypesAnnotatedWith(restControllerAnnotation).forEach(clazz -> candidates.computeIfAbsent(clazz, k -> new ArrayList<>()));
+        }
+        return candidates;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable
+    private static Class<? extends Annotation> getRestControllerAnnotation() {
+        try {
+            return (Class<? extends Annotation>) Class.forName("net.vortexdevelopment.vinject.http.annotation.RestController");
+        } catch (ClassNotFoundException ignored) {
+            return null;
+        }
+    }
+
+    /**
+     * Process the registry handlers of a component and register its event listeners.
+     */
+    private void prepareComponent(Class<?> clazz, Map<Class<?>, List<AnnotationHandler>> classHandlers, @Nullable Class<? extends Annotation> restControllerAnnotation) {
+        // Process Handlers first
+        if (classHandlers.containsKey(clazz)) {
+            classHandlers.get(clazz).forEach(handler -> {
+                handler.handle(clazz, dependencies.get(clazz), this);
+            });
+        }
+
+        if (clazz.isAnnotationPresent(Component.class) || isRestController(clazz, restControllerAnnotation)) {
+            eventManager.registerEventListeners(clazz);
+        }
+    }
+
+    /**
+     * Instantiate a component (or RestController) and register it in the container.
+     */
+    private void createComponent(Class<?> clazz, @Nullable Class<? extends Annotation> restControllerAnnotation) {
+        boolean isRestController = isRestController(clazz, restControllerAnnotation);
+        if (clazz.isAnnotationPresent(Component.class) && clazz.isAnnotationPresent(Lazy.class)) {
+            registerLazyProvider(clazz, clazz.getAnnotation(Component.class).registerSubclasses(), () -> newInstance(clazz));
+        } else if (clazz.isAnnotationPresent(Component.class) || isRestController) {
+            registerComponent(clazz, isRestController);
+        }
+    }
+
+    private static boolean isRestController(Class<?> clazz, @Nullable Class<? extends Annotation> restControllerAnnotation) {
+        return restControllerAnnotation != null && clazz.isAnnotationPresent(restControllerAnnotation);
+    }
+
+    /**
+     * Parallel boot, enabled with -Dvinject.boot.parallel=true.
+     * Each layer only contains components that do not depend on each other, so its components are created
+     * concurrently on a ForkJoinPool. Handlers and event listeners are still processed in order on the boot thread.
+     * The pool size can be set with -Dvinject.boot.parallelism (defaults to the number of processors).
+     */
+    private void loadComponentsInParallel(List<List<Class<?>>> layers, Map<Class<?>, List<AnnotationHandler>> classHandlers, @Nullable Class<? extends Annotation> restControllerAnnotation) {
+        int parallelism = Integer.getInteger("vinject.boot.parallelism", Runtime.getRuntime().availableProcessors());
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, parallelism));
+        try {
+            for (List<Class<?>> layer : layers) {
+                layer.forEach(clazz -> prepareComponent(clazz, classHandlers, restControllerAnnotation));
+
+                if (layer.size() == 1) {
+                    createComponent(layer.get(0), restControllerAnnotation);
+                    continue;
+                }
+
+                List<CompletableFuture<Void>> tasks = new ArrayList<>(layer.size());
+                for (Class<?> clazz : layer) {
+                    tasks.add(CompletableFuture.runAsync(() -> createComponent(clazz, restControllerAnnotation), pool));
+                }
+                try {
+                    CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])).join();
+                } catch (CompletionException e) {
+                    if (e.getCause() instanceof RuntimeException re) throw re;
+                    throw new RuntimeException("Unable to create components in parallel", e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
     }
 
     /**
@@ -345,6 +530,8 @@ public class DependencyContainer implements DependencyRepository {
      * Invokes any @OnDestroy methods before clearing dependencies.
      */
     public void release() {
+        Environment.getInstance().removeReloadListener(propertyReloadListener);
+
         // Call any OnDestroy methods before clearing
         lifecycleManager.invokeDestroyMethods();
         
@@ -359,13 +546,26 @@ public class DependencyContainer implements DependencyRepository {
             System.err.println("Failed to stop VInject HTTP Server: " + e.getMessage());
         }
 
+        // Also clears slots filled by @Lazy lookups, which are not part of the dependencies map
+        singletonSlots = createSingletonSlots();
+        for (SingletonRef<?> ref : createdSlots) {
+            ref.instance = null;
+        }
+        createdSlots.clear();
         dependencies.clear();
+        elementClasses.clear();
+        elementIndex.clear();
+        cachedElements.clear();
         entities.clear();
         annotationHandlerRegistry = null;
         eventManager.clear();
         lifecycleManager.clear();
     }
 
+    private void refreshValues() {
+        injectionEngine.refreshValues(dependencies.values());
+    }
+
     /**
      * Resolve an argument using the argument resolver system.
      * Falls back to existing logic if no resolver handles it.
@@ -375,17 +575,23 @@ public class DependencyContainer implements DependencyRepository {
      */
     @Nullable
     public Object resolveArgument(ArgumentResolverContext context) {
-        // Try all resolvers in priority order
-        for (ArgumentResolverProcessor resolver : argumentResolverRegistry.getAllResolvers()) {
-            if (resolver.canResolve(context)) {
-                return resolver.resolve(context);
-            }
-        }
-        return null;
+        ArgumentResolverProcessor resolver = argumentResolverRegistry.findResolver(context);
+        return resolver != null ? resolver.resolve(context) : null;
     }
 
     public <T> T newInstance(Class<T> clazz) {
-        return newInstance(clazz, !clazz.isAnnotationPresent(Entity.class));
+        return newInstance(clazz, !getInstanceFactory(clazz).isEntity());
+    }
+
+    /**
+     * Get the cached instantiation metadata of a class.
+     */
+    public InstanceFactory getInstanceFactory(Class<?> clazz) {
+        InstanceFactory factory = instanceFactories.get(clazz);
+        if (factory == null) {
+            factory = instanceFactories.computeIfAbsent(clazz, InstanceFactory::create);
+        }
+        return factory;
     }
 
     public <T> T newInstance(Class<T> clazz, boolean cache) {
@@ -393,69 +599,64 @@ public class DependencyContainer implements DependencyRepository {
     }
 
     public <T> T newInstance(Class<T> clazz, boolean cache, Object... extraArgs) {
-        if (cache) {
-            Object component = dependencies.get(clazz);
-            if (component != null) {
-                return clazz.cast(component);
+        // Loops only when another thread was creating the same singleton
+        while (true) {
+            if (cache) {
+                Object component = singletonSlots.get(clazz).instance;
+                if (component != null) {
+                    return clazz.cast(component);
+                }
+            }
+
+            // Throws on circular constructor dependencies
+            if (creationTracker.begin(clazz, cache)) {
+                break;
             }
         }
-        
-        // Check if we're already creating this class (circular dependency)
-        Set<Class<?>> creating = currentlyCreating.get();
-        if (creating.contains(clazz)) {
-            // Circular dependency detected - this is only allowed for field injection
-            throw new RuntimeException(
-                "Circular dependency detected for class: " + clazz.getName() + 
-                "\nCircular dependencies are only supported with field injection (@Inject on fields)." + 
-                "\nConstructor injection cannot handle circular dependencies because the instance must be fully created before it can be injected." + 
-                "\n\nTo resolve this issue, use field injection instead of constructor parameters."
-            );
-        }
-        
+
+        StartupReport.ComponentTimer timer = cache ? startupReport.startComponent(clazz) : null;
         try {
-            creating.add(clazz);
+            InstanceFactory factory = getInstanceFactory(clazz);
             T instance;
-            
-            if (!DependencyUtils.hasDefaultConstructor(clazz)) {
-                Constructor<?> constructor = clazz.getDeclaredConstructors()[0];
-                Object[] parameters = resolveParameters(clazz, constructor, null, extraArgs);
-                
-                instance = clazz.cast(constructor.newInstance(parameters));
+
+            if (!factory.hasDefaultConstructor()) {
+                Object[] parameters = resolveParameters(clazz, factory.getConstructor(), null, extraArgs);
+                instance = clazz.cast(factory.newInstance(parameters));
             } else {
-                Constructor<T> constructor = clazz.getDeclaredConstructor();
-                constructor.setAccessible(true);
-                instance = constructor.newInstance();
+                instance = clazz.cast(factory.newInstance());
             }
+            if (timer != null) timer.constructed();
 
             // Register the instance in the dependency container BEFORE injecting fields
-            Class<?>[] subclasses = {};
-            if (clazz.isAnnotationPresent(Component.class)) {
-                subclasses = clazz.getAnnotation(Component.class).registerSubclasses();
+            registerInstanceAndSubclasses(clazz, instance, factory.getRegisteredSubclasses(), cache);
+
+            // Classes without injection points (most entities) skip injection entirely
+            if (!injectionEngine.getPlan(clazz).isEmpty()) {
+                // Inject static fields (now safe to refer to the class itself)
+                injectionEngine.injectStatic(clazz);
+
+                // Inject instance fields
+                injectionEngine.inject(instance);
             }
-            registerInstanceAndSubclasses(clazz, instance, subclasses, cache);
-            
-            // Inject static fields (now safe to refer to the class itself)
-            injectionEngine.injectStatic(clazz);
-            
-            // Inject instance fields
-            injectionEngine.inject(instance);
+            if (timer != null) timer.injected();
             
             // Invoke post construct after all dependencies are injected
             lifecycleManager.invokePostConstruct(instance);
+            if (timer != null) timer.finished();
             return instance;
         } catch (Exception e) {
             if (e instanceof RuntimeException re) throw re;
             throw new RuntimeException("Unable to create new instance of class: " + clazz.getName(), e);
         } finally {
-            creating.remove(clazz);
+            creationTracker.end(clazz, cache);
         }
     }
 
     private void registerInstanceAndSubclasses(Class<?> clazz, Object instance, Class<?>[] subclasses, boolean cache) {
         if (!cache) return;
-        dependencies.put(clazz, instance);
+        registerSingleton(clazz, instance);
         for (Class<?> subclass : subclasses) {
-            dependencies.put(subclass, instance);
+            registerSingleton(subclass, instance);
         }
 
         // Notify interceptors
@@ -526,9 +727,168 @@ public class DependencyContainer implements DependencyRepository {
         return resolveParameter(instance.getClass(), method, index, instance);
     }
 
+    /**
+     * All registered singletons by type. Changes to the map are written through to the singleton slots,
+     * but {@link #addBean} should be preferred for registering beans.
+     */
+    public Map<Class<?>, Object> getDependencies() {
+        return dependenciesView;
+    }
+
+    /**
+     * Register a singleton and publish it to its {@link ClassValue} slot.
+     */
+    private void registerSingleton(Class<?> type, Object instance) {
+        dependencies.put(type, instance);
+        singletonSlots.get(type).instance = instance;
+    }
+
+    /**
+     * Get the slot holding the singleton registered for a type. Code that looks up the same bean very often
+     * (for example on every tick) can keep the slot, so every lookup is a single field load. The slot is
+     * cleared when the container is released and does not see beans registered afterwards.
+     *
+     * @param type The dependency type
+     * @return The slot, which may be empty until the type is registered
+     */
+    @SuppressWarnings("unchecked")
+    public <T> SingletonRef<T> getSingletonRef(Class<T> type) {
+        return (SingletonRef<T>) singletonSlots.get(type);
+    }
+
+    private ClassValue<SingletonRef<?>> createSingletonSlots() {
+        return new ClassValue<>() {
+            @Override
+            protected SingletonRef<?> computeValue(Class<?> type) {
+                SingletonRef<?> ref = new SingletonRef<>(type);
+                createdSlots.add(ref);
+                return ref;
+            }
+        };
+    }
+
+    /**
+     * View of the dependencies map that keeps the singleton slots in sync with every change.
+     */
+    private final class DependencyMap extends AbstractMap<Class<?>, Object> {
+
+        @Override
+        public Object get(Object key) {
+            return dependencies.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return dependencies.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return dependencies.size();
+        }
+
+        @Override
+        public Object put(Class<?> type, Object instance) {
+            Object previous = dependencies.put(type, instance);
+            singletonSlots.get(type).instance = instance;
+            return previous;
+        }
+
+        @Override
+        public Object remove(Object key) {
+            Object previous = dependencies.remove(key);
+            if (previous != null && key instanceof Class<?> type) {
+                singletonSlots.get(type).instance = null;
+            }
+            return previous;
+        }
+
+        @Override
+        public Set<Entry<Class<?>, Object>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public int size() {
+                    return dependencies.size();
+                }
+
+                @Override
+                public Iterator<Entry<Class<?>, Object>> iterator() {
+                    Iterator<Entry<Class<?>, Object>> iterator = dependencies.entrySet().iterator();
+                    return new Iterator<>() {
+                        private Class<?> current;
+
+                        @Override
+                        public boolean hasNext() {
+                            return iterator.hasNext();
+                        }
+
+                        @Override
+                        public Entry<Class<?>, Object> next() {
+                            Entry<Class<?>, Object> entry = iterator.next();
+                            current = entry.getKey();
+                            return new SimpleEntry<>(entry) {
+                                @Override
+                                public Object setValue(Object value) {
+                                    super.setValue(value);
+                                    return put(getKey(), value);
+                                }
+                            };
+                        }
+
+                        @Override
+                        public void remove() {
+                            iterator.remove();
+                            singletonSlots.get(current).instance = null;
+                        }
+                    };
+                }
+            };
+        }
+    }
+
+    /**
+     * Slot of a registered singleton, see {@link #getSingletonRef(Class)}.
+     * Only reflects registered instances: context beans are not visible and @Lazy dependencies appear once created.
+     */
+    public static final class SingletonRef<T> {
+
+        private final Class<T> type;
+        private volatile Object instance;
+
+        private SingletonRef(Class<T> type) {
+            this.type = type;
+        }
+
+        /**
+         * @return The singleton, or null if none is registered
+         */
+        public @Nullable T getOrNull() {
+            return type.cast(instance);
+        }
+
+        /**
+         * @return The singleton
+         * @throws RuntimeException If no singleton is registered
+         */
+        public @NotNull T get() {
+            Object result = instance;
+            if (result == null) {
+                throw new RuntimeException("Dependency not found for class: " + type.getName());
+            }
+            return type.cast(result);
+        }
+
+        public Class<T> getType() {
+            return type;
+        }
+    }
+
     @Override
     public <T> @NotNull T getDependency(Class<T> dependency) {
-        Object result = dependencies.get(dependency);
+        Object result = singletonSlots.get(dependency).instance;
+        if (result == null) {
+            result = getLazyDependency(dependency);
+        }
         if (result == null) {
             throw new RuntimeException("Dependency not found for class: " + dependency.getName());
         }
@@ -537,17 +897,69 @@ public class DependencyContainer implements DependencyRepository {
 
     @Override
     public <T> @Nullable T getDependencyOrNull(Class<T> dependency) {
-        // 1. Check thread-local ScopedValue context first
+        // 1. Check the scoped injection context first, a single thread-local read when no scope is bound
         T contextBean = InjectionContext.get(dependency);
         if (contextBean != null) {
             return contextBean;
         }
 
         // 2. Check main singleton cache
-        Object result = dependencies.get(dependency);
+        Object result = singletonSlots.get(dependency).instance;
+        if (result == null) {
+            // 3. Create @Lazy dependencies on first access
+            result = getLazyDependency(dependency);
+        }
         return result != null ? dependency.cast(result) : null;
     }
 
+    @Nullable
+    private Object getLazyDependency(Class<?> dependency) {
+        LazyProvider provider = lazyProviders.get(dependency);
+        if (provider == null) {
+            return null;
+        }
+        Object instance = provider.get();
+        if (instance != null) {
+            // Later lookups of this type skip the provider
+            singletonSlots.get(dependency).instance = instance;
+        }
+        return instance;
+    }
+
+    /**
+     * Get the provider of a @Lazy dependency.
+     *
+     * @param type The class or one of its registered subclasses
+     * @return The provider, or null if the type is not lazy
+     */
+    public @Nullable LazyProvider getLazyProvider(Class<?> type) {
+        return lazyProviders.get(type);
+    }
+
+    /**
+     * Register a provider that creates a dependency on first access instead of during startup.
+     *
+     * @param type The type to register the provider for
+     * @param subclasses Additional types the dependency is registered as
+     * @param factory Creates and registers the instance
+     * @return The registered provider
+     */
+    public LazyProvider registerLazyProvider(Class<?> type, Class<?>[] subclasses, Supplier<?> factory) {
+        LazyProvider provider = new LazyProvider(type, () -> {
+            Object instance = factory.get();
+            if (instance != null) {
+                // Components created after startup are not seen by the initial @OnDestroy scan
+                lifecycleManager.scanDestroyMethodsForClassOnly(instance.getClass());
+            }
+            return instance;
+        });
+        lazyProviders.put(type, provider);
+        for (Class<?> subclass : subclasses) {
+            lazyProviders.put(subclass, provider);
+        }
+        return provider;
+    }
+
     /**
      * Check if a class was skipped due to missing DependsOn dependencies.
      * Used by argument resolvers for error reporting.
@@ -572,7 +984,7 @@ public class DependencyContainer implements DependencyRepository {
 
     @Override
     public void addBean(@NotNull Class<?> dependency, @NotNull Object instance) {
-        dependencies.put(dependency, instance);
+        registerSingleton(dependency, instance);
 
         // Notify interceptors for manually added beans
         if (componentInterceptors != null) {
@@ -610,24 +1022,48 @@ public class DependencyContainer implements DependencyRepository {
                 throw new RuntimeException("Could not register beans, class: " + clazz.getName() + " does not have a default constructor");
             }
 
-            Object instance = newInstance(clazz);
-            dependencies.put(clazz, instance);
+            boolean lazyService = clazz.isAnnotationPresent(Lazy.class);
+            Supplier<Object> serviceInstance;
+            if (lazyService) {
+                LazyProvider provider = registerLazyProvider(clazz, new Class<?>[0], () -> newInstance(clazz));
+                serviceInstance = provider::get;
+            } else {
+                Object instance = newInstance(clazz);
+                registerSingleton(clazz, instance);
+                serviceInstance = () -> instance;
+            }
 
             for (Method beanMethod : beans) {
                 beanMethod.setAccessible(true);
-                Object[] parameters = resolveParameters(clazz, beanMethod, instance, (Object[]) null);
-
-                Object beanInstance = (Object) beanMethod.invoke(instance, parameters);
-                if (beanInstance == null) {
-                    System.err.println("Unable to register bean for " + beanMethod.getReturnType().getName() + ". Value must not be null!");
-                    continue;
+                Bean annotation = beanMethod.getAnnotation(Bean.class);
+                if (lazyService || beanMethod.isAnnotationPresent(Lazy.class)) {
+                    registerLazyProvider(beanMethod.getReturnType(), annotation.registerSubclasses(), () -> createBean(clazz, beanMethod, serviceInstance.get()));
+                } else {
+                    createBean(clazz, beanMethod, serviceInstance.get());
                 }
+            }
+        } catch (Exception e) {
+            if (e instanceof RuntimeException re) throw re;
+            throw new RuntimeException("Unable to register beans", e);
+        }
+    }
 
-                lifecycleManager.invokePostConstruct(beanInstance);
+    @Nullable
+    private Object createBean(Class<?> clazz, Method beanMethod, Object instance) {
+        try {
+            Object[] parameters = resolveParameters(clazz, beanMethod, instance, (Object[]) null);
 
-                Bean annotation = beanMethod.getAnnotation(Bean.class);
-                registerInstanceAndSubclasses(beanMethod.getReturnType(), beanInstance, annotation.registerSubclasses(), true);
+            Object beanInstance = beanMethod.invoke(instance, parameters);
+            if (beanInstance == null) {
+                System.err.println("Unable to register bean for " + beanMethod.getReturnType().getName() + ". Value must not be null!");
+                return null;
             }
+
+            lifecycleManager.invokePostConstruct(beanInstance);
+
+            Bean annotation = beanMethod.getAnnotation(Bean.class);
+            registerInstanceAndSubclasses(beanMethod.getReturnType(), beanInstance, annotation.registerSubclasses(), true);
+            return beanInstance;
         } catch (Exception e) {
             if (e instanceof RuntimeException re) throw re;
             throw new RuntimeException("Unable to register beans", e);
@@ -638,10 +1074,10 @@ public class DependencyContainer implements DependencyRepository {
         if (clazz.isInterface() || clazz.isEnum() || clazz.isAnnotation()) {
             return false;
         }
-        if (!checkDependsOnAnnotation(clazz)) {
+        if (!checkClasspathConditions(clazz)) {
             return false;
         }
-        if (!conditionEvaluator.checkConditionalAnnotation(clazz)) {
+        if (!conditionEvaluator.checkConditionalProperty(clazz)) {
             return false;
         }
         if (!conditionEvaluator.checkYamlConditionalAnnotation(clazz)) {
@@ -650,6 +1086,30 @@ public class DependencyContainer implements DependencyRepository {
         return true;
     }
 
+    /**
+     * Check @DependsOn and the required classes of @Conditional, the conditions that only depend on the classpath.
+     * Outcomes are replayed from the snapshot when available.
+     */
+    private boolean checkClasspathConditions(Class<?> clazz) {
+        if (snapshot != null) {
+            Boolean stored = snapshot.getClasspathCondition(clazz);
+            if (stored != null) {
+                List<String> missing = snapshot.getMissingDependencies(clazz);
+                if (!stored && missing != null) {
+                    skippedDueToDependsOn.add(clazz);
+                    missingDependenciesByClass.put(clazz, missing);
+                }
+                return stored;
+            }
+        }
+
+        boolean result = checkDependsOnAnnotation(clazz) && conditionEvaluator.checkConditionalClasses(clazz);
+        if (snapshot != null) {
+            snapshot.recordClasspathCondition(clazz, result, result ? null : missingDependenciesByClass.get(clazz));
+        }
+        return result;
+    }
+
     private boolean checkDependsOnAnnotation(Class<?> clazz) {
         DependsOn dependsOn = clazz.getAnnotation(DependsOn.class);
         if (dependsOn == null) {
@@ -822,30 +1282,71 @@ public class DependencyContainer implements DependencyRepository {
 
     @Override
     public <T> Collection<T> collectElements(Class<T> superType, Consumer<T> postConstruct, Object... extraArgs) {
-        List<T> results = new ArrayList<>();
+        Class<?>[] classes = elementIndex.getOrDefault(superType, NO_ELEMENTS);
+        List<T> results = new ArrayList<>(classes.length);
+        for (Class<?> clazz : classes) {
+            Object registered = dependencies.get(clazz);
+            T instance = superType.cast(registered != null ? registered : newInstance(clazz, false, extraArgs));
+            results.add(instance);
+            if (postConstruct != null) {
+                postConstruct.accept(instance);
+            }
+        }
+        return results;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> List<T> collectElementsCached(Class<T> superType) {
+        List<?> cached = cachedElements.get(superType);
+        if (cached == null) {
+            cached = List.copyOf(collectElements(superType));
+            List<?> existing = cachedElements.putIfAbsent(superType, cached);
+            if (existing != null) {
+                cached = existing;
+            }
+        }
+        return (List<T>) cached;
+    }
+
+    /**
+     * Index every @Element class under all of its supertypes, sorted by @Element priority (lower values first),
+     * so collecting elements only instantiates the matching classes.
+     */
+    private void indexElements() {
+        Map<Class<?>, List<Class<?>>> index = new HashMap<>();
         for (Class<?> clazz : elementClasses) {
-            if (superType.isAssignableFrom(clazz)) {
-                T instance;
-                if (dependencies.containsKey(clazz)) {
-                    instance = superType.cast(dependencies.get(clazz));
-                } else {
-                    instance = superType.cast(newInstance(clazz, false, extraArgs));
-                }
-                results.add(instance);
-                if (postConstruct != null) {
-                    postConstruct.accept(instance);
-                }
+            for (Class<?> superType : getSuperTypes(clazz)) {
+                index.computeIfAbsent(superType, k -> new ArrayList<>()).add(clazz);
             }
         }
 
-        // Sort by @Element priority (lower values first)
-        results.sort((a, b) -> {
-            int priorityA = getPriority(a.getClass());
-            int priorityB = getPriority(b.getClass());
-            return Integer.compare(priorityA, priorityB);
+        Comparator<Class<?>> order = Comparator.<Class<?>>comparingInt(this::getPriority).thenComparing(Class::getName);
+        elementIndex.clear();
+        cachedElements.clear();
+        index.forEach((superType, classes) -> {
+            classes.sort(order);
+            elementIndex.put(superType, classes.toArray(new Class<?>[0]));
         });
+    }
 
-        return results;
+    private static Set<Class<?>> getSuperTypes(Class<?> clazz) {
+        Set<Class<?>> superTypes = new HashSet<>();
+        Deque<Class<?>> pending = new ArrayDeque<>();
+        pending.push(clazz);
+        while (!pending.isEmpty()) {
+            Class<?> type = pending.pop();
+            if (!superTypes.add(type)) {
+                continue;
+            }
+            if (type.getSuperclass() != null) {
+                pending.push(type.getSuperclass());
+            }
+            for (Class<?> anInterface : type.getInterfaces()) {
+                pending.push(anInterface);
+            }
+        }
+        return superTypes;
     }
 
     private int getPriority(Class<?> clazz) {
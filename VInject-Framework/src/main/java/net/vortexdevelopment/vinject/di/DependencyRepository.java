@@ -7,6 +7,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.function.Consumer;
 
 public interface DependencyRepository {
@@ -75,6 +76,18 @@ public interface DependencyRepository {
      */
     <T> Collection<T> collectElements(Class<T> superType, Consumer<T> postConstruct, Object... extraArgs);
 
+    /**
+     * Collect all element annotated types once and return the same immutable list on every call.
+     * Use this for element collections that are read often and do not need extra constructor arguments.
+     * The default implementation collects the elements on every call.
+     * @param superType The super type of the elements to collect
+     * @return An immutable list of the collected elements, sorted by priority
+     * @param <T> The type of the elements
+     */
+    default <T> List<T> collectElementsCached(Class<T> superType) {
+        return List.copyOf(collectElements(superType));
+    }
+
     static @NotNull DependencyRepository getInstance() {
         return DependencyContainer.getInstance();
     }
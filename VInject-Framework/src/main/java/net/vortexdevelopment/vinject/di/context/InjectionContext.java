@@ -1,8 +1,11 @@
 package net.vortexdevelopment.vinject.di.context;
 
-import java.util.Collections;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Provides a highly efficient mechanism for passing 
@@ -10,10 +13,51 @@ import java.util.concurrent.Callable;
  * <p>
  * Instead of relying on singletons, specific method argument resolutions can 
  * draw beans directly from this context.
+ * <p>
+ * Every context type gets a fixed slot index the first time it is used as a {@link Key} or looked up inside a
+ * bound scope. Keys are held in a {@link ClassValue}, so they do not keep the class loaders of plugin types
+ * alive once those are unloaded. A bound scope
+ * is a plain array indexed by those slots, so binding request beans costs one small array and looking
+ * them up is an array access. Callers on hot paths should create their keys once and bind with
+ * {@link #scope()}; the {@code Map} based methods are kept for convenience.
  */
 public class InjectionContext {
 
-    private static final ThreadLocal<Map<Class<?>, Object>> CONTEXT = new ThreadLocal<>();
+    private static final ThreadLocal<Object[]> CONTEXT = new ThreadLocal<>();
+    private static final AtomicInteger SLOT_COUNT = new AtomicInteger();
+    private static final ClassValue<Key<?>> KEYS = new ClassValue<>() {
+        @Override
+        protected Key<?> computeValue(Class<?> type) {
+            return new Key<>(type, SLOT_COUNT.getAndIncrement());
+        }
+    };
+
+    /**
+     * Get the key of a context type, assigning it a slot on first use.
+     *
+     * @param type The class type bound in the context
+     * @param <T> The type
+     * @return The key, always the same instance for the same type
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Key<T> key(Class<T> type) {
+        return (Key<T>) KEYS.get(type);
+    }
+
+    /**
+     * Start building a new scope. The scope replaces any scope bound on the current thread while it runs.
+     */
+    public static Bindings scope() {
+        return new Bindings(SLOT_COUNT.get());
+    }
+
+    /**
+     * Whether the current thread runs inside a bound scope.
+     * When false, no context lookup on this thread can succeed and callers can skip it entirely.
+     */
+    public static boolean hasBoundScopes() {
+        return CONTEXT.get() != null;
+    }
 
     /**
      * Retrieves an instance bound to the current context scope.
@@ -24,14 +68,28 @@ public class InjectionContext {
      */
     @SuppressWarnings("unchecked")
     public static <T> T get(Class<T> type) {
-        Map<Class<?>, Object> contextBeans = CONTEXT.get();
-        if (contextBeans != null) {
-            Object instance = contextBeans.get(type);
-            if (instance != null) {
-                return (T) instance;
-            }
+        Object[] slots = CONTEXT.get();
+        if (slots == null) {
+            return null;
         }
-        return null;
+        Key<?> key = KEYS.get(type);
+        return key.index < slots.length ? (T) slots[key.index] : null;
+    }
+
+    /**
+     * Retrieves an instance bound to the current context scope.
+     *
+     * @param key The key of the class type to resolve.
+     * @param <T> The expected generic type.
+     * @return The instance if found in the current scoped context, otherwise null.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T get(Key<T> key) {
+        Object[] slots = CONTEXT.get();
+        if (slots == null || key.index >= slots.length) {
+            return null;
+        }
+        return (T) slots[key.index];
     }
 
     /**
@@ -44,17 +102,7 @@ public class InjectionContext {
      * @throws Exception If the action throws an exception.
      */
     public static <T> T runWithContext(Map<Class<?>, Object> contextBeans, Callable<T> action) throws Exception {
-        Map<Class<?>, Object> previous = CONTEXT.get();
-        try {
-            CONTEXT.set(Collections.unmodifiableMap(contextBeans));
-            return action.call();
-        } finally {
-            if (previous == null) {
-                CONTEXT.remove();
-            } else {
-                CONTEXT.set(previous);
-            }
-        }
+        return toBindings(contextBeans).call(action);
     }
     
     /**
@@ -64,11 +112,87 @@ public class InjectionContext {
      * @param action The execution code.
      */
     public static void runWithContext(Map<Class<?>, Object> contextBeans, Runnable action) {
-        Map<Class<?>, Object> previous = CONTEXT.get();
-        try {
-            CONTEXT.set(Collections.unmodifiableMap(contextBeans));
-            action.run();
-        } finally {
+        toBindings(contextBeans).run(action);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Bindings toBindings(Map<Class<?>, Object> contextBeans) {
+        Bindings bindings = scope();
+        contextBeans.forEach((type, bean) -> bindings.with((Key<Object>) key(type), bean));
+        return bindings;
+    }
+
+    /**
+     * Slot of a context type, obtained with {@link #key(Class)}.
+     */
+    public static final class Key<T> {
+
+        private final Class<T> type;
+        private final int index;
+
+        private Key(Class<T> type, int index) {
+            this.type = type;
+            this.index = index;
+        }
+
+        public Class<T> getType() {
+            return type;
+        }
+    }
+
+    /**
+     * The beans of a scope that is about to be bound, created with {@link #scope()}.
+     */
+    public static final class Bindings {
+
+        private Object[] slots;
+
+        private Bindings(int size) {
+            this.slots = new Object[size];
+        }
+
+        /**
+         * Bind a bean in this scope.
+         *
+         * @param key The key of the bean type
+         * @param bean The bean, null removes a previous binding of this scope
+         * @return This scope
+         */
+        public <T> Bindings with(Key<T> key, @Nullable T bean) {
+            if (key.index >= slots.length) {
+                slots = Arrays.copyOf(slots, SLOT_COUNT.get());
+            }
+            slots[key.index] = bean;
+            return this;
+        }
+
+        /**
+         * Run the action with this scope bound on the current thread.
+         */
+        public <T> T call(Callable<T> action) throws Exception {
+            Object[] previous = CONTEXT.get();
+            CONTEXT.set(slots);
+            try {
+                return action.call();
+            } finally {
+                restore(previous);
+            }
+        }
+
+        /**
+         * Run the action with this scope bound on the current thread.
+         */
+        public void run(Runnable action) {
+            Object[] previous = CONTEXT.get();
+            CONTEXT.set(slots);
+            try {
+                action.run();
+            } finally {
+                restore(previous);
+            }
+        }
+
+        private static void restore(@Nullable Object[] previous) {
             if (previous == null) {
                 CONTEXT.remove();
             } else {
@@ -0,0 +1,29 @@
+package net.vortexdevelopment.vinject.di.engine;
+
+/**
+ * Injector generated by the VInject-Transformer for a class with {@code @Inject} fields as {@code <Component>$$Injector}
+ * and listed in the component index. It assigns fields and calls setters directly, so the {@link InjectionPlan}
+ * does not need reflective writers for them. Slots are the fields followed by the setters.
+ */
+public interface ComponentInjector {
+
+    /**
+     * Names of the {@code @Inject} fields, one slot per field.
+     */
+    String[] getFields();
+
+    /**
+     * Single argument setters the injector can call as name and method descriptor, e.g. {@code setService(Lcom/example/Service;)V},
+     * one slot per setter after the field slots.
+     */
+    String[] getSetters();
+
+    /**
+     * Assign a field or call a setter of an instance.
+     *
+     * @param instance The instance to inject
+     * @param slot The field or setter slot
+     * @param value The resolved value
+     */
+    void inject(Object instance, int slot, Object value);
+}
@@ -21,6 +21,17 @@ public class ConditionEvaluator {
      * @return true if conditions are met or no annotation is present
      */
     public boolean checkConditionalAnnotation(Class<?> clazz) {
+        return checkConditionalClasses(clazz) && checkConditionalProperty(clazz);
+    }
+
+    /**
+     * Checks the required classes of a @Conditional annotation.
+     * The outcome only depends on the classpath.
+     *
+     * @param clazz The class to check
+     * @return true if all required classes are present or no annotation is present
+     */
+    public boolean checkConditionalClasses(Class<?> clazz) {
         Conditional conditional = clazz.getAnnotation(Conditional.class);
         if (conditional == null) {
             return true;
@@ -64,6 +75,21 @@ public class ConditionEvaluator {
             }
         }
 
+        return true;
+    }
+
+    /**
+     * Checks the property condition of a @Conditional annotation.
+     *
+     * @param clazz The class to check
+     * @return true if the property matches or no property condition is present
+     */
+    public boolean checkConditionalProperty(Class<?> clazz) {
+        Conditional conditional = clazz.getAnnotation(Conditional.class);
+        if (conditional == null) {
+            return true;
+        }
+
         // Check property condition
         String propertyName = conditional.property();
         if (propertyName != null && !propertyName.isEmpty()) {
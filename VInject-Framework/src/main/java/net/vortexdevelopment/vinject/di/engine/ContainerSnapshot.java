@@ -0,0 +1,416 @@
+package net.vortexdevelopment.vinject.di.engine;
+
+import net.vortexdevelopment.vinject.annotation.component.Root;
+import net.vortexdevelopment.vinject.di.scan.ComponentIndex;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Ahead-of-time snapshot of the boot decisions that only depend on the classpath, enabled by setting
+ * {@code vinject.snapshot.file} to a writable file.
+ * <p>
+ * The snapshot stores the classpath part of {@code canLoadClass} ({@code @DependsOn} and the class
+ * checks of {@code @Conditional}), the component candidates with their registry handlers and the
+ * resolved loading order. It is keyed by a hash of the classpath, the {@code @Root} settings and the boot
+ * properties, so it is discarded as soon as anything on the classpath changes. Jars contribute their size
+ * and modification time. Directories with a component index contribute the index contents, which list the
+ * checksum of every class file, so any change to a class (annotation values, injected fields, constructors)
+ * changes the key without walking the directory. Only directories without an index are walked.
+ * Property and YAML conditions are always evaluated live, and a stored loading order is only replayed
+ * when the set of loadable components and registered beans is the same as when it was recorded.
+ */
+public class ContainerSnapshot {
+
+    public static final String FILE_PROPERTY = "vinject.snapshot.file";
+
+    private static final int FORMAT_VERSION = 1;
+    private static final String KEY = "key";
+    private static final String CONDITION_PREFIX = "condition.";
+    private static final String MISSING_PREFIX = "missing.";
+    private static final String HANDLERS = "components.handlers";
+    private static final String CANDIDATE_PREFIX = "candidate.";
+    private static final String ORDER_LOADABLE = "order.loadable";
+    private static final String ORDER_REGISTERED = "order.registered";
+    private static final String ORDER_LAYER_PREFIX = "order.layer.";
+
+    private final Path file;
+    private final String key;
+    private final ClassLoader classLoader;
+    private final boolean replayed;
+
+    private final Map<String, Boolean> conditions = new ConcurrentHashMap<>();
+    private final Map<String, List<String>> missingDependencies = new ConcurrentHashMap<>();
+    private List<String> componentHandlers;
+    private Map<String, List<String>> candidates;
+    private String orderLoadable;
+    private String orderRegistered;
+    private List<List<String>> orderLayers;
+    private volatile boolean dirty;
+
+    private ContainerSnapshot(Path file, String key, ClassLoader classLoader, @Nullable Properties stored) {
+        this.file = file;
+        this.key = key;
+        this.classLoader = classLoader;
+        this.replayed = stored != null;
+        if (stored != null) {
+            read(stored);
+        } else {
+            dirty = true;
+        }
+    }
+
+    /**
+     * Open the snapshot configured with {@value #FILE_PROPERTY}.
+     *
+     * @param rootAnnotation The root annotation of the application
+     * @param rootClass The root class of the application
+     * @return The snapshot, empty if the file is missing or was recorded for a different classpath,
+     *         or null if snapshots are disabled
+     */
+    @Nullable
+    public static ContainerSnapshot open(Root rootAnnotation, Class<?> rootClass) {
+        String fileName = System.getProperty(FILE_PROPERTY);
+        if (fileName == null || fileName.isEmpty()) {
+            return null;
+        }
+        ClassLoader classLoader = rootClass.getClassLoader() != null ? rootClass.getClassLoader() : Thread.currentThread().getContextClassLoader();
+        return open(Paths.get(fileName), rootAnnotation, rootClass, classLoader);
+    }
+
+    static ContainerSnapshot open(Path file, Root rootAnnotation, Class<?> rootClass, ClassLoader classLoader) {
+        String key = computeKey(rootAnnotation, rootClass, classLoader);
+
+        Properties stored = null;
+        if (Files.isRegularFile(file)) {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                Properties properties = new Properties();
+                properties.load(reader);
+                if (key.equals(properties.getProperty(KEY))) {
+                    stored = properties;
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Unable to read VInject snapshot " + file + ", resolving from scratch: " + e.getMessage());
+            }
+        }
+        return new ContainerSnapshot(file, key, classLoader, stored);
+    }
+
+    /**
+     * Whether the snapshot was loaded from a file recorded for the current classpath.
+     */
+    public boolean isReplayed() {
+        return replayed;
+    }
+
+    /**
+     * Whether the snapshot changed since it was loaded and has to be saved.
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Get the stored outcome of the classpath conditions of a class.
+     *
+     * @return The outcome, or null if it was not recorded
+     */
+    @Nullable
+    public Boolean getClasspathCondition(Class<?> clazz) {
+        return conditions.get(clazz.getName());
+    }
+
+    /**
+     * Get the classes missing for a class skipped because of a soft {@code @DependsOn}.
+     */
+    @Nullable
+    public List<String> getMissingDependencies(Class<?> clazz) {
+        return missingDependencies.get(clazz.getName());
+    }
+
+    /**
+     * Record the outcome of the classpath conditions of a class.
+     *
+     * @param missing The classes missing for a soft {@code @DependsOn}, if any
+     */
+    public void recordClasspathCondition(Class<?> clazz, boolean result, @Nullable List<String> missing) {
+        conditions.put(clazz.getName(), result);
+        if (missing != null) {
+            missingDependencies.put(clazz.getName(), List.copyOf(missing));
+        }
+        dirty = true;
+    }
+
+    /**
+     * Get the component candidates and the names of their registry handlers.
+     *
+     * @param handlers The names of the currently registered component handlers
+     * @return Candidates in scan order, or null if they were recorded with different handlers or cannot be loaded
+     */
+    @Nullable
+    public Map<Class<?>, List<String>> getComponentCandidates(List<String> handlers) {
+        if (candidates == null || !handlers.equals(componentHandlers)) {
+            return null;
+        }
+        Map<Class<?>, List<String>> result = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> entry : candidates.entrySet()) {
+            Class<?> clazz = loadClass(entry.getKey());
+            if (clazz == null) {
+                return null;
+            }
+            result.put(clazz, entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Record the component candidates, before {@code canLoadClass} filtering, and their registry handlers.
+     */
+    public void recordComponentCandidates(List<String> handlers, Map<Class<?>, List<String>> candidates) {
+        this.componentHandlers = List.copyOf(handlers);
+        Map<String, List<String>> names = new LinkedHashMap<>();
+        candidates.forEach((clazz, handlerNames) -> names.put(clazz.getName(), List.copyOf(handlerNames)));
+        this.candidates = names;
+        dirty = true;
+    }
+
+    /**
+     * Get the stored loading order.
+     *
+     * @param loadable The components to load
+     * @param registered The types registered in the container before loading components
+     * @return The layers in loading order, or null if it was recorded for different components or beans
+     */
+    @Nullable
+    public List<List<Class<?>>> getLoadingOrder(Set<Class<?>> loadable, Collection<Class<?>> registered) {
+        if (orderLayers == null || !fingerprint(loadable).equals(orderLoadable) || !fingerprint(registered).equals(orderRegistered)) {
+            return null;
+        }
+        List<List<Class<?>>> layers = new ArrayList<>(orderLayers.size());
+        for (List<String> layerNames : orderLayers) {
+            List<Class<?>> layer = new ArrayList<>(layerNames.size());
+            for (String name : layerNames) {
+                Class<?> clazz = loadClass(name);
+                if (clazz == null) {
+                    return null;
+                }
+                layer.add(clazz);
+            }
+            layers.add(layer);
+        }
+        return layers;
+    }
+
+    /**
+     * Record the resolved loading order.
+     */
+    public void recordLoadingOrder(Set<Class<?>> loadable, Collection<Class<?>> registered, List<? extends List<Class<?>>> layers) {
+        List<List<String>> names = new ArrayList<>(layers.size());
+        for (List<Class<?>> layer : layers) {
+            names.add(layer.stream().map(Class::getName).toList());
+        }
+        this.orderLoadable = fingerprint(loadable);
+        this.orderRegistered = fingerprint(registered);
+        this.orderLayers = names;
+        dirty = true;
+    }
+
+    /**
+     * Write the snapshot file if anything changed.
+     */
+    public void save() {
+        if (!dirty) {
+            return;
+        }
+        Properties properties = new Properties();
+        properties.setProperty(KEY, key);
+        conditions.forEach((name, result) -> properties.setProperty(CONDITION_PREFIX + name, result.toString()));
+        missingDependencies.forEach((name, missing) -> properties.setProperty(MISSING_PREFIX + name, String.join(",", missing)));
+        if (candidates != null) {
+            properties.setProperty(HANDLERS, String.join(",", componentHandlers));
+            candidates.forEach((name, handlers) -> properties.setProperty(CANDIDATE_PREFIX + name, String.join(",", handlers)));
+        }
+        if (orderLayers != null) {
+            properties.setProperty(ORDER_LOADABLE, orderLoadable);
+            properties.setProperty(ORDER_REGISTERED, orderRegistered);
+            for (int i = 0; i < orderLayers.size(); i++) {
+                properties.setProperty(ORDER_LAYER_PREFIX + i, String.join(",", orderLayers.get(i)));
+            }
+        }
+
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                properties.store(writer, "VInject container snapshot, regenerated when the classpath changes");
+            }
+            dirty = false;
+        } catch (IOException e) {
+            System.err.println("Unable to write VInject snapshot " + file + ": " + e.getMessage());
+        }
+    }
+
+    private void read(Properties properties) {
+        candidates = new LinkedHashMap<>();
+        Map<Integer, List<String>> layers = new TreeMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            String value = properties.getProperty(name);
+            if (name.startsWith(CONDITION_PREFIX)) {
+                conditions.put(name.substring(CONDITION_PREFIX.length()), Boolean.parseBoolean(value));
+            } else if (name.startsWith(MISSING_PREFIX)) {
+                missingDependencies.put(name.substring(MISSING_PREFIX.length()), split(value));
+            } else if (name.startsWith(CANDIDATE_PREFIX)) {
+                candidates.put(name.substring(CANDIDATE_PREFIX.length()), split(value));
+            } else if (name.startsWith(ORDER_LAYER_PREFIX)) {
+                layers.put(Integer.parseInt(name.substring(ORDER_LAYER_PREFIX.length())), split(value));
+            }
+        }
+        if (properties.containsKey(HANDLERS)) {
+            componentHandlers = split(properties.getProperty(HANDLERS));
+        } else {
+            candidates = null;
+        }
+        if (properties.containsKey(ORDER_LOADABLE)) {
+            orderLoadable = properties.getProperty(ORDER_LOADABLE);
+            orderRegistered = properties.getProperty(ORDER_REGISTERED, "");
+            orderLayers = new ArrayList<>(layers.values());
+        }
+    }
+
+    @Nullable
+    private Class<?> loadClass(String name) {
+        try {
+            return Class.forName(name, false, classLoader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+    }
+
+    private static List<String> split(String value) {
+        if (value == null || value.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return List.of(value.split(","));
+    }
+
+    private static String fingerprint(Collection<Class<?>> classes) {
+        Set<String> names = new TreeSet<>();
+        for (Class<?> clazz : classes) {
+            names.add(clazz.getName());
+        }
+        return hash(String.join(",", names));
+    }
+
+    /**
+     * Hash the classpath entries, the root settings and the properties that influence the boot.
+     */
+    static String computeKey(Root rootAnnotation, Class<?> rootClass, ClassLoader classLoader) {
+        StringBuilder input = new StringBuilder();
+        input.append("format=").append(FORMAT_VERSION).append('\n');
+        input.append("root=").append(rootClass.getName()).append(' ').append(rootAnnotation).append('\n');
+        input.append("parallel=").append(Boolean.getBoolean("vinject.boot.parallel")).append('\n');
+        input.append("disableIndex=").append(Boolean.getBoolean("vinject.scan.disableIndex")).append('\n');
+        for (Path entry : getClasspathEntries(rootClass, classLoader)) {
+            appendEntry(input, entry);
+        }
+        return hash(input.toString());
+    }
+
+    private static Set<Path> getClasspathEntries(Class<?> rootClass, ClassLoader classLoader) {
+        Set<Path> entries = new LinkedHashSet<>();
+        CodeSource codeSource = rootClass.getProtectionDomain().getCodeSource();
+        if (codeSource != null && codeSource.getLocation() != null) {
+            addEntry(entries, codeSource.getLocation());
+        }
+        for (ClassLoader loader = classLoader; loader != null; loader = loader.getParent()) {
+            if (loader instanceof URLClassLoader urlClassLoader) {
+                for (URL url : urlClassLoader.getURLs()) {
+                    addEntry(entries, url);
+                }
+            }
+        }
+        String classPath = System.getProperty("java.class.path", "");
+        for (String element : classPath.split(File.pathSeparator)) {
+            if (!element.isEmpty()) {
+                entries.add(Paths.get(element).toAbsolutePath().normalize());
+            }
+        }
+        return entries;
+    }
+
+    private static void addEntry(Set<Path> entries, URL url) {
+        try {
+            if ("file".equals(url.getProtocol())) {
+                entries.add(Paths.get(url.toURI()).toAbsolutePath().normalize());
+            }
+        } catch (URISyntaxException | IllegalArgumentException ignored) {
+            // Not a local file, cannot be part of the key
+        }
+    }
+
+    private static void appendEntry(StringBuilder input, Path entry) {
+        input.append(entry).append('\n');
+        try {
+            Path index = entry.resolve(ComponentIndex.INDEX_RESOURCE);
+            if (Files.isRegularFile(index)) {
+                input.append("index=").append(hash(Files.readString(index, StandardCharsets.UTF_8))).append('\n');
+            } else if (Files.isDirectory(entry)) {
+                try (Stream<Path> files = Files.walk(entry)) {
+                    files.filter(Files::isRegularFile).sorted().forEach(path -> appendFile(input, path));
+                }
+            } else if (Files.exists(entry)) {
+                appendFile(input, entry);
+            }
+        } catch (IOException | RuntimeException e) {
+            input.append("unreadable\n");
+        }
+    }
+
+    private static void appendFile(StringBuilder input, Path path) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            input.append(path).append(':').append(attributes.size()).append(':').append(attributes.lastModifiedTime().toMillis()).append('\n');
+        } catch (IOException e) {
+            input.append(path).append(":unreadable\n");
+        }
+    }
+
+    private static String hash(String input) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(input.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package net.vortexdevelopment.vinject.di.engine;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks which classes are currently being instantiated, replacing the plain per-thread bookkeeping
+ * so components can be created from several threads during parallel boot.
+ * <p>
+ * Every thread keeps its own creation stack to detect circular constructor dependencies. Singleton
+ * creation is additionally claimed globally: a thread asking for a singleton another thread is already
+ * creating waits until that creation finishes. If waiting would deadlock because the owning thread is
+ * itself waiting on the current thread, the early registered instance is used instead, which matches
+ * the deferred field injection used for circular dependencies on a single thread.
+ */
+public class CreationTracker {
+
+    private static final long WAIT_INTERVAL_MILLIS = 50;
+
+    private final Map<Class<?>, Object> registeredInstances;
+    private final ThreadLocal<Set<Class<?>>> currentlyCreating = ThreadLocal.withInitial(HashSet::new);
+    private final Map<Class<?>, Thread> owners = new ConcurrentHashMap<>();
+    private final Map<Thread, Class<?>> waiting = new ConcurrentHashMap<>();
+    private final Object monitor = new Object();
+
+    /**
+     * @param registeredInstances The container's singleton map, used to look up early registered instances
+     */
+    public CreationTracker(Map<Class<?>, Object> registeredInstances) {
+        this.registeredInstances = registeredInstances;
+    }
+
+    /**
+     * Start creating an instance of the given class on the current thread.
+     *
+     * @param clazz The class to create
+     * @param singleton Whether the instance is cached in the container (only one thread may create it)
+     * @return true if the caller must create the instance and call {@link #end}, false if another thread
+     *         created (or registered) the singleton in the meantime and it should be looked up instead
+     */
+    public boolean begin(Class<?> clazz, boolean singleton) {
+        Set<Class<?>> creating = currentlyCreating.get();
+        if (creating.contains(clazz)) {
+            throw circularDependency(clazz);
+        }
+
+        if (singleton) {
+            Thread current = Thread.currentThread();
+            Thread owner = owners.putIfAbsent(clazz, current);
+            if (owner != null) {
+                awaitCreation(clazz, owner, current);
+                return false;
+            }
+        }
+
+        creating.add(clazz);
+        return true;
+    }
+
+    /**
+     * Finish creating an instance started with {@link #begin} and wake up waiting threads.
+     *
+     * @param clazz The class that was created
+     * @param singleton The value passed to {@link #begin}
+     */
+    public void end(Class<?> clazz, boolean singleton) {
+        currentlyCreating.get().remove(clazz);
+        if (singleton) {
+            owners.remove(clazz, Thread.currentThread());
+            synchronized (monitor) {
+                monitor.notifyAll();
+            }
+        }
+    }
+
+    private void awaitCreation(Class<?> clazz, Thread owner, Thread current) {
+        waiting.put(current, clazz);
+        try {
+            synchronized (monitor) {
+                while (owners.get(clazz) == owner) {
+                    if (isWaitingOn(owner, current)) {
+                        if (registeredInstances.containsKey(clazz)) {
+                            return;
+                        }
+                        throw circularDependency(clazz);
+                    }
+                    monitor.wait(WAIT_INTERVAL_MILLIS);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for creation of class: " + clazz.getName(), e);
+        } finally {
+            waiting.remove(current);
+        }
+    }
+
+    /**
+     * Follow the wait-for chain starting at the owner thread and check if it leads back to the current thread.
+     */
+    private boolean isWaitingOn(Thread owner, Thread current) {
+        Thread thread = owner;
+        for (int i = 0; i <= waiting.size(); i++) {
+            Class<?> awaited = waiting.get(thread);
+            if (awaited == null) {
+                return false;
+            }
+            thread = owners.get(awaited);
+            if (thread == null) {
+                return false;
+            }
+            if (thread == current) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static RuntimeException circularDependency(Class<?> clazz) {
+        return new RuntimeException(
+            "Circular dependency detected for class: " + clazz.getName() +
+            "\nCircular dependencies are only supported with field injection (@Inject on fields)." +
+            "\nConstructor injection cannot handle circular dependencies because the instance must be fully created before it can be injected." +
+            "\n\nTo resolve this issue, use field injection instead of constructor parameters."
+        );
+    }
+}
@@ -11,15 +11,25 @@ import net.vortexdevelopment.vinject.di.utils.DependencyUtils;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 
 /**
  * Handles dependency resolution and topological sorting for component loading order.
+ * <p>
+ * Types provided through {@code @Component(registerSubclasses)} and {@code @Bean(registerSubclasses)} are
+ * indexed once per graph, and the topological sort is iterative, so resolving the order is linear in the
+ * number of components and dependencies and deep dependency chains cannot overflow the stack.
  */
 public class DependencyGraphResolver {
 
@@ -33,7 +43,137 @@ public class DependencyGraphResolver {
      * Creates a loading order for components based on their dependencies.
      */
     public LinkedList<Class<?>> createLoadingOrder(Set<Class<?>> components) {
-        // Build the dependency graph
+        return performTopologicalSort(buildDependencyGraph(components), true);
+    }
+
+    /**
+     * Creates a layered loading order for parallel instantiation.
+     * Components in the same layer do not depend on each other, so a layer can be created concurrently
+     * once all previous layers are done. Layers are ordered by component priority first (lower first),
+     * matching the sequential order, and by dependency depth within the same priority.
+     * Edges that close a circular dependency are ignored, those are resolved with deferred field injection.
+     *
+     * @param components The components to order
+     * @return The layers in loading order
+     */
+    public List<List<Class<?>>> createLoadingLayers(Set<Class<?>> components) {
+        return createLayers(buildDependencyGraph(components), true);
+    }
+
+    /**
+     * Creates a layered shutdown order for components that are already registered in the container.
+     * This is the reverse of the layered loading order: every component comes before the components
+     * it depends on, and components in the same layer can be destroyed concurrently.
+     * Dependencies are resolved through the registered singletons, so only edges between the given
+     * components are considered.
+     *
+     * @param components The classes of the registered components
+     * @return The layers in shutdown order
+     */
+    public List<List<Class<?>>> createShutdownLayers(Set<Class<?>> components) {
+        return createShutdownLayers(createShutdownGraph(components));
+    }
+
+    /**
+     * Creates the layered shutdown order for a graph built with {@link #createShutdownGraph(Set)}.
+     *
+     * @param dependencyGraph The direct dependencies of every component
+     * @return The layers in shutdown order
+     */
+    public List<List<Class<?>>> createShutdownLayers(Map<Class<?>, Set<Class<?>>> dependencyGraph) {
+        // Cycles were already reported at boot
+        List<List<Class<?>>> layers = createLayers(dependencyGraph, false);
+        Collections.reverse(layers);
+        return layers;
+    }
+
+    /**
+     * Resolves the direct dependencies of registered components through the registered singletons,
+     * keeping only edges between the given components.
+     *
+     * @param components The classes of the registered components
+     * @return The dependencies of every component
+     */
+    public Map<Class<?>, Set<Class<?>>> createShutdownGraph(Set<Class<?>> components) {
+        Map<Class<?>, Set<Class<?>>> dependencyGraph = new HashMap<>();
+        for (Class<?> component : components) {
+            Set<Class<?>> dependencies = new HashSet<>();
+            for (Class<?> type : getInjectedTypes(component)) {
+                Object instance = container.getDependencies().get(type);
+                if (instance != null && instance.getClass() != component && components.contains(instance.getClass())) {
+                    dependencies.add(instance.getClass());
+                }
+            }
+            dependencyGraph.put(component, dependencies);
+        }
+        return dependencyGraph;
+    }
+
+    private List<List<Class<?>>> createLayers(Map<Class<?>, Set<Class<?>>> dependencyGraph, boolean reportCycles) {
+        LinkedList<Class<?>> order = performTopologicalSort(dependencyGraph, reportCycles);
+
+        // Depth of every component, dependencies always come before dependents in the topological order
+        Map<Class<?>, Integer> depths = new HashMap<>();
+        for (Class<?> component : order) {
+            int depth = 0;
+            for (Class<?> dependency : dependencyGraph.getOrDefault(component, Collections.emptySet())) {
+                Integer dependencyDepth = depths.get(dependency);
+                if (dependencyDepth != null) {
+                    depth = Math.max(depth, dependencyDepth + 1);
+                }
+            }
+            depths.put(component, depth);
+        }
+
+        TreeMap<Integer, TreeMap<Integer, List<Class<?>>>> layers = new TreeMap<>();
+        for (Class<?> component : order) {
+            layers.computeIfAbsent(getPriority(component), k -> new TreeMap<>())
+                    .computeIfAbsent(depths.get(component), k -> new ArrayList<>())
+                    .add(component);
+        }
+
+        List<List<Class<?>>> result = new ArrayList<>();
+        layers.values().forEach(byDepth -> result.addAll(byDepth.values()));
+        return result;
+    }
+
+    /**
+     * Types a component receives through its constructor, @Inject fields and @PostConstruct parameters.
+     */
+    private static List<Class<?>> getInjectedTypes(Class<?> component) {
+        List<Class<?>> types = new ArrayList<>();
+        if (component.isInterface() || component.isEnum() || component.isAnnotation()) {
+            return types;
+        }
+        if (!DependencyUtils.hasDefaultConstructor(component)) {
+            var constructors = component.getDeclaredConstructors();
+            if (constructors.length > 0) {
+                types.addAll(List.of(constructors[0].getParameterTypes()));
+            }
+        }
+        for (Field field : component.getDeclaredFields()) {
+            if (field.isAnnotationPresent(Inject.class)) {
+                types.add(field.getType());
+            }
+        }
+        for (Method method : component.getDeclaredMethods()) {
+            if (method.isAnnotationPresent(PostConstruct.class)) {
+                types.addAll(List.of(method.getParameterTypes()));
+            }
+        }
+        return types;
+    }
+
+    /**
+     * Get the loading priority of a component, lower values are loaded first.
+     */
+    public static int getPriority(Class<?> clazz) {
+        Component component = clazz.getAnnotation(Component.class);
+        return component != null ? component.priority() : 10;
+    }
+
+    private Map<Class<?>, Set<Class<?>>> buildDependencyGraph(Set<Class<?>> components) {
+        Map<Class<?>, Class<?>> providers = createProviderIndex(components);
         Map<Class<?>, Set<Class<?>>> dependencyGraph = new HashMap<>();
         for (Class<?> component : components) {
             Set<Class<?>> dependencies = new HashSet<>();
@@ -52,7 +192,7 @@ public class DependencyGraphResolver {
                     Class<?>[] parameterTypes = constructors[0].getParameterTypes();
                     for (Class<?> parameter : parameterTypes) {
                         // Same dependency logic as constructor parameters
-                        resolveParameters(components, dependencies, parameter);
+                        resolveParameters(components, providers, dependencies, parameter);
                     }
                 }
             }
@@ -72,7 +212,7 @@ public class DependencyGraphResolver {
                     // Skip services and root (preloaded)
                     if (!fieldType.isAnnotationPresent(Service.class) && !fieldType.equals(container.getRootClass()) && !fieldType.isAnnotationPresent(Repository.class)) {
                         if (!fieldType.isAnnotationPresent(Component.class) || fieldType.isInterface()) {
-                            Class<?> providingClass = getProvidingClass(components, fieldType);
+                            Class<?> providingClass = providers.get(fieldType);
                             if (providingClass != null) {
                                 dependencies.add(providingClass);
                                 continue;
@@ -82,7 +222,7 @@ public class DependencyGraphResolver {
                         if (components.contains(fieldType)) {
                             dependencies.add(fieldType);
                         } else {
-                            Class<?> providingClass = getProvidingClass(components, fieldType);
+                            Class<?> providingClass = providers.get(fieldType);
                             if (providingClass != null) {
                                 dependencies.add(providingClass);
                             }
@@ -96,19 +236,17 @@ public class DependencyGraphResolver {
                 if (method.isAnnotationPresent(PostConstruct.class)) {
                     for (Class<?> parameter : method.getParameterTypes()) {
                         // Same dependency logic as constructor parameters
-                        resolveParameters(components, dependencies, parameter);
+                        resolveParameters(components, providers, dependencies, parameter);
                     }
                 }
             }
 
             dependencyGraph.put(component, dependencies);
         }
-
-        // Perform topological sort
-        return performTopologicalSort(dependencyGraph);
+        return dependencyGraph;
     }
 
-    private void resolveParameters(Set<Class<?>> components, Set<Class<?>> dependencies, Class<?> parameter) {
+    private void resolveParameters(Set<Class<?>> components, Map<Class<?>, Class<?>> providers, Set<Class<?>> dependencies, Class<?> parameter) {
         if (container.getDependencies().containsKey(parameter)) {
             return;
         }
@@ -121,86 +259,99 @@ public class DependencyGraphResolver {
             if (components.contains(parameter)) {
                 dependencies.add(parameter);
             } else {
-                Class<?> providingClass = getProvidingClass(components, parameter);
+                Class<?> providingClass = providers.get(parameter);
                 if (providingClass != null) {
                     dependencies.add(providingClass);
                 }
             }
         } else {
-             Class<?> providingClass = getProvidingClass(components, parameter);
+             Class<?> providingClass = providers.get(parameter);
              if (providingClass != null) {
                  dependencies.add(providingClass);
              }
         }
     }
 
-    private Class<?> getProvidingClass(Set<Class<?>> components, Class<?> searchedClass) {
+    /**
+     * Map every type provided through registerSubclasses to the component providing it.
+     * If several components provide the same type, the first one wins.
+     */
+    private static Map<Class<?>, Class<?>> createProviderIndex(Set<Class<?>> components) {
+        Map<Class<?>, Class<?>> providers = new HashMap<>();
         for (Class<?> clazz : components) {
             Component component = clazz.getAnnotation(Component.class);
             if (component != null) {
                 for (Class<?> providingClass : component.registerSubclasses()) {
-                    if (providingClass.equals(searchedClass)) {
-                        return clazz;
-                    }
+                    providers.putIfAbsent(providingClass, clazz);
                 }
             }
 
             Bean bean = clazz.getAnnotation(Bean.class);
             if (bean != null) {
                 for (Class<?> providingClass : bean.registerSubclasses()) {
-                    if (providingClass.equals(searchedClass)) {
-                        return clazz;
-                    }
+                    providers.putIfAbsent(providingClass, clazz);
                 }
             }
         }
-        return null;
+        return providers;
     }
 
-    private LinkedList<Class<?>> performTopologicalSort(Map<Class<?>, Set<Class<?>>> dependencyGraph) {
+    /**
+     * Depth-first post-order sort with an explicit stack. Components on the current path are tracked with
+     * their position, so a dependency closing a cycle is detected and reported in constant time per edge.
+     */
+    private LinkedList<Class<?>> performTopologicalSort(Map<Class<?>, Set<Class<?>>> dependencyGraph, boolean reportCycles) {
         LinkedList<Class<?>> sortedComponents = new LinkedList<>();
         Set<Class<?>> visited = new HashSet<>();
-        Set<Class<?>> visiting = new java.util.LinkedHashSet<>();
+        List<Class<?>> path = new ArrayList<>();
+        Map<Class<?>, Integer> pathIndex = new HashMap<>();
+        Deque<Iterator<Class<?>>> pending = new ArrayDeque<>();
 
-        for (Class<?> component : dependencyGraph.keySet()) {
-            if (!visited.contains(component)) {
-                visit(component, dependencyGraph, visited, visiting, sortedComponents);
+        for (Class<?> root : dependencyGraph.keySet()) {
+            if (visited.contains(root)) {
+                continue;
+            }
+            enter(root, dependencyGraph, path, pathIndex, pending);
+
+            while (!pending.isEmpty()) {
+                Iterator<Class<?>> dependencies = pending.peek();
+                if (dependencies.hasNext()) {
+                    Class<?> dependency = dependencies.next();
+                    Integer index = pathIndex.get(dependency);
+                    if (index != null) {
+                        // Circular dependency detected - log it and skip to resolve with deferred injection
+                        if (reportCycles) {
+                            reportCycle(path.subList(index, path.size()), dependency);
+                        }
+                    } else if (!visited.contains(dependency)) {
+                        enter(dependency, dependencyGraph, path, pathIndex, pending);
+                    }
+                } else {
+                    pending.pop();
+                    Class<?> component = path.remove(path.size() - 1);
+                    pathIndex.remove(component);
+                    visited.add(component);
+                    sortedComponents.addLast(component);
+                }
             }
         }
 
         return sortedComponents;
     }
 
-    private void visit(Class<?> component,
-                       Map<Class<?>, Set<Class<?>>> graph,
-                       Set<Class<?>> visited,
-                       Set<Class<?>> visiting,
-                       LinkedList<Class<?>> sortedComponents) {
-        if (visiting.contains(component)) {
-            // Circular dependency detected - log it and skip to resolve with deferred injection
-            StringBuilder cycle = new StringBuilder();
-            boolean inCycle = false;
-            for (Class<?> c : visiting) {
-                if (c.equals(component)) {
-                    inCycle = true;
-                }
-                if (inCycle) {
-                    cycle.append(c.getSimpleName()).append(" -> ");
-                }
-            }
-            cycle.append(component.getSimpleName());
-            System.out.println("Circular dependency detected (will be resolved with deferred injection): " + cycle.toString());
-            return;
-        }
+    private static void enter(Class<?> component, Map<Class<?>, Set<Class<?>>> graph, List<Class<?>> path,
+                              Map<Class<?>, Integer> pathIndex, Deque<Iterator<Class<?>>> pending) {
+        pathIndex.put(component, path.size());
+        path.add(component);
+        pending.push(graph.getOrDefault(component, Collections.emptySet()).iterator());
+    }
 
-        if (!visited.contains(component)) {
-            visiting.add(component);
-            for (Class<?> dependency : graph.getOrDefault(component, Collections.emptySet())) {
-                visit(dependency, graph, visited, visiting, sortedComponents);
-            }
-            visiting.remove(component);
-            visited.add(component);
-            sortedComponents.addLast(component);
+    private static void reportCycle(List<Class<?>> cyclePath, Class<?> component) {
+        StringBuilder cycle = new StringBuilder();
+        for (Class<?> c : cyclePath) {
+            cycle.append(c.getSimpleName()).append(" -> ");
         }
+        cycle.append(component.getSimpleName());
+        System.out.println("Circular dependency detected (will be resolved with deferred injection): " + cycle);
     }
 }
@@ -1,28 +1,36 @@
 package net.vortexdevelopment.vinject.di.engine;
 
-import net.vortexdevelopment.vinject.annotation.Inject;
 import net.vortexdevelopment.vinject.annotation.util.IgnoreJavaxInject;
-import net.vortexdevelopment.vinject.annotation.Value;
 import net.vortexdevelopment.vinject.config.Environment;
 import net.vortexdevelopment.vinject.di.DependencyContainer;
-import net.vortexdevelopment.vinject.di.resolver.ArgumentResolverContext;
-import net.vortexdevelopment.vinject.di.utils.DependencyUtils;
+import net.vortexdevelopment.vinject.di.scan.ComponentIndex;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Handles dependency injection into fields and methods.
  * Centralizes injection logic, including fallback mechanisms and resolver calls.
+ * Injection points are analyzed once per class and cached as an {@link InjectionPlan}.
+ * Classes with a generated {@link ComponentInjector} in the component index are injected through it,
+ * set {@code vinject.injectors=false} to always use method handles.
  */
 public class InjectionEngine {
 
+    public static final String INJECTORS_PROPERTY = "vinject.injectors";
+
     private final DependencyContainer container;
+    private final Map<Class<?>, InjectionPlan> plans = new ConcurrentHashMap<>();
+    private final Set<Class<?>> staticTargets = ConcurrentHashMap.newKeySet();
+    private volatile ComponentIndex componentIndex;
 
     public InjectionEngine(DependencyContainer container) {
         this.container = container;
@@ -34,50 +42,7 @@ public class InjectionEngine {
      * @param object The instance to inject dependencies into
      */
     public void inject(@NotNull Object object) {
-        Class<?> clazz = object.getClass();
-        for (Field field : clazz.getDeclaredFields()) {
-            if (Modifier.isStatic(field.getModifiers())) {
-                continue;
-            }
-
-            checkJavaxInject(field);
-
-            ArgumentResolverContext context = new ArgumentResolverContext.Builder()
-                    .targetType(field.getType())
-                    .annotations(field.getAnnotations())
-                    .field(field)
-                    .declaringClass(clazz)
-                    .container(container)
-                    .instance(object)
-                    .build();
-
-            Object resolvedValue = container.resolveArgument(context);
-            if (resolvedValue != null) {
-                try {
-                    field.setAccessible(true);
-                    field.set(object, resolvedValue);
-                    continue;
-                } catch (Exception e) {
-                    throw new RuntimeException("Unable to inject resolved value for field: " + field.getName() + 
-                                               " in class: " + clazz.getName(), e);
-                }
-            }
-
-            // Fallback for @Value
-            if (field.isAnnotationPresent(Value.class)) {
-                Value valueAnnotation = field.getAnnotation(Value.class);
-                try {
-                    Object value = resolveValue(valueAnnotation.value(), field.getType());
-                    field.setAccessible(true);
-                    field.set(object, value);
-                } catch (Exception e) {
-                    throw new RuntimeException("Unable to inject @Value for field: " + field.getName() + 
-                                               " in class: " + clazz.getName(), e);
-                }
-            }
-        }
-
-        injectSetters(object);
+        getPlan(object.getClass()).inject(object, container, this);
     }
 
     /**
@@ -86,145 +51,92 @@ public class InjectionEngine {
      * @param target The class to process
      */
     public void injectStatic(@NotNull Class<?> target) {
-        for (Field field : target.getDeclaredFields()) {
-            if (!Modifier.isStatic(field.getModifiers())) {
+        InjectionPlan plan = getPlan(target);
+        plan.injectStatic(container, this);
+        if (plan.hasValueFields()) {
+            staticTargets.add(target);
+        }
+    }
+
+    /**
+     * Re-inject {@code @Value} fields and setters with {@code @Value} parameters from the current property
+     * snapshot, called after the properties were reloaded. Covers the given instances and all statically
+     * injected classes.
+     *
+     * @param instances The instances to refresh, usually the container's singletons
+     */
+    public void refreshValues(@NotNull Collection<Object> instances) {
+        Set<Object> refreshed = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Object instance : instances) {
+            if (instance == null || !refreshed.add(instance)) {
                 continue;
             }
-
-            checkJavaxInject(field);
-
-            ArgumentResolverContext context = new ArgumentResolverContext.Builder()
-                    .targetType(field.getType())
-                    .annotations(field.getAnnotations())
-                    .field(field)
-                    .declaringClass(target)
-                    .container(container)
-                    .instance(null)
-                    .build();
-
-            Object resolvedValue = container.resolveArgument(context);
-            if (resolvedValue != null) {
-                try {
-                    field.setAccessible(true);
-                    field.set(null, resolvedValue);
-                    continue;
-                } catch (Exception e) {
-                    throw new RuntimeException("Unable to inject resolved value for static field: " + field.getName() + 
-                                               " in class: " + target.getName(), e);
-                }
+            InjectionPlan plan = plans.get(instance.getClass());
+            if (plan != null) {
+                plan.refreshValues(instance, container, this);
             }
-
-            // Fallback for @Value
-            if (field.isAnnotationPresent(Value.class)) {
-                Value valueAnnotation = field.getAnnotation(Value.class);
-                try {
-                    Object value = resolveValue(valueAnnotation.value(), field.getType());
-                    field.setAccessible(true);
-                    field.set(null, value);
-                } catch (Exception e) {
-                    throw new RuntimeException("Unable to inject @Value for static field: " + field.getName() + 
-                                               " in class: " + target.getName(), e);
-                }
+        }
+        for (Class<?> target : staticTargets) {
+            InjectionPlan plan = plans.get(target);
+            if (plan != null) {
+                plan.refreshValues(null, container, this);
             }
         }
     }
 
     /**
-     * Resolve a @Value annotation expression to the appropriate type.
+     * Get the cached injection plan for a class, building it on first use or when
+     * argument resolvers were registered since the plan was built.
+     *
+     * @param type The class to get the plan for
+     * @return The injection plan
      */
-    public Object resolveValue(String expression, Class<?> targetType) {
-        Environment env = Environment.getInstance();
-        String resolvedValue = env.resolveProperty(expression);
-
-        try {
-            return switch (targetType.getName()) {
-                case "java.lang.String" -> resolvedValue;
-                case "int", "java.lang.Integer" -> Integer.parseInt(resolvedValue);
-                case "long", "java.lang.Long" -> Long.parseLong(resolvedValue);
-                case "boolean", "java.lang.Boolean" -> Boolean.parseBoolean(resolvedValue);
-                case "double", "java.lang.Double" -> Double.parseDouble(resolvedValue);
-                case "float", "java.lang.Float" -> Float.parseFloat(resolvedValue);
-                default -> throw new RuntimeException("Unsupported type for @Value injection: " + targetType.getName() + 
-                                                       " for expression: " + expression);
-            };
-        } catch (NumberFormatException e) {
-            throw new RuntimeException("Cannot convert property value '" + resolvedValue + "' to " + 
-                                       targetType.getSimpleName() + " for expression: " + expression, e);
+    public InjectionPlan getPlan(@NotNull Class<?> type) {
+        int resolverVersion = container.getArgumentResolverRegistry().getVersion();
+        InjectionPlan plan = plans.get(type);
+        if (plan == null || !plan.isCurrent(resolverVersion)) {
+            plan = InjectionPlan.create(type, container, this::checkJavaxInject, findInjector(type));
+            plans.put(type, plan);
         }
+        return plan;
     }
 
     /**
-     * Inject dependencies via setter methods.
+     * Use the generated injectors listed in the component index for plans built from now on.
+     *
+     * @param componentIndex The index, null if the classpath is scanned
      */
-    private void injectSetters(@NotNull Object object) {
-        Class<?> clazz = object.getClass();
-        Map<String, Field> injectFields = new HashMap<>();
-        for (Field field : clazz.getDeclaredFields()) {
-            if (field.isAnnotationPresent(Inject.class)) {
-                injectFields.put(field.getName(), field);
-            }
-        }
-
-        for (Method method : clazz.getDeclaredMethods()) {
-            checkJavaxInject(method);
-            boolean hasInjectAnnotation = method.isAnnotationPresent(Inject.class);
-            Field targetField = null;
-            if (method.getName().startsWith("set") && method.getParameterCount() == 1) {
-                String fieldName = Character.toLowerCase(method.getName().charAt(3)) + method.getName().substring(4);
-                targetField = injectFields.get(fieldName);
-            }
-
-            if (!hasInjectAnnotation && targetField == null) {
-                continue;
-            }
-
-            if (Modifier.isStatic(method.getModifiers()) || method.getParameterCount() == 0) {
-                continue;
-            }
-
-            try {
-                method.setAccessible(true);
-                Class<?>[] parameterTypes = method.getParameterTypes();
-                Annotation[][] parameterAnnotations = method.getParameterAnnotations();
-                Object[] parameters = new Object[parameterTypes.length];
-                boolean allResolved = true;
-
-                for (int i = 0; i < parameterTypes.length; i++) {
-                    ArgumentResolverContext context = new ArgumentResolverContext.Builder()
-                            .targetType(parameterTypes[i])
-                            .annotations(parameterAnnotations[i])
-                            .parameter(method.getParameters()[i])
-                            .declaringClass(clazz)
-                            .method(method)
-                            .field(targetField)
-                            .container(container)
-                            .instance(object)
-                            .build();
-
-                    Object resolvedValue = container.resolveArgument(context);
-                    if (resolvedValue != null) {
-                        parameters[i] = resolvedValue;
-                    } else {
-                        Value valueAnnotation = DependencyUtils.findAnnotation(parameterAnnotations[i], Value.class);
-                        if (valueAnnotation != null) {
-                            parameters[i] = resolveValue(valueAnnotation.value(), parameterTypes[i]);
-                        } else {
-                            allResolved = false;
-                            break;
-                        }
-                    }
-                }
+    public void setComponentIndex(@Nullable ComponentIndex componentIndex) {
+        this.componentIndex = componentIndex;
+    }
 
-                if (allResolved) {
-                    method.invoke(object, parameters);
-                }
-            } catch (Exception e) {
-                throw new RuntimeException("Error invoking @Inject setter method " + method.getName() + 
-                                           " on " + clazz.getName(), e);
-            }
+    @Nullable
+    private ComponentInjector findInjector(Class<?> type) {
+        ComponentIndex index = componentIndex;
+        if (index == null || "false".equalsIgnoreCase(System.getProperty(INJECTORS_PROPERTY))) {
+            return null;
+        }
+        String injectorName = index.getInjector(type.getName());
+        if (injectorName == null) {
+            return null;
+        }
+        try {
+            Class<?> injectorClass = Class.forName(injectorName, true, type.getClassLoader());
+            return (ComponentInjector) injectorClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError | ClassCastException e) {
+            container.getStartupReport().warn("Unable to load injector " + injectorName + ", injecting " +
+                                              type.getName() + " reflectively: " + e.getMessage());
+            return null;
         }
     }
 
+    /**
+     * Resolve a @Value annotation expression to the appropriate type.
+     */
+    public Object resolveValue(String expression, Class<?> targetType) {
+        return Environment.getInstance().resolveValue(expression, targetType);
+    }
+
     private void checkJavaxInject(java.lang.reflect.AccessibleObject accessible) {
         if (accessible.isAnnotationPresent(IgnoreJavaxInject.class)) {
             return;
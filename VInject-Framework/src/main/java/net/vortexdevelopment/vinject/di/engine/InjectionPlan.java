@@ -0,0 +1,410 @@
+package net.vortexdevelopment.vinject.di.engine;
+
+import net.vortexdevelopment.vinject.annotation.Inject;
+import net.vortexdevelopment.vinject.annotation.Value;
+import net.vortexdevelopment.vinject.config.Environment;
+import net.vortexdevelopment.vinject.config.ValueExpression;
+import net.vortexdevelopment.vinject.di.DependencyContainer;
+import net.vortexdevelopment.vinject.di.resolver.ArgumentResolverContext;
+import net.vortexdevelopment.vinject.di.resolver.ArgumentResolverProcessor;
+import net.vortexdevelopment.vinject.di.resolver.ValueArgumentResolver;
+import net.vortexdevelopment.vinject.di.utils.DependencyUtils;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Injection metadata computed once per class by the {@link InjectionEngine}.
+ * <p>
+ * Holds only the fields and setters that take part in injection, the resolver selected for each
+ * field and precompiled {@link MethodHandle} writers, so injecting an instance no longer scans
+ * the class or walks all resolvers. Resolver selection for fields is done once, so
+ * {@link ArgumentResolverProcessor#canResolve} must not depend on the instance being injected.
+ * {@code @Value} fields handled by the built-in resolver are bound to a compiled {@link ValueExpression}
+ * and can be re-injected when the properties are reloaded. Fields and setters covered by a generated
+ * {@link ComponentInjector} are written through it instead of a method handle.
+ */
+public final class InjectionPlan {
+
+    private static final MethodType INSTANCE_WRITER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType STATIC_WRITER_TYPE = MethodType.methodType(void.class, Object.class);
+    private static final MethodType SETTER_INVOKER_TYPE = MethodType.methodType(void.class, Object.class, Object[].class);
+
+    private final Class<?> type;
+    private final int resolverVersion;
+    private final FieldInjectionPoint[] instanceFields;
+    private final FieldInjectionPoint[] staticFields;
+    private final SetterInjectionPoint[] setters;
+
+    private InjectionPlan(Class<?> type, int resolverVersion, List<FieldInjectionPoint> instanceFields,
+                          List<FieldInjectionPoint> staticFields, List<SetterInjectionPoint> setters) {
+        this.type = type;
+        this.resolverVersion = resolverVersion;
+        this.instanceFields = instanceFields.toArray(new FieldInjectionPoint[0]);
+        this.staticFields = staticFields.toArray(new FieldInjectionPoint[0]);
+        this.setters = setters.toArray(new SetterInjectionPoint[0]);
+    }
+
+    /**
+     * Build the injection plan for a class.
+     *
+     * @param type The class to analyze
+     * @param container The container providing the argument resolvers
+     * @param javaxInjectCheck Called for every field and method to reject unsupported annotations
+     * @param injector The generated injector of the class, null to use method handles only
+     * @return The plan for the class
+     */
+    static InjectionPlan create(Class<?> type, DependencyContainer container, Consumer<AccessibleObject> javaxInjectCheck,
+                                @Nullable ComponentInjector injector) {
+        int resolverVersion = container.getArgumentResolverRegistry().getVersion();
+
+        Map<String, Integer> injectorSlots = new HashMap<>();
+        if (injector != null) {
+            String[] fields = injector.getFields();
+            String[] setters = injector.getSetters();
+            for (int i = 0; i < fields.length; i++) {
+                injectorSlots.put(fields[i], i);
+            }
+            for (int i = 0; i < setters.length; i++) {
+                injectorSlots.put(setters[i], fields.length + i);
+            }
+        }
+
+        List<FieldInjectionPoint> instanceFields = new ArrayList<>();
+        List<FieldInjectionPoint> staticFields = new ArrayList<>();
+        Map<String, Field> injectFields = new HashMap<>();
+
+        for (Field field : type.getDeclaredFields()) {
+            javaxInjectCheck.accept(field);
+            boolean isStatic = Modifier.isStatic(field.getModifiers());
+            if (!isStatic && field.isAnnotationPresent(Inject.class)) {
+                injectFields.put(field.getName(), field);
+            }
+
+            Annotation[] annotations = field.getAnnotations();
+            ArgumentResolverContext template = new ArgumentResolverContext.Builder()
+                    .targetType(field.getType())
+                    .annotations(annotations)
+                    .field(field)
+                    .declaringClass(type)
+                    .container(container)
+                    .build();
+
+            ArgumentResolverProcessor selected = container.getArgumentResolverRegistry().findResolver(template);
+
+            Value value = field.getAnnotation(Value.class);
+            if (selected == null && value == null) {
+                continue;
+            }
+
+            ValueExpression expression = null;
+            if (value != null && (selected == null || selected instanceof ValueArgumentResolver)) {
+                selected = null;
+                expression = Environment.getInstance().compile(value.value(), field.getType());
+            }
+
+            Integer slot = isStatic ? null : injectorSlots.get(field.getName());
+            FieldInjectionPoint point = slot != null
+                    ? new FieldInjectionPoint(field, annotations, selected, expression, null, injector, slot)
+                    : new FieldInjectionPoint(field, annotations, selected, expression, createFieldWriter(field, isStatic), null, -1);
+            if (isStatic) {
+                staticFields.add(point);
+            } else {
+                instanceFields.add(point);
+            }
+        }
+
+        List<SetterInjectionPoint> setters = new ArrayList<>();
+        for (Method method : type.getDeclaredMethods()) {
+            javaxInjectCheck.accept(method);
+            boolean hasInjectAnnotation = method.isAnnotationPresent(Inject.class);
+            Field targetField = null;
+            if (method.getName().startsWith("set") && method.getParameterCount() == 1) {
+                String fieldName = Character.toLowerCase(method.getName().charAt(3)) + method.getName().substring(4);
+                targetField = injectFields.get(fieldName);
+            }
+
+            if (!hasInjectAnnotation && targetField == null) {
+                continue;
+            }
+
+            if (Modifier.isStatic(method.getModifiers()) || method.getParameterCount() == 0) {
+                continue;
+            }
+
+            Class<?>[] parameterTypes = method.getParameterTypes();
+            Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+            ValueExpression[] valueExpressions = null;
+            for (int i = 0; i < parameterTypes.length; i++) {
+                Value value = DependencyUtils.findAnnotation(parameterAnnotations[i], Value.class);
+                if (value != null) {
+                    if (valueExpressions == null) {
+                        valueExpressions = new ValueExpression[parameterTypes.length];
+                    }
+                    valueExpressions[i] = Environment.getInstance().compile(value.value(), parameterTypes[i]);
+                }
+            }
+
+            Integer slot = method.getParameterCount() == 1 ? injectorSlots.get(method.getName() +
+                    MethodType.methodType(method.getReturnType(), parameterTypes).toMethodDescriptorString()) : null;
+            setters.add(new SetterInjectionPoint(method, targetField, parameterTypes, parameterAnnotations,
+                    method.getParameters(), valueExpressions,
+                    slot != null ? null : createSetterInvoker(method), slot != null ? injector : null, slot != null ? slot : -1));
+        }
+
+        return new InjectionPlan(type, resolverVersion, instanceFields, staticFields, setters);
+    }
+
+    /**
+     * Check whether this plan was built against the current set of argument resolvers.
+     */
+    boolean isCurrent(int resolverVersion) {
+        return this.resolverVersion == resolverVersion;
+    }
+
+    /**
+     * Inject all planned non-static fields and setters of the given instance.
+     */
+    void inject(Object instance, DependencyContainer container, InjectionEngine engine) {
+        for (FieldInjectionPoint point : instanceFields) {
+            Object value = point.resolve(instance, type, container, engine);
+            if (value != null) {
+                point.write(instance, value, type);
+            }
+        }
+        for (SetterInjectionPoint setter : setters) {
+            setter.inject(instance, type, container, engine);
+        }
+    }
+
+    /**
+     * Inject all planned static fields of the class.
+     */
+    void injectStatic(DependencyContainer container, InjectionEngine engine) {
+        for (FieldInjectionPoint point : staticFields) {
+            Object value = point.resolve(null, type, container, engine);
+            if (value != null) {
+                point.write(null, value, type);
+            }
+        }
+    }
+
+    /**
+     * Re-inject the {@code @Value} fields of an instance from the current property snapshot and invoke
+     * its setters with {@code @Value} parameters again. Errors are reported and leave the previous value in place.
+     */
+    void refreshValues(@Nullable Object instance, DependencyContainer container, InjectionEngine engine) {
+        Environment environment = Environment.getInstance();
+        for (FieldInjectionPoint point : instance == null ? staticFields : instanceFields) {
+            if (point.expression() == null) {
+                continue;
+            }
+            try {
+                point.write(instance, point.expression().resolve(environment.getSnapshot()), type);
+            } catch (RuntimeException e) {
+                System.err.println("Unable to refresh @Value for field: " + point.field().getName() +
+                                   " in class: " + type.getName() + ": " + e.getMessage());
+            }
+        }
+        if (instance == null) {
+            return;
+        }
+        for (SetterInjectionPoint setter : setters) {
+            if (setter.valueExpressions() == null) {
+                continue;
+            }
+            try {
+                setter.inject(instance, type, container, engine);
+            } catch (RuntimeException e) {
+                System.err.println("Unable to refresh @Value for setter: " + setter.method().getName() +
+                                   " in class: " + type.getName() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Whether the class has {@code @Value} fields that can be refreshed, setters are only refreshed on instances.
+     */
+    boolean hasValueFields() {
+        for (FieldInjectionPoint point : instanceFields) {
+            if (point.expression() != null) {
+                return true;
+            }
+        }
+        for (FieldInjectionPoint point : staticFields) {
+            if (point.expression() != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether the class has no fields or setters taking part in injection.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Number of fields and setters taking part in injection, mainly for diagnostics.
+     */
+    public int size() {
+        return instanceFields.length + staticFields.length + setters.length;
+    }
+
+    /**
+     * Number of fields and setters written through the generated injector, mainly for diagnostics.
+     */
+    public int generatedSize() {
+        int count = 0;
+        for (FieldInjectionPoint point : instanceFields) {
+            if (point.injector() != null) {
+                count++;
+            }
+        }
+        for (SetterInjectionPoint point : setters) {
+            if (point.injector() != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Nullable
+    private static MethodHandle createFieldWriter(Field field, boolean isStatic) {
+        try {
+            field.setAccessible(true);
+            MethodHandle setter = MethodHandles.lookup().unreflectSetter(field);
+            return setter.asType(isStatic ? STATIC_WRITER_TYPE : INSTANCE_WRITER_TYPE);
+        } catch (IllegalAccessException | RuntimeException e) {
+            // Static final fields cannot be written through a method handle, fall back to reflection
+            return null;
+        }
+    }
+
+    private static MethodHandle createSetterInvoker(Method method) {
+        try {
+            method.setAccessible(true);
+            return MethodHandles.lookup().unreflect(method)
+                    .asSpreader(Object[].class, method.getParameterCount())
+                    .asType(SETTER_INVOKER_TYPE);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new RuntimeException("Unable to access @Inject setter method " + method.getName() +
+                                       " on " + method.getDeclaringClass().getName(), e);
+        }
+    }
+
+    private record FieldInjectionPoint(Field field, Annotation[] annotations, @Nullable ArgumentResolverProcessor resolver,
+                                       @Nullable ValueExpression expression, @Nullable MethodHandle writer,
+                                       @Nullable ComponentInjector injector, int slot) {
+
+        private boolean isStatic() {
+            return Modifier.isStatic(field.getModifiers());
+        }
+
+        @Nullable
+        private Object resolve(@Nullable Object instance, Class<?> type, DependencyContainer container, InjectionEngine engine) {
+            if (resolver != null) {
+                ArgumentResolverContext context = new ArgumentResolverContext.Builder()
+                        .targetType(field.getType())
+                        .annotations(annotations)
+                        .field(field)
+                        .declaringClass(type)
+                        .container(container)
+                        .instance(instance)
+                        .build();
+                Object resolvedValue = resolver.resolve(context);
+                if (resolvedValue != null) {
+                    return resolvedValue;
+                }
+            }
+
+            // @Value fields, resolved through their compiled expression
+            if (expression != null) {
+                try {
+                    return expression.resolve(Environment.getInstance().getSnapshot());
+                } catch (Exception e) {
+                    throw new RuntimeException("Unable to inject @Value for " + (isStatic() ? "static " : "") + "field: " +
+                                               field.getName() + " in class: " + type.getName(), e);
+                }
+            }
+            return null;
+        }
+
+        private void write(@Nullable Object instance, Object value, Class<?> type) {
+            try {
+                if (injector != null) {
+                    injector.inject(instance, slot, value);
+                } else if (writer == null) {
+                    field.set(instance, value);
+                } else if (instance == null) {
+                    writer.invokeExact(value);
+                } else {
+                    writer.invokeExact(instance, value);
+                }
+            } catch (Throwable e) {
+                throw new RuntimeException("Unable to inject resolved value for " + (isStatic() ? "static " : "") + "field: " +
+                                           field.getName() + " in class: " + type.getName(), e);
+            }
+        }
+    }
+
+    private record SetterInjectionPoint(Method method, @Nullable Field targetField, Class<?>[] parameterTypes,
+                                        Annotation[][] parameterAnnotations, Parameter[] methodParameters,
+                                        @Nullable ValueExpression[] valueExpressions,
+                                        @Nullable MethodHandle invoker, @Nullable ComponentInjector injector, int slot) {
+
+        private void inject(Object instance, Class<?> type, DependencyContainer container, InjectionEngine engine) {
+            try {
+                Object[] parameters = new Object[parameterTypes.length];
+
+                for (int i = 0; i < parameterTypes.length; i++) {
+                    ArgumentResolverContext context = new ArgumentResolverContext.Builder()
+                            .targetType(parameterTypes[i])
+                            .annotations(parameterAnnotations[i])
+                            .parameter(methodParameters[i])
+                            .declaringClass(type)
+                            .method(method)
+                            .field(targetField)
+                            .container(container)
+                            .instance(instance)
+                            .build();
+
+                    Object resolvedValue = container.resolveArgument(context);
+                    if (resolvedValue != null) {
+                        parameters[i] = resolvedValue;
+                    } else {
+                        ValueExpression expression = valueExpressions != null ? valueExpressions[i] : null;
+                        if (expression == null) {
+                            return;
+                        }
+                        parameters[i] = expression.resolve(Environment.getInstance().getSnapshot());
+                    }
+                }
+
+                if (injector != null) {
+                    injector.inject(instance, slot, parameters[0]);
+                } else {
+                    invoker.invokeExact(instance, parameters);
+                }
+            } catch (Throwable e) {
+                throw new RuntimeException("Error invoking @Inject setter method " + method.getName() +
+                                           " on " + type.getName(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package net.vortexdevelopment.vinject.di.engine;
+
+import net.vortexdevelopment.vinject.annotation.component.Component;
+import net.vortexdevelopment.vinject.annotation.database.Entity;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.function.Supplier;
+
+/**
+ * Per-class instantiation metadata used by {@code DependencyContainer.newInstance}.
+ * <p>
+ * The constructor is looked up once. No-arg constructors are bound to a {@link Supplier} spun with
+ * {@link LambdaMetafactory}, other constructors to a spreading {@link MethodHandle}, so creating many
+ * instances of the same class (for example one entity per result row) costs a direct constructor call.
+ * When the framework cannot get full access to the class, plain reflection is used instead.
+ */
+public final class InstanceFactory {
+
+    private static final MethodType SUPPLIER_FACTORY_TYPE = MethodType.methodType(Supplier.class);
+    private static final MethodType SUPPLIER_GET_TYPE = MethodType.methodType(Object.class);
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+    private final Class<?> type;
+    private final Constructor<?> constructor;
+    private final boolean defaultConstructor;
+    private final boolean entity;
+    private final Class<?>[] registeredSubclasses;
+    @Nullable private final Supplier<Object> supplier;
+    @Nullable private final MethodHandle invoker;
+
+    private InstanceFactory(Class<?> type, Constructor<?> constructor, boolean defaultConstructor,
+                            @Nullable Supplier<Object> supplier, @Nullable MethodHandle invoker) {
+        this.type = type;
+        this.constructor = constructor;
+        this.defaultConstructor = defaultConstructor;
+        this.entity = type.isAnnotationPresent(Entity.class);
+        Component component = type.getAnnotation(Component.class);
+        this.registeredSubclasses = component != null ? component.registerSubclasses() : new Class<?>[0];
+        this.supplier = supplier;
+        this.invoker = invoker;
+    }
+
+    /**
+     * Build the factory for a class. Uses the no-arg constructor if present, otherwise the first declared constructor.
+     *
+     * @param type The class to instantiate
+     * @return The factory
+     */
+    public static InstanceFactory create(Class<?> type) {
+        Constructor<?> constructor;
+        boolean defaultConstructor;
+        try {
+            constructor = type.getDeclaredConstructor();
+            defaultConstructor = true;
+        } catch (NoSuchMethodException e) {
+            Constructor<?>[] constructors = type.getDeclaredConstructors();
+            if (constructors.length == 0) {
+                throw new RuntimeException("No constructor found for class: " + type.getName());
+            }
+            constructor = constructors[0];
+            defaultConstructor = false;
+        }
+
+        if (Modifier.isAbstract(type.getModifiers())) {
+            // Keep the reflective InstantiationException for abstract classes
+            return new InstanceFactory(type, constructor, defaultConstructor, null, null);
+        }
+
+        MethodHandle handle = null;
+        try {
+            constructor.setAccessible(true);
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+            handle = lookup.unreflectConstructor(constructor);
+            if (defaultConstructor) {
+                return new InstanceFactory(type, constructor, true, createSupplier(lookup, type, handle), null);
+            }
+            return new InstanceFactory(type, constructor, false, null,
+                    handle.asSpreader(Object[].class, constructor.getParameterCount()).asType(INVOKER_TYPE));
+        } catch (IllegalAccessException | RuntimeException e) {
+            // Classes the framework cannot access, use the method handle or reflection
+            if (handle != null && defaultConstructor) {
+                return new InstanceFactory(type, constructor, true, null, handle.asType(INVOKER_TYPE.dropParameterTypes(0, 1)));
+            }
+            return new InstanceFactory(type, constructor, defaultConstructor, null, null);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable
+    private static Supplier<Object> createSupplier(MethodHandles.Lookup lookup, Class<?> type, MethodHandle handle) {
+        if (!lookup.hasFullPrivilegeAccess()) {
+            // Classes in other modules or class loaders cannot host the generated lambda
+            return null;
+        }
+        try {
+            CallSite site = LambdaMetafactory.metafactory(lookup, "get", SUPPLIER_FACTORY_TYPE,
+                    SUPPLIER_GET_TYPE, handle, MethodType.methodType(type));
+            return (Supplier<Object>) site.getTarget().invokeExact();
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    /**
+     * Create a new instance with the no-arg constructor.
+     */
+    public Object newInstance() throws Exception {
+        return newInstance(null);
+    }
+
+    /**
+     * Create a new instance.
+     *
+     * @param arguments The constructor arguments, ignored for no-arg constructors
+     */
+    public Object newInstance(@Nullable Object[] arguments) throws Exception {
+        if (supplier != null) {
+            return supplier.get();
+        }
+        if (invoker != null) {
+            try {
+                return defaultConstructor ? (Object) invoker.invokeExact() : (Object) invoker.invokeExact(arguments);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new RuntimeException("Unable to create new instance of class: " + type.getName(), e);
+            }
+        }
+        return defaultConstructor ? constructor.newInstance() : constructor.newInstance(arguments);
+    }
+
+    /**
+     * The constructor used to create instances, needed to resolve its parameters.
+     */
+    public Constructor<?> getConstructor() {
+        return constructor;
+    }
+
+    /**
+     * Whether instances are created with the no-arg constructor.
+     */
+    public boolean hasDefaultConstructor() {
+        return defaultConstructor;
+    }
+
+    /**
+     * Whether the class is annotated with {@code @Entity}.
+     */
+    public boolean isEntity() {
+        return entity;
+    }
+
+    /**
+     * The additional types a component instance is registered for ({@code @Component(registerSubclasses)}).
+     */
+    public Class<?>[] getRegisteredSubclasses() {
+        return registeredSubclasses;
+    }
+
+    /**
+     * Whether the instance is created by a generated lambda instead of reflection.
+     */
+    public boolean isGenerated() {
+        return supplier != null;
+    }
+}
@@ -0,0 +1,93 @@
+package net.vortexdevelopment.vinject.di.engine;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Holds a {@link net.vortexdevelopment.vinject.annotation.component.Lazy} dependency until it is first used.
+ * The factory is invoked at most once, even when several threads request the instance at the same time.
+ */
+public class LazyProvider {
+
+    private final Class<?> type;
+    private final Supplier<?> factory;
+    private final Map<Class<?>, Object> proxies = new ConcurrentHashMap<>();
+    private volatile Object instance;
+    private volatile boolean created;
+
+    public LazyProvider(Class<?> type, Supplier<?> factory) {
+        this.type = type;
+        this.factory = factory;
+    }
+
+    /**
+     * Get the instance, creating it on the first call.
+     *
+     * @return The instance, or null if the factory did not produce one
+     */
+    @Nullable
+    public Object get() {
+        if (!created) {
+            synchronized (this) {
+                if (!created) {
+                    instance = factory.get();
+                    created = true;
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Check whether the instance has already been created.
+     */
+    public boolean isCreated() {
+        return created;
+    }
+
+    /**
+     * The type the provider was registered for.
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Get a proxy implementing the given interface that creates the instance on the first method call.
+     * The same proxy is returned for every call with the same interface.
+     *
+     * @param interfaceType The interface to implement
+     * @return The proxy
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getProxy(Class<T> interfaceType) {
+        if (!interfaceType.isInterface()) {
+            throw new IllegalArgumentException("Lazy proxies can only be created for interfaces: " + interfaceType.getName());
+        }
+        return (T) proxies.computeIfAbsent(interfaceType, key -> Proxy.newProxyInstance(
+                key.getClassLoader(), new Class<?>[]{key}, new LazyInvocationHandler()));
+    }
+
+    private class LazyInvocationHandler implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object target = get();
+            if (target == null) {
+                throw new IllegalStateException("Lazy dependency could not be created: " + type.getName());
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
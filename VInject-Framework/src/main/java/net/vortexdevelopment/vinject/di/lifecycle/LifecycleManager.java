@@ -1,28 +1,51 @@
 package net.vortexdevelopment.vinject.di.lifecycle;
 
 import net.vortexdevelopment.vinject.annotation.lifecycle.OnDestroy;
-import net.vortexdevelopment.vinject.annotation.lifecycle.OnLoad;
-import net.vortexdevelopment.vinject.annotation.lifecycle.PostConstruct;
 import net.vortexdevelopment.vinject.annotation.util.EnableDebug;
 import net.vortexdevelopment.vinject.annotation.util.EnableDebugFor;
 import net.vortexdevelopment.vinject.annotation.util.SetSystemProperty;
 import net.vortexdevelopment.vinject.annotation.util.SetSystemProperties;
 import net.vortexdevelopment.vinject.debug.DebugLogger;
 import net.vortexdevelopment.vinject.di.DependencyContainer;
+import net.vortexdevelopment.vinject.di.engine.DependencyGraphResolver;
 
 import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Manages the lifecycle of components in the VInject framework.
- * Handles @PostConstruct, @OnLoad, and @OnDestroy annotations.
+ * Handles @PostConstruct, @OnLoad, @Warmup and @OnDestroy annotations.
+ * The hooks of a class are analyzed once and cached as a {@link LifecyclePlan}.
  */
 public class LifecycleManager {
 
+    public static final String DEADLINE_PROPERTY = "vinject.shutdown.deadline";
+    private static final long DEFAULT_DEADLINE_MILLIS = 5000;
+    private static final AtomicInteger SHUTDOWN_THREADS = new AtomicInteger();
+    private static final AtomicInteger WARMUP_THREADS = new AtomicInteger();
+
     private final DependencyContainer container;
     private final List<Method> destroyMethods = new ArrayList<>();
+    private final Map<Class<?>, LifecyclePlan> plans = new ConcurrentHashMap<>();
 
     public LifecycleManager(DependencyContainer container) {
         this.container = container;
@@ -30,68 +53,100 @@ public class LifecycleManager {
 
     /**
      * Invokes all methods annotated with @PostConstruct on the given instance.
-     * Methods are invoked in descending order of priority.
+     * Utility annotations of the class are processed when it is seen for the first time.
      *
      * @param instance The instance to process
      */
     public void invokePostConstruct(Object instance) {
-        Class<?> clazz = instance.getClass();
-        Method[] methods = clazz.getDeclaredMethods();
-        
-        // Process utility annotations
-        processDebugAnnotations(clazz);
-        processSystemPropertyAnnotations(clazz);
-
-
-        for (Method method : methods) {
-            if (method.isAnnotationPresent(PostConstruct.class)) {
-                invokeLifecycleMethod(instance, method);
-            }
+        LifecyclePlan plan = getPlan(instance.getClass());
+        if (plan.hasPostConstruct()) {
+            plan.invokePostConstruct(instance, container);
         }
     }
 
     /**
      * Invokes all methods annotated with @OnLoad on the given instance.
+     * Utility annotations of the class are processed when it is seen for the first time.
      *
      * @param instance The instance to process
      */
     public void invokeOnLoad(Object instance) {
-        Class<?> clazz = instance.getClass();
-        
-        // Process debug annotations
-        processDebugAnnotations(clazz);
-        
-        // Process system property annotations
-        processSystemPropertyAnnotations(clazz);
-        
-        // Invoke @OnLoad methods
-        for (Method method : clazz.getDeclaredMethods()) {
-            if (method.isAnnotationPresent(OnLoad.class)) {
-                invokeLifecycleMethod(instance, method);
-            }
+        LifecyclePlan plan = getPlan(instance.getClass());
+        if (plan.hasOnLoad()) {
+            plan.invokeOnLoad(instance, container);
         }
     }
 
     /**
-     * Helper to invoke a lifecycle method with parameter resolution.
+     * Get the cached lifecycle plan for a class. Building the plan also processes the
+     * @EnableDebug and @SetSystemProperty annotations of the class, so they apply once per class.
+     *
+     * @param clazz The class to get the plan for
+     * @return The lifecycle plan
      */
-    private void invokeLifecycleMethod(Object instance, Method method) {
-        try {
-            method.setAccessible(true);
-            if (method.getParameterCount() == 0) {
-                method.invoke(instance);
-            } else {
-                Parameter[] parameters = method.getParameters();
-                Object[] args = new Object[parameters.length];
-                for (int i = 0; i < parameters.length; i++) {
-                    // Delegate argument resolution back to the container for now
-                    args[i] = container.resolveLifecycleArgument(instance, method, parameters[i], i);
-                }
-                method.invoke(instance, args);
+    public LifecyclePlan getPlan(Class<?> clazz) {
+        LifecyclePlan plan = plans.get(clazz);
+        if (plan == null) {
+            plan = plans.computeIfAbsent(clazz, type -> {
+                processDebugAnnotations(type);
+                processSystemPropertyAnnotations(type);
+                return LifecyclePlan.create(type);
+            });
+        }
+        return plan;
+    }
+
+    /**
+     * Run the @Warmup methods of all registered components concurrently and open the gate once they finished.
+     * Warm-ups run on virtual threads when the runtime supports them (Java 21+), otherwise on daemon threads.
+     * This method does not wait for the warm-ups.
+     *
+     * @param gate The gate to open
+     */
+    public void startWarmups(ReadinessGate gate) {
+        List<Runnable> warmups = new ArrayList<>();
+        Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Object instance : container.getDependencies().values()) {
+            if (instance == null || !seen.add(instance)) {
+                continue;
+            }
+            LifecyclePlan plan = getPlan(instance.getClass());
+            if (!plan.hasWarmup()) {
+                continue;
             }
-        } catch (Exception e) {
-            throw new RuntimeException("Error invoking lifecycle method: " + method.getName() + 
-                                       " on " + instance.getClass().getName(), e);
+            for (LifecyclePlan.LifecycleMethod method : plan.getWarmupMethods()) {
+                warmups.add(() -> {
+                    long start = System.nanoTime();
+                    Throwable failure = null;
+                    try {
+                        method.invoke(instance, container);
+                    } catch (Throwable e) {
+                        failure = e.getCause() != null ? e.getCause() : e;
+                    }
+                    gate.finished(method.name(), System.nanoTime() - start, failure);
+                });
+            }
+        }
+
+        gate.start(warmups.size());
+        if (warmups.isEmpty()) {
+            return;
+        }
+        ExecutorService executor = newWarmupExecutor();
+        warmups.forEach(executor::execute);
+        executor.shutdown();
+    }
+
+    private static ExecutorService newWarmupExecutor() {
+        try {
+            // The framework targets Java 17, so virtual threads are looked up at runtime
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "vinject-warmup-" + WARMUP_THREADS.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
         }
     }
 
@@ -123,23 +178,160 @@ public class LifecycleManager {
     }
 
     /**
-     * Invokes all registered @OnDestroy methods in descending order of priority.
+     * Invokes all registered @OnDestroy methods in reverse dependency order.
+     * <p>
+     * Components are destroyed layer by layer using the graph of the
+     * {@link net.vortexdevelopment.vinject.di.engine.DependencyGraphResolver}: a component
+     * is destroyed before the components it depends on. The components of a layer are destroyed concurrently on
+     * daemon threads, and every component gets the deadline set with -Dvinject.shutdown.deadline (milliseconds,
+     * default 5000, 0 waits without limit). Without a deadline, a layer with a single component is destroyed on
+     * the calling thread. Shutdown moves on to the next layer once a component overruns its
+     * deadline, but the components it depends on, directly or transitively, are skipped instead of being destroyed
+     * under it. Overrunning and skipped components are reported.
+     *
+     * @return The timings of the destroyed components
      */
-    public void invokeDestroyMethods() {
+    public ShutdownSummary invokeDestroyMethods() {
+        long start = System.nanoTime();
+        long deadlineNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, Long.getLong(DEADLINE_PROPERTY, DEFAULT_DEADLINE_MILLIS)));
 
-        for (Method method : destroyMethods) {
-            try {
-                Object instance = container.getDependencyOrNull(method.getDeclaringClass());
+        // Look up registered instances directly, so @Lazy components that were never used are not created
+        Map<Class<?>, Object> instances = new HashMap<>();
+        Map<Class<?>, List<Method>> methodsByComponent = new LinkedHashMap<>();
+        synchronized (this) {
+            for (Method method : destroyMethods) {
+                Object instance = container.getDependencies().get(method.getDeclaringClass());
                 if (instance != null) {
-                    method.setAccessible(true);
-                    method.invoke(instance);
+                    instances.put(instance.getClass(), instance);
+                    methodsByComponent.computeIfAbsent(instance.getClass(), k -> new ArrayList<>()).add(method);
                 }
+            }
+        }
+        if (methodsByComponent.isEmpty()) {
+            return new ShutdownSummary(System.nanoTime() - start, deadlineNanos, List.of(), List.of());
+        }
+
+        Set<Class<?>> components = new HashSet<>(methodsByComponent.keySet());
+        for (Object instance : container.getDependencies().values()) {
+            if (instance != null) {
+                components.add(instance.getClass());
+            }
+        }
+
+        DependencyGraphResolver graphResolver = container.getDependencyGraphResolver();
+        Map<Class<?>, Set<Class<?>>> dependencyGraph = graphResolver.createShutdownGraph(components);
+        List<ShutdownSummary.ComponentShutdown> timings = new ArrayList<>();
+        // Dependencies of components that are still running, they must outlive their dependents
+        Set<Class<?>> inUse = new LinkedHashSet<>();
+        List<Class<?>> skipped = new ArrayList<>();
+        ExecutorService executor = null;
+        try {
+            for (List<Class<?>> layer : graphResolver.createShutdownLayers(dependencyGraph)) {
+                List<Class<?>> destroyed = new ArrayList<>();
+                for (Class<?> component : layer) {
+                    if (!methodsByComponent.containsKey(component)) {
+                        continue;
+                    }
+                    if (inUse.contains(component)) {
+                        skipped.add(component);
+                    } else {
+                        destroyed.add(component);
+                    }
+                }
+
+                if (destroyed.size() == 1 && deadlineNanos == 0) {
+                    // Nothing to run concurrently or to bound, keep @OnDestroy on the calling thread
+                    Class<?> component = destroyed.get(0);
+                    long nanos = destroy(instances.get(component), methodsByComponent.get(component));
+                    timings.add(new ShutdownSummary.ComponentShutdown(component, nanos, true));
+                    continue;
+                }
+
+                Map<Class<?>, Future<Long>> running = new LinkedHashMap<>();
+                long layerStart = System.nanoTime();
+                for (Class<?> component : destroyed) {
+                    if (executor == null) {
+                        executor = createShutdownExecutor();
+                    }
+                    Object instance = instances.get(component);
+                    List<Method> methods = methodsByComponent.get(component);
+                    running.put(component, executor.submit(() -> destroy(instance, methods)));
+                }
+
+                for (Map.Entry<Class<?>, Future<Long>> entry : running.entrySet()) {
+                    ShutdownSummary.ComponentShutdown timing = awaitDestroy(entry.getKey(), entry.getValue(), layerStart, deadlineNanos);
+                    timings.add(timing);
+                    if (!timing.completed()) {
+                        collectDependencies(entry.getKey(), dependencyGraph, inUse);
+                    }
+                }
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdown();
+            }
+        }
+
+        ShutdownSummary summary = new ShutdownSummary(System.nanoTime() - start, deadlineNanos, timings, skipped);
+        if (summary.hasOverruns()) {
+            System.err.println(summary.formatOverruns());
+        }
+        return summary;
+    }
+
+    private static ExecutorService createShutdownExecutor() {
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "vinject-shutdown-" + SHUTDOWN_THREADS.incrementAndGet());
+            // Components that overrun their deadline must not keep the JVM alive
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static void collectDependencies(Class<?> component, Map<Class<?>, Set<Class<?>>> dependencyGraph, Set<Class<?>> result) {
+        Deque<Class<?>> pending = new ArrayDeque<>(dependencyGraph.getOrDefault(component, Set.of()));
+        while (!pending.isEmpty()) {
+            Class<?> dependency = pending.poll();
+            if (result.add(dependency)) {
+                pending.addAll(dependencyGraph.getOrDefault(dependency, Set.of()));
+            }
+        }
+    }
+
+    /**
+     * Invoke the @OnDestroy methods of one component, returning the time they took.
+     */
+    private static long destroy(Object instance, List<Method> methods) {
+        long start = System.nanoTime();
+        for (Method method : methods) {
+            try {
+                method.setAccessible(true);
+                method.invoke(instance);
             } catch (Exception e) {
                 System.err.println("Error invoking @OnDestroy method: " + method.getName() + 
                                    " in class: " + method.getDeclaringClass().getName());
                 e.printStackTrace();
             }
         }
+        return System.nanoTime() - start;
+    }
+
+    private static ShutdownSummary.ComponentShutdown awaitDestroy(Class<?> component, Future<Long> future, long layerStart, long deadlineNanos) {
+        try {
+            long nanos = deadlineNanos > 0
+                    ? future.get(Math.max(0, layerStart + deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS)
+                    : future.get();
+            return new ShutdownSummary.ComponentShutdown(component, nanos, true);
+        } catch (TimeoutException e) {
+            return new ShutdownSummary.ComponentShutdown(component, System.nanoTime() - layerStart, false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new ShutdownSummary.ComponentShutdown(component, System.nanoTime() - layerStart, false);
+        } catch (ExecutionException e) {
+            System.err.println("Error destroying component: " + component.getName());
+            e.getCause().printStackTrace();
+            return new ShutdownSummary.ComponentShutdown(component, System.nanoTime() - layerStart, true);
+        }
     }
 
     /**
@@ -147,6 +339,7 @@ public class LifecycleManager {
      */
     public void clear() {
         destroyMethods.clear();
+        plans.clear();
     }
     
     /**
@@ -0,0 +1,141 @@
+package net.vortexdevelopment.vinject.di.lifecycle;
+
+import net.vortexdevelopment.vinject.annotation.lifecycle.OnLoad;
+import net.vortexdevelopment.vinject.annotation.lifecycle.PostConstruct;
+import net.vortexdevelopment.vinject.annotation.lifecycle.Warmup;
+import net.vortexdevelopment.vinject.di.DependencyContainer;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lifecycle metadata computed once per class by the {@link LifecycleManager}.
+ * <p>
+ * Holds the {@link PostConstruct}, {@link OnLoad} and {@link Warmup} methods of a class as precompiled
+ * {@link MethodHandle} invokers, so classes without lifecycle hooks are skipped without
+ * scanning their methods again.
+ */
+public final class LifecyclePlan {
+
+    private static final MethodType NO_ARG_INVOKER_TYPE = MethodType.methodType(void.class, Object.class);
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(void.class, Object.class, Object[].class);
+
+    private final LifecycleMethod[] postConstructMethods;
+    private final LifecycleMethod[] onLoadMethods;
+    private final LifecycleMethod[] warmupMethods;
+
+    private LifecyclePlan(List<LifecycleMethod> postConstructMethods, List<LifecycleMethod> onLoadMethods,
+                          List<LifecycleMethod> warmupMethods) {
+        this.postConstructMethods = postConstructMethods.toArray(new LifecycleMethod[0]);
+        this.onLoadMethods = onLoadMethods.toArray(new LifecycleMethod[0]);
+        this.warmupMethods = warmupMethods.toArray(new LifecycleMethod[0]);
+    }
+
+    /**
+     * Build the lifecycle plan for a class.
+     *
+     * @param type The class to analyze
+     * @return The plan for the class
+     */
+    static LifecyclePlan create(Class<?> type) {
+        List<LifecycleMethod> postConstructMethods = new ArrayList<>();
+        List<LifecycleMethod> onLoadMethods = new ArrayList<>();
+        List<LifecycleMethod> warmupMethods = new ArrayList<>();
+        for (Method method : type.getDeclaredMethods()) {
+            if (method.isAnnotationPresent(PostConstruct.class)) {
+                postConstructMethods.add(LifecycleMethod.of(method));
+            }
+            if (method.isAnnotationPresent(OnLoad.class)) {
+                onLoadMethods.add(LifecycleMethod.of(method));
+            }
+            if (method.isAnnotationPresent(Warmup.class)) {
+                warmupMethods.add(LifecycleMethod.of(method));
+            }
+        }
+        return new LifecyclePlan(postConstructMethods, onLoadMethods, warmupMethods);
+    }
+
+    void invokePostConstruct(Object instance, DependencyContainer container) {
+        for (LifecycleMethod method : postConstructMethods) {
+            method.invoke(instance, container);
+        }
+    }
+
+    void invokeOnLoad(Object instance, DependencyContainer container) {
+        for (LifecycleMethod method : onLoadMethods) {
+            method.invoke(instance, container);
+        }
+    }
+
+    LifecycleMethod[] getWarmupMethods() {
+        return warmupMethods;
+    }
+
+    /**
+     * Whether the class has no {@link PostConstruct}, {@link OnLoad} or {@link Warmup} methods.
+     */
+    public boolean isEmpty() {
+        return postConstructMethods.length == 0 && onLoadMethods.length == 0 && warmupMethods.length == 0;
+    }
+
+    public boolean hasPostConstruct() {
+        return postConstructMethods.length > 0;
+    }
+
+    public boolean hasOnLoad() {
+        return onLoadMethods.length > 0;
+    }
+
+    public boolean hasWarmup() {
+        return warmupMethods.length > 0;
+    }
+
+    record LifecycleMethod(Method method, Parameter[] parameters, MethodHandle invoker) {
+
+        private static LifecycleMethod of(Method method) {
+            try {
+                method.setAccessible(true);
+                MethodHandle handle = MethodHandles.lookup().unreflect(method);
+                if (Modifier.isStatic(method.getModifiers())) {
+                    // Static methods take no receiver, accept and ignore the instance like Method#invoke does
+                    handle = MethodHandles.dropArguments(handle, 0, Object.class);
+                }
+                MethodHandle invoker = method.getParameterCount() == 0
+                        ? handle.asType(NO_ARG_INVOKER_TYPE)
+                        : handle.asSpreader(Object[].class, method.getParameterCount()).asType(INVOKER_TYPE);
+                return new LifecycleMethod(method, method.getParameters(), invoker);
+            } catch (IllegalAccessException | RuntimeException e) {
+                throw new RuntimeException("Unable to access lifecycle method " + method.getName() +
+                                           " on " + method.getDeclaringClass().getName(), e);
+            }
+        }
+
+        String name() {
+            return method.getDeclaringClass().getSimpleName() + "#" + method.getName();
+        }
+
+        void invoke(Object instance, DependencyContainer container) {
+            try {
+                if (parameters.length == 0) {
+                    invoker.invokeExact(instance);
+                } else {
+                    Object[] args = new Object[parameters.length];
+                    for (int i = 0; i < parameters.length; i++) {
+                        // Delegate argument resolution back to the container
+                        args[i] = container.resolveLifecycleArgument(instance, method, parameters[i], i);
+                    }
+                    invoker.invokeExact(instance, args);
+                }
+            } catch (Throwable e) {
+                throw new RuntimeException("Error invoking lifecycle method: " + method.getName() +
+                                           " on " + instance.getClass().getName(), e);
+            }
+        }
+    }
+}
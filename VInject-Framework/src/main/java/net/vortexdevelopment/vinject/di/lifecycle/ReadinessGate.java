@@ -0,0 +1,167 @@
+package net.vortexdevelopment.vinject.di.lifecycle;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Opens once all {@link net.vortexdevelopment.vinject.annotation.lifecycle.Warmup} methods finished,
+ * registered as a bean so consumers that must not serve traffic before the application is warm can wait on it.
+ * <p>
+ * The gate also opens when warm-ups fail, failures are kept in the timings. Progress is printed as every
+ * warm-up finishes. {@link #awaitReady()} waits at most {@code vinject.warmup.timeout} milliseconds
+ * (default 60000).
+ */
+public class ReadinessGate {
+
+    public static final String TIMEOUT_PROPERTY = "vinject.warmup.timeout";
+    private static final long DEFAULT_TIMEOUT_MILLIS = 60000;
+
+    private final CompletableFuture<Void> ready = new CompletableFuture<>();
+    private final ConcurrentLinkedQueue<WarmupTiming> warmups = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private volatile int total;
+    private volatile long startNanos;
+    private volatile long totalNanos;
+
+    /**
+     * Start tracking the given number of warm-ups, opening the gate right away if there are none.
+     */
+    void start(int count) {
+        startNanos = System.nanoTime();
+        total = count;
+        pending.set(count);
+        if (count == 0) {
+            open();
+        }
+    }
+
+    /**
+     * Record a finished warm-up and open the gate after the last one.
+     */
+    void finished(String name, long nanos, @Nullable Throwable failure) {
+        warmups.add(new WarmupTiming(name, nanos, failure));
+        int remaining = pending.decrementAndGet();
+        if (failure != null) {
+            System.err.println("Warm-up " + name + " failed: " + failure.getMessage());
+        } else {
+            System.out.println("Warm-up " + (total - remaining) + "/" + total + " finished: " + name +
+                               " (" + TimeUnit.NANOSECONDS.toMillis(nanos) + " ms)");
+        }
+        if (remaining == 0) {
+            open();
+            System.out.println("All " + total + " warm-up(s) finished in " + getTotalTime().toMillis() + " ms");
+        }
+    }
+
+    private void open() {
+        totalNanos = System.nanoTime() - startNanos;
+        ready.complete(null);
+    }
+
+    /**
+     * Whether all warm-ups finished.
+     */
+    public boolean isReady() {
+        return ready.isDone();
+    }
+
+    /**
+     * Wait until all warm-ups finished.
+     */
+    public void await() throws InterruptedException {
+        try {
+            ready.get();
+        } catch (ExecutionException e) {
+            // The future is only ever completed normally
+        }
+    }
+
+    /**
+     * Wait until all warm-ups finished or the timeout elapsed.
+     *
+     * @return true if the gate is open
+     */
+    public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+        try {
+            ready.get(timeout, unit);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (ExecutionException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Wait with the configured {@code vinject.warmup.timeout}, restoring the interrupt flag if interrupted.
+     *
+     * @return true if the gate is open
+     */
+    public boolean awaitReady() {
+        try {
+            return await(Long.getLong(TIMEOUT_PROPERTY, DEFAULT_TIMEOUT_MILLIS), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return isReady();
+        }
+    }
+
+    /**
+     * Run an action once the gate is open, immediately if it already is.
+     */
+    public void whenReady(Runnable action) {
+        ready.thenRun(action);
+    }
+
+    /**
+     * Number of warm-ups that have not finished yet.
+     */
+    public int getPending() {
+        return pending.get();
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Timings of the finished warm-ups in completion order.
+     */
+    public List<WarmupTiming> getWarmups() {
+        return new ArrayList<>(warmups);
+    }
+
+    /**
+     * Time from starting the warm-ups until the gate opened, or until now while still warming up.
+     */
+    public Duration getTotalTime() {
+        return Duration.ofNanos(isReady() ? totalNanos : System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Duration of a single warm-up method.
+     *
+     * @param name The warm-up as {@code Class#method}
+     * @param nanos Time spent in the method
+     * @param failure The exception thrown by the method, null if it succeeded
+     */
+    public record WarmupTiming(String name, long nanos, @Nullable Throwable failure) {
+
+        public Duration duration() {
+            return Duration.ofNanos(nanos);
+        }
+
+        public boolean failed() {
+            return failure != null;
+        }
+    }
+}
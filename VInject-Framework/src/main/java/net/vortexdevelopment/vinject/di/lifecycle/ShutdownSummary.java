@@ -0,0 +1,76 @@
+package net.vortexdevelopment.vinject.di.lifecycle;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Result of {@link LifecycleManager#invokeDestroyMethods()}: how long the @OnDestroy methods of every
+ * component took, which components overran the shutdown deadline and which were skipped because a
+ * component depending on them was still running.
+ *
+ * @param totalNanos Time spent destroying all components
+ * @param deadlineNanos Deadline per component, 0 if no deadline was applied
+ * @param components Timings of the destroyed components in shutdown order
+ * @param skipped Components whose @OnDestroy methods were not invoked
+ */
+public record ShutdownSummary(long totalNanos, long deadlineNanos, List<ComponentShutdown> components, List<Class<?>> skipped) {
+
+    public Duration totalTime() {
+        return Duration.ofNanos(totalNanos);
+    }
+
+    /**
+     * Components that did not finish within the deadline, including those still running.
+     */
+    public List<ComponentShutdown> getOverruns() {
+        return components.stream().filter(component -> component.overran(deadlineNanos)).toList();
+    }
+
+    public boolean hasOverruns() {
+        return !getOverruns().isEmpty();
+    }
+
+    /**
+     * Human readable list of the components that overran the deadline.
+     */
+    public String formatOverruns() {
+        StringBuilder builder = new StringBuilder();
+        List<ComponentShutdown> overruns = getOverruns();
+        builder.append(overruns.size()).append(" component(s) exceeded the shutdown deadline of ")
+                .append(Duration.ofNanos(deadlineNanos).toMillis()).append(" ms:");
+        for (ComponentShutdown component : overruns) {
+            builder.append(System.lineSeparator()).append("  ").append(component.type().getName());
+            if (component.completed()) {
+                builder.append(" (").append(component.duration().toMillis()).append(" ms)");
+            } else {
+                builder.append(" (still running)");
+            }
+        }
+        if (!skipped.isEmpty()) {
+            builder.append(System.lineSeparator()).append(skipped.size())
+                    .append(" dependency component(s) were not destroyed while a dependent was still running:");
+            for (Class<?> component : skipped) {
+                builder.append(System.lineSeparator()).append("  ").append(component.getName());
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Shutdown timing of a single component.
+     *
+     * @param type The component class
+     * @param nanos Time spent in its @OnDestroy methods, or the time waited if it did not complete
+     * @param completed Whether all @OnDestroy methods returned before the shutdown moved on
+     */
+    public record ComponentShutdown(Class<?> type, long nanos, boolean completed) {
+
+        public Duration duration() {
+            return Duration.ofNanos(nanos);
+        }
+
+        boolean overran(long deadlineNanos) {
+            return !completed || (deadlineNanos > 0 && nanos > deadlineNanos);
+        }
+    }
+}
@@ -2,10 +2,13 @@ package net.vortexdevelopment.vinject.di.resolver;
 
 import net.vortexdevelopment.vinject.annotation.Inject;
 import net.vortexdevelopment.vinject.annotation.Value;
+import org.jetbrains.annotations.Nullable;
 
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -14,17 +17,25 @@ import java.util.concurrent.ConcurrentHashMap;
  * Registry for managing argument resolvers.
  * Resolvers are registered by their supported annotation type and can be retrieved
  * with priority ordering (higher priority first).
+ * <p>
+ * The priority-sorted resolver list and the annotation index are kept as an immutable snapshot that is
+ * only rebuilt when a resolver is registered, so lookups during injection do not allocate or sort.
  */
 public class ArgumentResolverRegistry {
     
     private final Map<Class<? extends Annotation>, ArgumentResolverProcessor> resolvers;
     private final Map<Class<? extends Annotation>, Integer> priorities;
     private final Map<ArgumentResolverProcessor, Integer> resolverPriorities;
+    private final List<ArgumentResolverProcessor> registrationOrder;
+    private volatile Snapshot snapshot;
+    private volatile int version;
     
     public ArgumentResolverRegistry() {
         this.resolvers = new ConcurrentHashMap<>();
         this.priorities = new ConcurrentHashMap<>();
         this.resolverPriorities = new ConcurrentHashMap<>();
+        this.registrationOrder = new ArrayList<>();
+        this.snapshot = new Snapshot(List.of(), Map.of());
 
         registerBuiltInResolvers();
     }
@@ -46,10 +57,34 @@ public class ArgumentResolverRegistry {
      * @param resolver The resolver instance
      * @param priority The priority (higher values checked first)
      */
-    public void registerResolver(Class<? extends Annotation> annotation, ArgumentResolverProcessor resolver, int priority) {
+    public synchronized void registerResolver(Class<? extends Annotation> annotation, ArgumentResolverProcessor resolver, int priority) {
         resolvers.put(annotation, resolver);
         priorities.put(annotation, priority);
         resolverPriorities.put(resolver, priority);
+        if (!registrationOrder.contains(resolver)) {
+            registrationOrder.add(resolver);
+        }
+        snapshot = createSnapshot();
+        version++;
+    }
+
+    private Snapshot createSnapshot() {
+        // Unique resolvers sorted by priority (highest first), registration order breaks ties
+        List<ArgumentResolverProcessor> sorted = new ArrayList<>();
+        for (ArgumentResolverProcessor resolver : registrationOrder) {
+            if (resolvers.containsValue(resolver)) {
+                sorted.add(resolver);
+            }
+        }
+        sorted.sort(Comparator.comparingInt((ArgumentResolverProcessor resolver) ->
+            resolverPriorities.getOrDefault(resolver, 10)
+        ).reversed());
+
+        Map<Class<? extends Annotation>, IndexedResolver> index = new HashMap<>();
+        resolvers.forEach((annotation, resolver) ->
+            index.put(annotation, new IndexedResolver(resolver, priorities.getOrDefault(annotation, 10))));
+
+        return new Snapshot(List.copyOf(sorted), Map.copyOf(index));
     }
     
     /**
@@ -78,20 +113,60 @@ public class ArgumentResolverRegistry {
      * @return List of resolvers sorted by priority
      */
     public List<ArgumentResolverProcessor> getAllResolvers() {
-        // Get unique resolvers
-        List<ArgumentResolverProcessor> uniqueResolvers = new ArrayList<>();
-        for (ArgumentResolverProcessor resolver : resolvers.values()) {
-            if (!uniqueResolvers.contains(resolver)) {
-                uniqueResolvers.add(resolver);
+        return snapshot.sortedResolvers();
+    }
+
+    /**
+     * Find the resolver responsible for the given injection point.
+     * Resolvers registered for an annotation present on the injection point are asked first
+     * (highest priority first). Only if none of them can resolve it, all resolvers are asked in priority order.
+     * 
+     * @param context The injection context
+     * @return The first resolver that can resolve the context, or null if there is none
+     */
+    @Nullable
+    public ArgumentResolverProcessor findResolver(ArgumentResolverContext context) {
+        Snapshot current = snapshot;
+        Annotation[] annotations = context.getAnnotations();
+
+        // Fast path: jump straight to the resolvers of the annotations on the injection point
+        IndexedResolver[] candidates = null;
+        int count = 0;
+        for (Annotation annotation : annotations) {
+            IndexedResolver indexed = current.index().get(annotation.annotationType());
+            if (indexed != null) {
+                if (candidates == null) {
+                    candidates = new IndexedResolver[annotations.length];
+                }
+                candidates[count++] = indexed;
             }
         }
-        
-        // Sort by priority (highest first)
-        uniqueResolvers.sort(Comparator.comparingInt((ArgumentResolverProcessor resolver) -> 
-            resolverPriorities.getOrDefault(resolver, 10)
-        ).reversed());
-        
-        return uniqueResolvers;
+        if (count > 1) {
+            Arrays.sort(candidates, 0, count, Comparator.comparingInt(IndexedResolver::priority).reversed());
+        }
+        for (int i = 0; i < count; i++) {
+            if (candidates[i].resolver().canResolve(context)) {
+                return candidates[i].resolver();
+            }
+        }
+
+        // Annotation resolvers that already declined are asked again in the loop below, which is harmless
+        for (ArgumentResolverProcessor resolver : current.sortedResolvers()) {
+            if (resolver.canResolve(context)) {
+                return resolver;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Get the registration version, incremented every time a resolver is registered.
+     * Used to invalidate cached resolver selections.
+     * 
+     * @return The current version
+     */
+    public int getVersion() {
+        return version;
     }
     
     /**
@@ -103,5 +178,12 @@ public class ArgumentResolverRegistry {
     public boolean hasResolver(Class<? extends Annotation> annotation) {
         return resolvers.containsKey(annotation);
     }
+
+    private record IndexedResolver(ArgumentResolverProcessor resolver, int priority) {
+    }
+
+    private record Snapshot(List<ArgumentResolverProcessor> sortedResolvers,
+                            Map<Class<? extends Annotation>, IndexedResolver> index) {
+    }
 }
 
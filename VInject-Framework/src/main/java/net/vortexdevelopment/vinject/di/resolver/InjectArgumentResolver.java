@@ -10,6 +10,8 @@ import net.vortexdevelopment.vinject.annotation.component.Service;
 import net.vortexdevelopment.vinject.annotation.lifecycle.PostConstruct;
 import net.vortexdevelopment.vinject.annotation.yaml.YamlConditional;
 import net.vortexdevelopment.vinject.annotation.yaml.YamlConfiguration;
+import net.vortexdevelopment.vinject.di.context.InjectionContext;
+import net.vortexdevelopment.vinject.di.engine.LazyProvider;
 
 import java.lang.reflect.Field;
 import java.util.List;
@@ -48,8 +50,8 @@ public class InjectArgumentResolver implements ArgumentResolverProcessor {
                 || targetType.isAnnotationPresent(Repository.class)
                 || targetType.isAnnotationPresent(YamlConfiguration.class)
                 || targetType.isAnnotationPresent(net.vortexdevelopment.vinject.annotation.yaml.YamlDirectory.class)
-                || context.getContainer().getDependencyOrNull(targetType) != null
-                || isComplexType(targetType);
+                || isComplexType(targetType)
+                || context.getContainer().getDependencyOrNull(targetType) != null;
     }
 
     /**
@@ -67,6 +69,14 @@ public class InjectArgumentResolver implements ArgumentResolverProcessor {
     @Override
     public Object resolve(ArgumentResolverContext context) {
         Class<?> targetType = context.getTargetType();
+
+        // Inject a proxy for @Lazy dependencies requested through an interface, so they are created on first use
+        if (targetType.isInterface()) {
+            LazyProvider lazyProvider = context.getContainer().getLazyProvider(targetType);
+            if (lazyProvider != null && !lazyProvider.isCreated() && InjectionContext.get(targetType) == null) {
+                return lazyProvider.getProxy(targetType);
+            }
+        }
         
         // Check if dependency exists in container
         Object dependency = context.getContainer().getDependencyOrNull(targetType);
@@ -4,71 +4,239 @@ import lombok.Getter;
 import net.vortexdevelopment.vinject.annotation.ArgumentResolver;
 import net.vortexdevelopment.vinject.annotation.component.Registry;
 import net.vortexdevelopment.vinject.annotation.component.Root;
+import org.jetbrains.annotations.Nullable;
 import org.reflections.Configuration;
 import org.reflections.Reflections;
 import org.reflections.util.ConfigurationBuilder;
 
+import java.io.File;
+import java.io.IOException;
 import java.lang.annotation.Annotation;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.function.Predicate;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Encapsulates the logic for scanning the classpath for annotated classes.
  * Centralizes package filtering and Reflections configuration.
+ * <p>
+ * When the root class was processed by the VInject-Transformer plugin, queries are answered from the
+ * build-time {@link ComponentIndex} and Reflections is never initialized. Classpath entries containing the
+ * root package without an index file (e.g. jars built without the plugin), or whose index misses classes of
+ * the root package (e.g. a shaded jar keeping the index file of a single module), are still scanned with
+ * Reflections and their results merged with the index. Set the system property {@code vinject.scan.disableIndex=true}
+ * to always scan the classpath.
  */
-@Getter
 public class ClasspathScanner {
 
+    private final Root rootAnnotation;
+    private final Class<?> rootClass;
+    private final Predicate<String> inputFilter;
+
     /**
      * -- GETTER --
-     *  Access the underlying Reflections instance if advanced scanning is needed.
+     *  The build-time component index, or null if the classpath is scanned with Reflections.
      */
-    private final Reflections reflections;
+    @Getter
+    @Nullable
+    private final ComponentIndex componentIndex;
+
+    private Reflections reflections;
+    // Scans the classpath entries not covered by the component index
+    @Nullable
+    private Reflections unindexedReflections;
 
     public ClasspathScanner(Root rootAnnotation, Class<?> rootClass) {
-        this.reflections = new Reflections(createConfiguration(rootAnnotation, rootClass));
+        this.rootAnnotation = rootAnnotation;
+        this.rootClass = rootClass;
+        this.inputFilter = createInputFilter(rootAnnotation, rootClass);
+        this.componentIndex = loadComponentIndex(rootClass);
+        if (componentIndex == null) {
+            this.reflections = new Reflections(createConfiguration(rootAnnotation, rootClass));
+            return;
+        }
+        ClassLoader classLoader = getClassLoader(rootClass);
+        String packagePath = getEffectivePackageName(rootAnnotation, rootClass).replace('.', '/');
+        Set<URL> unindexed = findUnindexedLocations(classLoader, packagePath, componentIndex);
+        if (!unindexed.isEmpty()) {
+            this.unindexedReflections = new Reflections(new ConfigurationBuilder()
+                    .setUrls(unindexed)
+                    .addClassLoaders(classLoader)
+                    .filterInputsBy(inputFilter));
+        }
+    }
+
+    private static ComponentIndex loadComponentIndex(Class<?> rootClass) {
+        if (Boolean.getBoolean("vinject.scan.disableIndex")) {
+            return null;
+        }
+        ComponentIndex index = ComponentIndex.load(getClassLoader(rootClass));
+        // Only trust the index if the module containing the root class was indexed
+        if (index == null || !index.contains(rootClass.getName())) {
+            return null;
+        }
+        return index;
+    }
+
+    /**
+     * Find the classpath entries containing the given package that carry no component index file,
+     * or whose index does not list every class of the package.
+     *
+     * @param classLoader The class loader to search
+     * @param packagePath The package as resource path, e.g. {@code com/example}
+     * @param index The loaded component index
+     * @return The entries as URLs usable by Reflections
+     */
+    static Set<URL> findUnindexedLocations(ClassLoader classLoader, String packagePath, ComponentIndex index) {
+        Set<URL> result = new LinkedHashSet<>();
+        try {
+            Enumeration<URL> resources = classLoader.getResources(packagePath);
+            while (resources.hasMoreElements()) {
+                String resource = resources.nextElement().toString();
+                int packageStart = resource.lastIndexOf(packagePath);
+                if (packageStart < 0) {
+                    continue;
+                }
+                String location = resource.substring(0, packageStart);
+                if (index.coversLocation(location) && isFullyIndexed(location, packagePath, index)) {
+                    continue;
+                }
+                // Reflections expects the jar file itself rather than its root entry
+                if (location.startsWith("jar:") && location.endsWith("!/")) {
+                    location = location.substring("jar:".length(), location.length() - 2);
+                }
+                result.add(new URL(location));
+            }
+        } catch (IOException e) {
+            System.err.println("Unable to list classpath entries of package " + packagePath + ": " + e.getMessage());
+        }
+        return result;
+    }
+
+    /**
+     * Check that every class of the package in a classpath entry is listed by the index.
+     * Only entry names are listed, the class files themselves are not read.
+     */
+    private static boolean isFullyIndexed(String location, String packagePath, ComponentIndex index) {
+        List<String> entries = new ArrayList<>();
+        try {
+            if (location.startsWith("jar:") && location.endsWith("!/")) {
+                File file = new File(new URI(location.substring("jar:".length(), location.length() - 2)));
+                try (JarFile jarFile = new JarFile(file)) {
+                    Enumeration<JarEntry> jarEntries = jarFile.entries();
+                    while (jarEntries.hasMoreElements()) {
+                        entries.add(jarEntries.nextElement().getName());
+                    }
+                }
+            } else if (location.startsWith("file:")) {
+                Path root = Paths.get(new URI(location));
+                try (Stream<Path> paths = Files.walk(root.resolve(packagePath))) {
+                    paths.forEach(path -> entries.add(root.relativize(path).toString().replace(File.separatorChar, '/')));
+                }
+            } else {
+                // Entries that cannot be listed are trusted
+                return true;
+            }
+        } catch (IOException | URISyntaxException | IllegalArgumentException e) {
+            System.err.println("Unable to list classpath entry " + location + ", trusting its component index: " + e.getMessage());
+            return true;
+        }
+
+        for (String entry : entries) {
+            if (!entry.startsWith(packagePath + "/") || !entry.endsWith(".class")) {
+                continue;
+            }
+            String className = entry.substring(0, entry.length() - ".class".length()).replace('/', '.');
+            if (ComponentIndex.isIndexable(className) && !index.contains(className)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static ClassLoader getClassLoader(Class<?> rootClass) {
+        ClassLoader classLoader = rootClass.getClassLoader();
+        return classLoader != null ? classLoader : Thread.currentThread().getContextClassLoader();
+    }
+
+    /**
+     * Access the underlying Reflections instance if advanced scanning is needed.
+     * When the component index is in use, the Reflections instance is created on first access.
+     */
+    public synchronized Reflections getReflections() {
+        if (reflections == null) {
+            reflections = new Reflections(createConfiguration(rootAnnotation, rootClass));
+        }
+        return reflections;
+    }
+
+    /**
+     * Whether queries are answered from the build-time component index.
+     */
+    public boolean isIndexed() {
+        return componentIndex != null;
     }
 
     /**
      * Helper to create Reflections configuration based on @Root settings.
      */
     public static Configuration createConfiguration(Root rootAnnotation, Class<?> rootClass) {
+        return new ConfigurationBuilder()
+                .forPackage(getEffectivePackageName(rootAnnotation, rootClass))
+                .filterInputsBy(createInputFilter(rootAnnotation, rootClass));
+    }
+
+    /**
+     * Creates the resource filter (e.g. "com/example/MyClass.class") based on @Root settings.
+     * Shared between Reflections scanning and component index lookups.
+     */
+    public static Predicate<String> createInputFilter(Root rootAnnotation, Class<?> rootClass) {
         String rootPackage = getEffectivePackageName(rootAnnotation, rootClass);
         String rootPackagePath = rootPackage.replace('.', '/');
         String[] ignoredPackages = rootAnnotation.ignoredPackages();
         String[] includedPackages = rootAnnotation.includedPackages();
 
-        return new ConfigurationBuilder()
-                .forPackage(rootPackage)
-                .filterInputsBy(s -> {
-                    if (s == null) return false;
-                    if (s.startsWith("META-INF")) return false;
-                    if (!s.endsWith(".class")) return false;
-
-                    // Only include classes under the root package path
-                    if (!s.startsWith(rootPackagePath + "/") && !s.equals(rootPackagePath + ".class")) {
-                        return false;
-                    }
+        return s -> {
+            if (s == null) return false;
+            if (s.startsWith("META-INF")) return false;
+            if (!s.endsWith(".class")) return false;
 
-                    // Check ignored packages
-                    for (String ignoredPackage : ignoredPackages) {
-                        String ignoredPath = ignoredPackage.replace('.', '/');
-                        if (s.startsWith(ignoredPath)) {
-                            return false;
-                        }
-                    }
+            // Only include classes under the root package path
+            if (!s.startsWith(rootPackagePath + "/") && !s.equals(rootPackagePath + ".class")) {
+                return false;
+            }
 
-                    // Check included packages (override ignored)
-                    for (String includedPackage : includedPackages) {
-                        String includedPath = includedPackage.replace('.', '/');
-                        if (s.startsWith(includedPath)) {
-                            return true;
-                        }
-                    }
+            // Check ignored packages
+            for (String ignoredPackage : ignoredPackages) {
+                String ignoredPath = ignoredPackage.replace('.', '/');
+                if (s.startsWith(ignoredPath)) {
+                    return false;
+                }
+            }
 
+            // Check included packages (override ignored)
+            for (String includedPackage : includedPackages) {
+                String includedPath = includedPackage.replace('.', '/');
+                if (s.startsWith(includedPath)) {
                     return true;
-                });
+                }
+            }
+
+            return true;
+        };
     }
 
     /**
@@ -93,16 +261,50 @@ public class ClasspathScanner {
      * Find all types annotated with a specific annotation.
      */
     public Set<Class<?>> getTypesAnnotatedWith(Class<? extends Annotation> annotation) {
+        if (componentIndex != null) {
+            Set<Class<?>> result = loadIndexedClasses(componentIndex.getTypesAnnotatedWith(annotation.getName()));
+            if (unindexedReflections != null) {
+                result.addAll(unindexedReflections.getTypesAnnotatedWith(annotation));
+            }
+            return result;
+        }
         return reflections.getTypesAnnotatedWith(annotation);
     }
 
     /**
      * Find all subtypes of a specific class or interface.
      */
+    @SuppressWarnings("unchecked")
     public <T> Set<Class<? extends T>> getSubTypesOf(Class<T> type) {
+        if (componentIndex != null) {
+            Set<Class<? extends T>> result = new LinkedHashSet<>();
+            for (Class<?> clazz : loadIndexedClasses(componentIndex.getSubTypesOf(type.getName()))) {
+                result.add((Class<? extends T>) clazz);
+            }
+            if (unindexedReflections != null) {
+                result.addAll(unindexedReflections.getSubTypesOf(type));
+            }
+            return result;
+        }
         return reflections.getSubTypesOf(type);
     }
 
+    private Set<Class<?>> loadIndexedClasses(Set<String> classNames) {
+        ClassLoader classLoader = getClassLoader(rootClass);
+        Set<Class<?>> result = new LinkedHashSet<>();
+        for (String className : classNames) {
+            if (!inputFilter.test(className.replace('.', '/') + ".class")) {
+                continue;
+            }
+            try {
+                result.add(Class.forName(className, false, classLoader));
+            } catch (ClassNotFoundException | LinkageError ignored) {
+                // Same as Reflections: skip classes that cannot be loaded (e.g. missing optional dependencies)
+            }
+        }
+        return result;
+    }
+
     /**
      * Scans for classes annotated with @Registry.
      */
@@ -0,0 +1,221 @@
+package net.vortexdevelopment.vinject.di.scan;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Build-time component index written by the VInject-Transformer plugin.
+ * <p>
+ * Every transformed classes directory contains a {@code META-INF/vinject/component-index.properties}
+ * file with one {@code class.<name>=<annotations>|<supertypes>|<crc32>} entry per class, the checksum
+ * being that of the class file. All index files
+ * visible to the class loader are merged, so annotation and subtype queries can be answered without
+ * scanning the classpath. As no key is shared between classes, the index files of several modules
+ * shaded into one jar can be concatenated (e.g. with the shade plugin's {@code AppendingTransformer}). Query results follow the same rules as Reflections: a type matches when it
+ * is annotated directly, annotated with a matching meta-annotation, or is a subtype of a matching type.
+ * The index also names the generated {@code $$Injector} class of each class with {@code @Inject} fields.
+ * The classpath entries that carry an index file are recorded, so entries without one can still be scanned.
+ */
+public class ComponentIndex {
+
+    public static final String INDEX_RESOURCE = "META-INF/vinject/component-index.properties";
+
+    private static final String CLASS_PREFIX = "class.";
+    private static final String INJECTOR_PREFIX = "injector.";
+    // Classes generated by the transformer after the index was collected
+    private static final List<String> GENERATED_SUFFIXES = List.of("$$RowMapper", "$$Binder", "$$Injector");
+
+    private final Map<String, Set<String>> annotatedTypes = new HashMap<>();
+    private final Map<String, Set<String>> subTypes = new HashMap<>();
+    private final Set<String> indexedClasses = new LinkedHashSet<>();
+    private final Map<String, String> injectors = new HashMap<>();
+    private final Set<String> locations = new HashSet<>();
+
+    private ComponentIndex() {
+    }
+
+    /**
+     * Load and merge all component index files visible to the given class loader.
+     *
+     * @param classLoader The class loader to read the index resources from
+     * @return The merged index, or null if no index file is present
+     */
+    @Nullable
+    public static ComponentIndex load(ClassLoader classLoader) {
+        try {
+            Enumeration<URL> resources = classLoader.getResources(INDEX_RESOURCE);
+            if (!resources.hasMoreElements()) {
+                return null;
+            }
+            ComponentIndex index = new ComponentIndex();
+            while (resources.hasMoreElements()) {
+                URL url = resources.nextElement();
+                String resource = url.toString();
+                index.locations.add(resource.substring(0, resource.length() - INDEX_RESOURCE.length()));
+                try (InputStream inputStream = url.openStream();
+                     Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+                    Properties properties = new Properties();
+                    properties.load(reader);
+                    index.merge(properties);
+                }
+            }
+            return index;
+        } catch (IOException e) {
+            System.err.println("Unable to read VInject component index, falling back to classpath scanning: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void merge(Properties properties) {
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(INJECTOR_PREFIX)) {
+                injectors.put(key.substring(INJECTOR_PREFIX.length()), properties.getProperty(key).trim());
+                continue;
+            }
+            if (!key.startsWith(CLASS_PREFIX)) {
+                continue;
+            }
+            String className = key.substring(CLASS_PREFIX.length());
+            // annotations|supertypes|checksum, only the first two are needed for queries
+            String[] parts = properties.getProperty(key).split("\\|", -1);
+            indexedClasses.add(className);
+            for (String annotation : split(parts[0])) {
+                annotatedTypes.computeIfAbsent(annotation, k -> new LinkedHashSet<>()).add(className);
+            }
+            for (String superType : split(parts.length > 1 ? parts[1] : "")) {
+                subTypes.computeIfAbsent(superType, k -> new LinkedHashSet<>()).add(className);
+            }
+        }
+    }
+
+    private static List<String> split(String value) {
+        if (value == null || value.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> result = new ArrayList<>();
+        for (String part : value.split(",")) {
+            String trimmed = part.trim();
+            if (!trimmed.isEmpty()) {
+                result.add(trimmed);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Check whether the given class was processed by the transformer.
+     *
+     * @param className The fully qualified class name
+     * @return true if the class is part of the index
+     */
+    public boolean contains(String className) {
+        return indexedClasses.contains(className);
+    }
+
+    /**
+     * Check whether a class file is expected in the index. Descriptors and the classes generated by the
+     * transformer are never indexed.
+     *
+     * @param className The fully qualified class name
+     * @return true if an indexed classpath entry must list the class
+     */
+    public static boolean isIndexable(String className) {
+        if (className.endsWith("package-info") || className.endsWith("module-info")) {
+            return false;
+        }
+        for (String suffix : GENERATED_SUFFIXES) {
+            if (className.endsWith(suffix)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check whether a classpath entry carries an index file.
+     *
+     * @param location The root of the entry as URL string, e.g. {@code file:/app/classes/} or {@code jar:file:/app/lib.jar!/}
+     * @return true if an index file was loaded from the entry, which does not guarantee it lists every class of the entry
+     */
+    public boolean coversLocation(String location) {
+        return locations.contains(location);
+    }
+
+    /**
+     * Get the generated injector of a class.
+     *
+     * @param className The fully qualified class name
+     * @return The injector class name, or null if the class has none
+     */
+    @Nullable
+    public String getInjector(String className) {
+        return injectors.get(className);
+    }
+
+    /**
+     * Get the names of all types annotated with the given annotation, including types
+     * annotated through meta-annotations and all subtypes of the matching types.
+     *
+     * @param annotationName The fully qualified annotation class name
+     * @return The matching class names
+     */
+    public Set<String> getTypesAnnotatedWith(String annotationName) {
+        Set<String> result = new LinkedHashSet<>();
+        Deque<String> pending = new ArrayDeque<>();
+        pending.add(annotationName);
+        while (!pending.isEmpty()) {
+            for (String type : annotatedTypes.getOrDefault(pending.poll(), Collections.emptySet())) {
+                if (result.add(type)) {
+                    // Annotated annotation types act as meta-annotations
+                    pending.add(type);
+                }
+            }
+        }
+        for (String type : new ArrayList<>(result)) {
+            collectSubTypes(type, result);
+        }
+        return result;
+    }
+
+    /**
+     * Get the names of all indexed subtypes of the given type, excluding the type itself.
+     *
+     * @param typeName The fully qualified class name
+     * @return The matching class names
+     */
+    public Set<String> getSubTypesOf(String typeName) {
+        Set<String> result = new LinkedHashSet<>();
+        collectSubTypes(typeName, result);
+        return result;
+    }
+
+    private void collectSubTypes(String typeName, Set<String> result) {
+        Deque<String> pending = new ArrayDeque<>();
+        pending.add(typeName);
+        while (!pending.isEmpty()) {
+            for (String subType : subTypes.getOrDefault(pending.poll(), Collections.emptySet())) {
+                if (result.add(subType)) {
+                    pending.add(subType);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,399 @@
+package net.vortexdevelopment.vinject.di.startup;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Timeline of the container boot, registered as a bean so it can be injected.
+ * <p>
+ * The {@link net.vortexdevelopment.vinject.di.DependencyContainer} records the duration of every boot
+ * phase and, for every singleton created until boot finishes, the time spent in its constructor, in
+ * field injection and in its {@code @PostConstruct} methods. Component times are inclusive: dependencies
+ * created on demand while injecting a component are counted for both. Warnings, such as a generated
+ * injector that could not be used, are printed and kept in the report.
+ * <p>
+ * Every phase and component is also emitted as a JFR event ({@code vinject.StartupPhase} and
+ * {@code vinject.ComponentCreation}). Set {@code vinject.startup.report=true} (or a number to change
+ * the default of 10 entries) to print the slowest components after boot, and
+ * {@code vinject.startup.report.json=<file>} to write the report as JSON.
+ */
+public class StartupReport {
+
+    public static final String REPORT_PROPERTY = "vinject.startup.report";
+    public static final String JSON_PROPERTY = "vinject.startup.report.json";
+
+    private static final int DEFAULT_TOP = 10;
+
+    private final long startNanos = System.nanoTime();
+    private final List<PhaseTiming> phases = new ArrayList<>();
+    private final ConcurrentLinkedQueue<ComponentTiming> components = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<String> warnings = new ConcurrentLinkedQueue<>();
+
+    private String currentPhase;
+    private long currentPhaseStart;
+    private PhaseEvent currentPhaseEvent;
+    private volatile boolean finished;
+    private long totalNanos;
+
+    /**
+     * Start a new boot phase, ending the previous one. Only called from the boot thread.
+     *
+     * @param name The phase name
+     */
+    public synchronized void beginPhase(String name) {
+        if (finished) return;
+        endPhase();
+        currentPhase = name;
+        currentPhaseStart = System.nanoTime();
+        currentPhaseEvent = new PhaseEvent();
+        currentPhaseEvent.phase = name;
+        currentPhaseEvent.begin();
+    }
+
+    private void endPhase() {
+        if (currentPhase == null) return;
+        long duration = System.nanoTime() - currentPhaseStart;
+        phases.add(new PhaseTiming(currentPhase, duration));
+        currentPhaseEvent.end();
+        if (currentPhaseEvent.shouldCommit()) {
+            currentPhaseEvent.commit();
+        }
+        currentPhase = null;
+        currentPhaseEvent = null;
+    }
+
+    /**
+     * End the last phase and stop recording component timings.
+     */
+    public synchronized void finish() {
+        if (finished) return;
+        endPhase();
+        totalNanos = System.nanoTime() - startNanos;
+        finished = true;
+    }
+
+    /**
+     * Whether the boot has finished and the report is complete.
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Start timing the creation of a component.
+     *
+     * @param type The class being created
+     * @return The timer to update while creating the component, or null if boot already finished
+     */
+    @Nullable
+    public ComponentTimer startComponent(Class<?> type) {
+        return finished ? null : new ComponentTimer(type);
+    }
+
+    /**
+     * Report a problem the container recovered from, printed right away and kept in the report.
+     *
+     * @param message The warning
+     */
+    public void warn(String message) {
+        warnings.add(message);
+        System.err.println("VInject warning: " + message);
+    }
+
+    /**
+     * Warnings reported so far, in reporting order.
+     */
+    public List<String> getWarnings() {
+        return List.copyOf(warnings);
+    }
+
+    /**
+     * Durations of all finished phases in boot order.
+     */
+    public synchronized List<PhaseTiming> getPhases() {
+        return List.copyOf(phases);
+    }
+
+    /**
+     * Timings of all components created during boot, in creation order.
+     */
+    public List<ComponentTiming> getComponents() {
+        return List.copyOf(components);
+    }
+
+    /**
+     * Total boot time, or the time elapsed so far if boot has not finished.
+     */
+    public synchronized Duration getTotalTime() {
+        return Duration.ofNanos(finished ? totalNanos : System.nanoTime() - startNanos);
+    }
+
+    /**
+     * The components that took the longest to create.
+     *
+     * @param limit Maximum number of entries
+     * @return Components sorted by total creation time, slowest first
+     */
+    public List<ComponentTiming> getSlowestComponents(int limit) {
+        List<ComponentTiming> sorted = new ArrayList<>(components);
+        sorted.sort(Comparator.comparingLong(ComponentTiming::totalNanos).reversed());
+        return Collections.unmodifiableList(sorted.subList(0, Math.min(limit, sorted.size())));
+    }
+
+    /**
+     * Human readable summary of the phases and the slowest components.
+     *
+     * @param limit Maximum number of components to list
+     */
+    public String formatSummary(int limit) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("VInject startup finished in ").append(formatMillis(getTotalTime().toNanos())).append('\n');
+        builder.append("Phases:\n");
+        for (PhaseTiming phase : getPhases()) {
+            builder.append(String.format(Locale.ROOT, "  %-24s %10s%n", phase.name(), formatMillis(phase.nanos())));
+        }
+        builder.append("Slowest components:\n");
+        for (ComponentTiming component : getSlowestComponents(limit)) {
+            builder.append(String.format(Locale.ROOT, "  %10s  %s (construct %s, inject %s, post-construct %s)%n",
+                    formatMillis(component.totalNanos()), component.type().getName(),
+                    formatMillis(component.constructionNanos()), formatMillis(component.injectionNanos()),
+                    formatMillis(component.postConstructNanos())));
+        }
+        List<String> warningList = getWarnings();
+        if (!warningList.isEmpty()) {
+            builder.append("Warnings:\n");
+            for (String warning : warningList) {
+                builder.append("  ").append(warning).append('\n');
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Serialize the report as JSON. All durations are in nanoseconds.
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder();
+        json.append("{\"totalNanos\":").append(getTotalTime().toNanos());
+        json.append(",\"phases\":[");
+        List<PhaseTiming> phaseList = getPhases();
+        for (int i = 0; i < phaseList.size(); i++) {
+            PhaseTiming phase = phaseList.get(i);
+            if (i > 0) json.append(',');
+            json.append("{\"name\":");
+            appendString(json, phase.name());
+            json.append(",\"nanos\":").append(phase.nanos()).append('}');
+        }
+        json.append("],\"components\":[");
+        boolean first = true;
+        for (ComponentTiming component : components) {
+            if (!first) json.append(',');
+            first = false;
+            json.append("{\"type\":");
+            appendString(json, component.type().getName());
+            json.append(",\"thread\":");
+            appendString(json, component.thread());
+            json.append(",\"constructionNanos\":").append(component.constructionNanos());
+            json.append(",\"injectionNanos\":").append(component.injectionNanos());
+            json.append(",\"postConstructNanos\":").append(component.postConstructNanos());
+            json.append(",\"totalNanos\":").append(component.totalNanos()).append('}');
+        }
+        json.append("],\"warnings\":[");
+        first = true;
+        for (String warning : warnings) {
+            if (!first) json.append(',');
+            first = false;
+            appendString(json, warning);
+        }
+        json.append("]}");
+        return json.toString();
+    }
+
+    /**
+     * Write the JSON report to a file.
+     */
+    public void writeJson(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Files.writeString(path, toJson(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Print the summary and write the JSON file if requested through system properties.
+     */
+    public void publish() {
+        String report = System.getProperty(REPORT_PROPERTY);
+        if (report != null && !report.equalsIgnoreCase("false")) {
+            int limit = DEFAULT_TOP;
+            try {
+                limit = Integer.parseInt(report);
+            } catch (NumberFormatException ignored) {
+                // "true" or any other value uses the default
+            }
+            System.out.print(formatSummary(limit));
+        }
+
+        String jsonFile = System.getProperty(JSON_PROPERTY);
+        if (jsonFile != null && !jsonFile.isEmpty()) {
+            try {
+                writeJson(Path.of(jsonFile));
+            } catch (IOException e) {
+                System.err.println("Unable to write VInject startup report to " + jsonFile + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f ms", nanos / 1_000_000.0);
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+
+    /**
+     * Duration of a single boot phase.
+     */
+    public record PhaseTiming(String name, long nanos) {
+
+        public Duration duration() {
+            return Duration.ofNanos(nanos);
+        }
+    }
+
+    /**
+     * Creation timings of a single component.
+     */
+    public record ComponentTiming(Class<?> type, String thread, long constructionNanos, long injectionNanos, long postConstructNanos) {
+
+        public long totalNanos() {
+            return constructionNanos + injectionNanos + postConstructNanos;
+        }
+
+        public Duration totalDuration() {
+            return Duration.ofNanos(totalNanos());
+        }
+    }
+
+    /**
+     * Measures the steps of creating one component. Used by the creating thread only.
+     */
+    public final class ComponentTimer {
+
+        private final Class<?> type;
+        private final ComponentEvent event = new ComponentEvent();
+        private final long start;
+        private long constructed;
+        private long injected;
+
+        private ComponentTimer(Class<?> type) {
+            this.type = type;
+            event.begin();
+            this.start = System.nanoTime();
+        }
+
+        /**
+         * The constructor returned.
+         */
+        public void constructed() {
+            constructed = System.nanoTime();
+        }
+
+        /**
+         * Field and setter injection finished.
+         */
+        public void injected() {
+            injected = System.nanoTime();
+        }
+
+        /**
+         * Post construct methods finished, record the timing.
+         */
+        public void finished() {
+            long end = System.nanoTime();
+            ComponentTiming timing = new ComponentTiming(type, Thread.currentThread().getName(),
+                    constructed - start, injected - constructed, end - injected);
+            if (!StartupReport.this.finished) {
+                components.add(timing);
+            }
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.componentClass = type.getName();
+                event.construction = timing.constructionNanos();
+                event.injection = timing.injectionNanos();
+                event.postConstruct = timing.postConstructNanos();
+                event.commit();
+            }
+        }
+    }
+
+    @Name("vinject.StartupPhase")
+    @Label("VInject Startup Phase")
+    @Category("VInject")
+    @Description("A phase of the VInject container boot")
+    static class PhaseEvent extends Event {
+
+        @Label("Phase")
+        String phase;
+    }
+
+    @Name("vinject.ComponentCreation")
+    @Label("VInject Component Creation")
+    @Category("VInject")
+    @Description("Creation of a component during the VInject container boot")
+    static class ComponentEvent extends Event {
+
+        @Label("Component Class")
+        String componentClass;
+
+        @Label("Construction")
+        @Timespan(Timespan.NANOSECONDS)
+        long construction;
+
+        @Label("Injection")
+        @Timespan(Timespan.NANOSECONDS)
+        long injection;
+
+        @Label("Post Construct")
+        @Timespan(Timespan.NANOSECONDS)
+        long postConstruct;
+    }
+}
@@ -0,0 +1,183 @@
+package net.vortexdevelopment.vinject.event;
+
+import net.vortexdevelopment.vinject.annotation.lifecycle.OnEvent;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded queues delivering the events of one {@link OnEvent.Mode#ASYNC} or {@link OnEvent.Mode#ORDERED_ASYNC}
+ * listener off the emitting thread.
+ * <p>
+ * Every lane drains its queue with its own workers, which only exist while events are queued. Ordered
+ * listeners use a single worker per lane, asynchronous listeners use one lane with up to
+ * {@code concurrency} workers (the number of available processors by default).
+ * <p>
+ * A worker emitting into its own full lane cannot wait for room, as only it would make room. Such emits
+ * are delivered inline on asynchronous lanes and rejected on ordered lanes.
+ */
+final class AsyncDelivery {
+
+    // The lane whose worker runs on the current thread
+    private static final ThreadLocal<Object> CURRENT_LANE = new ThreadLocal<>();
+
+    private final String listenerName;
+    private final Executor executor;
+    private final OnEvent.Overflow overflow;
+    private final boolean ordered;
+    private final int capacity;
+    private final Lane[] lanes;
+    private final AtomicLong dropped = new AtomicLong();
+
+    AsyncDelivery(String listenerName, OnEvent onEvent, Executor executor) {
+        if (onEvent.queueCapacity() <= 0 || onEvent.lanes() <= 0 || onEvent.concurrency() < 0) {
+            throw new RuntimeException("@OnEvent queueCapacity and lanes must be positive and concurrency must not be negative on listener: " + listenerName);
+        }
+        this.listenerName = listenerName;
+        this.executor = executor;
+        this.ordered = onEvent.mode() == OnEvent.Mode.ORDERED_ASYNC;
+        if (ordered && onEvent.overflow() == OnEvent.Overflow.CALLER_RUNS) {
+            System.err.println("Overflow policy CALLER_RUNS would break the event order of listener " + listenerName + ", using BLOCK");
+            this.overflow = OnEvent.Overflow.BLOCK;
+        } else {
+            this.overflow = onEvent.overflow();
+        }
+        this.capacity = onEvent.queueCapacity();
+        int concurrency = onEvent.concurrency() > 0 ? onEvent.concurrency() : Runtime.getRuntime().availableProcessors();
+        this.lanes = new Lane[ordered ? onEvent.lanes() : 1];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new Lane(ordered ? 1 : concurrency);
+        }
+    }
+
+    /**
+     * Queue a delivery on the lane of the given key.
+     *
+     * @param key The ordering key, may be null
+     * @param delivery Invokes the listener, must not throw
+     */
+    void submit(@Nullable Object key, Runnable delivery) {
+        Lane lane = lanes.length == 1 ? lanes[0] : lanes[Math.floorMod(Objects.hashCode(key), lanes.length)];
+        lane.offer(delivery);
+    }
+
+    /**
+     * Number of events discarded because the queue was full.
+     */
+    long getDroppedEvents() {
+        return dropped.get();
+    }
+
+    private void drop() {
+        if (dropped.getAndIncrement() == 0) {
+            System.err.println("Event queue of listener " + listenerName + " is full (" + capacity +
+                               "), dropping events with overflow policy " + overflow);
+        }
+    }
+
+    private final class Lane implements Runnable {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition notFull = lock.newCondition();
+        private final ArrayDeque<Runnable> queue = new ArrayDeque<>();
+        private final int maxWorkers;
+        private int workers;
+
+        private Lane(int maxWorkers) {
+            this.maxWorkers = maxWorkers;
+        }
+
+        private void offer(Runnable delivery) {
+            boolean startWorker = false;
+            lock.lock();
+            try {
+                while (queue.size() >= capacity) {
+                    if (overflow == OnEvent.Overflow.CALLER_RUNS) {
+                        lock.unlock();
+                        try {
+                            delivery.run();
+                        } finally {
+                            lock.lock();
+                        }
+                        return;
+                    } else if (overflow == OnEvent.Overflow.DROP_NEWEST) {
+                        drop();
+                        return;
+                    } else if (overflow == OnEvent.Overflow.DROP_OLDEST) {
+                        queue.pollFirst();
+                        drop();
+                    } else if (CURRENT_LANE.get() == this) {
+                        if (ordered) {
+                            throw new RuntimeException("Event listener " + listenerName +
+                                                       " emitted into its own full queue (" + capacity + ")");
+                        }
+                        lock.unlock();
+                        try {
+                            delivery.run();
+                        } finally {
+                            lock.lock();
+                        }
+                        return;
+                    } else {
+                        notFull.await();
+                    }
+                }
+                queue.addLast(delivery);
+                if (workers < maxWorkers) {
+                    workers++;
+                    startWorker = true;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                drop();
+            } finally {
+                lock.unlock();
+            }
+
+            if (startWorker) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    lock.lock();
+                    try {
+                        workers--;
+                    } finally {
+                        lock.unlock();
+                    }
+                    System.err.println("Event listener " + listenerName + " no longer accepts events: " + e.getMessage());
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            Object previous = CURRENT_LANE.get();
+            CURRENT_LANE.set(this);
+            try {
+                while (true) {
+                    Runnable delivery;
+                    lock.lock();
+                    try {
+                        delivery = queue.pollFirst();
+                        if (delivery == null) {
+                            workers--;
+                            return;
+                        }
+                        notFull.signal();
+                    } finally {
+                        lock.unlock();
+                    }
+                    delivery.run();
+                }
+            } finally {
+                CURRENT_LANE.set(previous);
+            }
+        }
+    }
+}
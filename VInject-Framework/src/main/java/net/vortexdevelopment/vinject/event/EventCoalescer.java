@@ -0,0 +1,71 @@
+package net.vortexdevelopment.vinject.event;
+
+import net.vortexdevelopment.vinject.annotation.lifecycle.OnEvent;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Buffers the events of a coalescing listener between flushes, either the last event per key
+ * ({@link OnEvent.Coalesce#LATEST}) or all events ({@link OnEvent.Coalesce#BATCH}).
+ */
+final class EventCoalescer {
+
+    private final boolean batch;
+    private final int capacity;
+    private final long window;
+    private Map<Object, Object> latest = new LinkedHashMap<>();
+    private List<Object> events = new ArrayList<>();
+
+    EventCoalescer(OnEvent onEvent) {
+        this.batch = onEvent.coalesce() == OnEvent.Coalesce.BATCH;
+        this.capacity = onEvent.queueCapacity();
+        this.window = onEvent.window();
+    }
+
+    boolean isBatch() {
+        return batch;
+    }
+
+    long getWindow() {
+        return window;
+    }
+
+    /**
+     * Buffer an event.
+     *
+     * @return true if the buffer is full and should be flushed right away
+     */
+    synchronized boolean add(@Nullable Object key, Object event) {
+        if (batch) {
+            events.add(event);
+            return events.size() >= capacity;
+        }
+        latest.put(key, event);
+        return latest.size() >= capacity;
+    }
+
+    /**
+     * Take the buffered events, in the order they (or their key) were first buffered.
+     */
+    synchronized List<Object> drain() {
+        if (batch) {
+            if (events.isEmpty()) {
+                return Collections.emptyList();
+            }
+            List<Object> drained = events;
+            events = new ArrayList<>();
+            return drained;
+        }
+        if (latest.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Object> drained = new ArrayList<>(latest.values());
+        latest = new LinkedHashMap<>();
+        return drained;
+    }
+}
@@ -2,25 +2,76 @@ package net.vortexdevelopment.vinject.event;
 
 import net.vortexdevelopment.vinject.annotation.lifecycle.OnEvent;
 import net.vortexdevelopment.vinject.di.DependencyContainer;
+import net.vortexdevelopment.vinject.di.context.InjectionContext;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.StringJoiner;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Manages event registration and dispatching for the VInject framework.
  * Allows components to listen for specific events and receive injected dependencies.
+ * <p>
+ * Every listener method is compiled into a {@link MethodHandle} invoker when it is registered, with the
+ * singleton slots of its declaring class and parameter types looked up once. Listeners are stored in
+ * copy-on-write arrays per event, so emitting an event is a plain loop that does not allocate for
+ * listeners without parameters.
+ * <p>
+ * Typed listeners ({@code @OnEvent} without names) receive event objects passed to {@link #emitEvent(Object)}.
+ * The listeners matching an event class and its supertypes are resolved once per class and cached in a
+ * {@link ClassValue}, which is replaced when listeners are registered.
+ * <p>
+ * {@link OnEvent.Mode#ASYNC} and {@link OnEvent.Mode#ORDERED_ASYNC} listeners are handed to an
+ * {@link AsyncDelivery} instead of being invoked on the emitting thread. Their workers run on virtual threads
+ * when the runtime supports them (Java 21+), otherwise on daemon threads.
+ * <p>
+ * Coalescing listeners buffer their events in an {@link EventCoalescer} until {@link #flush()} is called or
+ * their {@link OnEvent#window()} elapsed.
+ * <p>
+ * Emitted events and listener invocations are counted and timed in the {@link EventMetrics}.
  */
 public class EventManager {
-    
-    private final Map<String, List<Method>> eventListeners = new ConcurrentHashMap<>();
+
+    private static final MethodType NO_ARG_INVOKER_TYPE = MethodType.methodType(void.class, Object.class);
+    private static final MethodType EVENT_INVOKER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(void.class, Object.class, Object[].class);
+    private static final EventListener[] NO_LISTENERS = new EventListener[0];
+    private static final AtomicInteger EVENT_THREADS = new AtomicInteger();
+
+    private final Map<String, EventListener[]> eventListeners = new ConcurrentHashMap<>();
     private final DependencyContainer container;
+    private final EventMetrics metrics = new EventMetrics();
+    private volatile EventListener[] typedListeners = NO_LISTENERS;
+    private volatile ClassValue<EventListener[]> typedDispatch = createTypedDispatch(NO_LISTENERS);
+    private volatile EventListener[] coalescingListeners = NO_LISTENERS;
+    @Nullable private ExecutorService executor;
+    @Nullable private ScheduledExecutorService flushScheduler;
 
     public EventManager(DependencyContainer container) {
         this.container = container;
+        metrics.registerMBean();
+    }
+
+    public EventMetrics getMetrics() {
+        return metrics;
     }
 
     /**
@@ -30,40 +81,27 @@ public class EventManager {
      * @param eventName The name of the event to emit
      */
     public void emitEvent(@NotNull String eventName) {
-        List<Method> listeners = eventListeners.get(eventName);
-        if (listeners == null || listeners.isEmpty()) {
+        metrics.emitted(eventName);
+        EventListener[] listeners = eventListeners.get(eventName);
+        if (listeners == null) {
             return;
         }
 
-        for (Method method : listeners) {
-            try {
-                Object instance = container.getDependencyOrNull(method.getDeclaringClass());
-                if (instance == null) {
-                    continue;
-                }
-
-                method.setAccessible(true);
+        for (EventListener listener : listeners) {
+            listener.dispatch(eventName);
+        }
+    }
 
-                if (method.getParameterCount() == 0) {
-                    method.invoke(instance);
-                } else {
-                    Class<?>[] parameterTypes = method.getParameterTypes();
-                    Object[] parameters = new Object[parameterTypes.length];
-                    for (int i = 0; i < parameterTypes.length; i++) {
-                        Object dependency = container.getDependencyOrNull(parameterTypes[i]);
-                        if (dependency == null) {
-                            System.err.println("Dependency not found for event listener: " + 
-                                               method.getName() + " with parameter: " + parameterTypes[i].getName());
-                            continue;
-                        }
-                        parameters[i] = dependency;
-                    }
-                    method.invoke(instance, parameters);
-                }
-            } catch (Exception e) {
-                System.err.println("Error invoking event listener: " + method.getName() + " for event: " + eventName);
-                e.printStackTrace();
-            }
+    /**
+     * Emits a typed event to every listener whose event parameter accepts the event's class.
+     * Other listener parameters are resolved from the dependency container.
+     *
+     * @param event The event object
+     */
+    public void emitEvent(@NotNull Object event) {
+        metrics.emitted(event.getClass());
+        for (EventListener listener : typedDispatch.get(event.getClass())) {
+            listener.dispatchEvent(event);
         }
     }
 
@@ -76,9 +114,22 @@ public class EventManager {
         for (Method method : clazz.getDeclaredMethods()) {
             if (method.isAnnotationPresent(OnEvent.class)) {
                 OnEvent onEvent = method.getAnnotation(OnEvent.class);
+                if (onEvent.value().length == 0) {
+                    EventCoalescer coalescer = onEvent.coalesce() == OnEvent.Coalesce.NONE ? null : new EventCoalescer(onEvent);
+                    addTypedListener(new EventListener(method, container, true, createDelivery(method, onEvent), coalescer, createStats(method)));
+                    continue;
+                }
+                if (onEvent.coalesce() != OnEvent.Coalesce.NONE) {
+                    throw new RuntimeException("@OnEvent coalesce is only supported on typed listeners: " +
+                                               method.getName() + " in class: " + method.getDeclaringClass().getName());
+                }
+                EventListener listener = null;
                 for (String event : onEvent.value()) {
                     if (event != null && !event.isEmpty()) {
-                        eventListeners.computeIfAbsent(event, k -> new ArrayList<>()).add(method);
+                        if (listener == null) {
+                            listener = new EventListener(method, container, false, createDelivery(method, onEvent), null, createStats(method));
+                        }
+                        addListener(event, listener);
                     }
                 }
             }
@@ -86,9 +137,342 @@ public class EventManager {
     }
 
     /**
-     * Clears all registered event listeners.
+     * Deliver the events buffered by coalescing listeners, for example from a tick loop.
+     * Synchronous listeners are invoked on the calling thread.
+     */
+    public void flush() {
+        for (EventListener listener : coalescingListeners) {
+            listener.flush();
+        }
+    }
+
+    /**
+     * Number of listeners registered for an event.
+     */
+    public int getListenerCount(@NotNull String eventName) {
+        return eventListeners.getOrDefault(eventName, NO_LISTENERS).length;
+    }
+
+    /**
+     * Number of typed listeners receiving events of the given class.
+     */
+    public int getListenerCount(@NotNull Class<?> eventType) {
+        return typedDispatch.get(eventType).length;
+    }
+
+    @Nullable
+    private EventMetrics.ListenerStats createStats(Method method) {
+        return metrics.isEnabled() ? metrics.listener(listenerName(method)) : null;
+    }
+
+    @Nullable
+    private AsyncDelivery createDelivery(Method method, OnEvent onEvent) {
+        if (onEvent.mode() == OnEvent.Mode.SYNC) {
+            return null;
+        }
+        return new AsyncDelivery(listenerName(method), onEvent, getExecutor());
+    }
+
+    /**
+     * The listener as {@code Class#method(Type1,Type2)}, so overloaded listeners get their own name.
+     */
+    private static String listenerName(Method method) {
+        StringJoiner parameters = new StringJoiner(",", "(", ")");
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            parameters.add(parameterType.getTypeName());
+        }
+        return method.getDeclaringClass().getName() + "#" + method.getName() + parameters;
+    }
+
+    private synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            try {
+                // The framework targets Java 17, so virtual threads are looked up at runtime
+                executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                executor = Executors.newCachedThreadPool(runnable -> {
+                    Thread thread = new Thread(runnable, "vinject-event-" + EVENT_THREADS.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+        }
+        return executor;
+    }
+
+    private synchronized void addTypedListener(EventListener listener) {
+        typedListeners = append(typedListeners, listener);
+        typedDispatch = createTypedDispatch(typedListeners);
+        if (listener.coalescer != null) {
+            coalescingListeners = append(coalescingListeners, listener);
+            long window = listener.coalescer.getWindow();
+            if (window > 0) {
+                getFlushScheduler().scheduleAtFixedRate(listener::flush, window, window, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private ScheduledExecutorService getFlushScheduler() {
+        if (flushScheduler == null) {
+            flushScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "vinject-event-flush");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return flushScheduler;
+    }
+
+    private static EventListener[] append(EventListener[] listeners, EventListener listener) {
+        EventListener[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+        updated[listeners.length] = listener;
+        return updated;
+    }
+
+    /**
+     * Dispatch cache from an event class to the typed listeners accepting it, in registration order.
      */
-    public void clear() {
+    private static ClassValue<EventListener[]> createTypedDispatch(EventListener[] listeners) {
+        return new ClassValue<>() {
+            @Override
+            protected EventListener[] computeValue(Class<?> eventClass) {
+                List<EventListener> matching = new ArrayList<>();
+                for (EventListener listener : listeners) {
+                    if (listener.eventType.isAssignableFrom(eventClass)) {
+                        matching.add(listener);
+                    }
+                }
+                return matching.isEmpty() ? NO_LISTENERS : matching.toArray(NO_LISTENERS);
+            }
+        };
+    }
+
+    private void addListener(String event, EventListener listener) {
+        eventListeners.compute(event, (key, listeners) -> {
+            return listeners == null ? new EventListener[] {listener} : append(listeners, listener);
+        });
+    }
+
+    /**
+     * Clears all registered event listeners. Events still queued for asynchronous listeners are delivered,
+     * but the listeners no longer accept new ones.
+     */
+    public synchronized void clear() {
         eventListeners.clear();
+        typedListeners = NO_LISTENERS;
+        typedDispatch = createTypedDispatch(NO_LISTENERS);
+        coalescingListeners = NO_LISTENERS;
+        metrics.unregisterMBean();
+        if (flushScheduler != null) {
+            flushScheduler.shutdownNow();
+            flushScheduler = null;
+        }
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    /**
+     * A listener method bound to the singleton slots of its declaring class and parameter types.
+     * Typed listeners take the event as first parameter, which has no slot, batch listeners take a list of events.
+     */
+    private static final class EventListener {
+
+        private final Method method;
+        private final DependencyContainer container;
+        private final DependencyContainer.SingletonRef<?> instance;
+        private final DependencyContainer.SingletonRef<?>[] parameters;
+        @Nullable private final Class<?> eventType;
+        private final MethodHandle invoker;
+        @Nullable private final AsyncDelivery delivery;
+        @Nullable private final EventCoalescer coalescer;
+        @Nullable private final EventMetrics.ListenerStats stats;
+
+        private EventListener(Method method, DependencyContainer container, boolean typed, @Nullable AsyncDelivery delivery,
+                              @Nullable EventCoalescer coalescer, @Nullable EventMetrics.ListenerStats stats) {
+            this.method = method;
+            this.stats = stats;
+            this.delivery = delivery;
+            this.coalescer = coalescer;
+            this.container = container;
+            this.instance = container.getSingletonRef(method.getDeclaringClass());
+            Class<?>[] parameterTypes = method.getParameterTypes();
+            if (typed && parameterTypes.length == 0) {
+                throw new RuntimeException("@OnEvent method without event names must declare the event type as first parameter: " +
+                                           method.getName() + " in class: " + method.getDeclaringClass().getName());
+            }
+            if (coalescer != null && coalescer.isBatch()) {
+                if (!parameterTypes[0].isAssignableFrom(List.class)) {
+                    throw new RuntimeException("@OnEvent batch listener must declare a List of events as first parameter: " +
+                                               method.getName() + " in class: " + method.getDeclaringClass().getName());
+                }
+                this.eventType = getElementType(method.getGenericParameterTypes()[0]);
+            } else {
+                this.eventType = typed ? boxed(parameterTypes[0]) : null;
+            }
+            this.parameters = new DependencyContainer.SingletonRef<?>[parameterTypes.length];
+            for (int i = typed ? 1 : 0; i < parameterTypes.length; i++) {
+                parameters[i] = container.getSingletonRef(parameterTypes[i]);
+            }
+            try {
+                method.setAccessible(true);
+                MethodHandle handle = MethodHandles.lookup().unreflect(method);
+                if (Modifier.isStatic(method.getModifiers())) {
+                    // Static listeners take no receiver, accept and ignore the component instance
+                    handle = MethodHandles.dropArguments(handle, 0, Object.class);
+                }
+                if (parameterTypes.length == 0) {
+                    this.invoker = handle.asType(NO_ARG_INVOKER_TYPE);
+                } else if (typed && parameterTypes.length == 1) {
+                    this.invoker = handle.asType(EVENT_INVOKER_TYPE);
+                } else {
+                    this.invoker = handle.asSpreader(Object[].class, parameterTypes.length).asType(INVOKER_TYPE);
+                }
+            } catch (IllegalAccessException | RuntimeException e) {
+                throw new RuntimeException("Unable to access event listener " + method.getName() +
+                                           " on " + method.getDeclaringClass().getName(), e);
+            }
+        }
+
+        private void dispatch(String eventName) {
+            if (delivery == null) {
+                invoke(eventName);
+            } else {
+                delivery.submit(eventName, () -> invoke(eventName));
+            }
+        }
+
+        private void dispatchEvent(Object event) {
+            if (coalescer == null) {
+                deliverEvent(event);
+                return;
+            }
+            Object key = event instanceof KeyedEvent keyed ? keyed.getEventKey() : null;
+            if (coalescer.add(key, event)) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            List<Object> events = coalescer.drain();
+            if (events.isEmpty()) {
+                return;
+            }
+            if (coalescer.isBatch()) {
+                deliverEvent(events);
+            } else {
+                for (Object event : events) {
+                    deliverEvent(event);
+                }
+            }
+        }
+
+        private void deliverEvent(Object event) {
+            if (delivery == null) {
+                invokeWithEvent(event);
+            } else {
+                Object key = event instanceof KeyedEvent keyed ? keyed.getEventKey() : null;
+                delivery.submit(key, () -> invokeWithEvent(event));
+            }
+        }
+
+        private void invoke(String eventName) {
+            boolean timed = stats != null && stats.sample();
+            long start = timed ? System.nanoTime() : 0;
+            try {
+                Object target = resolve(instance);
+                if (target == null) {
+                    return;
+                }
+
+                if (parameters.length == 0) {
+                    invoker.invokeExact(target);
+                } else {
+                    Object[] arguments = new Object[parameters.length];
+                    for (int i = 0; i < parameters.length; i++) {
+                        Object dependency = resolve(parameters[i]);
+                        if (dependency == null) {
+                            System.err.println("Dependency not found for event listener: " +
+                                               method.getName() + " with parameter: " + parameters[i].getType().getName());
+                            continue;
+                        }
+                        arguments[i] = dependency;
+                    }
+                    invoker.invokeExact(target, arguments);
+                }
+            } catch (Throwable e) {
+                if (stats != null) stats.error();
+                System.err.println("Error invoking event listener: " + method.getName() + " for event: " + eventName);
+                e.printStackTrace();
+            }
+            if (stats != null) stats.record(timed ? System.nanoTime() - start : -1, eventName);
+        }
+
+        private void invokeWithEvent(Object event) {
+            boolean timed = stats != null && stats.sample();
+            long start = timed ? System.nanoTime() : 0;
+            try {
+                Object target = resolve(instance);
+                if (target == null) {
+                    return;
+                }
+
+                if (parameters.length == 1) {
+                    invoker.invokeExact(target, event);
+                } else {
+                    Object[] arguments = new Object[parameters.length];
+                    arguments[0] = event;
+                    for (int i = 1; i < parameters.length; i++) {
+                        arguments[i] = resolve(parameters[i]);
+                        if (arguments[i] == null) {
+                            System.err.println("Dependency not found for event listener: " +
+                                               method.getName() + " with parameter: " + parameters[i].getType().getName());
+                        }
+                    }
+                    invoker.invokeExact(target, arguments);
+                }
+            } catch (Throwable e) {
+                if (stats != null) stats.error();
+                System.err.println("Error invoking event listener: " + method.getName() + " for event: " + event.getClass().getName());
+                e.printStackTrace();
+            }
+            if (stats != null) {
+                stats.record(timed ? System.nanoTime() - start : -1,
+                             coalescer != null && coalescer.isBatch() ? eventType : event.getClass());
+            }
+        }
+
+        /**
+         * The element type of a batch parameter, {@code Object} for raw lists and unbounded wildcards.
+         */
+        private static Class<?> getElementType(Type listType) {
+            if (listType instanceof ParameterizedType parameterized) {
+                Type element = parameterized.getActualTypeArguments()[0];
+                if (element instanceof WildcardType wildcard) {
+                    element = wildcard.getUpperBounds()[0];
+                }
+                if (element instanceof ParameterizedType elementParameterized) {
+                    element = elementParameterized.getRawType();
+                }
+                if (element instanceof Class<?> elementClass) {
+                    return elementClass;
+                }
+            }
+            return Object.class;
+        }
+
+        private static Class<?> boxed(Class<?> type) {
+            return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+        }
+
+        /**
+         * Read the singleton slot, falling back to the container for scoped and @Lazy dependencies.
+         */
+        @Nullable
+        private Object resolve(DependencyContainer.SingletonRef<?> ref) {
+            Object value = InjectionContext.hasBoundScopes() ? null : ref.getOrNull();
+            return value != null ? value : container.getDependencyOrNull(ref.getType());
+        }
     }
 }
@@ -0,0 +1,320 @@
+package net.vortexdevelopment.vinject.event;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Invocation counts, latency histograms and error counts of the {@code @OnEvent} listeners, registered as a
+ * bean and exposed over JMX as {@link EventMetricsMXBean}.
+ * <p>
+ * Invocations and errors are counted exactly. Reading the clock costs more than most listeners, so only one
+ * in {@code vinject.events.sample} invocations (default 16, rounded up to a power of two, 1 times every
+ * invocation) is timed. Latencies are kept in power-of-two microsecond buckets, so percentiles are upper bounds
+ * accurate to a factor of two. While {@code vinject.events.slow} is set, every invocation is timed and those
+ * slower than that many microseconds are logged with their event, 0 (the default) disables the check.
+ * Emitted events are counted for up to 1024 distinct event names or classes, further events are counted
+ * under {@code <other>}. Set {@code vinject.events.metrics=false} to disable event and listener metrics altogether.
+ */
+public class EventMetrics implements EventMetricsMXBean {
+
+    public static final String ENABLED_PROPERTY = "vinject.events.metrics";
+    public static final String SLOW_THRESHOLD_PROPERTY = "vinject.events.slow";
+    public static final String SAMPLE_PROPERTY = "vinject.events.sample";
+    public static final String OBJECT_NAME = "net.vortexdevelopment.vinject:type=EventMetrics";
+
+    private static final int BUCKETS = 32;
+    private static final int DEFAULT_SAMPLE = 16;
+    private static final int MAX_EVENTS = 1024;
+    private static final String OTHER_EVENTS = "<other>";
+
+    private final boolean enabled = !"false".equalsIgnoreCase(System.getProperty(ENABLED_PROPERTY));
+    private final int sampleMask = sampleMask(Integer.getInteger(SAMPLE_PROPERTY, DEFAULT_SAMPLE));
+    private final Map<Object, LongAdder> events = new ConcurrentHashMap<>();
+    private final Map<String, ListenerStats> listeners = new ConcurrentHashMap<>();
+    private volatile long slowThresholdNanos = TimeUnit.MICROSECONDS.toNanos(Long.getLong(SLOW_THRESHOLD_PROPERTY, 0));
+    private volatile ObjectName objectName;
+
+    private static int sampleMask(int sample) {
+        return sample <= 1 ? 0 : Integer.highestOneBit(sample - 1) * 2 - 1;
+    }
+
+    /**
+     * Whether emitted events and listener invocations are counted and timed.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Count an emitted event.
+     *
+     * @param event The event name or event class
+     */
+    void emitted(Object event) {
+        if (!enabled) {
+            return;
+        }
+        LongAdder counter = events.get(event);
+        if (counter == null) {
+            // Dynamic event names must not grow the map without bound
+            Object key = events.size() < MAX_EVENTS ? event : OTHER_EVENTS;
+            counter = events.computeIfAbsent(key, k -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    /**
+     * The statistics of a listener, created on first use.
+     *
+     * @param name The listener as {@code Class#method(Type1,Type2)}
+     */
+    ListenerStats listener(String name) {
+        return listeners.computeIfAbsent(name, ListenerStats::new);
+    }
+
+    /**
+     * Statistics of all registered listeners.
+     */
+    public Collection<ListenerStats> getListeners() {
+        return Collections.unmodifiableCollection(listeners.values());
+    }
+
+    public ListenerStats getListener(String name) {
+        return listeners.get(name);
+    }
+
+    /**
+     * Number of times an event was emitted.
+     *
+     * @param event The event name or event class
+     */
+    public long getEventCount(Object event) {
+        LongAdder counter = events.get(event);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    @Override
+    public Map<String, Long> getEventCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        events.forEach((event, counter) ->
+                counts.put(event instanceof Class<?> type ? type.getName() : event.toString(), counter.sum()));
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getInvocationCounts() {
+        return collect(ListenerStats::getInvocations);
+    }
+
+    @Override
+    public Map<String, Long> getErrorCounts() {
+        return collect(ListenerStats::getErrors);
+    }
+
+    @Override
+    public Map<String, Long> getP99Micros() {
+        return collect(stats -> stats.getPercentileMicros(0.99));
+    }
+
+    @Override
+    public Map<String, Long> getMaxMicros() {
+        return collect(stats -> TimeUnit.NANOSECONDS.toMicros(stats.maxNanos.get()));
+    }
+
+    private Map<String, Long> collect(ToLongFunction<ListenerStats> value) {
+        Map<String, Long> values = new TreeMap<>();
+        listeners.forEach((name, stats) -> values.put(name, value.applyAsLong(stats)));
+        return values;
+    }
+
+    @Override
+    public long getSlowThresholdMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(slowThresholdNanos);
+    }
+
+    @Override
+    public void setSlowThresholdMicros(long micros) {
+        slowThresholdNanos = TimeUnit.MICROSECONDS.toNanos(micros);
+    }
+
+    /**
+     * Reset all counters, keeping the registered listeners.
+     */
+    @Override
+    public void reset() {
+        events.clear();
+        listeners.values().forEach(ListenerStats::reset);
+    }
+
+    /**
+     * Register with the platform MBean server, failures are logged and otherwise ignored.
+     */
+    void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME + ",id=" + Integer.toHexString(System.identityHashCode(this)));
+            server.registerMBean(this, name);
+            objectName = name;
+        } catch (Exception | LinkageError e) {
+            System.err.println("Unable to register event metrics MBean: " + e.getMessage());
+        }
+    }
+
+    /**
+     * The JMX name, null if the MBean is not registered.
+     */
+    @Nullable
+    public ObjectName getObjectName() {
+        return objectName;
+    }
+
+    void unregisterMBean() {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (Exception e) {
+            System.err.println("Unable to unregister event metrics MBean: " + e.getMessage());
+        }
+        objectName = null;
+    }
+
+    /**
+     * Counters and latency histogram of a single listener method.
+     */
+    public final class ListenerStats {
+
+        private final String name;
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+        // Racy on purpose, lost updates only shift which invocations are sampled
+        private int sampleCounter;
+
+        private ListenerStats(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Whether the next invocation should be timed, always while a slow threshold is set.
+         */
+        boolean sample() {
+            return slowThresholdNanos > 0 || (sampleCounter++ & sampleMask) == 0;
+        }
+
+        /**
+         * Record a finished invocation and log it if it exceeded the slow threshold.
+         *
+         * @param nanos Duration of a sampled invocation, negative if it was not timed
+         * @param event The event name or event class
+         */
+        void record(long nanos, Object event) {
+            invocations.increment();
+            if (nanos < 0) {
+                return;
+            }
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+            histogram.incrementAndGet(Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros)));
+            long threshold = slowThresholdNanos;
+            if (threshold > 0 && nanos > threshold) {
+                System.err.println("Slow event listener " + name + " took " + micros + " us for event: " +
+                                   (event instanceof Class<?> type ? type.getName() : event));
+            }
+        }
+
+        void error() {
+            errors.increment();
+        }
+
+        private void reset() {
+            invocations.reset();
+            errors.reset();
+            totalNanos.reset();
+            maxNanos.reset();
+            for (int i = 0; i < BUCKETS; i++) {
+                histogram.set(i, 0);
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getInvocations() {
+            return invocations.sum();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        /**
+         * Average duration of the timed invocations.
+         */
+        public Duration getMeanTime() {
+            long samples = Arrays.stream(getHistogram()).sum();
+            return samples == 0 ? Duration.ZERO : Duration.ofNanos(totalNanos.sum() / samples);
+        }
+
+        public Duration getMaxTime() {
+            return Duration.ofNanos(maxNanos.get());
+        }
+
+        /**
+         * Timed invocation counts per bucket, bucket 0 holds invocations under 1 us and bucket {@code i}
+         * those from {@code 2^(i-1)} up to {@code 2^i} us.
+         */
+        public long[] getHistogram() {
+            long[] counts = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = histogram.get(i);
+            }
+            return counts;
+        }
+
+        /**
+         * Upper bound of the given percentile in microseconds, 0 without timed invocations.
+         *
+         * @param percentile The percentile between 0 and 1
+         */
+        public long getPercentileMicros(double percentile) {
+            long[] counts = getHistogram();
+            long total = 0;
+            for (long count : counts) {
+                total += count;
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long target = (long) Math.ceil(total * percentile);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= Math.max(1, target)) {
+                    return 1L << i;
+                }
+            }
+            return 1L << (BUCKETS - 1);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package net.vortexdevelopment.vinject.event;
+
+import java.util.Map;
+
+/**
+ * JMX view of the {@link EventMetrics}, registered as {@code net.vortexdevelopment.vinject:type=EventMetrics,id=<id>}.
+ * Listener maps are keyed by {@code Class#method(Type1,Type2)}, event maps by event name or event class name.
+ */
+public interface EventMetricsMXBean {
+
+    Map<String, Long> getEventCounts();
+
+    Map<String, Long> getInvocationCounts();
+
+    Map<String, Long> getErrorCounts();
+
+    Map<String, Long> getP99Micros();
+
+    Map<String, Long> getMaxMicros();
+
+    long getSlowThresholdMicros();
+
+    void setSlowThresholdMicros(long micros);
+
+    void reset();
+}
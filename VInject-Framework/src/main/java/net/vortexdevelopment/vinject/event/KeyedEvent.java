@@ -0,0 +1,10 @@
+package net.vortexdevelopment.vinject.event;
+
+/**
+ * Typed event carrying an ordering key. {@code ORDERED_ASYNC} listeners deliver events with equal keys
+ * in emission order, events with different keys may be delivered concurrently on different lanes.
+ */
+public interface KeyedEvent {
+
+    Object getEventKey();
+}
@@ -0,0 +1,39 @@
+package net.vortexdevelopment.vinject.benchmark;
+
+import java.util.function.Supplier;
+
+/**
+ * Minimal timing helpers for the opt-in benchmarks in this package.
+ * Benchmarks only run with {@code -Dvinject.benchmark=true}, e.g.
+ * {@code mvn test -Dvinject.benchmark=true -Dtest=*Benchmark}.
+ */
+public final class BenchmarkSupport {
+
+    public static final String ENABLED_PROPERTY = "vinject.benchmark";
+
+    private static volatile Object sink;
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Run the operation for a warmup phase, then measure the average time per operation.
+     *
+     * @param name Name printed with the result
+     * @param iterations Number of measured iterations
+     * @param operation The operation to measure, its result is kept alive to avoid dead code elimination
+     * @return Average nanoseconds per operation
+     */
+    public static double measure(String name, int iterations, Supplier<Object> operation) {
+        for (int i = 0; i < iterations; i++) {
+            sink = operation.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink = operation.get();
+        }
+        double nanosPerOp = (System.nanoTime() - start) / (double) iterations;
+        System.out.printf("[benchmark] %-45s %12.1f ns/op%n", name, nanosPerOp);
+        return nanosPerOp;
+    }
+}
@@ -0,0 +1,125 @@
+package net.vortexdevelopment.vinject.benchmark;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.vortexdevelopment.vinject.annotation.Inject;
+import net.vortexdevelopment.vinject.annotation.component.Component;
+import net.vortexdevelopment.vinject.annotation.component.Root;
+import net.vortexdevelopment.vinject.di.engine.DependencyGraphResolver;
+import net.vortexdevelopment.vinject.testing.TestApplicationContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Dependency graph resolution for thousands of generated components. Every component provides a marker
+ * interface through {@code registerSubclasses} and injects the markers of two earlier components, so all
+ * edges go through the provider index and the components form one long dependency chain.
+ */
+@EnabledIfSystemProperty(named = BenchmarkSupport.ENABLED_PROPERTY, matches = "true")
+public class DependencyGraphBenchmark {
+
+    private static final int[] SIZES = {1_250, 2_500, 5_000, 10_000};
+    private static final int ROUNDS = 5;
+
+    @Root(packageName = "net.vortexdevelopment.vinject.benchmark.generated", createInstance = false)
+    public static class BenchmarkRoot {}
+
+    @Test
+    public void resolutionScalesLinearly() {
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(BenchmarkRoot.class)
+                .build()) {
+            DependencyGraphResolver resolver = new DependencyGraphResolver(context.getContainer());
+
+            Set<Class<?>> largest = generateComponents(SIZES[SIZES.length - 1]);
+            List<Class<?>> ordered = new ArrayList<>(largest);
+
+            double[] perComponent = new double[SIZES.length];
+            for (int s = 0; s < SIZES.length; s++) {
+                Set<Class<?>> components = new LinkedHashSet<>(ordered.subList(0, SIZES[s]));
+                long best = Long.MAX_VALUE;
+                for (int round = 0; round < ROUNDS; round++) {
+                    long start = System.nanoTime();
+                    List<Class<?>> order = resolver.createLoadingOrder(components);
+                    best = Math.min(best, System.nanoTime() - start);
+                    assertThat(order).hasSize(components.size());
+                }
+                perComponent[s] = best / (double) components.size();
+                System.out.printf("[benchmark] graph of %6d components: %8.2f ms (%.0f ns/component)%n",
+                        components.size(), best / 1_000_000.0, perComponent[s]);
+            }
+
+            // Quadratic resolution would be 8x slower per component at 8x the size
+            assertThat(perComponent[SIZES.length - 1]).isLessThan(perComponent[0] * 4);
+
+            List<Class<?>> order = resolver.createLoadingOrder(largest);
+            assertThat(order).containsExactlyElementsOf(ordered);
+        }
+    }
+
+    /**
+     * Generate the components in dependency order.
+     */
+    private static Set<Class<?>> generateComponents(int count) {
+        String packageName = "net.vortexdevelopment.vinject.benchmark.generated";
+        ByteBuddy byteBuddy = new ByteBuddy();
+
+        List<DynamicType.Unloaded<?>> markerTypes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            markerTypes.add(byteBuddy.makeInterface().name(packageName + ".Marker" + i).make());
+        }
+        ClassLoader markerLoader = markerTypes.get(0)
+                .include(markerTypes.subList(1, count).toArray(new DynamicType[0]))
+                .load(DependencyGraphBenchmark.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded().getClassLoader();
+
+        List<DynamicType.Unloaded<?>> componentTypes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Class<?> marker = loadClass(markerLoader, packageName + ".Marker" + i);
+            DynamicType.Builder<Object> builder = byteBuddy.subclass(Object.class)
+                    .name(packageName + ".Component" + i)
+                    .implement(marker)
+                    .annotateType(AnnotationDescription.Builder.ofType(Component.class)
+                            .defineTypeArray("registerSubclasses", TypeDescription.ForLoadedType.of(marker))
+                            .build());
+            if (i > 0) {
+                builder = builder.defineField("previous", loadClass(markerLoader, packageName + ".Marker" + (i - 1)), Visibility.PRIVATE)
+                        .annotateField(AnnotationDescription.Builder.ofType(Inject.class).build());
+            }
+            if (i > 1) {
+                builder = builder.defineField("earlier", loadClass(markerLoader, packageName + ".Marker" + (i / 2)), Visibility.PRIVATE)
+                        .annotateField(AnnotationDescription.Builder.ofType(Inject.class).build());
+            }
+            componentTypes.add(builder.make());
+        }
+        ClassLoader componentLoader = componentTypes.get(0)
+                .include(componentTypes.subList(1, count).toArray(new DynamicType[0]))
+                .load(markerLoader, ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded().getClassLoader();
+
+        Set<Class<?>> components = new LinkedHashSet<>();
+        for (int i = 0; i < count; i++) {
+            components.add(loadClass(componentLoader, packageName + ".Component" + i));
+        }
+        return components;
+    }
+
+    private static Class<?> loadClass(ClassLoader classLoader, String name) {
+        try {
+            return Class.forName(name, false, classLoader);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
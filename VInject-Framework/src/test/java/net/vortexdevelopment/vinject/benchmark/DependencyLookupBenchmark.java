@@ -0,0 +1,80 @@
+package net.vortexdevelopment.vinject.benchmark;
+
+import net.vortexdevelopment.vinject.annotation.component.Component;
+import net.vortexdevelopment.vinject.annotation.component.Root;
+import net.vortexdevelopment.vinject.di.DependencyContainer;
+import net.vortexdevelopment.vinject.testing.TestApplicationContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Singleton lookup through the container's {@link ClassValue} slots compared to probing the
+ * injection context and hashing the Class key in a {@link ConcurrentHashMap}, the previous lookup path.
+ */
+@EnabledIfSystemProperty(named = BenchmarkSupport.ENABLED_PROPERTY, matches = "true")
+public class DependencyLookupBenchmark {
+
+    private static final int ITERATIONS = 200_000;
+    private static final int BATCH = 100;
+    private static final ThreadLocal<Map<Class<?>, Object>> CONTEXT = new ThreadLocal<>();
+
+    @Root(createInstance = false)
+    public static class BenchmarkRoot {}
+
+    @Component
+    public static class TickService {}
+
+    @Test
+    public void compareMapAndSlotLookup() {
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(BenchmarkRoot.class)
+                .build()) {
+            DependencyContainer container = context.getContainer();
+            Map<Class<?>, Object> map = new ConcurrentHashMap<>(container.getDependencies());
+
+            // Every operation performs a batch of lookups so the harness call does not dominate
+            double mapLookup = BenchmarkSupport.measure("lookup: ThreadLocal probe + map", ITERATIONS, () -> {
+                Object result = null;
+                for (int i = 0; i < BATCH; i++) {
+                    Map<Class<?>, Object> contextBeans = CONTEXT.get();
+                    result = contextBeans != null && contextBeans.containsKey(TickService.class)
+                            ? contextBeans.get(TickService.class)
+                            : map.get(TickService.class);
+                }
+                return result;
+            }) / BATCH;
+            double slotLookup = BenchmarkSupport.measure("lookup: getDependencyOrNull (ClassValue)", ITERATIONS, () -> {
+                Object result = null;
+                for (int i = 0; i < BATCH; i++) {
+                    result = container.getDependencyOrNull(TickService.class);
+                }
+                return result;
+            }) / BATCH;
+            double getDependency = BenchmarkSupport.measure("lookup: getDependency (ClassValue)", ITERATIONS, () -> {
+                Object result = null;
+                for (int i = 0; i < BATCH; i++) {
+                    result = container.getDependency(TickService.class);
+                }
+                return result;
+            }) / BATCH;
+            DependencyContainer.SingletonRef<TickService> ref = container.getSingletonRef(TickService.class);
+            double refLookup = BenchmarkSupport.measure("lookup: cached SingletonRef", ITERATIONS, () -> {
+                Object result = null;
+                for (int i = 0; i < BATCH; i++) {
+                    result = ref.get();
+                }
+                return result;
+            }) / BATCH;
+            System.out.printf("[benchmark] per lookup: map %.2f ns, getDependencyOrNull %.2f ns, getDependency %.2f ns, SingletonRef %.2f ns%n",
+                    mapLookup, slotLookup, getDependency, refLookup);
+
+            assertThat(container.getDependency(TickService.class)).isSameAs(map.get(TickService.class));
+            assertThat(ref.get()).isSameAs(map.get(TickService.class));
+        }
+    }
+}
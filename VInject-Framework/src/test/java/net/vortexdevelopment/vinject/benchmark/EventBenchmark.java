@@ -0,0 +1,118 @@
+package net.vortexdevelopment.vinject.benchmark;
+
+import net.vortexdevelopment.vinject.annotation.component.Component;
+import net.vortexdevelopment.vinject.annotation.component.Root;
+import net.vortexdevelopment.vinject.annotation.lifecycle.OnEvent;
+import net.vortexdevelopment.vinject.di.DependencyContainer;
+import net.vortexdevelopment.vinject.event.EventManager;
+import net.vortexdevelopment.vinject.testing.TestApplicationContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Event dispatch through the {@link EventManager} compared to the reflective per-emit lookup it replaced.
+ */
+@EnabledIfSystemProperty(named = BenchmarkSupport.ENABLED_PROPERTY, matches = "true")
+public class EventBenchmark {
+
+    private static final int ITERATIONS = 500_000;
+
+    @Root(createInstance = false)
+    public static class BenchmarkRoot {}
+
+    @Component
+    public static class TickService {}
+
+    @Component
+    public static class TickListener {
+        long ticks;
+        long injectedTicks;
+
+        @OnEvent("tick")
+        public void onTick() {
+            ticks++;
+        }
+
+        @OnEvent("tick")
+        public void onTickWithService(TickService service) {
+            injectedTicks++;
+        }
+    }
+
+    public record TickEvent(long tick) {}
+
+    @Component
+    public static class TypedTickListener {
+        long lastTick;
+
+        @OnEvent
+        public void onTick(TickEvent event) {
+            lastTick = event.tick();
+        }
+    }
+
+    @Test
+    public void measureTypedDispatch() {
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(BenchmarkRoot.class)
+                .build()) {
+            EventManager eventManager = context.getContainer().getEventManager();
+            TickEvent event = new TickEvent(7);
+
+            BenchmarkSupport.measure("emit: typed event (ClassValue dispatch)", ITERATIONS, () -> {
+                eventManager.emitEvent(event);
+                return eventManager;
+            });
+
+            assertThat(context.getComponent(TypedTickListener.class).lastTick).isEqualTo(7);
+        }
+    }
+
+    @Test
+    public void compareReflectiveAndCompiledDispatch() throws Exception {
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(BenchmarkRoot.class)
+                .build()) {
+            DependencyContainer container = context.getContainer();
+            EventManager eventManager = container.getEventManager();
+            List<Method> methods = new ArrayList<>();
+            for (Method method : TickListener.class.getDeclaredMethods()) {
+                if (method.isAnnotationPresent(OnEvent.class)) {
+                    methods.add(method);
+                }
+            }
+
+            double reflective = BenchmarkSupport.measure("emit: reflective lookup and invoke", ITERATIONS, () -> {
+                for (Method method : methods) {
+                    try {
+                        Object instance = container.getDependencyOrNull(method.getDeclaringClass());
+                        method.setAccessible(true);
+                        Class<?>[] parameterTypes = method.getParameterTypes();
+                        Object[] parameters = new Object[parameterTypes.length];
+                        for (int i = 0; i < parameterTypes.length; i++) {
+                            parameters[i] = container.getDependencyOrNull(parameterTypes[i]);
+                        }
+                        method.invoke(instance, parameters);
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+                return methods;
+            });
+            double compiled = BenchmarkSupport.measure("emit: EventManager.emitEvent", ITERATIONS, () -> {
+                eventManager.emitEvent("tick");
+                return eventManager;
+            });
+            System.out.printf("[benchmark] speedup: %.1fx%n", reflective / compiled);
+
+            TickListener listener = context.getComponent(TickListener.class);
+            assertThat(listener.ticks).isEqualTo(listener.injectedTicks).isEqualTo(4L * ITERATIONS);
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package net.vortexdevelopment.vinject.benchmark;
+
+import net.vortexdevelopment.vinject.annotation.Inject;
+import net.vortexdevelopment.vinject.annotation.Value;
+import net.vortexdevelopment.vinject.annotation.component.Component;
+import net.vortexdevelopment.vinject.annotation.component.Root;
+import net.vortexdevelopment.vinject.annotation.util.IgnoreJavaxInject;
+import net.vortexdevelopment.vinject.config.Environment;
+import net.vortexdevelopment.vinject.di.DependencyContainer;
+import net.vortexdevelopment.vinject.di.engine.InstanceFactory;
+import net.vortexdevelopment.vinject.di.resolver.ArgumentResolverContext;
+import net.vortexdevelopment.vinject.di.resolver.ArgumentResolverProcessor;
+import net.vortexdevelopment.vinject.di.utils.DependencyUtils;
+import net.vortexdevelopment.vinject.testing.TestApplicationContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Per-instance field injection cost of the cached {@link net.vortexdevelopment.vinject.di.engine.InjectionPlan}
+ * compared to the baseline InjectionEngine algorithm, which scanned the class and walked all resolvers for every
+ * instance. The baseline keeps its own copy of the old resolver walk and {@code @Value} parsing, so later
+ * optimizations of the resolver registry and the Environment do not leak into the "before" figure.
+ */
+@EnabledIfSystemProperty(named = BenchmarkSupport.ENABLED_PROPERTY, matches = "true")
+public class InjectionBenchmark {
+
+    private static final int ITERATIONS = 200_000;
+
+    // The resolvers of the baseline registry by annotation, the benchmark root registers no custom resolvers
+    private static final Map<Class<? extends Annotation>, ArgumentResolverProcessor> baselineResolvers = new ConcurrentHashMap<>();
+    private static final Map<ArgumentResolverProcessor, Integer> baselinePriorities = new ConcurrentHashMap<>();
+
+    @Root
+    public static class BenchmarkRoot {}
+
+    @Component
+    public static class Dependency {}
+
+    public static class Target {
+        @Inject private Dependency first;
+        @Inject private Dependency second;
+        private String plainA;
+        private int plainB;
+        private long plainC;
+        private Object plainD;
+        @Value("${benchmark.timeout:250}") private int timeout;
+        private Dependency third;
+
+        @Inject
+        public void setThird(Dependency third) {
+            this.third = third;
+        }
+    }
+
+    /**
+     * Shaped like an entity row: many fields, none of them injected.
+     */
+    public static class Row {
+        private long id;
+        private String name;
+        private String email;
+        private int age;
+        private boolean active;
+        private double balance;
+        private long createdAt;
+        private long updatedAt;
+    }
+
+    @Test
+    public void compareReflectiveAndPlannedInjection() {
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(BenchmarkRoot.class)
+                .build()) {
+            DependencyContainer container = context.getContainer();
+
+            compare(container, "component", Target::new);
+            compare(container, "entity row", Row::new);
+
+            Target target = new Target();
+            container.getInjectionEngine().inject(target);
+            assertThat(target.first).isNotNull();
+            assertThat(target.second).isNotNull();
+            assertThat(target.third).isNotNull();
+            assertThat(target.timeout).isEqualTo(250);
+
+            Target baseline = new Target();
+            registerBaselineResolvers(container);
+            injectReflective(container, baseline);
+            assertThat(baseline.third).isNotNull();
+            assertThat(baseline.timeout).isEqualTo(250);
+        }
+    }
+
+    @Test
+    public void compareReflectiveAndFactoryInstantiation() {
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(BenchmarkRoot.class)
+                .build()) {
+            InstanceFactory factory = context.getContainer().getInstanceFactory(Row.class);
+
+            double reflective = BenchmarkSupport.measure("instantiation: reflective constructor lookup", ITERATIONS, () -> {
+                try {
+                    Constructor<Row> constructor = Row.class.getDeclaredConstructor();
+                    constructor.setAccessible(true);
+                    return constructor.newInstance();
+                } catch (ReflectiveOperationException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            double generated = BenchmarkSupport.measure("instantiation: InstanceFactory", ITERATIONS, () -> {
+                try {
+                    return factory.newInstance();
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            System.out.printf("[benchmark] instantiation speedup: %.1fx%n", reflective / generated);
+            assertThat(factory.isGenerated()).isTrue();
+        }
+    }
+
+    private static void compare(DependencyContainer container, String name, Supplier<Object> factory) {
+        registerBaselineResolvers(container);
+        double reflective = BenchmarkSupport.measure(name + ": baseline reflective injection", ITERATIONS, () -> {
+            Object target = factory.get();
+            injectReflective(container, target);
+            return target;
+        });
+        double planned = BenchmarkSupport.measure(name + ": cached InjectionPlan", ITERATIONS, () -> {
+            Object target = factory.get();
+            container.getInjectionEngine().inject(target);
+            return target;
+        });
+        System.out.printf("[benchmark] %s speedup: %.1fx%n", name, reflective / planned);
+    }
+
+    private static void registerBaselineResolvers(DependencyContainer container) {
+        ArgumentResolverProcessor valueResolver = new ArgumentResolverProcessor() {
+            @Override
+            public boolean canResolve(ArgumentResolverContext context) {
+                return context.hasAnnotation(Value.class);
+            }
+
+            @Override
+            public Object resolve(ArgumentResolverContext context) {
+                return resolveValue(context.getAnnotation(Value.class).value(), context.getTargetType());
+            }
+        };
+        ArgumentResolverProcessor injectResolver = container.getArgumentResolverRegistry().getResolver(Inject.class);
+        baselineResolvers.put(Value.class, valueResolver);
+        baselinePriorities.put(valueResolver, 100);
+        baselineResolvers.put(Inject.class, injectResolver);
+        baselinePriorities.put(injectResolver, 50);
+    }
+
+    /**
+     * The old {@code ArgumentResolverRegistry.getAllResolvers}: deduplicated and sorted on every call.
+     */
+    private static List<ArgumentResolverProcessor> getAllResolvers() {
+        List<ArgumentResolverProcessor> uniqueResolvers = new ArrayList<>();
+        for (ArgumentResolverProcessor resolver : baselineResolvers.values()) {
+            if (!uniqueResolvers.contains(resolver)) {
+                uniqueResolvers.add(resolver);
+            }
+        }
+        uniqueResolvers.sort(Comparator.comparingInt((ArgumentResolverProcessor resolver) ->
+                baselinePriorities.getOrDefault(resolver, 10)
+        ).reversed());
+        return uniqueResolvers;
+    }
+
+    /**
+     * The old {@code DependencyContainer.resolveArgument}: every resolver is asked in priority order.
+     */
+    private static Object resolveArgument(ArgumentResolverContext context) {
+        for (ArgumentResolverProcessor resolver : getAllResolvers()) {
+            if (resolver.canResolve(context)) {
+                return resolver.resolve(context);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The old {@code InjectionEngine.resolveValue}, parsing the expression on every call.
+     */
+    private static Object resolveValue(String expression, Class<?> targetType) {
+        String resolvedValue = resolveProperty(expression);
+        try {
+            return switch (targetType.getName()) {
+                case "java.lang.String" -> resolvedValue;
+                case "int", "java.lang.Integer" -> Integer.parseInt(resolvedValue);
+                case "long", "java.lang.Long" -> Long.parseLong(resolvedValue);
+                case "boolean", "java.lang.Boolean" -> Boolean.parseBoolean(resolvedValue);
+                case "double", "java.lang.Double" -> Double.parseDouble(resolvedValue);
+                case "float", "java.lang.Float" -> Float.parseFloat(resolvedValue);
+                default -> throw new RuntimeException("Unsupported type for @Value injection: " + targetType.getName() +
+                        " for expression: " + expression);
+            };
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Cannot convert property value '" + resolvedValue + "' to " +
+                    targetType.getSimpleName() + " for expression: " + expression, e);
+        }
+    }
+
+    /**
+     * The old {@code Environment.resolveProperty} and {@code getProperty}.
+     */
+    private static String resolveProperty(String expression) {
+        if (!expression.startsWith("${") || !expression.endsWith("}")) {
+            return expression;
+        }
+        String content = expression.substring(2, expression.length() - 1);
+        int colonIndex = content.indexOf(':');
+        String key = colonIndex >= 0 ? content.substring(0, colonIndex).trim() : content.trim();
+        String value = System.getenv(key.toUpperCase().replace('.', '_').replace('-', '_'));
+        if (value == null) {
+            value = System.getProperty(key);
+        }
+        if (value == null) {
+            value = Environment.getInstance().getSnapshot().getApplicationProperties().get(key);
+        }
+        if (value != null) {
+            return value;
+        }
+        if (colonIndex >= 0) {
+            return content.substring(colonIndex + 1).trim();
+        }
+        throw new RuntimeException("Property '" + key + "' not found and no default value provided");
+    }
+
+    /**
+     * The injection algorithm of the InjectionEngine before injection plans were introduced: every field is
+     * resolved with an @Value fallback, then every @Inject method and setter of an @Inject field is invoked
+     * once all of its parameters are resolved.
+     */
+    private static void injectReflective(DependencyContainer container, Object object) {
+        Class<?> clazz = object.getClass();
+        try {
+            for (Field field : clazz.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                checkJavaxInject(field);
+                Object resolvedValue = resolveArgument(new ArgumentResolverContext.Builder()
+                        .targetType(field.getType())
+                        .annotations(field.getAnnotations())
+                        .field(field)
+                        .declaringClass(clazz)
+                        .container(container)
+                        .instance(object)
+                        .build());
+                if (resolvedValue != null) {
+                    field.setAccessible(true);
+                    field.set(object, resolvedValue);
+                    continue;
+                }
+                Value value = field.getAnnotation(Value.class);
+                if (value != null) {
+                    field.setAccessible(true);
+                    field.set(object, resolveValue(value.value(), field.getType()));
+                }
+            }
+
+            Map<String, Field> injectFields = new HashMap<>();
+            for (Field field : clazz.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Inject.class)) {
+                    injectFields.put(field.getName(), field);
+                }
+            }
+            for (Method method : clazz.getDeclaredMethods()) {
+                checkJavaxInject(method);
+                Field targetField = null;
+                if (method.getName().startsWith("set") && method.getParameterCount() == 1) {
+                    targetField = injectFields.get(Character.toLowerCase(method.getName().charAt(3)) + method.getName().substring(4));
+                }
+                if (!method.isAnnotationPresent(Inject.class) && targetField == null) {
+                    continue;
+                }
+                if (Modifier.isStatic(method.getModifiers()) || method.getParameterCount() == 0) {
+                    continue;
+                }
+                method.setAccessible(true);
+                Class<?>[] parameterTypes = method.getParameterTypes();
+                Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+                Object[] parameters = new Object[parameterTypes.length];
+                boolean allResolved = true;
+                for (int i = 0; i < parameterTypes.length; i++) {
+                    Object resolvedValue = resolveArgument(new ArgumentResolverContext.Builder()
+                            .targetType(parameterTypes[i])
+                            .annotations(parameterAnnotations[i])
+                            .parameter(method.getParameters()[i])
+                            .declaringClass(clazz)
+                            .method(method)
+                            .field(targetField)
+                            .container(container)
+                            .instance(object)
+                            .build());
+                    if (resolvedValue != null) {
+                        parameters[i] = resolvedValue;
+                        continue;
+                    }
+                    Value value = DependencyUtils.findAnnotation(parameterAnnotations[i], Value.class);
+                    if (value == null) {
+                        allResolved = false;
+                        break;
+                    }
+                    parameters[i] = resolveValue(value.value(), parameterTypes[i]);
+                }
+                if (allResolved) {
+                    method.invoke(object, parameters);
+                }
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void checkJavaxInject(AccessibleObject accessible) {
+        if (accessible.isAnnotationPresent(IgnoreJavaxInject.class)) {
+            return;
+        }
+        for (Annotation annotation : accessible.getAnnotations()) {
+            if (annotation.annotationType().getName().equals("javax.inject.Inject")) {
+                throw new RuntimeException("Detected 'javax.inject.Inject' on " + accessible);
+            }
+        }
+    }
+}
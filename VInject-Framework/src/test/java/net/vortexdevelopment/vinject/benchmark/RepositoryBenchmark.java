@@ -0,0 +1,142 @@
+package net.vortexdevelopment.vinject.benchmark;
+
+import lombok.Data;
+import net.vortexdevelopment.vinject.annotation.component.Repository;
+import net.vortexdevelopment.vinject.annotation.component.Root;
+import net.vortexdevelopment.vinject.annotation.database.Column;
+import net.vortexdevelopment.vinject.annotation.database.Entity;
+import net.vortexdevelopment.vinject.annotation.database.Id;
+import net.vortexdevelopment.vinject.database.Database;
+import net.vortexdevelopment.vinject.database.repository.CrudRepository;
+import net.vortexdevelopment.vinject.database.repository.EntityRowMapping;
+import net.vortexdevelopment.vinject.database.repository.EntityStatementBinding;
+import net.vortexdevelopment.vinject.testing.MockDatabaseBuilder;
+import net.vortexdevelopment.vinject.testing.RepositoryTestUtils;
+import net.vortexdevelopment.vinject.testing.TestApplicationContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Repository loads and saves through the generated row mappers and binders compared to the reflective mapping.
+ */
+@EnabledIfSystemProperty(named = BenchmarkSupport.ENABLED_PROPERTY, matches = "true")
+public class RepositoryBenchmark {
+
+    private static final int ROWS = 1_000;
+    private static final int ITERATIONS = 500;
+
+    @Root(createInstance = false)
+    public static class BenchmarkRoot {}
+
+    public enum Tier {
+        BRONZE, SILVER, GOLD
+    }
+
+    @Entity(table = "benchmark_players")
+    @Data
+    public static class PlayerRow {
+        @Id
+        private long id;
+
+        @Column
+        private String name;
+
+        @Column
+        private int level;
+
+        @Column
+        private double balance;
+
+        @Column
+        private Long guild;
+
+        @Column
+        private Tier tier;
+    }
+
+    @Repository
+    public interface PlayerRowRepository extends CrudRepository<PlayerRow, Long> {}
+
+    @Test
+    public void compareGeneratedAndReflectiveMapping() {
+        measureFindAll("findAll: 1000 rows (generated row mapper)");
+
+        System.setProperty(EntityRowMapping.ENABLED_PROPERTY, "false");
+        try {
+            measureFindAll("findAll: 1000 rows (reflective mapping)");
+        } finally {
+            System.clearProperty(EntityRowMapping.ENABLED_PROPERTY);
+        }
+    }
+
+    @Test
+    public void compareGeneratedAndReflectiveBinding() {
+        measureSave("save: insert and update (generated binder)");
+
+        System.setProperty(EntityStatementBinding.ENABLED_PROPERTY, "false");
+        try {
+            measureSave("save: insert and update (reflective binding)");
+        } finally {
+            System.clearProperty(EntityStatementBinding.ENABLED_PROPERTY);
+        }
+    }
+
+    private void measureSave(String name) {
+        Database database = MockDatabaseBuilder.createInMemory("binder_benchmark");
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(BenchmarkRoot.class)
+                .withDatabase(database)
+                .build()) {
+            PlayerRowRepository repository = context.getComponent(PlayerRowRepository.class);
+            long[] ids = {0};
+
+            BenchmarkSupport.measure(name, ITERATIONS * 20, () -> {
+                PlayerRow player = new PlayerRow();
+                player.setId(++ids[0]);
+                player.setName("player");
+                player.setLevel(1);
+                player.setTier(Tier.GOLD);
+                repository.save(player);
+                player.setLevel(2);
+                return repository.save(player);
+            });
+
+            assertThat(repository.findById(ids[0]).getLevel()).isEqualTo(2);
+        } finally {
+            RepositoryTestUtils.clearDatabase(database);
+        }
+    }
+
+    private void measureFindAll(String name) {
+        Database database = MockDatabaseBuilder.createInMemory("row_mapper_benchmark");
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(BenchmarkRoot.class)
+                .withDatabase(database)
+                .build()) {
+            PlayerRowRepository repository = context.getComponent(PlayerRowRepository.class);
+            List<PlayerRow> players = new ArrayList<>();
+            for (int i = 1; i <= ROWS; i++) {
+                PlayerRow player = new PlayerRow();
+                player.setId(i);
+                player.setName("player-" + i);
+                player.setLevel(i % 100);
+                player.setBalance(i * 1.5);
+                player.setGuild(i % 3 == 0 ? null : (long) (i % 10));
+                player.setTier(Tier.values()[i % 3]);
+                players.add(player);
+            }
+            repository.saveAll(players);
+
+            BenchmarkSupport.measure(name, ITERATIONS, repository::findAll);
+
+            assertThat(repository.findAll()).hasSize(ROWS);
+        } finally {
+            RepositoryTestUtils.clearDatabase(database);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package net.vortexdevelopment.vinject.component.lazy;
+
+import net.vortexdevelopment.vinject.annotation.Bean;
+import net.vortexdevelopment.vinject.annotation.Inject;
+import net.vortexdevelopment.vinject.annotation.component.Component;
+import net.vortexdevelopment.vinject.annotation.component.Lazy;
+import net.vortexdevelopment.vinject.annotation.component.Root;
+import net.vortexdevelopment.vinject.annotation.component.Service;
+import net.vortexdevelopment.vinject.annotation.lifecycle.OnDestroy;
+import net.vortexdevelopment.vinject.di.DependencyContainer;
+import net.vortexdevelopment.vinject.testing.TestApplicationContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for @Lazy components and beans.
+ */
+class LazyComponentTest {
+
+    private static final AtomicInteger reportCreations = new AtomicInteger();
+    private static final AtomicInteger mailerCreations = new AtomicInteger();
+    private static final AtomicInteger cacheCreations = new AtomicInteger();
+    private static final AtomicInteger destroyCalls = new AtomicInteger();
+
+    @BeforeEach
+    void resetCounters() {
+        reportCreations.set(0);
+        mailerCreations.set(0);
+        cacheCreations.set(0);
+        destroyCalls.set(0);
+    }
+
+    @Test
+    void lazyComponentIsCreatedOnFirstAccessOnly() {
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(LazyRoot.class)
+                .build()) {
+            assertThat(reportCreations.get()).isZero();
+
+            ReportGenerator first = context.getContainer().getDependency(ReportGenerator.class);
+            ReportGenerator second = context.getContainer().getDependencyOrNull(ReportGenerator.class);
+
+            assertThat(first).isSameAs(second);
+            assertThat(reportCreations.get()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void interfaceInjectionReceivesProxyUntilFirstCall() {
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(LazyRoot.class)
+                .build()) {
+            AdminCommands commands = context.getComponent(AdminCommands.class);
+
+            assertThat(commands.mailer).isNotNull();
+            assertThat(mailerCreations.get()).isZero();
+
+            assertThat(commands.mailer.send("hello")).isEqualTo("sent: hello");
+            assertThat(commands.mailer.send("again")).isEqualTo("sent: again");
+            assertThat(mailerCreations.get()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void concurrentAccessCreatesExactlyOnce() throws Exception {
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(LazyRoot.class)
+                .build()) {
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<ReportGenerator>> results = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return context.getContainer().getDependency(ReportGenerator.class);
+                }));
+            }
+            start.countDown();
+
+            ReportGenerator expected = results.get(0).get();
+            for (Future<ReportGenerator> result : results) {
+                assertThat(result.get()).isSameAs(expected);
+            }
+            executor.shutdown();
+            assertThat(reportCreations.get()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void lazyBeanIsCreatedOnFirstAccess() {
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(LazyRoot.class)
+                .build()) {
+            assertThat(cacheCreations.get()).isZero();
+
+            ExpensiveCache cache = context.getContainer().getDependency(ExpensiveCache.class);
+
+            assertThat(cache).isNotNull();
+            assertThat(cacheCreations.get()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void unusedLazyComponentIsNotCreatedOnShutdown() {
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(LazyRoot.class)
+                .build()) {
+            context.getContainer().getLifecycleManager().invokeDestroyMethods();
+
+            assertThat(reportCreations.get()).isZero();
+            assertThat(destroyCalls.get()).isZero();
+        }
+    }
+
+    @Test
+    void lazySingletonRefIsClearedOnRelease() {
+        DependencyContainer.SingletonRef<ReportGenerator> ref;
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(LazyRoot.class)
+                .build()) {
+            ReportGenerator generator = context.getContainer().getDependency(ReportGenerator.class);
+            ref = context.getContainer().getSingletonRef(ReportGenerator.class);
+            assertThat(ref.getOrNull()).isSameAs(generator);
+        }
+
+        assertThat(ref.getOrNull()).isNull();
+    }
+
+    @Test
+    void usedLazyComponentIsDestroyed() {
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(LazyRoot.class)
+                .build()) {
+            context.getContainer().getDependency(ReportGenerator.class);
+            context.getContainer().getLifecycleManager().invokeDestroyMethods();
+
+            assertThat(destroyCalls.get()).isEqualTo(1);
+        }
+    }
+
+    // Test components
+
+    @Root(createInstance = false)
+    static class LazyRoot {
+    }
+
+    @Lazy
+    @Component
+    public static class ReportGenerator {
+        public ReportGenerator() {
+            reportCreations.incrementAndGet();
+        }
+
+        @OnDestroy
+        public void close() {
+            destroyCalls.incrementAndGet();
+        }
+    }
+
+    public interface Mailer {
+        String send(String message);
+    }
+
+    @Lazy
+    @Component(registerSubclasses = Mailer.class)
+    public static class SmtpMailer implements Mailer {
+        public SmtpMailer() {
+            mailerCreations.incrementAndGet();
+        }
+
+        @Override
+        public String send(String message) {
+            return "sent: " + message;
+        }
+    }
+
+    @Component
+    public static class AdminCommands {
+        @Inject Mailer mailer;
+    }
+
+    public static class ExpensiveCache {
+        public ExpensiveCache() {
+            cacheCreations.incrementAndGet();
+        }
+    }
+
+    @Service
+    public static class CacheService {
+        @Lazy
+        @Bean
+        public ExpensiveCache expensiveCache() {
+            return new ExpensiveCache();
+        }
+    }
+}
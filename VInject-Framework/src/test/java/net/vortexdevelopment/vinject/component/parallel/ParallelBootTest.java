@@ -0,0 +1,157 @@
+package net.vortexdevelopment.vinject.component.parallel;
+
+import net.vortexdevelopment.vinject.annotation.Inject;
+import net.vortexdevelopment.vinject.annotation.component.Component;
+import net.vortexdevelopment.vinject.annotation.component.Root;
+import net.vortexdevelopment.vinject.annotation.lifecycle.PostConstruct;
+import net.vortexdevelopment.vinject.di.engine.DependencyGraphResolver;
+import net.vortexdevelopment.vinject.testing.TestApplicationContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the opt-in parallel component boot (-Dvinject.boot.parallel=true).
+ */
+class ParallelBootTest {
+
+    private static final long SLOW_INIT_MILLIS = 300;
+    private static final Set<String> initThreads = ConcurrentHashMap.newKeySet();
+    private static final AtomicInteger activeInits = new AtomicInteger();
+    private static final AtomicInteger maxActiveInits = new AtomicInteger();
+
+    @BeforeEach
+    void enableParallelBoot() {
+        initThreads.clear();
+        maxActiveInits.set(0);
+        System.setProperty("vinject.boot.parallel", "true");
+        System.setProperty("vinject.boot.parallelism", "4");
+    }
+
+    @AfterEach
+    void disableParallelBoot() {
+        System.clearProperty("vinject.boot.parallel");
+        System.clearProperty("vinject.boot.parallelism");
+    }
+
+    @Test
+    void independentComponentsAreCreatedConcurrently() {
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(ParallelRoot.class)
+                .build()) {
+            Aggregator aggregator = context.getComponent(Aggregator.class);
+            assertThat(aggregator.dependenciesReadyAtInit).isTrue();
+            assertThat(initThreads).hasSizeGreaterThan(1);
+            assertThat(maxActiveInits.get()).isGreaterThan(1);
+        }
+    }
+
+    @Test
+    void circularFieldInjectionStillWorks() {
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(ParallelRoot.class)
+                .build()) {
+            CycleA cycleA = context.getComponent(CycleA.class);
+            CycleB cycleB = context.getComponent(CycleB.class);
+
+            assertThat(cycleA.cycleB).isSameAs(cycleB);
+            assertThat(cycleB.cycleA).isSameAs(cycleA);
+        }
+    }
+
+    @Test
+    void layersRespectPriorityAndDependencies() {
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(ParallelRoot.class)
+                .build()) {
+            DependencyGraphResolver resolver = new DependencyGraphResolver(context.getContainer());
+
+            // Plain classes are not registered in the container, so their dependencies are part of the graph
+            List<List<Class<?>>> layers = resolver.createLoadingLayers(Set.of(LayerLeft.class, LayerRight.class, LayerTop.class, Early.class));
+
+            assertThat(layers).hasSize(3);
+            assertThat(layers.get(0)).containsExactly(Early.class);
+            assertThat(layers.get(1)).containsExactlyInAnyOrder(LayerLeft.class, LayerRight.class);
+            assertThat(layers.get(2)).containsExactly(LayerTop.class);
+        }
+    }
+
+    // Test components
+
+    @Root(createInstance = false)
+    static class ParallelRoot {
+    }
+
+    static abstract class SlowComponent {
+        volatile boolean initialized;
+
+        @PostConstruct
+        public void init() throws InterruptedException {
+            initThreads.add(Thread.currentThread().getName());
+            maxActiveInits.accumulateAndGet(activeInits.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(SLOW_INIT_MILLIS);
+            } finally {
+                activeInits.decrementAndGet();
+            }
+            initialized = true;
+        }
+    }
+
+    @Component
+    public static class SlowA extends SlowComponent {
+    }
+
+    @Component
+    public static class SlowB extends SlowComponent {
+    }
+
+    @Component
+    public static class SlowC extends SlowComponent {
+    }
+
+    @Component(priority = 1)
+    public static class Early {
+    }
+
+    @Component
+    public static class Aggregator {
+        @Inject private SlowA slowA;
+        @Inject private SlowB slowB;
+        @Inject private SlowC slowC;
+        boolean dependenciesReadyAtInit;
+
+        @PostConstruct
+        public void init() {
+            dependenciesReadyAtInit = slowA.initialized && slowB.initialized && slowC.initialized;
+        }
+    }
+
+    public static class LayerLeft {
+    }
+
+    public static class LayerRight {
+    }
+
+    public static class LayerTop {
+        @Inject private LayerLeft left;
+        @Inject private LayerRight right;
+    }
+
+    @Component
+    public static class CycleA {
+        @Inject CycleB cycleB;
+    }
+
+    @Component
+    public static class CycleB {
+        @Inject CycleA cycleA;
+    }
+}
@@ -6,9 +6,8 @@ import net.vortexdevelopment.vinject.annotation.database.Entity;
 import net.vortexdevelopment.vinject.annotation.database.Id;
 import org.junit.jupiter.api.Test;
 
-import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.math.BigInteger;
-import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -24,15 +23,13 @@ public class CachedFieldReproductionTest {
         // Test addAmount which is NOT a standard setter name
         entity.addAmount(BigInteger.ONE);
 
-        // Check if __vinject_dirty_fields exists and contains "amount"
+        // Check if the dirty mask exists and has the bit of "amount" set
         try {
-            Field dirtyFieldsField = TestEntity.class.getDeclaredField("__vinject_dirty_fields");
-            dirtyFieldsField.setAccessible(true);
-            Set<String> dirtyFields = (Set<String>) dirtyFieldsField.get(entity);
-            
-            assertThat(dirtyFields).as("Dirty fields should contain 'amount' after addAmount").contains("amount");
-        } catch (NoSuchFieldException e) {
-            fail("Class was not transformed: __vinject_dirty_fields field missing.");
+            Method isFieldModified = TestEntity.class.getMethod("isFieldModified", String.class);
+
+            assertThat((boolean) isFieldModified.invoke(entity, "amount")).as("'amount' should be modified after addAmount").isTrue();
+        } catch (NoSuchMethodException e) {
+            fail("Class was not transformed: isFieldModified method missing.");
         }
     }
 
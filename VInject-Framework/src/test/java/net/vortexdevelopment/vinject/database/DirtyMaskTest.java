@@ -0,0 +1,149 @@
+package net.vortexdevelopment.vinject.database;
+
+import net.vortexdevelopment.vinject.annotation.database.Column;
+import net.vortexdevelopment.vinject.annotation.database.Entity;
+import net.vortexdevelopment.vinject.annotation.database.Id;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the dirty mask generated by the EntityTransformer.
+ */
+class DirtyMaskTest {
+
+    @Test
+    void settersSetTheBitOfTheirField() throws Exception {
+        Account account = new Account();
+        int balance = fieldIndex(Account.class, "balance");
+        int name = fieldIndex(Account.class, "name");
+
+        assertThat(invoke(account, "dirtyMask")).isEqualTo(0L);
+        assertThat(invoke(account, "__vinject_isDirty")).isEqualTo(false);
+
+        // setBalance(long) is generated by the transformer
+        Account.class.getMethod("setBalance", long.class).invoke(account, 42L);
+
+        assertThat(Account.class.getMethod("getBalance").invoke(account)).isEqualTo(42L);
+        assertThat(invoke(account, "dirtyMask")).isEqualTo(1L << balance);
+        assertThat(Account.class.getMethod("isFieldModified", int.class).invoke(account, balance)).isEqualTo(true);
+        assertThat(Account.class.getMethod("isFieldModified", int.class).invoke(account, name)).isEqualTo(false);
+        assertThat(Account.class.getMethod("isFieldModified", String.class).invoke(account, "balance")).isEqualTo(true);
+        assertThat(Account.class.getMethod("isFieldModified", String.class).invoke(account, "unknown")).isEqualTo(false);
+        assertThat(invoke(account, "__vinject_isDirty")).isEqualTo(true);
+
+        invoke(account, "resetModifiedFields");
+
+        assertThat(invoke(account, "dirtyMask")).isEqualTo(0L);
+        assertThat(invoke(account, "__vinject_isDirty")).isEqualTo(false);
+    }
+
+    @Test
+    void indexesOutsideTheMaskAreNotModified() throws Exception {
+        Account account = new Account();
+        int id = fieldIndex(Account.class, "id");
+        Account.class.getMethod("setId", String.class).invoke(account, "a");
+
+        Method isFieldModified = Account.class.getMethod("isFieldModified", int.class);
+        assertThat(isFieldModified.invoke(account, id)).isEqualTo(true);
+        // 64 + id would select the same bit of a single long without the bounds check
+        assertThat(isFieldModified.invoke(account, 64 + id)).isEqualTo(false);
+        assertThat(isFieldModified.invoke(account, -1)).isEqualTo(false);
+        assertThat(isFieldModified.invoke(account, 3)).isEqualTo(false);
+    }
+
+    @Test
+    void concurrentSettersKeepEveryBit() throws Exception {
+        long expected = (1L << fieldIndex(Account.class, "name")) | (1L << fieldIndex(Account.class, "balance"));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int i = 0; i < 2000; i++) {
+                Account account = new Account();
+                CyclicBarrier barrier = new CyclicBarrier(2);
+                Future<?> name = executor.submit(() -> {
+                    barrier.await();
+                    account.setName("name");
+                    return null;
+                });
+                Future<?> balance = executor.submit(() -> {
+                    barrier.await();
+                    return Account.class.getMethod("setBalance", long.class).invoke(account, 1L);
+                });
+                name.get();
+                balance.get();
+
+                assertThat(invoke(account, "dirtyMask")).isEqualTo(expected);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void entitiesWithMoreThan64FieldsUseAWideMask() throws Exception {
+        WideEntity entity = new WideEntity();
+        int last = fieldIndex(WideEntity.class, "f69");
+
+        WideEntity.class.getMethod("setF69", int.class).invoke(entity, 7);
+
+        long[] mask = (long[]) invoke(entity, "dirtyMask");
+        assertThat(mask).hasSize(2);
+        assertThat(mask[last >>> 6]).isEqualTo(1L << (last & 63));
+        assertThat(WideEntity.class.getMethod("isFieldModified", int.class).invoke(entity, last)).isEqualTo(true);
+        assertThat(WideEntity.class.getMethod("isFieldModified", String.class).invoke(entity, "f0")).isEqualTo(false);
+        assertThat(WideEntity.class.getMethod("isFieldModified", int.class).invoke(entity, 127)).isEqualTo(false);
+        assertThat(invoke(entity, "__vinject_isDirty")).isEqualTo(true);
+
+        invoke(entity, "__vinject_markClean");
+
+        assertThat((long[]) invoke(entity, "dirtyMask")).containsOnly(0L);
+    }
+
+    private static int fieldIndex(Class<?> entityClass, String field) throws Exception {
+        int index = (int) entityClass.getMethod("__vinject_fieldIndex", String.class).invoke(null, field);
+        assertThat(index).isNotNegative();
+        return index;
+    }
+
+    private static Object invoke(Object entity, String method) throws Exception {
+        Method target = entity.getClass().getMethod(method);
+        return target.invoke(entity);
+    }
+
+    @Entity(table = "dirty_accounts")
+    public static class Account {
+        @Id
+        private String id;
+
+        @Column
+        private String name;
+
+        @Column
+        private long balance;
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    @Entity(table = "dirty_wide")
+    public static class WideEntity {
+        @Id
+        private String id;
+
+        @Column
+        private int f0, f1, f2, f3, f4, f5, f6, f7, f8, f9,
+                f10, f11, f12, f13, f14, f15, f16, f17, f18, f19,
+                f20, f21, f22, f23, f24, f25, f26, f27, f28, f29,
+                f30, f31, f32, f33, f34, f35, f36, f37, f38, f39,
+                f40, f41, f42, f43, f44, f45, f46, f47, f48, f49,
+                f50, f51, f52, f53, f54, f55, f56, f57, f58, f59,
+                f60, f61, f62, f63, f64, f65, f66, f67, f68, f69;
+    }
+}
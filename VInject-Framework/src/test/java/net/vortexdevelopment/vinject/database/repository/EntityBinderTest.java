@@ -0,0 +1,219 @@
+package net.vortexdevelopment.vinject.database.repository;
+
+import lombok.Data;
+import net.vortexdevelopment.vinject.annotation.component.Repository;
+import net.vortexdevelopment.vinject.annotation.component.Root;
+import net.vortexdevelopment.vinject.annotation.database.Column;
+import net.vortexdevelopment.vinject.annotation.database.Entity;
+import net.vortexdevelopment.vinject.annotation.database.Id;
+import net.vortexdevelopment.vinject.annotation.database.Temporal;
+import net.vortexdevelopment.vinject.database.Database;
+import net.vortexdevelopment.vinject.database.TemporalType;
+import net.vortexdevelopment.vinject.testing.MockDatabaseBuilder;
+import net.vortexdevelopment.vinject.testing.RepositoryTestUtils;
+import net.vortexdevelopment.vinject.testing.TestApplicationContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the generated {@link EntityBinder} classes and the statements of {@link EntityStatementBinding}.
+ */
+class EntityBinderTest {
+
+    private TestApplicationContext context;
+    private BoundItemRepository repository;
+    private Database database;
+
+    @BeforeEach
+    void setUp() {
+        database = MockDatabaseBuilder.createInMemory("binder_test");
+        context = TestApplicationContext.builder()
+                .withRootClass(BinderRoot.class)
+                .withDatabase(database)
+                .build();
+        repository = context.getComponent(BoundItemRepository.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (database != null) {
+            RepositoryTestUtils.clearDatabase(database);
+        }
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Test
+    void binderIsGeneratedForEntity() throws Exception {
+        Class<?> binderClass = Class.forName(BoundItem.class.getName() + "$$Binder");
+        EntityBinder binder = (EntityBinder) binderClass.getDeclaredConstructor().newInstance();
+
+        assertThat(binder.getFields()).containsExactly("id", "name", "quantity", "weight", "status", "owner", "updatedAt", "note");
+
+        BoundItem item = new BoundItem();
+        item.setQuantity(4);
+        assertThat(binder.isModified(item, 2)).isTrue();
+        assertThat(binder.isModified(item, 1)).isFalse();
+        binder.resetModified(item);
+        assertThat(binder.isModified(item, 2)).isFalse();
+    }
+
+    @Test
+    void insertAndUpdateBindTheEntityColumns() {
+        BoundItem item = new BoundItem();
+        item.setId(UUID.randomUUID());
+        item.setName("Lantern");
+        item.setQuantity(2);
+        item.setStatus(Status.ACTIVE);
+        item.setOwner(UUID.randomUUID());
+        item.setUpdatedAt(1_700_000_000_456L);
+        repository.save(item);
+
+        BoundItem found = repository.findById(item.getId());
+        assertThat(found.getName()).isEqualTo("Lantern");
+        assertThat(found.getQuantity()).isEqualTo(2);
+        assertThat(found.getWeight()).isNull();
+        assertThat(found.getStatus()).isEqualTo(Status.ACTIVE);
+        assertThat(found.getOwner()).isEqualTo(item.getOwner());
+        assertThat(found.getUpdatedAt()).isEqualTo(1_700_000_000_456L);
+
+        found.setQuantity(9);
+        found.setStatus(Status.RETIRED);
+        repository.save(found);
+
+        BoundItem updated = repository.findById(item.getId());
+        assertThat(updated.getQuantity()).isEqualTo(9);
+        assertThat(updated.getStatus()).isEqualTo(Status.RETIRED);
+        assertThat(updated.getName()).isEqualTo("Lantern");
+    }
+
+    @Test
+    void updateStatementsContainOnlyDirtyColumnsAndAreCached() {
+        EntityStatementBinding binding = new EntityMetadata(BoundItem.class, null).getStatementBinding();
+        assertThat(binding).isNotNull();
+
+        BoundItem clean = new BoundItem();
+        assertThat(binding.getUpdateShape(clean, database.getSchemaFormatter())).isNull();
+
+        BoundItem first = new BoundItem();
+        first.setName("first");
+        first.setWeight(1.5);
+        BoundItem second = new BoundItem();
+        second.setWeight(2.5);
+        second.setName("second");
+
+        EntityStatementBinding.Shape shape = binding.getUpdateShape(first, database.getSchemaFormatter());
+        assertThat(shape.sql())
+                .startsWith("UPDATE ")
+                .contains("name")
+                .contains("weight")
+                .doesNotContain("quantity")
+                .doesNotContain("note");
+        assertThat(shape.primaryKeyIndex()).isEqualTo(3);
+        assertThat(binding.getUpdateShape(second, database.getSchemaFormatter())).isSameAs(shape);
+    }
+
+    @Test
+    void resetOnlyClearsTheColumnsOfTheStatement() {
+        EntityStatementBinding binding = new EntityMetadata(BoundItem.class, null).getStatementBinding();
+        BoundItem item = new BoundItem();
+        item.setName("first");
+        EntityStatementBinding.Shape shape = binding.getUpdateShape(item, database.getSchemaFormatter());
+
+        // Modified after the statement was built, so it was not written
+        item.setQuantity(3);
+        binding.resetModified(item, shape);
+
+        BoundItem expected = new BoundItem();
+        expected.setQuantity(3);
+        assertThat(binding.getUpdateShape(item, database.getSchemaFormatter()))
+                .isSameAs(binding.getUpdateShape(expected, database.getSchemaFormatter()));
+    }
+
+    @Test
+    void failedUpdateKeepsTheColumnsModified() throws Exception {
+        BoundItem item = new BoundItem();
+        item.setId(UUID.randomUUID());
+        item.setName("Lantern");
+        repository.save(item);
+
+        BoundItem found = repository.findById(item.getId());
+        found.setName("Torch");
+        // The update fails while the column is missing
+        String table = database.getSchemaFormatter().formatTableName(new EntityMetadata(BoundItem.class, null).getTableName());
+        String column = database.getSchemaFormatter().formatColumnName("name");
+        database.connect(connection -> {
+            connection.createStatement().execute("ALTER TABLE " + table + " DROP COLUMN " + column);
+        });
+        try {
+            repository.save(found);
+        } finally {
+            database.connect(connection -> {
+                connection.createStatement().execute("ALTER TABLE " + table + " ADD COLUMN " + column + " VARCHAR(255)");
+            });
+        }
+
+        EntityBinder binder = (EntityBinder) Class.forName(BoundItem.class.getName() + "$$Binder").getDeclaredConstructor().newInstance();
+        assertThat(binder.isModified(found, 1)).isTrue();
+        repository.save(found);
+        assertThat(repository.findById(item.getId()).getName()).isEqualTo("Torch");
+    }
+
+    @Test
+    void bindersCanBeDisabled() {
+        System.setProperty(EntityStatementBinding.ENABLED_PROPERTY, "false");
+        try {
+            assertThat(new EntityMetadata(BoundItem.class, null).getStatementBinding()).isNull();
+        } finally {
+            System.clearProperty(EntityStatementBinding.ENABLED_PROPERTY);
+        }
+    }
+
+    // Test components
+
+    @Root(packageName = "net.vortexdevelopment.vinject.database.repository", createInstance = false)
+    static class BinderRoot {
+    }
+
+    public enum Status {
+        ACTIVE, RETIRED
+    }
+
+    @Entity(table = "BOUND_ITEMS")
+    @Data
+    public static class BoundItem {
+
+        @Id
+        private UUID id;
+
+        @Column
+        private String name;
+
+        @Column
+        private int quantity;
+
+        @Column
+        private Double weight;
+
+        @Column
+        private Status status;
+
+        @Column
+        private UUID owner;
+
+        @Temporal(value = TemporalType.TIMESTAMP, currentTimestampOnInsert = false)
+        private Long updatedAt;
+
+        private transient String note;
+    }
+
+    @Repository
+    public interface BoundItemRepository extends CrudRepository<BoundItem, UUID> {
+    }
+}
@@ -0,0 +1,150 @@
+package net.vortexdevelopment.vinject.database.repository;
+
+import lombok.Data;
+import net.vortexdevelopment.vinject.annotation.component.Repository;
+import net.vortexdevelopment.vinject.annotation.component.Root;
+import net.vortexdevelopment.vinject.annotation.database.Column;
+import net.vortexdevelopment.vinject.annotation.database.Entity;
+import net.vortexdevelopment.vinject.annotation.database.Id;
+import net.vortexdevelopment.vinject.annotation.database.Temporal;
+import net.vortexdevelopment.vinject.database.Database;
+import net.vortexdevelopment.vinject.database.TemporalType;
+import net.vortexdevelopment.vinject.testing.MockDatabaseBuilder;
+import net.vortexdevelopment.vinject.testing.RepositoryTestUtils;
+import net.vortexdevelopment.vinject.testing.TestApplicationContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the generated {@link EntityRowMapper} classes and their use when loading entities.
+ */
+class EntityRowMapperTest {
+
+    private TestApplicationContext context;
+    private MappedItemRepository repository;
+    private Database database;
+
+    @BeforeEach
+    void setUp() {
+        database = MockDatabaseBuilder.createInMemory("row_mapper_test");
+        context = TestApplicationContext.builder()
+                .withRootClass(RowMapperRoot.class)
+                .withDatabase(database)
+                .build();
+        repository = context.getComponent(MappedItemRepository.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (database != null) {
+            RepositoryTestUtils.clearDatabase(database);
+        }
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Test
+    void rowMapperIsGeneratedForEntity() throws Exception {
+        Class<?> mapperClass = Class.forName(MappedItem.class.getName() + "$$RowMapper");
+        EntityRowMapper mapper = (EntityRowMapper) mapperClass.getDeclaredConstructor().newInstance();
+
+        assertThat(mapper.getFields()).containsExactly("id", "name", "quantity", "weight", "active", "status", "owner", "createdAt");
+        assertThat(new EntityMetadata(MappedItem.class, null).getRowMapping()).isNotNull();
+    }
+
+    @Test
+    void loadedEntitiesAreMappedByTheGeneratedMapper() {
+        MappedItem item = createItem("Sword", 3, 2.5, Status.ACTIVE);
+        MappedItem empty = createItem("Shield", 0, null, Status.RETIRED);
+        repository.save(item);
+        repository.save(empty);
+
+        MappedItem found = repository.findById(item.getId());
+        assertThat(found.getName()).isEqualTo("Sword");
+        assertThat(found.getQuantity()).isEqualTo(3);
+        assertThat(found.getWeight()).isEqualTo(2.5);
+        assertThat(found.isActive()).isTrue();
+        assertThat(found.getStatus()).isEqualTo(Status.ACTIVE);
+        assertThat(found.getOwner()).isEqualTo(item.getOwner());
+        assertThat(found.getCreatedAt()).isEqualTo(item.getCreatedAt());
+
+        List<MappedItem> all = (List<MappedItem>) repository.findAll();
+        assertThat(all).extracting(MappedItem::getName).containsExactlyInAnyOrder("Sword", "Shield");
+        MappedItem foundEmpty = repository.findById(empty.getId());
+        assertThat(foundEmpty.getWeight()).isNull();
+        assertThat(foundEmpty.getStatus()).isEqualTo(Status.RETIRED);
+    }
+
+    @Test
+    void rowMappersCanBeDisabled() {
+        System.setProperty(EntityRowMapping.ENABLED_PROPERTY, "false");
+        try {
+            assertThat(new EntityMetadata(MappedItem.class, null).getRowMapping()).isNull();
+        } finally {
+            System.clearProperty(EntityRowMapping.ENABLED_PROPERTY);
+        }
+    }
+
+    private MappedItem createItem(String name, int quantity, Double weight, Status status) {
+        MappedItem item = new MappedItem();
+        item.setId(UUID.randomUUID());
+        item.setName(name);
+        item.setQuantity(quantity);
+        item.setWeight(weight);
+        item.setActive(status == Status.ACTIVE);
+        item.setStatus(status);
+        item.setOwner(UUID.randomUUID());
+        item.setCreatedAt(1_700_000_000_123L);
+        return item;
+    }
+
+    // Test components
+
+    @Root(packageName = "net.vortexdevelopment.vinject.database.repository", createInstance = false)
+    static class RowMapperRoot {
+    }
+
+    public enum Status {
+        ACTIVE, RETIRED
+    }
+
+    @Entity(table = "MAPPED_ITEMS")
+    @Data
+    public static class MappedItem {
+
+        @Id
+        private UUID id;
+
+        @Column
+        private String name;
+
+        @Column
+        private int quantity;
+
+        @Column
+        private Double weight;
+
+        @Column
+        private boolean active;
+
+        @Column
+        private Status status;
+
+        @Column
+        private UUID owner;
+
+        @Temporal(TemporalType.TIMESTAMP)
+        private Long createdAt;
+    }
+
+    @Repository
+    public interface MappedItemRepository extends CrudRepository<MappedItem, UUID> {
+    }
+}
@@ -8,6 +8,7 @@ import net.vortexdevelopment.vinject.testing.TestApplicationContext;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * Tests for dependency injection functionality.
@@ -92,6 +93,36 @@ class DependencyInjectionTest {
         }
     }
 
+    @Test
+    void singletonLookupsAreInvalidatedOnRelease() {
+        TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(TestRoot.class)
+                .build();
+        DependencyContainer container = context.getContainer();
+
+        SimpleDependency dependency = container.getDependency(SimpleDependency.class);
+        DependencyContainer.SingletonRef<SimpleDependency> ref = container.getSingletonRef(SimpleDependency.class);
+        assertThat(ref.get()).isSameAs(dependency);
+        assertThat(container.getDependencyOrNull(SimpleDependency.class)).isSameAs(dependency);
+        assertThat(container.getDependencies()).containsEntry(SimpleDependency.class, dependency);
+
+        // Changes to the map are written through to the slots
+        container.getDependencies().remove(SimpleDependency.class);
+        assertThat(ref.getOrNull()).isNull();
+        container.getDependencies().put(SimpleDependency.class, dependency);
+        assertThat(ref.get()).isSameAs(dependency);
+
+        context.close();
+
+        assertThat(container.getDependencyOrNull(SimpleDependency.class)).isNull();
+        assertThat(ref.getOrNull()).isNull();
+        assertThatThrownBy(() -> container.getDependency(SimpleDependency.class))
+                .hasMessageContaining("Dependency not found");
+
+        container.addBean(SimpleDependency.class, dependency);
+        assertThat(container.getDependency(SimpleDependency.class)).isSameAs(dependency);
+    }
+
     // Test components
 
     @Root(packageName = "net.vortexdevelopment.vinject.di", createInstance = false)
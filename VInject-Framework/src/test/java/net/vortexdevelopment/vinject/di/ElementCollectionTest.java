@@ -7,8 +7,10 @@ import net.vortexdevelopment.vinject.testing.TestApplicationContext;
 import org.junit.jupiter.api.Test;
 
 import java.util.Collection;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * Tests the @Element collection feature.
@@ -74,6 +76,52 @@ class ElementCollectionTest {
         }
     }
 
+    @Test
+    void cachedElementCollectionIsReused() {
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(ElementTestRoot.class)
+                .build()) {
+
+            DependencyRepository container = context.getContainer();
+
+            List<IOrderedElement> cached = container.collectElementsCached(IOrderedElement.class);
+
+            assertThat(container.collectElementsCached(IOrderedElement.class)).isSameAs(cached);
+            assertThat(cached).extracting(Object::getClass)
+                    .containsExactly(LowFirst.class, DefaultOrder.class, HighLast.class);
+            assertThatThrownBy(() -> cached.add(new DefaultOrder())).isInstanceOf(UnsupportedOperationException.class);
+
+            // Uncached collections create new instances on every call
+            assertThat(container.collectElements(IOrderedElement.class).iterator().next()).isNotSameAs(cached.get(0));
+        }
+    }
+
+    @Test
+    void releaseClearsTheElementIndex() {
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(ElementTestRoot.class)
+                .build()) {
+
+            DependencyRepository container = context.getContainer();
+            assertThat(container.collectElements(IOrderedElement.class)).isNotEmpty();
+
+            context.getContainer().release();
+
+            assertThat(container.collectElements(IOrderedElement.class)).isEmpty();
+            assertThat(container.collectElementsCached(IOrderedElement.class)).isEmpty();
+        }
+    }
+
+    @Test
+    void collectElementsWithUnrelatedTypeIsEmpty() {
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(ElementTestRoot.class)
+                .build()) {
+
+            assertThat(context.getContainer().collectElements(Runnable.class)).isEmpty();
+        }
+    }
+
     private <T> T findElement(Collection<?> elements, Class<T> clazz) {
         return elements.stream()
                 .filter(clazz::isInstance)
@@ -7,9 +7,13 @@ import net.vortexdevelopment.vinject.di.DependencyContainer;
 import net.vortexdevelopment.vinject.testing.TestApplicationContext;
 import org.junit.jupiter.api.Test;
 
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -75,4 +79,79 @@ public class ContextualInjectionTest {
             assertNull(InjectionContext.get(RequestData.class));
         }
     }
+
+    @Test
+    public void testKeyedScopeBindingAndRestore() throws Exception {
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(TestApp.class)
+                .build()) {
+
+            DependencyContainer container = context.getContainer();
+            InjectionContext.Key<RequestData> key = InjectionContext.key(RequestData.class);
+            assertSame(key, InjectionContext.key(RequestData.class));
+            assertFalse(InjectionContext.hasBoundScopes());
+
+            RequestData outer = new RequestData("outer");
+            RequestData inner = new RequestData("inner");
+
+            String result = InjectionContext.scope().with(key, outer).call(() -> {
+                assertTrue(InjectionContext.hasBoundScopes());
+                // Scopes are per thread, other threads keep taking the unbound fast path
+                CompletableFuture<Boolean> otherThread = CompletableFuture.supplyAsync(InjectionContext::hasBoundScopes);
+                assertFalse(otherThread.get());
+                assertSame(outer, container.getDependencyOrNull(RequestData.class));
+
+                InjectionContext.scope().with(key, inner).run(() -> {
+                    assertSame(inner, InjectionContext.get(key));
+                    assertSame(inner, container.getDependencyOrNull(RequestData.class));
+                });
+
+                // The outer scope is restored after the nested scope ends
+                return InjectionContext.get(RequestData.class).getId();
+            });
+
+            assertEquals("outer", result);
+            assertFalse(InjectionContext.hasBoundScopes());
+            assertNull(InjectionContext.get(key));
+            assertNull(container.getDependencyOrNull(RequestData.class));
+        }
+    }
+
+    @Test
+    public void testScopesAreThreadIsolated() throws Exception {
+        InjectionContext.Key<RequestData> key = InjectionContext.key(RequestData.class);
+        RequestData[] seenByOtherThread = new RequestData[1];
+
+        InjectionContext.scope().with(key, new RequestData("main")).call(() -> {
+            Thread thread = new Thread(() -> seenByOtherThread[0] = InjectionContext.get(key));
+            thread.start();
+            thread.join();
+            return null;
+        });
+
+        assertNull(seenByOtherThread[0]);
+    }
+
+    @Test
+    public void testKeysDoNotPinPluginClassLoaders() throws Exception {
+        URL location = RequestData.class.getProtectionDomain().getCodeSource().getLocation();
+        URLClassLoader pluginLoader = new URLClassLoader(new URL[]{location}, null);
+        Class<?> pluginType = pluginLoader.loadClass(RequestData.class.getName());
+        assertNotSame(RequestData.class, pluginType);
+
+        InjectionContext.Key<?> key = InjectionContext.key(pluginType);
+        assertSame(key, InjectionContext.key(pluginType));
+        assertNotSame(InjectionContext.key(RequestData.class), key);
+
+        WeakReference<ClassLoader> loaderReference = new WeakReference<>(pluginLoader);
+        pluginLoader.close();
+        pluginLoader = null;
+        pluginType = null;
+        key = null;
+        for (int i = 0; i < 50 && loaderReference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertNull(loaderReference.get());
+    }
 }
@@ -0,0 +1,189 @@
+package net.vortexdevelopment.vinject.di.engine;
+
+import net.vortexdevelopment.vinject.annotation.Conditional;
+import net.vortexdevelopment.vinject.annotation.DependsOn;
+import net.vortexdevelopment.vinject.annotation.Inject;
+import net.vortexdevelopment.vinject.annotation.component.Component;
+import net.vortexdevelopment.vinject.annotation.component.Root;
+import net.vortexdevelopment.vinject.di.DependencyContainer;
+import net.vortexdevelopment.vinject.di.scan.ComponentIndex;
+import net.vortexdevelopment.vinject.testing.TestApplicationContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.Reader;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Properties;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the ahead-of-time container snapshot (-Dvinject.snapshot.file).
+ */
+class ContainerSnapshotTest {
+
+    private static final String FEATURE_PROPERTY = "vinject.test.snapshot.feature";
+
+    @TempDir
+    Path tempDir;
+    private Path snapshotFile;
+
+    @BeforeEach
+    void enableSnapshot() {
+        snapshotFile = tempDir.resolve("container.snapshot");
+        System.setProperty(ContainerSnapshot.FILE_PROPERTY, snapshotFile.toString());
+    }
+
+    @AfterEach
+    void disableSnapshot() {
+        System.clearProperty(ContainerSnapshot.FILE_PROPERTY);
+        System.clearProperty(FEATURE_PROPERTY);
+    }
+
+    @Test
+    void snapshotIsRecordedAndReplayed() throws Exception {
+        try (TestApplicationContext context = boot()) {
+            ContainerSnapshot snapshot = context.getContainer().getSnapshot();
+            assertThat(snapshot).isNotNull();
+            assertThat(snapshot.isReplayed()).isFalse();
+            assertThat(snapshot.isDirty()).isFalse();
+        }
+        assertThat(snapshotFile).exists();
+        String recorded = Files.readString(snapshotFile);
+
+        try (TestApplicationContext context = boot()) {
+            DependencyContainer container = context.getContainer();
+            assertThat(container.getSnapshot().isReplayed()).isTrue();
+
+            Consumer consumer = context.getComponent(Consumer.class);
+            assertThat(consumer.provider).isSameAs(context.getComponent(Provider.class));
+            assertThat(container.getDependencyOrNull(SoftDependent.class)).isNull();
+            assertThat(container.isSkippedDueToDependsOn(SoftDependent.class)).isTrue();
+            assertThat(container.getMissingDependencies(SoftDependent.class)).containsExactly("com.example.DoesNotExist");
+        }
+        // Nothing changed, so the file is not rewritten
+        assertThat(Files.readString(snapshotFile)).isEqualTo(recorded);
+    }
+
+    @Test
+    void propertyConditionsAreEvaluatedLive() {
+        try (TestApplicationContext context = boot()) {
+            assertThat(context.getContainer().getDependencyOrNull(FeatureComponent.class)).isNull();
+        }
+
+        System.setProperty(FEATURE_PROPERTY, "true");
+        try (TestApplicationContext context = boot()) {
+            assertThat(context.getContainer().getSnapshot().isReplayed()).isTrue();
+            FeatureComponent feature = context.getComponent(FeatureComponent.class);
+            assertThat(feature.provider).isSameAs(context.getComponent(Provider.class));
+        }
+    }
+
+    @Test
+    void snapshotForDifferentClasspathIsIgnored() throws Exception {
+        Files.writeString(snapshotFile, "key=outdated\ncandidate." + Consumer.class.getName() + "=\ncomponents.handlers=\n");
+
+        try (TestApplicationContext context = boot()) {
+            assertThat(context.getContainer().getSnapshot().isReplayed()).isFalse();
+            assertThat(context.getComponent(Consumer.class).provider).isNotNull();
+        }
+        List<String> lines = Files.readAllLines(snapshotFile);
+        assertThat(lines).noneMatch(line -> line.equals("key=outdated"));
+    }
+
+    @Test
+    void keyFollowsTheComponentIndexOfDirectories() throws Exception {
+        Path classes = tempDir.resolve("classes");
+        Path index = classes.resolve(ComponentIndex.INDEX_RESOURCE);
+        Files.createDirectories(index.getParent());
+        Files.writeString(index, "class.com.example.First=|\n");
+        Root root = SnapshotRoot.class.getAnnotation(Root.class);
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{classes.toUri().toURL()}, getClass().getClassLoader())) {
+            String key = ContainerSnapshot.computeKey(root, SnapshotRoot.class, classLoader);
+
+            // Files next to an index are not part of the key
+            Files.writeString(classes.resolve("notes.txt"), "unrelated");
+            assertThat(ContainerSnapshot.computeKey(root, SnapshotRoot.class, classLoader)).isEqualTo(key);
+
+            Files.writeString(index, "class.com.example.First=|\nclass.com.example.Second=|\n");
+            assertThat(ContainerSnapshot.computeKey(root, SnapshotRoot.class, classLoader)).isNotEqualTo(key);
+        }
+    }
+
+    @Test
+    void snapshotIsDiscardedWhenAnIndexedClassChanges() throws Exception {
+        Path classes = tempDir.resolve("classes");
+        Path index = classes.resolve(ComponentIndex.INDEX_RESOURCE);
+        Files.createDirectories(index.getParent());
+        String entry = "class.com.example.First=" + Component.class.getName() + "||";
+        Files.writeString(index, entry + "1c291ca3\n");
+        Root root = SnapshotRoot.class.getAnnotation(Root.class);
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{classes.toUri().toURL()}, getClass().getClassLoader())) {
+            String key = ContainerSnapshot.computeKey(root, SnapshotRoot.class, classLoader);
+            Files.writeString(snapshotFile, "key=" + key + "\n");
+            assertThat(ContainerSnapshot.open(snapshotFile, root, SnapshotRoot.class, classLoader).isReplayed()).isTrue();
+
+            // Same annotations and supertypes, but e.g. @Component(priority) or an @Inject field changed
+            Files.writeString(index, entry + "7e0a5f12\n");
+            assertThat(ContainerSnapshot.computeKey(root, SnapshotRoot.class, classLoader)).isNotEqualTo(key);
+            assertThat(ContainerSnapshot.open(snapshotFile, root, SnapshotRoot.class, classLoader).isReplayed()).isFalse();
+        }
+    }
+
+    @Test
+    void indexRecordsTheChecksumOfEveryClassFile() throws Exception {
+        Path classes = Paths.get(Consumer.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        Properties index = new Properties();
+        try (Reader reader = Files.newBufferedReader(classes.resolve(ComponentIndex.INDEX_RESOURCE))) {
+            index.load(reader);
+        }
+
+        for (Class<?> type : List.of(Consumer.class, FeatureComponent.class)) {
+            CRC32 crc = new CRC32();
+            crc.update(Files.readAllBytes(classes.resolve(type.getName().replace('.', '/') + ".class")));
+            assertThat(index.getProperty("class." + type.getName())).endsWith("|" + Long.toHexString(crc.getValue()));
+        }
+    }
+
+    private static TestApplicationContext boot() {
+        return TestApplicationContext.builder()
+                .withRootClass(SnapshotRoot.class)
+                .build();
+    }
+
+    @Root(createInstance = false)
+    static class SnapshotRoot {
+    }
+
+    @Component
+    static class Provider {
+    }
+
+    @Component
+    static class Consumer {
+        @Inject
+        private Provider provider;
+    }
+
+    @Component
+    @Conditional(property = FEATURE_PROPERTY)
+    static class FeatureComponent {
+        @Inject
+        private Provider provider;
+    }
+
+    @Component
+    @DependsOn(className = "com.example.DoesNotExist")
+    static class SoftDependent {
+    }
+}
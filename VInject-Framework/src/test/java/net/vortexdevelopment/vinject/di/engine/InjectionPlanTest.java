@@ -0,0 +1,157 @@
+package net.vortexdevelopment.vinject.di.engine;
+
+import net.vortexdevelopment.vinject.annotation.Inject;
+import net.vortexdevelopment.vinject.annotation.Value;
+import net.vortexdevelopment.vinject.annotation.component.Component;
+import net.vortexdevelopment.vinject.annotation.component.Root;
+import net.vortexdevelopment.vinject.testing.TestApplicationContext;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class InjectionPlanTest {
+
+    @Root
+    public static class TestRoot {}
+
+    @Component
+    public static class Dependency {}
+
+    public static class Target {
+        @Inject private Dependency fieldDependency;
+        @Inject private final Dependency finalDependency = null;
+        @Value("${plan.test.timeout:250}") private int timeout;
+        private String untouched = "keep";
+        private Dependency setterDependency;
+
+        @Inject
+        public void setSetterDependency(Dependency setterDependency) {
+            this.setterDependency = setterDependency;
+        }
+    }
+
+    @Component
+    public static class GeneratedTarget {
+        @Inject private Dependency fieldDependency;
+        @Inject private final Dependency finalDependency = null;
+        private Dependency setterDependency;
+        private Dependency privateSetterDependency;
+
+        @Inject
+        public void setSetterDependency(Dependency setterDependency) {
+            this.setterDependency = setterDependency;
+        }
+
+        @Inject
+        private void setPrivateSetterDependency(Dependency privateSetterDependency) {
+            this.privateSetterDependency = privateSetterDependency;
+        }
+    }
+
+    @Component
+    public static class ObservedTarget {
+        @Inject private Dependency dependency;
+        private int updates;
+
+        public void setDependency(Dependency dependency) {
+            this.dependency = dependency;
+            updates++;
+        }
+    }
+
+    public static class StaticTarget {
+        @Inject private static Dependency staticDependency;
+    }
+
+    @Test
+    public void testPlanInjectsFieldsSettersAndValues() {
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(TestRoot.class)
+                .build()) {
+            InjectionEngine engine = context.getContainer().getInjectionEngine();
+            Dependency dependency = context.getComponent(Dependency.class);
+
+            Target target = new Target();
+            engine.inject(target);
+
+            assertThat(target.fieldDependency).isSameAs(dependency);
+            assertThat(target.finalDependency).isSameAs(dependency);
+            assertThat(target.setterDependency).isSameAs(dependency);
+            assertThat(target.timeout).isEqualTo(250);
+            assertThat(target.untouched).isEqualTo("keep");
+        }
+    }
+
+    @Test
+    public void testPlanIsCached() {
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(TestRoot.class)
+                .build()) {
+            InjectionEngine engine = context.getContainer().getInjectionEngine();
+
+            InjectionPlan plan = engine.getPlan(Target.class);
+
+            assertThat(engine.getPlan(Target.class)).isSameAs(plan);
+            assertThat(plan.size()).isGreaterThanOrEqualTo(4);
+        }
+    }
+
+    @Test
+    public void testGeneratedInjectorIsUsed() throws Exception {
+        Class<?> injectorClass = Class.forName(GeneratedTarget.class.getName() + "$$Injector");
+        ComponentInjector injector = (ComponentInjector) injectorClass.getDeclaredConstructor().newInstance();
+        assertThat(injector.getFields()).containsExactly("fieldDependency");
+        String descriptor = "(L" + Dependency.class.getName().replace('.', '/') + ";)V";
+        assertThat(injector.getSetters())
+                .containsExactlyInAnyOrder("setSetterDependency" + descriptor, "setFieldDependency" + descriptor);
+
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(TestRoot.class)
+                .build()) {
+            Dependency dependency = context.getComponent(Dependency.class);
+            GeneratedTarget target = context.getComponent(GeneratedTarget.class);
+
+            assertThat(target.fieldDependency).isSameAs(dependency);
+            assertThat(target.finalDependency).isSameAs(dependency);
+            assertThat(target.setterDependency).isSameAs(dependency);
+            assertThat(target.privateSetterDependency).isSameAs(dependency);
+            assertThat(context.getContainer().getInjectionEngine().getPlan(GeneratedTarget.class).generatedSize()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    public void testInjectorRejectsUnknownSlots() throws Exception {
+        ComponentInjector injector = (ComponentInjector) Class.forName(GeneratedTarget.class.getName() + "$$Injector")
+                .getDeclaredConstructor().newInstance();
+
+        assertThatThrownBy(() -> injector.inject(new GeneratedTarget(), 42, new Dependency()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("42");
+    }
+
+    @Test
+    public void testFieldsWithoutPlainSetterUsePackagePrivateWriters() throws Exception {
+        // setFieldDependency only assigns the field, so the injector calls it instead of a generated writer
+        assertThat(Arrays.stream(GeneratedTarget.class.getDeclaredMethods()).map(java.lang.reflect.Method::getName))
+                .doesNotContain("__vinject_set$fieldDependency");
+
+        java.lang.reflect.Method writer = ObservedTarget.class.getDeclaredMethod("__vinject_set$dependency", Object.class);
+        assertThat(Modifier.isPublic(writer.getModifiers())).isFalse();
+        assertThat(Modifier.isPrivate(writer.getModifiers())).isFalse();
+    }
+
+    @Test
+    public void testStaticFieldsAreInjected() {
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(TestRoot.class)
+                .build()) {
+            context.getContainer().getInjectionEngine().injectStatic(StaticTarget.class);
+
+            assertThat(StaticTarget.staticDependency).isSameAs(context.getComponent(Dependency.class));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package net.vortexdevelopment.vinject.di.engine;
+
+import net.vortexdevelopment.vinject.annotation.Inject;
+import net.vortexdevelopment.vinject.annotation.component.Component;
+import net.vortexdevelopment.vinject.annotation.component.Root;
+import net.vortexdevelopment.vinject.annotation.database.Entity;
+import net.vortexdevelopment.vinject.di.DependencyContainer;
+import net.vortexdevelopment.vinject.testing.TestApplicationContext;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class InstanceFactoryTest {
+
+    @Root
+    public static class TestRoot {}
+
+    @Component
+    public static class Dependency {}
+
+    public static class PrivateConstructor {
+        private final String value;
+
+        private PrivateConstructor() {
+            this.value = "created";
+        }
+    }
+
+    public static class ConstructorArguments {
+        private final String name;
+        private final int count;
+
+        public ConstructorArguments(String name, int count) {
+            this.name = name;
+            this.count = count;
+        }
+    }
+
+    @Entity
+    public static class PlainEntity {
+        private String id;
+        private String name;
+    }
+
+    @Entity
+    public static class InjectedEntity {
+        @Inject private Dependency dependency;
+    }
+
+    public abstract static class AbstractType {}
+
+    @Test
+    public void testNoArgConstructorUsesGeneratedSupplier() throws Exception {
+        InstanceFactory factory = InstanceFactory.create(PrivateConstructor.class);
+
+        assertThat(factory.hasDefaultConstructor()).isTrue();
+        assertThat(factory.isGenerated()).isTrue();
+        PrivateConstructor first = (PrivateConstructor) factory.newInstance();
+        PrivateConstructor second = (PrivateConstructor) factory.newInstance();
+        assertThat(first.value).isEqualTo("created");
+        assertThat(second).isNotSameAs(first);
+    }
+
+    @Test
+    public void testConstructorWithArguments() throws Exception {
+        InstanceFactory factory = InstanceFactory.create(ConstructorArguments.class);
+
+        assertThat(factory.hasDefaultConstructor()).isFalse();
+        assertThat(factory.getConstructor().getParameterCount()).isEqualTo(2);
+        ConstructorArguments instance = (ConstructorArguments) factory.newInstance(new Object[]{"rows", 3});
+        assertThat(instance.name).isEqualTo("rows");
+        assertThat(instance.count).isEqualTo(3);
+    }
+
+    @Test
+    public void testAbstractClassFailsOnInstantiation() {
+        InstanceFactory factory = InstanceFactory.create(AbstractType.class);
+
+        assertThat(factory.isGenerated()).isFalse();
+        assertThatThrownBy(factory::newInstance).isInstanceOf(InstantiationException.class);
+    }
+
+    @Test
+    public void testEntitiesAreNotCachedAndSkipEmptyInjection() {
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(TestRoot.class)
+                .build()) {
+            DependencyContainer container = context.getContainer();
+
+            PlainEntity first = container.newInstance(PlainEntity.class);
+            PlainEntity second = container.newInstance(PlainEntity.class);
+            assertThat(second).isNotSameAs(first);
+            assertThat(container.getDependencyOrNull(PlainEntity.class)).isNull();
+            assertThat(container.getInstanceFactory(PlainEntity.class)).isSameAs(container.getInstanceFactory(PlainEntity.class));
+            assertThat(container.getInstanceFactory(PlainEntity.class).isEntity()).isTrue();
+            assertThat(container.getInjectionEngine().getPlan(PlainEntity.class).isEmpty()).isTrue();
+
+            InjectedEntity injected = container.newInstance(InjectedEntity.class);
+            assertThat(injected.dependency).isSameAs(context.getComponent(Dependency.class));
+        }
+    }
+}
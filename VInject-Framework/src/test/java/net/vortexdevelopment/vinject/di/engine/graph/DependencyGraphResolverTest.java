@@ -0,0 +1,104 @@
+package net.vortexdevelopment.vinject.di.engine.graph;
+
+import net.vortexdevelopment.vinject.annotation.Inject;
+import net.vortexdevelopment.vinject.annotation.component.Component;
+import net.vortexdevelopment.vinject.annotation.component.Root;
+import net.vortexdevelopment.vinject.di.engine.DependencyGraphResolver;
+import net.vortexdevelopment.vinject.testing.TestApplicationContext;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the provider index and cycle handling of the {@link DependencyGraphResolver}.
+ * The root scans an empty package, so none of the classes below are registered in the container.
+ */
+class DependencyGraphResolverTest {
+
+    @Test
+    void dependenciesOnProvidedTypesAreOrderedAfterTheirProvider() {
+        try (TestApplicationContext context = boot()) {
+            DependencyGraphResolver resolver = new DependencyGraphResolver(context.getContainer());
+
+            List<Class<?>> order = resolver.createLoadingOrder(Set.of(FieldConsumer.class, ConstructorConsumer.class, StorageProvider.class));
+
+            assertThat(order).hasSize(3);
+            assertThat(order.indexOf(StorageProvider.class)).isLessThan(order.indexOf(FieldConsumer.class));
+            assertThat(order.indexOf(StorageProvider.class)).isLessThan(order.indexOf(ConstructorConsumer.class));
+        }
+    }
+
+    @Test
+    void cyclesAreBrokenInsteadOfFailing() {
+        try (TestApplicationContext context = boot()) {
+            DependencyGraphResolver resolver = new DependencyGraphResolver(context.getContainer());
+
+            List<Class<?>> order = resolver.createLoadingOrder(Set.of(CycleA.class, CycleB.class, CycleC.class, AfterCycle.class));
+            assertThat(order).containsExactlyInAnyOrder(CycleA.class, CycleB.class, CycleC.class, AfterCycle.class);
+            assertThat(order.get(3)).isEqualTo(AfterCycle.class);
+
+            List<List<Class<?>>> layers = resolver.createLoadingLayers(Set.of(CycleA.class, CycleB.class, CycleC.class, AfterCycle.class));
+            assertThat(layerOf(layers, AfterCycle.class)).isGreaterThan(layerOf(layers, CycleA.class));
+            assertThat(layerOf(layers, AfterCycle.class)).isGreaterThan(layerOf(layers, CycleC.class));
+        }
+    }
+
+    private static int layerOf(List<List<Class<?>>> layers, Class<?> component) {
+        for (int i = 0; i < layers.size(); i++) {
+            if (layers.get(i).contains(component)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static TestApplicationContext boot() {
+        return TestApplicationContext.builder()
+                .withRootClass(GraphRoot.class)
+                .build();
+    }
+
+    @Root(packageName = "net.vortexdevelopment.vinject.di.engine.graph.empty", createInstance = false)
+    static class GraphRoot {
+    }
+
+    public interface Storage {
+    }
+
+    @Component(registerSubclasses = Storage.class)
+    public static class StorageProvider implements Storage {
+    }
+
+    public static class FieldConsumer {
+        @Inject private Storage storage;
+    }
+
+    public static class ConstructorConsumer {
+        public ConstructorConsumer(Storage storage) {
+        }
+    }
+
+    @Component
+    public static class CycleA {
+        @Inject private CycleB cycleB;
+    }
+
+    @Component
+    public static class CycleB {
+        @Inject private CycleC cycleC;
+    }
+
+    @Component
+    public static class CycleC {
+        @Inject private CycleA cycleA;
+    }
+
+    @Component
+    public static class AfterCycle {
+        @Inject private CycleA cycleA;
+        @Inject private CycleC cycleC;
+    }
+}
@@ -0,0 +1,217 @@
+package net.vortexdevelopment.vinject.di.lifecycle;
+
+import net.vortexdevelopment.vinject.annotation.Inject;
+import net.vortexdevelopment.vinject.annotation.component.Component;
+import net.vortexdevelopment.vinject.annotation.component.Root;
+import net.vortexdevelopment.vinject.annotation.lifecycle.OnDestroy;
+import net.vortexdevelopment.vinject.testing.TestApplicationContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the reverse dependency ordered, parallel shutdown in {@link LifecycleManager#invokeDestroyMethods()}.
+ */
+class ShutdownOrderTest {
+
+    private static final List<String> destroyed = new CopyOnWriteArrayList<>();
+    private static final AtomicInteger activeDestroys = new AtomicInteger();
+    private static final AtomicInteger maxActiveDestroys = new AtomicInteger();
+    private static volatile long destroyMillis;
+    private static volatile long controllerMillis;
+    private static volatile Thread controllerThread;
+
+    @BeforeEach
+    void reset() {
+        destroyed.clear();
+        maxActiveDestroys.set(0);
+        destroyMillis = 0;
+        controllerMillis = 0;
+    }
+
+    @AfterEach
+    void clearDeadline() {
+        destroyMillis = 0;
+        controllerMillis = 0;
+        System.clearProperty(LifecycleManager.DEADLINE_PROPERTY);
+    }
+
+    @Test
+    void dependentsAreDestroyedBeforeTheirDependencies() {
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(ShutdownRoot.class)
+                .build()) {
+            ShutdownSummary summary = context.getContainer().getLifecycleManager().invokeDestroyMethods();
+
+            assertThat(destroyed.indexOf("Controller")).isLessThan(destroyed.indexOf("Service"));
+            assertThat(destroyed.indexOf("Service")).isLessThan(destroyed.indexOf("Storage"));
+            assertThat(destroyed).contains("Journal");
+            assertThat(summary.hasOverruns()).isFalse();
+            assertThat(summary.skipped()).isEmpty();
+            assertThat(summary.components()).extracting(ShutdownSummary.ComponentShutdown::type)
+                    .contains(Controller.class, OrderService.class, Storage.class);
+        }
+    }
+
+    @Test
+    void singleComponentLayersRunInlineWithoutDeadline() {
+        System.setProperty(LifecycleManager.DEADLINE_PROPERTY, "0");
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(ShutdownRoot.class)
+                .build()) {
+            context.getContainer().getLifecycleManager().invokeDestroyMethods();
+
+            // Controller is alone in its layer and nothing has to be bounded, so it is destroyed on the calling thread
+            assertThat(controllerThread).isSameAs(Thread.currentThread());
+        }
+    }
+
+    @Test
+    void singleComponentLayersAreBoundedByTheDeadline() {
+        System.setProperty(LifecycleManager.DEADLINE_PROPERTY, "50");
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(ShutdownRoot.class)
+                .build()) {
+            controllerMillis = 2000;
+            long start = System.nanoTime();
+            ShutdownSummary summary = context.getContainer().getLifecycleManager().invokeDestroyMethods();
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            controllerMillis = 0;
+
+            // A hung @OnDestroy alone in its layer no longer blocks shutdown
+            assertThat(elapsedMillis).isLessThan(1500);
+            assertThat(summary.getOverruns()).extracting(ShutdownSummary.ComponentShutdown::type).contains(Controller.class);
+            assertThat(summary.formatOverruns()).contains(Controller.class.getName());
+            assertThat(controllerThread).isNotSameAs(Thread.currentThread());
+            // The rest of the chain is still in use by the hung component
+            assertThat(summary.skipped()).contains(OrderService.class, Storage.class);
+        }
+    }
+
+    @Test
+    void independentComponentsAreDestroyedConcurrently() {
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(ShutdownRoot.class)
+                .build()) {
+            destroyMillis = 200;
+            context.getContainer().getLifecycleManager().invokeDestroyMethods();
+            destroyMillis = 0;
+
+            assertThat(maxActiveDestroys.get()).isGreaterThan(1);
+        }
+    }
+
+    @Test
+    void componentsOverrunningTheDeadlineAreReported() {
+        System.setProperty(LifecycleManager.DEADLINE_PROPERTY, "50");
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(ShutdownRoot.class)
+                .build()) {
+            destroyMillis = 300;
+            ShutdownSummary summary = context.getContainer().getLifecycleManager().invokeDestroyMethods();
+            destroyMillis = 0;
+
+            assertThat(summary.hasOverruns()).isTrue();
+            assertThat(summary.getOverruns()).extracting(ShutdownSummary.ComponentShutdown::type)
+                    .contains(SlowFlushA.class, SlowFlushB.class);
+            assertThat(summary.formatOverruns()).contains(SlowFlushA.class.getName());
+            // Shutdown moved on instead of waiting for every slow component in turn
+            assertThat(destroyed).contains("Storage");
+            // The dependency of a component that is still running is left alone
+            assertThat(summary.getOverruns()).extracting(ShutdownSummary.ComponentShutdown::type).contains(SlowDependent.class);
+            assertThat(summary.skipped()).containsExactly(Journal.class);
+            assertThat(destroyed).doesNotContain("Journal");
+            assertThat(summary.formatOverruns()).contains(Journal.class.getName());
+        }
+    }
+
+    // Test components
+
+    @Root(createInstance = false)
+    static class ShutdownRoot {
+    }
+
+    private static void record(String name) {
+        destroyed.add(name);
+    }
+
+    private static void slowFlush(String name) throws InterruptedException {
+        maxActiveDestroys.accumulateAndGet(activeDestroys.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(destroyMillis);
+        } finally {
+            activeDestroys.decrementAndGet();
+        }
+        record(name);
+    }
+
+    @Component
+    public static class Storage {
+        @OnDestroy
+        public void close() {
+            record("Storage");
+        }
+    }
+
+    @Component
+    public static class OrderService {
+        @Inject private Storage storage;
+
+        @OnDestroy
+        public void close() {
+            record("Service");
+        }
+    }
+
+    @Component
+    public static class Controller {
+        @Inject private OrderService service;
+
+        @OnDestroy
+        public void close() throws InterruptedException {
+            controllerThread = Thread.currentThread();
+            Thread.sleep(controllerMillis);
+            record("Controller");
+        }
+    }
+
+    @Component
+    public static class SlowFlushA {
+        @OnDestroy
+        public void flush() throws InterruptedException {
+            slowFlush("SlowFlushA");
+        }
+    }
+
+    @Component
+    public static class Journal {
+        @OnDestroy
+        public void close() {
+            record("Journal");
+        }
+    }
+
+    @Component
+    public static class SlowDependent {
+        @Inject private Journal journal;
+
+        @OnDestroy
+        public void flush() throws InterruptedException {
+            slowFlush("SlowDependent");
+        }
+    }
+
+    @Component
+    public static class SlowFlushB {
+        @OnDestroy
+        public void flush() throws InterruptedException {
+            slowFlush("SlowFlushB");
+        }
+    }
+}
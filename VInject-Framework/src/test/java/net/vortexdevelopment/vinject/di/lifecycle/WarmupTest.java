@@ -0,0 +1,111 @@
+package net.vortexdevelopment.vinject.di.lifecycle;
+
+import net.vortexdevelopment.vinject.annotation.Inject;
+import net.vortexdevelopment.vinject.annotation.component.Component;
+import net.vortexdevelopment.vinject.annotation.component.Root;
+import net.vortexdevelopment.vinject.annotation.lifecycle.Warmup;
+import net.vortexdevelopment.vinject.testing.TestApplicationContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for @Warmup methods and the {@link ReadinessGate}.
+ */
+class WarmupTest {
+
+    private static final AtomicInteger activeWarmups = new AtomicInteger();
+    private static final AtomicInteger maxActiveWarmups = new AtomicInteger();
+    private static volatile long warmupMillis;
+    private static volatile boolean failWarmup;
+
+    @BeforeEach
+    void reset() {
+        maxActiveWarmups.set(0);
+        warmupMillis = 200;
+    }
+
+    @AfterEach
+    void clear() {
+        warmupMillis = 0;
+        failWarmup = false;
+    }
+
+    @Test
+    void warmupsRunConcurrentlyAndOpenTheGate() throws InterruptedException {
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(WarmupRoot.class)
+                .build()) {
+            ReadinessGate gate = context.getComponent(ReadinessGate.class);
+            // Boot does not wait for the warm-ups
+            assertThat(gate.isReady()).isFalse();
+
+            assertThat(gate.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(context.getComponent(CacheWarmer.class).warmed).isTrue();
+            assertThat(context.getComponent(IndexWarmer.class).cache).isNotNull();
+            assertThat(maxActiveWarmups.get()).isGreaterThan(1);
+            assertThat(gate.getPending()).isZero();
+            assertThat(gate.getWarmups()).extracting(ReadinessGate.WarmupTiming::name)
+                    .contains("CacheWarmer#preload", "IndexWarmer#scan");
+        }
+    }
+
+    @Test
+    void failingWarmupStillOpensTheGate() throws InterruptedException {
+        failWarmup = true;
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(WarmupRoot.class)
+                .build()) {
+            ReadinessGate gate = context.getComponent(ReadinessGate.class);
+
+            assertThat(gate.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(gate.getWarmups()).filteredOn(ReadinessGate.WarmupTiming::failed)
+                    .extracting(ReadinessGate.WarmupTiming::name)
+                    .containsExactly("IndexWarmer#scan");
+        }
+    }
+
+    // Test components
+
+    @Root(createInstance = false)
+    static class WarmupRoot {
+    }
+
+    private static void simulateWork() throws InterruptedException {
+        maxActiveWarmups.accumulateAndGet(activeWarmups.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(warmupMillis);
+        } finally {
+            activeWarmups.decrementAndGet();
+        }
+    }
+
+    @Component
+    public static class CacheWarmer {
+        volatile boolean warmed;
+
+        @Warmup
+        public void preload() throws InterruptedException {
+            simulateWork();
+            warmed = true;
+        }
+    }
+
+    @Component
+    public static class IndexWarmer {
+        @Inject CacheWarmer cache;
+
+        @Warmup
+        public void scan() throws InterruptedException {
+            simulateWork();
+            if (failWarmup) {
+                throw new IllegalStateException("index unavailable");
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package net.vortexdevelopment.vinject.di.resolver;
+
+import net.vortexdevelopment.vinject.annotation.Inject;
+import net.vortexdevelopment.vinject.annotation.Value;
+import net.vortexdevelopment.vinject.di.DependencyContainer;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.Field;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArgumentResolverRegistryTest {
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Custom {}
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface CatchAll {}
+
+    static class Target {
+        @Inject Object injected;
+        @Value("${name:test}") String value;
+        @Custom String custom;
+        String plain;
+    }
+
+    /**
+     * Accepts every injection point, used to verify that annotation resolvers are asked first.
+     */
+    static class AcceptAllResolver implements ArgumentResolverProcessor {
+        @Override
+        public boolean canResolve(ArgumentResolverContext context) {
+            return true;
+        }
+
+        @Override
+        public Object resolve(ArgumentResolverContext context) {
+            return "catch-all";
+        }
+    }
+
+    static class CustomResolver implements ArgumentResolverProcessor {
+        @Override
+        public boolean canResolve(ArgumentResolverContext context) {
+            return context.hasAnnotation(Custom.class);
+        }
+
+        @Override
+        public Object resolve(ArgumentResolverContext context) {
+            return "custom";
+        }
+    }
+
+    private final DependencyContainer container = Mockito.mock(DependencyContainer.class);
+
+    private ArgumentResolverContext contextFor(String fieldName) throws NoSuchFieldException {
+        Field field = Target.class.getDeclaredField(fieldName);
+        return new ArgumentResolverContext.Builder()
+                .targetType(field.getType())
+                .annotations(field.getAnnotations())
+                .field(field)
+                .declaringClass(Target.class)
+                .container(container)
+                .build();
+    }
+
+    @Test
+    void resolverSnapshotIsSortedAndReusedUntilRegistration() {
+        ArgumentResolverRegistry registry = new ArgumentResolverRegistry();
+
+        List<ArgumentResolverProcessor> resolvers = registry.getAllResolvers();
+        assertThat(registry.getAllResolvers()).isSameAs(resolvers);
+        assertThat(resolvers).hasSize(2);
+        assertThat(resolvers.get(0)).isInstanceOf(ValueArgumentResolver.class);
+        assertThat(resolvers.get(1)).isInstanceOf(InjectArgumentResolver.class);
+
+        CustomResolver custom = new CustomResolver();
+        registry.registerResolver(Custom.class, custom, 75);
+
+        assertThat(registry.getAllResolvers()).isNotSameAs(resolvers);
+        assertThat(registry.getAllResolvers().get(1)).isSameAs(custom);
+    }
+
+    @Test
+    void annotatedInjectionPointsJumpToTheirResolver() throws Exception {
+        ArgumentResolverRegistry registry = new ArgumentResolverRegistry();
+        CustomResolver custom = new CustomResolver();
+        registry.registerResolver(Custom.class, custom, 5);
+        registry.registerResolver(CatchAll.class, new AcceptAllResolver(), 1000);
+
+        assertThat(registry.findResolver(contextFor("injected"))).isInstanceOf(InjectArgumentResolver.class);
+        assertThat(registry.findResolver(contextFor("value"))).isInstanceOf(ValueArgumentResolver.class);
+        assertThat(registry.findResolver(contextFor("custom"))).isSameAs(custom);
+        // Without a registered annotation all resolvers are asked in priority order
+        assertThat(registry.findResolver(contextFor("plain"))).isInstanceOf(AcceptAllResolver.class);
+    }
+
+    @Test
+    void unannotatedFieldsHaveNoResolverByDefault() throws Exception {
+        ArgumentResolverRegistry registry = new ArgumentResolverRegistry();
+
+        assertThat(registry.findResolver(contextFor("plain"))).isNull();
+    }
+}
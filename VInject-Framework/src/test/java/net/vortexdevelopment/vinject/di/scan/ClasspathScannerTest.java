@@ -0,0 +1,113 @@
+package net.vortexdevelopment.vinject.di.scan;
+
+import net.vortexdevelopment.vinject.annotation.component.Component;
+import net.vortexdevelopment.vinject.annotation.component.Root;
+import net.vortexdevelopment.vinject.annotation.component.Service;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ClasspathScannerTest {
+
+    @Root
+    public static class ScanRoot {}
+
+    public interface Greeter {}
+
+    @Component
+    public static class EnglishGreeter implements Greeter {}
+
+    public static class LoudEnglishGreeter extends EnglishGreeter {}
+
+    @Service
+    public static class GreetingService {}
+
+    @Test
+    public void testIndexIsUsedForTransformedClasses() {
+        ClasspathScanner scanner = new ClasspathScanner(ScanRoot.class.getAnnotation(Root.class), ScanRoot.class);
+
+        assertThat(scanner.isIndexed()).isTrue();
+        assertThat(scanner.getComponentIndex()).isNotNull();
+    }
+
+    @Test
+    public void testIndexMatchesReflections() {
+        ClasspathScanner scanner = new ClasspathScanner(ScanRoot.class.getAnnotation(Root.class), ScanRoot.class);
+
+        assertThat(scanner.getTypesAnnotatedWith(Component.class))
+                .contains(EnglishGreeter.class, LoudEnglishGreeter.class)
+                .containsExactlyInAnyOrderElementsOf(scanner.getReflections().getTypesAnnotatedWith(Component.class));
+        assertThat(scanner.getTypesAnnotatedWith(Service.class))
+                .contains(GreetingService.class)
+                .containsExactlyInAnyOrderElementsOf(scanner.getReflections().getTypesAnnotatedWith(Service.class));
+        assertThat(scanner.getSubTypesOf(Greeter.class))
+                .containsExactlyInAnyOrder(EnglishGreeter.class, LoudEnglishGreeter.class)
+                .containsExactlyInAnyOrderElementsOf(scanner.getReflections().getSubTypesOf(Greeter.class));
+    }
+
+    @Test
+    public void testEntriesWithoutIndexAreFound(@TempDir Path directory) throws Exception {
+        String packagePath = ScanRoot.class.getPackageName().replace('.', '/');
+        Files.createDirectories(directory.resolve(packagePath));
+        URL location = directory.toUri().toURL();
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{location}, getClass().getClassLoader())) {
+            ComponentIndex index = ComponentIndex.load(classLoader);
+
+            assertThat(index).isNotNull();
+            assertThat(ClasspathScanner.findUnindexedLocations(classLoader, packagePath, index))
+                    .containsExactly(location);
+        }
+    }
+
+    @Test
+    public void testEntriesWithIncompleteIndexAreFound(@TempDir Path directory) throws Exception {
+        String packagePath = ScanRoot.class.getPackageName().replace('.', '/');
+        String packageName = ScanRoot.class.getPackageName();
+        Files.createDirectories(directory.resolve(packagePath));
+        Files.write(directory.resolve(packagePath + "/FirstModule.class"), new byte[0]);
+        Files.write(directory.resolve(packagePath + "/FirstModule$$Injector.class"), new byte[0]);
+        Path indexFile = directory.resolve(ComponentIndex.INDEX_RESOURCE);
+        Files.createDirectories(indexFile.getParent());
+        Files.writeString(indexFile, "class." + packageName + ".FirstModule=|\n");
+        URL location = directory.toUri().toURL();
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{location}, getClass().getClassLoader())) {
+            assertThat(ClasspathScanner.findUnindexedLocations(classLoader, packagePath, ComponentIndex.load(classLoader)))
+                    .isEmpty();
+
+            // A second module shaded into the same entry, whose index file was dropped
+            Files.write(directory.resolve(packagePath + "/SecondModule.class"), new byte[0]);
+            assertThat(ClasspathScanner.findUnindexedLocations(classLoader, packagePath, ComponentIndex.load(classLoader)))
+                    .containsExactly(location);
+        }
+    }
+
+    @Test
+    public void testAppendedIndexFilesAreMerged(@TempDir Path directory) throws Exception {
+        Path indexFile = directory.resolve(ComponentIndex.INDEX_RESOURCE);
+        Files.createDirectories(indexFile.getParent());
+        // Index files of two modules concatenated while shading
+        Files.writeString(indexFile, "# first module\n"
+                + "class.example.first.Storage=" + Component.class.getName() + "|\n"
+                + "# second module\n"
+                + "class.example.second.Cache=" + Component.class.getName() + "|example.first.Storage\n"
+                + "class.example.second.Greeter=|\n");
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{directory.toUri().toURL()}, null)) {
+            ComponentIndex index = ComponentIndex.load(classLoader);
+
+            assertThat(index).isNotNull();
+            assertThat(index.getTypesAnnotatedWith(Component.class.getName()))
+                    .containsExactlyInAnyOrder("example.first.Storage", "example.second.Cache");
+            assertThat(index.getSubTypesOf("example.first.Storage")).containsExactly("example.second.Cache");
+            assertThat(index.contains("example.second.Greeter")).isTrue();
+        }
+    }
+}
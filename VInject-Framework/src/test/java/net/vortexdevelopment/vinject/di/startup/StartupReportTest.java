@@ -0,0 +1,134 @@
+package net.vortexdevelopment.vinject.di.startup;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import net.vortexdevelopment.vinject.annotation.Inject;
+import net.vortexdevelopment.vinject.annotation.component.Component;
+import net.vortexdevelopment.vinject.annotation.component.Root;
+import net.vortexdevelopment.vinject.annotation.lifecycle.PostConstruct;
+import net.vortexdevelopment.vinject.testing.TestApplicationContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the startup timeline recorded by the container.
+ */
+class StartupReportTest {
+
+    private static final long SLOW_INIT_MILLIS = 50;
+
+    @Test
+    void reportIsInjectableAndContainsPhases() {
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(StartupRoot.class)
+                .build()) {
+            ReportConsumer consumer = context.getComponent(ReportConsumer.class);
+            StartupReport report = consumer.report;
+
+            assertThat(report).isSameAs(context.getContainer().getStartupReport());
+            assertThat(report.isFinished()).isTrue();
+            assertThat(report.getPhases())
+                    .extracting(StartupReport.PhaseTiming::name)
+                    .contains("core", "scan", "services", "components", "cache-contributors");
+            assertThat(report.getTotalTime().toNanos())
+                    .isGreaterThanOrEqualTo(report.getPhases().stream().mapToLong(StartupReport.PhaseTiming::nanos).sum());
+        }
+    }
+
+    @Test
+    void slowPostConstructIsReportedFirst() {
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(StartupRoot.class)
+                .build()) {
+            StartupReport report = context.getContainer().getStartupReport();
+
+            List<StartupReport.ComponentTiming> slowest = report.getSlowestComponents(1);
+            assertThat(slowest).hasSize(1);
+            assertThat(slowest.get(0).type()).isEqualTo(SlowComponent.class);
+            assertThat(slowest.get(0).postConstructNanos()).isGreaterThanOrEqualTo(SLOW_INIT_MILLIS * 1_000_000);
+            assertThat(report.getComponents())
+                    .extracting(StartupReport.ComponentTiming::type)
+                    .contains(ReportConsumer.class);
+            assertThat(report.formatSummary(5)).contains(SlowComponent.class.getName());
+        }
+    }
+
+    @Test
+    void warningsAreIncludedInSummaryAndJson() {
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(StartupRoot.class)
+                .build()) {
+            StartupReport report = context.getContainer().getStartupReport();
+            report.warn("Unable to load injector Example$$Injector");
+
+            assertThat(report.getWarnings()).contains("Unable to load injector Example$$Injector");
+            assertThat(report.formatSummary(5)).contains("Warnings:").contains("Example$$Injector");
+            assertThat(report.toJson()).contains("\"warnings\":[\"Unable to load injector Example$$Injector\"");
+        }
+    }
+
+    @Test
+    void jsonIsWrittenWhenPropertyIsSet(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("startup.json");
+        System.setProperty(StartupReport.JSON_PROPERTY, file.toString());
+        try (TestApplicationContext ignored = TestApplicationContext.builder()
+                .withRootClass(StartupRoot.class)
+                .build()) {
+            String json = Files.readString(file);
+            assertThat(json).startsWith("{\"totalNanos\":");
+            assertThat(json).contains("\"name\":\"components\"");
+            assertThat(json).contains("\"type\":\"" + SlowComponent.class.getName() + "\"");
+        } finally {
+            System.clearProperty(StartupReport.JSON_PROPERTY);
+        }
+    }
+
+    @Test
+    void jfrEventsAreEmitted(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("startup.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("vinject.StartupPhase");
+            recording.enable("vinject.ComponentCreation");
+            recording.start();
+            try (TestApplicationContext ignored = TestApplicationContext.builder()
+                    .withRootClass(StartupRoot.class)
+                    .build()) {
+                recording.stop();
+            }
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertThat(events).anyMatch(event -> event.getEventType().getName().equals("vinject.StartupPhase")
+                && "components".equals(event.getString("phase")));
+        assertThat(events).anyMatch(event -> event.getEventType().getName().equals("vinject.ComponentCreation")
+                && SlowComponent.class.getName().equals(event.getString("componentClass")));
+    }
+
+    @Root(createInstance = false)
+    static class StartupRoot {
+    }
+
+    @Component
+    static class SlowComponent {
+
+        @PostConstruct
+        public void init() throws InterruptedException {
+            Thread.sleep(SLOW_INIT_MILLIS);
+        }
+    }
+
+    @Component
+    static class ReportConsumer {
+
+        @Inject
+        private StartupReport report;
+    }
+}
@@ -0,0 +1,252 @@
+package net.vortexdevelopment.vinject.event;
+
+import net.vortexdevelopment.vinject.annotation.component.Component;
+import net.vortexdevelopment.vinject.annotation.component.Root;
+import net.vortexdevelopment.vinject.annotation.lifecycle.OnEvent;
+import net.vortexdevelopment.vinject.testing.TestApplicationContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link OnEvent.Mode#ASYNC} and {@link OnEvent.Mode#ORDERED_ASYNC} listeners.
+ */
+class AsyncEventTest {
+
+    private static final int EVENTS = 200;
+
+    private static final List<Integer> ordered = new CopyOnWriteArrayList<>();
+    private static final Map<String, List<Integer>> keyed = new ConcurrentHashMap<>();
+    private static final List<String> dropped = new CopyOnWriteArrayList<>();
+    private static volatile Thread asyncThread;
+    private static volatile CountDownLatch delivered;
+    private static volatile CountDownLatch started;
+    private static volatile CountDownLatch release;
+    private static final AtomicInteger activeDeliveries = new AtomicInteger();
+    private static final AtomicInteger maxActiveDeliveries = new AtomicInteger();
+    private static volatile EventManager chainEvents;
+
+    @BeforeEach
+    void reset() {
+        ordered.clear();
+        keyed.clear();
+        dropped.clear();
+        asyncThread = null;
+        maxActiveDeliveries.set(0);
+    }
+
+    @Test
+    void asyncListenerRunsOffTheEmittingThread() throws InterruptedException {
+        delivered = new CountDownLatch(1);
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(AsyncRoot.class)
+                .build()) {
+            context.getContainer().getEventManager().emitEvent("async-ping");
+
+            assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(asyncThread).isNotNull().isNotSameAs(Thread.currentThread());
+        }
+    }
+
+    @Test
+    void orderedListenerKeepsEmissionOrder() throws InterruptedException {
+        delivered = new CountDownLatch(EVENTS);
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(AsyncRoot.class)
+                .build()) {
+            EventManager eventManager = context.getContainer().getEventManager();
+            for (int i = 0; i < EVENTS; i++) {
+                eventManager.emitEvent(new Sequenced(i));
+            }
+
+            assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < EVENTS; i++) {
+                expected.add(i);
+            }
+            assertThat(ordered).containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    void keyedEventsKeepOrderPerKey() throws InterruptedException {
+        delivered = new CountDownLatch(EVENTS);
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(AsyncRoot.class)
+                .build()) {
+            EventManager eventManager = context.getContainer().getEventManager();
+            for (int i = 0; i < EVENTS; i++) {
+                eventManager.emitEvent(new AccountUpdate("account-" + (i % 5), i));
+            }
+
+            assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(keyed).hasSize(5);
+            keyed.values().forEach(sequence -> assertThat(sequence).isSorted().hasSize(EVENTS / 5));
+        }
+    }
+
+    @Test
+    void fullQueueDropsNewestEvents() throws InterruptedException {
+        started = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+        delivered = new CountDownLatch(2);
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(AsyncRoot.class)
+                .build()) {
+            EventManager eventManager = context.getContainer().getEventManager();
+            eventManager.emitEvent(new Burst("first"));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // The worker is busy, the queue holds one event and the rest is dropped
+            eventManager.emitEvent(new Burst("second"));
+            eventManager.emitEvent(new Burst("third"));
+            eventManager.emitEvent(new Burst("fourth"));
+            release.countDown();
+
+            assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(dropped).containsExactly("first", "second");
+        }
+    }
+
+    @Test
+    void failingListenerDoesNotStopItsLane() throws InterruptedException {
+        delivered = new CountDownLatch(2);
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(AsyncRoot.class)
+                .build()) {
+            EventManager eventManager = context.getContainer().getEventManager();
+            eventManager.emitEvent(new Fragile(true));
+            eventManager.emitEvent(new Fragile(false));
+            eventManager.emitEvent(new Fragile(false));
+
+            assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
+    @Test
+    void asyncListenerConcurrencyIsCapped() throws InterruptedException {
+        delivered = new CountDownLatch(12);
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(AsyncRoot.class)
+                .build()) {
+            EventManager eventManager = context.getContainer().getEventManager();
+            for (int i = 0; i < 12; i++) {
+                eventManager.emitEvent(new Parallel(i));
+            }
+
+            assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(maxActiveDeliveries.get()).isBetween(1, 2);
+        }
+    }
+
+    @Test
+    void listenerEmittingIntoItsOwnFullQueueDoesNotDeadlock() throws InterruptedException {
+        // Every event emits two more into a queue of one entry with a single worker
+        delivered = new CountDownLatch(7);
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(AsyncRoot.class)
+                .build()) {
+            chainEvents = context.getContainer().getEventManager();
+            chainEvents.emitEvent(new Chain(2));
+
+            assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
+    // Test components
+
+    @Root(createInstance = false)
+    static class AsyncRoot {
+    }
+
+    public record Sequenced(int value) {
+    }
+
+    public record AccountUpdate(String account, int sequence) implements KeyedEvent {
+        @Override
+        public Object getEventKey() {
+            return account;
+        }
+    }
+
+    public record Burst(String name) {
+    }
+
+    public record Fragile(boolean fail) {
+    }
+
+    public record Parallel(int value) {
+    }
+
+    public record Chain(int depth) {
+    }
+
+    @Component
+    public static class AsyncListeners {
+        @OnEvent(value = "async-ping", mode = OnEvent.Mode.ASYNC)
+        public void onPing() {
+            asyncThread = Thread.currentThread();
+            delivered.countDown();
+        }
+
+        @OnEvent(mode = OnEvent.Mode.ORDERED_ASYNC)
+        public void onSequenced(Sequenced event) {
+            ordered.add(event.value());
+            delivered.countDown();
+        }
+
+        @OnEvent(mode = OnEvent.Mode.ORDERED_ASYNC, lanes = 4)
+        public void onAccountUpdate(AccountUpdate event) {
+            keyed.computeIfAbsent(event.account(), key -> new CopyOnWriteArrayList<>()).add(event.sequence());
+            delivered.countDown();
+        }
+
+        @OnEvent(mode = OnEvent.Mode.ORDERED_ASYNC, queueCapacity = 1, overflow = OnEvent.Overflow.DROP_NEWEST)
+        public void onBurst(Burst event) throws InterruptedException {
+            if (started.getCount() > 0) {
+                started.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            dropped.add(event.name());
+            delivered.countDown();
+        }
+
+        @OnEvent(mode = OnEvent.Mode.ASYNC, concurrency = 2)
+        public void onParallel(Parallel event) throws InterruptedException {
+            maxActiveDeliveries.accumulateAndGet(activeDeliveries.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+            } finally {
+                activeDeliveries.decrementAndGet();
+            }
+            delivered.countDown();
+        }
+
+        @OnEvent(mode = OnEvent.Mode.ASYNC, queueCapacity = 1, concurrency = 1)
+        public void onChain(Chain event) {
+            if (event.depth() > 0) {
+                chainEvents.emitEvent(new Chain(event.depth() - 1));
+                chainEvents.emitEvent(new Chain(event.depth() - 1));
+            }
+            delivered.countDown();
+        }
+
+        @OnEvent(mode = OnEvent.Mode.ORDERED_ASYNC)
+        public void onFragile(Fragile event) {
+            if (event.fail()) {
+                throw new IllegalStateException("listener failure");
+            }
+            delivered.countDown();
+        }
+    }
+}
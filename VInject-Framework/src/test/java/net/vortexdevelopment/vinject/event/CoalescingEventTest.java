@@ -0,0 +1,150 @@
+package net.vortexdevelopment.vinject.event;
+
+import net.vortexdevelopment.vinject.annotation.component.Component;
+import net.vortexdevelopment.vinject.annotation.component.Root;
+import net.vortexdevelopment.vinject.annotation.lifecycle.OnEvent;
+import net.vortexdevelopment.vinject.testing.TestApplicationContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for coalescing {@link OnEvent#coalesce()} listeners and {@link EventManager#flush()}.
+ */
+class CoalescingEventTest {
+
+    private static final List<PositionUpdate> positions = new CopyOnWriteArrayList<>();
+    private static final List<List<StatChange>> batches = new CopyOnWriteArrayList<>();
+    private static final List<List<Tick>> tickBatches = new CopyOnWriteArrayList<>();
+    private static volatile CountDownLatch windowFlushed = new CountDownLatch(1);
+
+    @BeforeEach
+    void reset() {
+        positions.clear();
+        batches.clear();
+        tickBatches.clear();
+    }
+
+    @Test
+    void latestEventPerKeyIsDeliveredOnFlush() {
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(CoalescingRoot.class)
+                .build()) {
+            EventManager eventManager = context.getContainer().getEventManager();
+            for (int i = 0; i < 100; i++) {
+                eventManager.emitEvent(new PositionUpdate("player-" + (i % 3), i));
+            }
+            assertThat(positions).isEmpty();
+
+            eventManager.flush();
+
+            assertThat(positions).containsExactly(
+                    new PositionUpdate("player-0", 99),
+                    new PositionUpdate("player-1", 97),
+                    new PositionUpdate("player-2", 98));
+        }
+    }
+
+    @Test
+    void batchIsDeliveredOnFlushAndWhenFull() {
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(CoalescingRoot.class)
+                .build()) {
+            EventManager eventManager = context.getContainer().getEventManager();
+            for (int i = 0; i < 12; i++) {
+                eventManager.emitEvent(new StatChange(i));
+            }
+            // Full batches of queueCapacity events are delivered right away
+            assertThat(batches).hasSize(2);
+
+            eventManager.flush();
+            eventManager.flush();
+
+            assertThat(batches).hasSize(3);
+            assertThat(batches.get(2)).containsExactly(new StatChange(10), new StatChange(11));
+            List<StatChange> all = new ArrayList<>();
+            batches.forEach(all::addAll);
+            assertThat(all).extracting(StatChange::value).isSorted().hasSize(12);
+        }
+    }
+
+    @Test
+    void batchIsFlushedAfterTheWindow() throws InterruptedException {
+        windowFlushed = new CountDownLatch(1);
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(CoalescingRoot.class)
+                .build()) {
+            EventManager eventManager = context.getContainer().getEventManager();
+            eventManager.emitEvent(new Tick(1));
+            eventManager.emitEvent(new Tick(2));
+
+            assertThat(windowFlushed.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(tickBatches.get(0)).containsExactly(new Tick(1), new Tick(2));
+        }
+    }
+
+    @Test
+    void coalescingNamedListenerIsRejected() {
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(CoalescingRoot.class)
+                .build()) {
+            EventManager eventManager = context.getContainer().getEventManager();
+
+            assertThatThrownBy(() -> eventManager.registerEventListeners(NamedCoalescingListener.class))
+                    .isInstanceOf(RuntimeException.class)
+                    .hasMessageContaining("only supported on typed listeners");
+        }
+    }
+
+    // Test components
+
+    @Root(createInstance = false)
+    static class CoalescingRoot {
+    }
+
+    public record PositionUpdate(String player, int x) implements KeyedEvent {
+        @Override
+        public Object getEventKey() {
+            return player;
+        }
+    }
+
+    public record StatChange(int value) {
+    }
+
+    public record Tick(int value) {
+    }
+
+    @Component
+    public static class CoalescingListeners {
+        @OnEvent(coalesce = OnEvent.Coalesce.LATEST)
+        public void onPosition(PositionUpdate update) {
+            positions.add(update);
+        }
+
+        @OnEvent(coalesce = OnEvent.Coalesce.BATCH, queueCapacity = 5)
+        public void onStats(List<StatChange> changes) {
+            batches.add(changes);
+        }
+
+        @OnEvent(coalesce = OnEvent.Coalesce.BATCH, window = 50)
+        public void onTicks(List<? extends Tick> ticks) {
+            tickBatches.add(new ArrayList<>(ticks));
+            windowFlushed.countDown();
+        }
+    }
+
+    public static class NamedCoalescingListener {
+        @OnEvent(value = "stats", coalesce = OnEvent.Coalesce.LATEST)
+        public void onStats() {
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package net.vortexdevelopment.vinject.event;
+
+import net.vortexdevelopment.vinject.annotation.component.Component;
+import net.vortexdevelopment.vinject.annotation.component.Root;
+import net.vortexdevelopment.vinject.annotation.lifecycle.OnEvent;
+import net.vortexdevelopment.vinject.testing.TestApplicationContext;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for @OnEvent listeners dispatched by the {@link EventManager}.
+ */
+class EventDispatchTest {
+
+    private static final List<String> received = new CopyOnWriteArrayList<>();
+
+    @Test
+    void listenersReceiveEventsWithInjectedParameters() {
+        received.clear();
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(EventRoot.class)
+                .build()) {
+            EventManager eventManager = context.getContainer().getEventManager();
+
+            eventManager.emitEvent("reload");
+
+            assertThat(received).containsExactlyInAnyOrder("plain:reload", "injected:" + context.getComponent(EventService.class).name());
+        }
+    }
+
+    @Test
+    void listenersAreCountedPerEvent() {
+        received.clear();
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(EventRoot.class)
+                .build()) {
+            EventManager eventManager = context.getContainer().getEventManager();
+
+            assertThat(eventManager.getListenerCount("reload")).isEqualTo(2);
+            assertThat(eventManager.getListenerCount("start")).isEqualTo(1);
+            assertThat(eventManager.getListenerCount("unknown")).isZero();
+
+            eventManager.emitEvent("start");
+            eventManager.emitEvent("unknown");
+
+            assertThat(received).containsExactly("plain:start");
+        }
+    }
+
+    @Test
+    void failingListenerDoesNotStopOtherListeners() {
+        received.clear();
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(EventRoot.class)
+                .build()) {
+            context.getContainer().getEventManager().emitEvent("fail");
+
+            assertThat(received).containsExactly("after-failure");
+        }
+    }
+
+    @Test
+    void typedEventsAreDispatchedByClassAndSupertypes() {
+        received.clear();
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(EventRoot.class)
+                .build()) {
+            EventManager eventManager = context.getContainer().getEventManager();
+
+            eventManager.emitEvent(new PlayerMoved("alex", 3));
+            eventManager.emitEvent(new PlayerJoined("sam"));
+
+            assertThat(received).containsExactlyInAnyOrder(
+                    "moved:alex:3:service", "game:PlayerMoved", "game:PlayerJoined");
+            assertThat(eventManager.getListenerCount(PlayerMoved.class)).isEqualTo(2);
+            assertThat(eventManager.getListenerCount(PlayerJoined.class)).isEqualTo(1);
+            assertThat(eventManager.getListenerCount(String.class)).isZero();
+        }
+    }
+
+    @Test
+    void typedEventWithoutListenersIsIgnored() {
+        received.clear();
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(EventRoot.class)
+                .build()) {
+            context.getContainer().getEventManager().emitEvent(Integer.valueOf(42));
+
+            assertThat(received).isEmpty();
+        }
+    }
+
+    @Test
+    void staticListenersAreInvoked() {
+        received.clear();
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(EventRoot.class)
+                .build()) {
+            EventManager eventManager = context.getContainer().getEventManager();
+
+            eventManager.emitEvent("static");
+            eventManager.emitEvent(new StaticPing(7));
+
+            assertThat(received).containsExactlyInAnyOrder("static:plain", "static:service", "static:ping:7");
+        }
+    }
+
+    // Test components
+
+    @Root(createInstance = false)
+    static class EventRoot {
+    }
+
+    @Component
+    public static class EventService {
+        public String name() {
+            return "service";
+        }
+    }
+
+    @Component
+    public static class PlainListener {
+        @OnEvent("reload")
+        public void onReload() {
+            received.add("plain:reload");
+        }
+
+        @OnEvent("start")
+        private void onStart() {
+            received.add("plain:start");
+        }
+
+        @OnEvent("fail")
+        public void fail() {
+            throw new IllegalStateException("listener failure");
+        }
+    }
+
+    public interface GameEvent {
+    }
+
+    public record StaticPing(int id) {
+    }
+
+    @Component
+    public static class StaticListener {
+        @OnEvent("static")
+        public static void onStatic() {
+            received.add("static:plain");
+        }
+
+        @OnEvent("static")
+        private static void onStaticWithService(EventService service) {
+            received.add("static:" + service.name());
+        }
+
+        @OnEvent
+        public static void onPing(StaticPing ping) {
+            received.add("static:ping:" + ping.id());
+        }
+    }
+
+    public record PlayerMoved(String player, int distance) implements GameEvent {
+    }
+
+    public record PlayerJoined(String player) implements GameEvent {
+    }
+
+    @Component
+    public static class GameListener {
+        @OnEvent
+        public void onMove(PlayerMoved event, EventService service) {
+            received.add("moved:" + event.player() + ":" + event.distance() + ":" + service.name());
+        }
+
+        @OnEvent
+        public void onAnyGameEvent(GameEvent event) {
+            received.add("game:" + event.getClass().getSimpleName());
+        }
+    }
+
+    @Component
+    public static class InjectedListener {
+        @OnEvent("reload")
+        public void onReload(EventService service) {
+            received.add("injected:" + service.name());
+        }
+
+        @OnEvent("fail")
+        public boolean afterFailure() {
+            received.add("after-failure");
+            return true;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package net.vortexdevelopment.vinject.event;
+
+import net.vortexdevelopment.vinject.annotation.component.Component;
+import net.vortexdevelopment.vinject.annotation.component.Root;
+import net.vortexdevelopment.vinject.annotation.lifecycle.OnEvent;
+import net.vortexdevelopment.vinject.testing.TestApplicationContext;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import javax.management.JMX;
+import javax.management.ObjectName;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the {@link EventMetrics} bean and its JMX view.
+ */
+class EventMetricsTest {
+
+    private static final String PING = MetricsListener.class.getName() + "#onPing()";
+    private static final String FAILING = MetricsListener.class.getName() + "#onFailing(" + Failing.class.getName() + ")";
+
+    @Test
+    void listenerInvocationsAndErrorsAreCounted() {
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(MetricsRoot.class)
+                .build()) {
+            EventManager eventManager = context.getContainer().getEventManager();
+            EventMetrics metrics = context.getComponent(EventMetrics.class);
+            for (int i = 0; i < 3; i++) {
+                eventManager.emitEvent("metrics-ping");
+            }
+            eventManager.emitEvent(new Failing());
+
+            assertThat(metrics).isSameAs(eventManager.getMetrics());
+            assertThat(metrics.getEventCount("metrics-ping")).isEqualTo(3);
+            assertThat(metrics.getEventCount(Failing.class)).isEqualTo(1);
+
+            EventMetrics.ListenerStats ping = metrics.getListener(PING);
+            assertThat(ping.getInvocations()).isEqualTo(3);
+            assertThat(ping.getErrors()).isZero();
+            assertThat(Arrays.stream(ping.getHistogram()).sum()).isBetween(1L, 3L);
+            assertThat(ping.getPercentileMicros(0.99)).isPositive();
+            assertThat(metrics.getErrorCounts()).containsEntry(FAILING, 1L);
+
+            metrics.reset();
+            assertThat(metrics.getInvocationCounts()).containsEntry(PING, 0L);
+        }
+    }
+
+    @Test
+    void slowListenersAreLoggedWithTheirEvent() {
+        PrintStream originalErr = System.err;
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(MetricsRoot.class)
+                .build()) {
+            EventManager eventManager = context.getContainer().getEventManager();
+            eventManager.getMetrics().setSlowThresholdMicros(1000);
+
+            System.setErr(new PrintStream(err, true));
+            // Every invocation is timed while a threshold is set, not only the sampled ones
+            for (int i = 0; i < 3; i++) {
+                eventManager.emitEvent("metrics-slow");
+            }
+            eventManager.emitEvent("metrics-ping");
+        } finally {
+            System.setErr(originalErr);
+        }
+
+        assertThat(err.toString().split("Slow event listener ", -1)).hasSize(4);
+        assertThat(err.toString())
+                .contains("Slow event listener " + MetricsListener.class.getName() + "#onSlow()")
+                .contains("for event: metrics-slow")
+                .doesNotContain("#onPing");
+    }
+
+    @Test
+    void overloadedListenersHaveTheirOwnStats() {
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(MetricsRoot.class)
+                .build()) {
+            EventManager eventManager = context.getContainer().getEventManager();
+            eventManager.emitEvent(new Joined());
+            eventManager.emitEvent(new Joined());
+            eventManager.emitEvent(new Left());
+
+            String listener = MetricsListener.class.getName() + "#onMembership(";
+            assertThat(eventManager.getMetrics().getInvocationCounts())
+                    .containsEntry(listener + Joined.class.getName() + ")", 2L)
+                    .containsEntry(listener + Left.class.getName() + ")", 1L);
+        }
+    }
+
+    @Test
+    void eventCountsAreBounded() {
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(MetricsRoot.class)
+                .build()) {
+            EventManager eventManager = context.getContainer().getEventManager();
+            for (int i = 0; i < 1100; i++) {
+                eventManager.emitEvent("dynamic-" + i);
+            }
+
+            assertThat(eventManager.getMetrics().getEventCounts())
+                    .hasSizeLessThanOrEqualTo(1025)
+                    .containsKey("<other>");
+        }
+    }
+
+    @Test
+    void metricsAreExposedOverJmx() throws Exception {
+        ObjectName name;
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(MetricsRoot.class)
+                .build()) {
+            EventManager eventManager = context.getContainer().getEventManager();
+            eventManager.emitEvent("metrics-ping");
+            name = eventManager.getMetrics().getObjectName();
+            assertThat(name).isNotNull();
+
+            EventMetricsMXBean proxy = JMX.newMXBeanProxy(ManagementFactory.getPlatformMBeanServer(), name, EventMetricsMXBean.class);
+            assertThat(proxy.getInvocationCounts()).containsEntry(PING, 1L);
+            assertThat(proxy.getEventCounts()).containsEntry("metrics-ping", 1L);
+        }
+
+        assertThat(ManagementFactory.getPlatformMBeanServer().isRegistered(name)).isFalse();
+    }
+
+    // Test components
+
+    @Root(createInstance = false)
+    static class MetricsRoot {
+    }
+
+    public record Failing() {
+    }
+
+    public record Joined() {
+    }
+
+    public record Left() {
+    }
+
+    @Component
+    public static class MetricsListener {
+        @OnEvent("metrics-ping")
+        public void onPing() {
+        }
+
+        @OnEvent("metrics-slow")
+        public void onSlow() throws InterruptedException {
+            Thread.sleep(5);
+        }
+
+        @OnEvent
+        public void onFailing(Failing event) {
+            throw new IllegalStateException("listener failure");
+        }
+
+        @OnEvent
+        public void onMembership(Joined event) {
+        }
+
+        @OnEvent
+        public void onMembership(Left event) {
+        }
+    }
+}
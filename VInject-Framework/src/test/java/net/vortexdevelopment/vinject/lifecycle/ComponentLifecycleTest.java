@@ -4,7 +4,10 @@ import net.vortexdevelopment.vinject.annotation.Inject;
 import net.vortexdevelopment.vinject.annotation.component.Component;
 import net.vortexdevelopment.vinject.annotation.component.Root;
 import net.vortexdevelopment.vinject.annotation.lifecycle.OnDestroy;
+import net.vortexdevelopment.vinject.annotation.lifecycle.OnLoad;
 import net.vortexdevelopment.vinject.annotation.lifecycle.PostConstruct;
+import net.vortexdevelopment.vinject.annotation.util.SetSystemProperty;
+import net.vortexdevelopment.vinject.di.lifecycle.LifecycleManager;
 import net.vortexdevelopment.vinject.testing.TestApplicationContext;
 import org.junit.jupiter.api.Test;
 
@@ -114,6 +117,56 @@ class ComponentLifecycleTest {
         }
     }
 
+    @Test
+    void lifecyclePlansAreCachedPerClass() {
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(TestRoot.class)
+                .build()) {
+            LifecycleManager lifecycleManager = context.getContainer().getLifecycleManager();
+
+            assertThat(lifecycleManager.getPlan(LoadedEntity.class)).isSameAs(lifecycleManager.getPlan(LoadedEntity.class));
+            assertThat(lifecycleManager.getPlan(LoadedEntity.class).hasOnLoad()).isTrue();
+            assertThat(lifecycleManager.getPlan(LoadedEntity.class).hasPostConstruct()).isFalse();
+            assertThat(lifecycleManager.getPlan(SimpleDependency.class).isEmpty()).isTrue();
+        }
+    }
+
+    @Test
+    void utilityAnnotationsAreProcessedOncePerClass() {
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(TestRoot.class)
+                .build()) {
+            LifecycleManager lifecycleManager = context.getContainer().getLifecycleManager();
+
+            LoadedEntity first = new LoadedEntity();
+            lifecycleManager.invokeOnLoad(first);
+            assertThat(System.getProperty("lifecycle.test.loaded")).isEqualTo("true");
+            assertThat(first.loadCount).isEqualTo(1);
+
+            System.clearProperty("lifecycle.test.loaded");
+            LoadedEntity second = new LoadedEntity();
+            lifecycleManager.invokeOnLoad(second);
+            lifecycleManager.invokeOnLoad(second);
+
+            assertThat(System.getProperty("lifecycle.test.loaded")).isNull();
+            assertThat(second.loadCount).isEqualTo(2);
+        } finally {
+            System.clearProperty("lifecycle.test.loaded");
+        }
+    }
+
+    @Test
+    void staticLifecycleMethodsAreInvoked() {
+        StaticInitComponent.initialized = false;
+        StaticInitComponent.dependency = null;
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(TestRoot.class)
+                .build()) {
+            assertThat(StaticInitComponent.initialized).isTrue();
+            assertThat(StaticInitComponent.dependency).isSameAs(context.getComponent(SimpleDependency.class));
+        }
+    }
+
     // Test components
 
     @Root(packageName = "net.vortexdevelopment.vinject.lifecycle", createInstance = false)
@@ -223,4 +276,30 @@ class ComponentLifecycleTest {
     @Component
     public static class SimpleDependency {
     }
+
+    @Component
+    public static class StaticInitComponent {
+        private static boolean initialized;
+        private static SimpleDependency dependency;
+
+        @PostConstruct
+        public static void init() {
+            initialized = true;
+        }
+
+        @PostConstruct
+        public static void initWith(SimpleDependency dep) {
+            dependency = dep;
+        }
+    }
+
+    @SetSystemProperty(name = "lifecycle.test.loaded", value = "true")
+    public static class LoadedEntity {
+        private int loadCount;
+
+        @OnLoad
+        public void onLoad() {
+            loadCount++;
+        }
+    }
 }
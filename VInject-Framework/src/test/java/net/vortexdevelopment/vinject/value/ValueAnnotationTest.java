@@ -7,6 +7,11 @@ import net.vortexdevelopment.vinject.annotation.component.Root;
 import net.vortexdevelopment.vinject.config.Environment;
 import net.vortexdevelopment.vinject.testing.TestApplicationContext;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -76,6 +81,73 @@ class ValueAnnotationTest {
         }
     }
 
+    @Test
+    void nestedAndMixedPlaceholdersAreResolved() {
+        System.setProperty("app.host", "example.org");
+
+        try (TestApplicationContext context = TestApplicationContext.builder()
+                .withRootClass(TestRoot.class)
+                .build()) {
+            ComponentWithNestedValue comp = context.getComponent(ComponentWithNestedValue.class);
+
+            assertThat(comp.url).isEqualTo("http://example.org:3000/api");
+            assertThat(comp.retries).isEqualTo(7);
+        } finally {
+            System.clearProperty("app.host");
+        }
+    }
+
+    @Test
+    void compiledExpressionsAreCachedAndFollowSystemProperties() {
+        Environment env = Environment.getInstance();
+
+        assertThat(env.compile("${app.retries:3}", int.class)).isSameAs(env.compile("${app.retries:3}", int.class));
+        assertThat(env.resolveValue("${app.retries:3}", int.class)).isEqualTo(3);
+
+        System.setProperty("app.retries", "5");
+        try {
+            assertThat(env.resolveValue("${app.retries:3}", int.class)).isEqualTo(5);
+        } finally {
+            System.clearProperty("app.retries");
+        }
+    }
+
+    @Test
+    void reloadingPropertiesRefreshesValueFields(@TempDir Path workingDir) throws IOException {
+        Environment env = Environment.getInstance();
+        String originalDir = System.getProperty("user.dir");
+        Path propertiesFile = workingDir.resolve("application.properties");
+        Files.writeString(propertiesFile, "app.name=First\napp.port=4000\n");
+        System.setProperty("user.dir", workingDir.toString());
+
+        try {
+            long version = env.reload().getVersion();
+
+            try (TestApplicationContext context = TestApplicationContext.builder()
+                    .withRootClass(TestRoot.class)
+                    .build()) {
+                ComponentWithValue comp = context.getComponent(ComponentWithValue.class);
+                ComponentWithDifferentTypes types = context.getComponent(ComponentWithDifferentTypes.class);
+                ComponentWithValueSetter setter = context.getComponent(ComponentWithValueSetter.class);
+                assertThat(comp.appName).isEqualTo("First");
+                assertThat(setter.label).isEqualTo("First");
+                assertThat(types.port).isEqualTo(4000);
+
+                Files.writeString(propertiesFile, "app.name=Second\n");
+
+                assertThat(env.reload().getVersion()).isEqualTo(version + 1);
+                assertThat(comp.appName).isEqualTo("Second");
+                assertThat(setter.label).isEqualTo("Second");
+                assertThat(types.port).isEqualTo(3000);
+                assertThat(System.getProperty("app.name")).isEqualTo("Second");
+                assertThat(System.getProperty("app.port")).isNull();
+            }
+        } finally {
+            System.setProperty("user.dir", originalDir);
+            env.reload();
+        }
+    }
+
     // Test components
 
     @Root(packageName = "net.vortexdevelopment.vinject.value", createInstance = false)
@@ -102,4 +174,23 @@ class ValueAnnotationTest {
         @Value("${app.timeout:30}")
         public long timeout;
     }
+
+    @Component
+    public static class ComponentWithValueSetter {
+        private String label;
+
+        @Inject
+        public void setLabel(@Value("${app.name:Default App}") String label) {
+            this.label = label;
+        }
+    }
+
+    @Component
+    public static class ComponentWithNestedValue {
+        @Value("http://${app.host:localhost}:${app.port:3000}/api")
+        public String url;
+
+        @Value("${app.retries:${app.default-retries:7}}")
+        public int retries;
+    }
 }
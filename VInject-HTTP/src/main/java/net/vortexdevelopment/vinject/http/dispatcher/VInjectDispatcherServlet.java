@@ -16,7 +16,6 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.net.URL;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
@@ -29,6 +28,9 @@ import java.util.concurrent.Executors;
  */
 public class VInjectDispatcherServlet extends HttpServlet {
 
+    private static final InjectionContext.Key<HttpServletRequest> REQUEST_KEY = InjectionContext.key(HttpServletRequest.class);
+    private static final InjectionContext.Key<HttpServletResponse> RESPONSE_KEY = InjectionContext.key(HttpServletResponse.class);
+
     private final DependencyContainer container;
     private final List<RouteHandler> routes = new ArrayList<>();
     private final Gson gson = new Gson();
@@ -127,12 +129,11 @@ public class VInjectDispatcherServlet extends HttpServlet {
 
         if (handler != null) {
             try {
-                Map<Class<?>, Object> requestContext = new HashMap<>();
-                requestContext.put(HttpServletRequest.class, req);
-                requestContext.put(HttpServletResponse.class, resp);
-
                 RouteHandler finalHandler = handler;
-                Object result = InjectionContext.runWithContext(requestContext, () -> finalHandler.invoke(container));
+                Object result = InjectionContext.scope()
+                        .with(REQUEST_KEY, req)
+                        .with(RESPONSE_KEY, resp)
+                        .call(() -> finalHandler.invoke(container));
 
                 if (result != null) {
                     if (result instanceof String resultStr && resultStr.startsWith("forward:")) {
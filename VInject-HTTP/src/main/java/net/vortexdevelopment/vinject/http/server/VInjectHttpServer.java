@@ -3,6 +3,7 @@ package net.vortexdevelopment.vinject.http.server;
 import jakarta.servlet.DispatcherType;
 import net.vortexdevelopment.vinject.config.Environment;
 import net.vortexdevelopment.vinject.di.DependencyContainer;
+import net.vortexdevelopment.vinject.di.lifecycle.ReadinessGate;
 import net.vortexdevelopment.vinject.http.dispatcher.VInjectDispatcherServlet;
 import net.vortexdevelopment.vinject.http.registry.FilterEntry;
 import net.vortexdevelopment.vinject.http.registry.FilterRegistry;
@@ -24,6 +25,8 @@ public class VInjectHttpServer {
     /**
      * Starts the embedded Jetty server on the port specified by the environment property "server.port".
      * Routes all requests to the VInjectDispatcherServlet.
+     * The container calls this once its {@link ReadinessGate} opened, direct callers wait for the gate here,
+     * so requests are only accepted once all warm-ups finished.
      *
      * @param container The dependency container
      */
@@ -67,6 +70,14 @@ public class VInjectHttpServer {
             System.err.println("Failed to register filters: " + e.getMessage());
         }
 
+        ReadinessGate readinessGate = container.getReadinessGate();
+        if (readinessGate != null && !readinessGate.isReady()) {
+            System.out.println("Waiting for " + readinessGate.getPending() + " warm-up(s) before starting VInject HTTP Server...");
+            if (!readinessGate.awaitReady()) {
+                System.err.println("Warm-ups did not finish in time, starting VInject HTTP Server anyway");
+            }
+        }
+
         try {
             server.start();
             System.out.println("VInject HTTP Server started on port " + port);
@@ -5,27 +5,48 @@ import org.apache.bcel.Constants;
 import org.apache.bcel.classfile.AnnotationEntry;
 import org.apache.bcel.classfile.ClassParser;
 import org.apache.bcel.classfile.ElementValuePair;
+import org.apache.bcel.classfile.EnumElementValue;
 import org.apache.bcel.classfile.Field;
 import org.apache.bcel.classfile.JavaClass;
 import org.apache.bcel.classfile.Method;
 import org.apache.bcel.classfile.ClassElementValue;
 import org.apache.bcel.classfile.SimpleElementValue;
 import org.apache.bcel.generic.ALOAD;
+import org.apache.bcel.generic.ANEWARRAY;
+import org.apache.bcel.generic.ArrayType;
+import org.apache.bcel.generic.BasicType;
+import org.apache.bcel.generic.BranchHandle;
+import org.apache.bcel.generic.CHECKCAST;
 import org.apache.bcel.generic.ClassGen;
 import org.apache.bcel.generic.ConstantPoolGen;
 import org.apache.bcel.generic.FieldGen;
 import org.apache.bcel.generic.GETFIELD;
-import org.apache.bcel.generic.INVOKEINTERFACE;
+import org.apache.bcel.generic.GETSTATIC;
+import org.apache.bcel.generic.GOTO;
+import org.apache.bcel.generic.IFEQ;
+import org.apache.bcel.generic.IFLE;
+import org.apache.bcel.generic.IF_ICMPGE;
+import org.apache.bcel.generic.IF_ICMPNE;
+import org.apache.bcel.generic.IFLT;
+import org.apache.bcel.generic.IFNE;
+import org.apache.bcel.generic.ILOAD;
 import org.apache.bcel.generic.INVOKESPECIAL;
+import org.apache.bcel.generic.INVOKESTATIC;
+import org.apache.bcel.generic.INVOKEVIRTUAL;
+import org.apache.bcel.generic.ISTORE;
+import org.apache.bcel.generic.Instruction;
 import org.apache.bcel.generic.InstructionConstants;
 import org.apache.bcel.generic.InstructionFactory;
 import org.apache.bcel.generic.InstructionHandle;
 import org.apache.bcel.generic.InstructionList;
+import org.apache.bcel.generic.LDC;
 import org.apache.bcel.generic.MethodGen;
+import org.apache.bcel.generic.NEW;
+import org.apache.bcel.generic.NEWARRAY;
 import org.apache.bcel.generic.ObjectType;
-import org.apache.bcel.generic.POP;
 import org.apache.bcel.generic.PUSH;
 import org.apache.bcel.generic.PUTFIELD;
+import org.apache.bcel.generic.PUTSTATIC;
 import org.apache.bcel.generic.Type;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecution;
@@ -45,13 +66,36 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
 
 @Mojo(name = "transform-classes", defaultPhase = LifecyclePhase.PROCESS_CLASSES)
 public class EntityTransformer extends AbstractMojo {
 
+    private static final String DIRTY_MASK_FIELD = "__vinject_dirty_mask";
+    private static final String DIRTY_MASK_HANDLE_FIELD = "__vinject_dirty_mask$handle";
+    private static final ObjectType VAR_HANDLE = new ObjectType("java.lang.invoke.VarHandle");
+    private static final String MAP_ROW_METHOD = "__vinject_mapRow";
+    private static final String BIND_COLUMNS_METHOD = "__vinject_bindColumns";
+    private static final String ROW_MAPPER_SUFFIX = "$$RowMapper";
+    private static final String ROW_MAPPER_INTERFACE = "net.vortexdevelopment.vinject.database.repository.EntityRowMapper";
+    private static final String ROW_MAPPER_SUPPORT = "net.vortexdevelopment.vinject.database.repository.RowMapperSupport";
+    private static final String BINDER_SUFFIX = "$$Binder";
+    private static final String BINDER_INTERFACE = "net.vortexdevelopment.vinject.database.repository.EntityBinder";
+    private static final String REPOSITORY_UTILS = "net.vortexdevelopment.vinject.database.repository.RepositoryUtils";
+    private static final String INJECTOR_SUFFIX = "$$Injector";
+    private static final String INJECTOR_INTERFACE = "net.vortexdevelopment.vinject.di.engine.ComponentInjector";
+    private static final String INJECT_FIELD_METHOD_PREFIX = "__vinject_set$";
+    private static final String INJECT_ANNOTATION = "Lnet/vortexdevelopment/vinject/annotation/Inject;";
+    private static final ObjectType RESULT_SET = new ObjectType("java.sql.ResultSet");
+    private static final ObjectType PREPARED_STATEMENT = new ObjectType("java.sql.PreparedStatement");
+
     @Parameter(defaultValue = "${project.build.outputDirectory}", readonly = true)
     private File outputDirectory;
 
@@ -70,6 +114,12 @@ public class EntityTransformer extends AbstractMojo {
 
     private final Set<String> customRegistryAnnotations = new HashSet<>();
 
+    // Component index: class -> class-level annotations, class -> direct supertypes, class -> class file
+    private final Map<String, List<String>> indexedAnnotations = new TreeMap<>();
+    private final Map<String, List<String>> indexedSuperTypes = new TreeMap<>();
+    private final Map<String, File> indexedFiles = new TreeMap<>();
+    private final Map<String, String> indexedInjectors = new TreeMap<>();
+
     @Override
     public void execute() throws MojoExecutionException {
         String phase = session != null ? session.getLifecyclePhase() : null;
@@ -89,6 +139,7 @@ public class EntityTransformer extends AbstractMojo {
                 getLog().warn("Configured classes directory does not exist: " + classesDirectory);
             }
             generateCustomRegistryMetadata();
+            generateComponentIndex(classesDirectory);
             return;
         }
 
@@ -104,6 +155,7 @@ public class EntityTransformer extends AbstractMojo {
                         throw new MojoExecutionException("Failed to process class file: " + classFile, e);
                     }
                 }
+                generateComponentIndex(outputDirectory);
             }
         }
 
@@ -118,6 +170,7 @@ public class EntityTransformer extends AbstractMojo {
                         throw new MojoExecutionException("Failed to process class file: " + classFile, e);
                     }
                 }
+                generateComponentIndex(testOutputDirectory);
             } else {
                 getLog().warn("Test output directory does not exist: " + testOutputDirectory);
             }
@@ -152,6 +205,8 @@ public class EntityTransformer extends AbstractMojo {
             String className = javaClass.getClassName();
             getLog().debug("Processing class file: " + className + " from " + classFile.getName());
 
+            indexClass(javaClass, classFile);
+
             // Check for @Registry annotation
             for (AnnotationEntry annotation : javaClass.getAnnotationEntries()) {
                 if (annotation.getAnnotationType().equals("Lnet/vortexdevelopment/vinject/annotation/component/Registry;")) {
@@ -337,6 +392,15 @@ public class EntityTransformer extends AbstractMojo {
             il.dispose();
         }
 
+        // Assign the @Inject fields and call the setters through a generated <Component>$$Injector
+        List<InjectField> injectFields = addInjectFieldMethods(classGen, constantPool);
+        List<String> injectFieldNames = new ArrayList<>();
+        for (InjectField injectField : injectFields) {
+            injectFieldNames.add(injectField.name());
+        }
+        List<Method> injectSetters = findInjectSetters(classGen, injectFieldNames);
+        writeInjector(javaClass, classFile, injectFields, injectSetters);
+
         // Write the modified class to byte array
         try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
             classGen.getJavaClass().dump(outputStream);
@@ -344,35 +408,242 @@ public class EntityTransformer extends AbstractMojo {
         }
     }
 
+    /**
+     * Finds how the injector assigns every non-final reference @Inject field: through its setter if the setter
+     * only assigns the field (such as the setters generated above), otherwise through a package-private
+     * synthetic __vinject_set$field(Object) method added here.
+     *
+     * @return The fields, in declaration order
+     */
+    private List<InjectField> addInjectFieldMethods(ClassGen classGen, ConstantPoolGen constantPool) {
+        List<InjectField> injectFields = new ArrayList<>();
+        for (Field field : classGen.getFields()) {
+            if ((field.getAccessFlags() & (Constants.ACC_STATIC | Constants.ACC_FINAL)) != 0
+                    || field.getType() instanceof BasicType
+                    || Arrays.stream(field.getAnnotationEntries()).noneMatch(annotation -> annotation.getAnnotationType().equals(INJECT_ANNOTATION))) {
+                continue;
+            }
+            Method setter = findPlainSetter(classGen, field, constantPool);
+            injectFields.add(new InjectField(field.getName(), field.getType(), setter));
+            if (setter != null) {
+                continue;
+            }
+
+            String methodName = INJECT_FIELD_METHOD_PREFIX + field.getName();
+            if (classGen.containsMethod(methodName, "(Ljava/lang/Object;)V") != null) {
+                continue;
+            }
+            // Package-private, the injector is generated into the same package
+            MethodGen injectMethod = new MethodGen(
+                    Constants.ACC_SYNTHETIC,
+                    Type.VOID,
+                    new Type[]{Type.OBJECT},
+                    new String[]{"value"},
+                    methodName,
+                    classGen.getClassName(),
+                    new InstructionList(),
+                    constantPool
+            );
+            // this.field = (FieldType) value
+            InstructionList il = injectMethod.getInstructionList();
+            il.append(new ALOAD(0));
+            il.append(new ALOAD(1));
+            il.append(createCheckCast(field.getType(), constantPool));
+            il.append(new PUTFIELD(constantPool.addFieldref(classGen.getClassName(), field.getName(), field.getType().getSignature())));
+            il.append(InstructionConstants.RETURN);
+            addGeneratedMethod(classGen, injectMethod);
+        }
+        return injectFields;
+    }
+
+    /**
+     * Finds the non-private {@code set<Field>} method whose body is only {@code this.field = value}.
+     */
+    private Method findPlainSetter(ClassGen classGen, Field field, ConstantPoolGen constantPool) {
+        Method setter = classGen.containsMethod("set" + capitalize(field.getName()), "(" + field.getType().getSignature() + ")V");
+        if (setter == null || setter.getCode() == null
+                || (setter.getAccessFlags() & (Constants.ACC_STATIC | Constants.ACC_PRIVATE)) != 0) {
+            return null;
+        }
+        Instruction[] instructions = new InstructionList(setter.getCode().getCode()).getInstructions();
+        if (instructions.length != 4
+                || !(instructions[0] instanceof ALOAD first) || first.getIndex() != 0
+                || !(instructions[1] instanceof ALOAD second) || second.getIndex() != 1
+                || !(instructions[2] instanceof PUTFIELD putField)
+                || !putField.getFieldName(constantPool).equals(field.getName())
+                || !putField.getReferenceType(constantPool).getSignature().equals(new ObjectType(classGen.getClassName()).getSignature())
+                || instructions[3].getOpcode() != Const.RETURN) {
+            return null;
+        }
+        return setter;
+    }
+
+    /**
+     * Finds the non-private single argument setters the InjectionEngine invokes: @Inject methods and setters of @Inject fields.
+     */
+    private List<Method> findInjectSetters(ClassGen classGen, List<String> injectFields) {
+        List<Method> setters = new ArrayList<>();
+        for (Method method : classGen.getMethods()) {
+            if ((method.getAccessFlags() & (Constants.ACC_STATIC | Constants.ACC_PRIVATE)) != 0
+                    || method.getArgumentTypes().length != 1
+                    || method.getArgumentTypes()[0] instanceof BasicType) {
+                continue;
+            }
+            boolean injectMethod = Arrays.stream(method.getAnnotationEntries())
+                    .anyMatch(annotation -> annotation.getAnnotationType().equals(INJECT_ANNOTATION));
+            boolean fieldSetter = method.getName().length() > 3 && method.getName().startsWith("set")
+                    && injectFields.contains(Character.toLowerCase(method.getName().charAt(3)) + method.getName().substring(4));
+            if (injectMethod || fieldSetter) {
+                setters.add(method);
+            }
+        }
+        return setters;
+    }
+
+    /**
+     * Writes {@code <Component>$$Injector.class} and records it in the component index. Slots are the
+     * injected fields followed by the setters, {@code inject(instance, slot, value)} dispatches on the slot.
+     */
+    private void writeInjector(JavaClass componentClass, File componentClassFile, List<InjectField> injectFields, List<Method> injectSetters) throws IOException {
+        if (injectFields.isEmpty() && injectSetters.isEmpty()) {
+            return;
+        }
+        String componentName = componentClass.getClassName();
+        List<String> fieldNames = new ArrayList<>();
+        for (InjectField injectField : injectFields) {
+            fieldNames.add(injectField.name());
+        }
+        ClassGen injector = createCompanionClass(componentClass, componentClassFile, INJECTOR_SUFFIX, INJECTOR_INTERFACE, fieldNames);
+        ConstantPoolGen constantPool = injector.getConstantPool();
+
+        List<String> setterKeys = new ArrayList<>();
+        for (Method setter : injectSetters) {
+            setterKeys.add(setter.getName() + setter.getSignature());
+        }
+        addStringArrayMethod(injector, "getSetters", setterKeys);
+
+        MethodGen inject = new MethodGen(
+                Constants.ACC_PUBLIC,
+                Type.VOID,
+                new Type[]{Type.OBJECT, Type.INT, Type.OBJECT},
+                new String[]{"instance", "slot", "value"},
+                "inject",
+                injector.getClassName(),
+                new InstructionList(),
+                constantPool
+        );
+
+        // if (slot == i) { ((Component) instance).<field or setter>(value); return; } for every slot
+        InstructionList il = inject.getInstructionList();
+        BranchHandle previous = null;
+        int slots = injectFields.size() + injectSetters.size();
+        for (int slot = 0; slot < slots; slot++) {
+            InstructionHandle check = il.append(new ILOAD(2));
+            if (previous != null) {
+                previous.setTarget(check);
+            }
+            il.append(new PUSH(constantPool, slot));
+            previous = il.append(new IF_ICMPNE(null));
+            il.append(new ALOAD(1));
+            il.append(new CHECKCAST(constantPool.addClass(componentName)));
+            il.append(new ALOAD(3));
+            if (slot < injectFields.size()) {
+                InjectField injectField = injectFields.get(slot);
+                if (injectField.setter() != null) {
+                    il.append(createCheckCast(injectField.type(), constantPool));
+                    il.append(new INVOKEVIRTUAL(constantPool.addMethodref(componentName,
+                            injectField.setter().getName(), injectField.setter().getSignature())));
+                } else {
+                    il.append(new INVOKEVIRTUAL(constantPool.addMethodref(componentName,
+                            INJECT_FIELD_METHOD_PREFIX + injectField.name(), "(Ljava/lang/Object;)V")));
+                }
+            } else {
+                Method setter = injectSetters.get(slot - injectFields.size());
+                il.append(createCheckCast(setter.getArgumentTypes()[0], constantPool));
+                il.append(new INVOKEVIRTUAL(constantPool.addMethodref(componentName, setter.getName(), setter.getSignature())));
+                if (setter.getReturnType().getSize() > 0) {
+                    il.append(setter.getReturnType().getSize() == 2 ? InstructionConstants.POP2 : InstructionConstants.POP);
+                }
+            }
+            il.append(InstructionConstants.RETURN);
+        }
+        // throw new IllegalArgumentException("Unknown injection slot of <Component>: " + slot)
+        InstructionHandle unknown = il.append(new NEW(constantPool.addClass("java.lang.IllegalArgumentException")));
+        il.append(InstructionConstants.DUP);
+        il.append(new PUSH(constantPool, "Unknown injection slot of " + componentName + ": "));
+        il.append(new ILOAD(2));
+        il.append(new INVOKESTATIC(constantPool.addMethodref("java.lang.String", "valueOf", "(I)Ljava/lang/String;")));
+        il.append(new INVOKEVIRTUAL(constantPool.addMethodref("java.lang.String", "concat", "(Ljava/lang/String;)Ljava/lang/String;")));
+        il.append(new INVOKESPECIAL(constantPool.addMethodref("java.lang.IllegalArgumentException", "<init>", "(Ljava/lang/String;)V")));
+        il.append(InstructionConstants.ATHROW);
+        if (previous != null) {
+            previous.setTarget(unknown);
+        }
+        addGeneratedMethod(injector, inject);
+
+        writeCompanionClass(injector, componentClassFile, INJECTOR_SUFFIX);
+        indexedInjectors.put(componentName, injector.getClassName());
+    }
+
+    /**
+     * An @Inject field of a component and the setter assigning it, null if it is assigned through a generated method.
+     */
+    private record InjectField(String name, Type type, Method setter) {
+    }
+
+    private static CHECKCAST createCheckCast(Type type, ConstantPoolGen constantPool) {
+        return new CHECKCAST(type instanceof ArrayType arrayType
+                ? constantPool.addArrayClass(arrayType)
+                : constantPool.addClass((ObjectType) type));
+    }
+
     private byte[] modifyEntityClass(JavaClass javaClass, File classFile) throws IOException {
         // Modify the class using BCEL
         ClassGen classGen = new ClassGen(javaClass);
         ConstantPoolGen constantPool = classGen.getConstantPool();
 
-        // Check if the class is already transformed by checking for __vinject_dirty_fields
+        // Check if the class is already transformed by checking for __vinject_dirty_mask
         boolean alreadyTransformed = Arrays.stream(classGen.getFields())
-                .anyMatch(field -> field.getName().equals("__vinject_dirty_fields"));
+                .anyMatch(field -> field.getName().equals(DIRTY_MASK_FIELD));
 
         if (alreadyTransformed) {
             getLog().info("Class " + javaClass.getClassName() + " is already transformed, skipping.");
             return null;
         }
 
-        // Add the __vinject_dirty_fields field with inline initialization
-        String modifiedFieldName = "__vinject_dirty_fields";
-        ObjectType setType = new ObjectType("java.util.Set");
-        FieldGen modifiedFieldsField = new FieldGen(
+        // Assign every instance field a bit in declaration order
+        List<String> trackedFields = new ArrayList<>();
+        for (Field field : classGen.getFields()) {
+            if ((field.getAccessFlags() & (Constants.ACC_STATIC | Constants.ACC_SYNTHETIC)) == 0) {
+                trackedFields.add(field.getName());
+            }
+        }
+        DirtyMask dirtyMask = new DirtyMask(classGen.getClassName(), trackedFields, constantPool);
+
+        FieldGen dirtyMaskField = new FieldGen(
                 Constants.ACC_PRIVATE,
-                setType,
-                modifiedFieldName,
+                dirtyMask.getType(),
+                DIRTY_MASK_FIELD,
+                constantPool
+        );
+        classGen.addField(dirtyMaskField.getField());
+
+        // Setters update the mask through a VarHandle, so concurrent setters of different fields keep both bits
+        FieldGen dirtyMaskHandleField = new FieldGen(
+                Constants.ACC_PRIVATE | Constants.ACC_STATIC | Constants.ACC_FINAL | Constants.ACC_SYNTHETIC,
+                VAR_HANDLE,
+                DIRTY_MASK_HANDLE_FIELD,
                 constantPool
         );
-        classGen.addField(modifiedFieldsField.getField());
+        classGen.addField(dirtyMaskHandleField.getField());
+        addStaticInitializer(classGen, constantPool, dirtyMask.initHandle());
 
         // Modify all methods
         for (Method method : classGen.getMethods()) {
             if (method.getName().equals("<init>")) {
-                modifyConstructor(classGen, method, constantPool, modifiedFieldName);
+                if (dirtyMask.isWide()) {
+                    modifyConstructor(classGen, method, constantPool, dirtyMask.allocate());
+                }
                 continue;
             }
 
@@ -384,27 +655,31 @@ public class EntityTransformer extends AbstractMojo {
             // Check for @Cached annotation
             String cachedFieldName = extractCachedAnnotationValue(method);
             if (cachedFieldName != null) {
-                enhanceCachedMethod(classGen, method, constantPool, modifiedFieldName, cachedFieldName);
+                enhanceCachedMethod(classGen, method, constantPool, dirtyMask, cachedFieldName);
                 continue;
             }
 
             // If it's a setter, enhance it
             if (method.getName().startsWith("set") && method.getArgumentTypes().length == 1) {
-                enhanceSetter(classGen, method, constantPool, modifiedFieldName);
+                enhanceSetter(classGen, method, constantPool, dirtyMask);
             }
         }
 
         // Add missing getters/setters if they don't exist
-        addMissingGettersSetters(classGen, constantPool, modifiedFieldName);
+        addMissingGettersSetters(classGen, constantPool, dirtyMask);
 
-        // Add reset method to clear modifiedFields
-        addResetMethod(classGen, constantPool);
+        // Add the bit lookup, the mask accessors and the name based compatibility methods
+        addFieldIndexMethod(classGen, constantPool, dirtyMask);
+        addIsFieldModifiedMethods(classGen, constantPool, dirtyMask);
+        addResetMethods(classGen, constantPool, dirtyMask);
+        addIsDirtyMethod(classGen, constantPool, dirtyMask);
+        addDirtyMaskMethod(classGen, constantPool, dirtyMask);
 
-        // Add isFieldModified method
-        addIsFieldModifiedMethod(classGen, constantPool);
+        // Map the plain columns of a row straight into the fields
+        List<String> mappedFields = addMapRowMethod(classGen, constantPool);
 
-        // Add __vinject_isDirty method
-        addIsDirtyMethod(classGen, constantPool);
+        // Bind the column fields straight into insert and update statements
+        addBindColumnsMethod(classGen, constantPool, dirtyMask);
 
         // Write the modified class to byte array
         byte[] bcelBytes;
@@ -413,19 +688,25 @@ public class EntityTransformer extends AbstractMojo {
             bcelBytes = out.toByteArray();
         }
 
-        ClassReader cr = new ClassReader(bcelBytes);
-
-        ClassWriter cw = new ClassWriter(
-                ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS
-        );
-
-        cr.accept(cw, ClassReader.EXPAND_FRAMES);
+        byte[] finalBytes = computeFrames(bcelBytes);
 
-        byte[] finalBytes = cw.toByteArray();
+        // <Entity>$$RowMapper and <Entity>$$Binder delegate to the generated entity methods, which can access private fields
+        String entityName = javaClass.getClassName();
+        if (!mappedFields.isEmpty()) {
+            ClassGen rowMapper = createCompanionClass(javaClass, classFile, ROW_MAPPER_SUFFIX, ROW_MAPPER_INTERFACE, mappedFields);
+            addDelegatingMethod(rowMapper, entityName, "map", Type.VOID, new Type[]{RESULT_SET, new ArrayType(Type.INT, 1)}, MAP_ROW_METHOD, true);
+            writeCompanionClass(rowMapper, classFile, ROW_MAPPER_SUFFIX);
+        }
+        ClassGen binder = createCompanionClass(javaClass, classFile, BINDER_SUFFIX, BINDER_INTERFACE, dirtyMask.getFields());
+        addDelegatingMethod(binder, entityName, "bind", Type.VOID, new Type[]{PREPARED_STATEMENT, new ArrayType(Type.INT, 1)}, BIND_COLUMNS_METHOD, true);
+        addDelegatingMethod(binder, entityName, "isModified", Type.BOOLEAN, new Type[]{Type.INT}, "isFieldModified", false);
+        addDelegatingMethod(binder, entityName, "resetModified", Type.VOID, Type.NO_ARGS, "resetModifiedFields", false);
+        addDelegatingMethod(binder, entityName, "resetModified", Type.VOID, new Type[]{Type.INT}, "resetFieldModified", false);
+        writeCompanionClass(binder, classFile, BINDER_SUFFIX);
         return finalBytes;
     }
 
-    private void enhanceSetter(ClassGen classGen, Method method, ConstantPoolGen constantPool, String modifiedFieldName) {
+    private void enhanceSetter(ClassGen classGen, Method method, ConstantPoolGen constantPool, DirtyMask dirtyMask) {
         MethodGen mg = new MethodGen(method, classGen.getClassName(), constantPool);
         InstructionList il = mg.getInstructionList();
         if (il == null) return;
@@ -435,6 +716,7 @@ public class EntityTransformer extends AbstractMojo {
 
         // Try to find the field name from the setter name (e.g., setAmount -> amount)
         String methodName = method.getName();
+        if (methodName.length() <= 3) return;
         String fieldName = Character.toLowerCase(methodName.charAt(3)) + methodName.substring(4);
 
         // However, it's safer to look at the PUTFIELD instruction if it exists
@@ -446,19 +728,13 @@ public class EntityTransformer extends AbstractMojo {
             }
         }
 
-        InstructionList inject = new InstructionList();
-        inject.append(new ALOAD(0)); // this
-        inject.append(new GETFIELD(constantPool.addFieldref(
-                classGen.getClassName(),
-                modifiedFieldName,
-                "Ljava/util/Set;"))
-        );
-        inject.append(new PUSH(constantPool, fieldName)); // "fieldName"
-        inject.append(new INVOKEINTERFACE(constantPool.addInterfaceMethodref(
-                "java/util/Set", "add", "(Ljava/lang/Object;)Z"), (short) 2));
-        inject.append(new POP());
+        int index = dirtyMask.indexOf(fieldName);
+        if (index < 0) {
+            getLog().debug("Setter " + methodName + " does not write a tracked field, skipping");
+            return;
+        }
 
-        il.insert(start, inject);
+        il.insert(start, dirtyMask.mark(index));
 
         mg.setMaxStack();
         mg.setMaxLocals();
@@ -499,10 +775,10 @@ public class EntityTransformer extends AbstractMojo {
      * @param classGen The class generator
      * @param method The method to enhance
      * @param constantPool The constant pool
-     * @param modifiedFieldName The name of the modifiedFields field
+     * @param dirtyMask The dirty mask of the entity
      * @param fieldName The field name to track (from @Cached annotation)
      */
-    private void enhanceCachedMethod(ClassGen classGen, Method method, ConstantPoolGen constantPool, String modifiedFieldName, String fieldName) {
+    private void enhanceCachedMethod(ClassGen classGen, Method method, ConstantPoolGen constantPool, DirtyMask dirtyMask, String fieldName) {
         MethodGen mg = new MethodGen(method, classGen.getClassName(), constantPool);
         InstructionList il = mg.getInstructionList();
         if (il == null) return;
@@ -510,19 +786,14 @@ public class EntityTransformer extends AbstractMojo {
         InstructionHandle start = il.getStart();
         if (start == null) return;
 
-        InstructionList inject = new InstructionList();
-        inject.append(new ALOAD(0)); // this
-        inject.append(new GETFIELD(constantPool.addFieldref(
-                classGen.getClassName(),
-                modifiedFieldName,
-                "Ljava/util/Set;"))
-        );
-        inject.append(new PUSH(constantPool, fieldName)); // "fieldName"
-        inject.append(new INVOKEINTERFACE(constantPool.addInterfaceMethodref(
-                "java/util/Set", "add", "(Ljava/lang/Object;)Z"), (short) 2));
-        inject.append(new POP());
+        int index = dirtyMask.indexOf(fieldName);
+        if (index < 0) {
+            getLog().warn("@CachedField(\"" + fieldName + "\") on " + classGen.getClassName() + "." + method.getName() +
+                          " does not name a field of the entity, modifications are not tracked");
+            return;
+        }
 
-        il.insert(start, inject);
+        il.insert(start, dirtyMask.mark(index));
 
         mg.setMaxStack();
         mg.setMaxLocals();
@@ -533,13 +804,14 @@ public class EntityTransformer extends AbstractMojo {
     }
 
     /**
-     * Adds getter and setter methods for each field if they don't already exist.
+     * Adds getter and setter methods for each instance field if they don't already exist.
      */
-    private void addMissingGettersSetters(ClassGen classGen, ConstantPoolGen constantPool, String modifiedFieldName) {
+    private void addMissingGettersSetters(ClassGen classGen, ConstantPoolGen constantPool, DirtyMask dirtyMask) {
         Field[] fields = classGen.getFields();
         for (Field field : fields) {
             String fieldName = field.getName();
-            if (fieldName.equals(modifiedFieldName)) {
+            int index = dirtyMask.indexOf(fieldName);
+            if (index < 0) {
                 continue;
             }
             Type fieldType = field.getType();
@@ -590,25 +862,15 @@ public class EntityTransformer extends AbstractMojo {
                         constantPool
                 );
                 setter.getInstructionList().append(new ALOAD(0));   // this
-                setter.getInstructionList().append(new ALOAD(1));   // value
+                setter.getInstructionList().append(InstructionFactory.createLoad(fieldType, 1));   // value
                 setter.getInstructionList().append(new PUTFIELD(constantPool.addFieldref(
                         classGen.getClassName(),
                         fieldName,
                         fieldType.getSignature()
                 )));
 
-                // Add modifiedFields.add("fieldName");
-                setter.getInstructionList().append(new ALOAD(0)); // this
-                setter.getInstructionList().append(new GETFIELD(constantPool.addFieldref(
-                        classGen.getClassName(),
-                        modifiedFieldName,
-                        "Ljava/util/Set;"))
-                );
-                setter.getInstructionList().append(new PUSH(constantPool, fieldName)); // "fieldName"
-                setter.getInstructionList().append(new INVOKEINTERFACE(constantPool.addInterfaceMethodref(
-                        "java/util/Set", "add", "(Ljava/lang/Object;)Z"), (short) 2));
-                // Discard the boolean result of Set.add(...)
-                setter.getInstructionList().append(new POP());
+                // Mark the field's bit as modified
+                setter.getInstructionList().append(dirtyMask.mark(index));
 
                 setter.getInstructionList().append(InstructionFactory.createReturn(Type.VOID));
                 setter.setMaxStack();
@@ -622,41 +884,90 @@ public class EntityTransformer extends AbstractMojo {
     }
 
     /**
-     * Adds a __vinject_markClean method to clear the __vinject_dirty_fields set.
+     * Adds a static __vinject_fieldIndex(String) method returning the bit of a field, or -1 if it is not tracked.
      */
-    private void addResetMethod(ClassGen classGen, ConstantPoolGen constantPool) {
-        MethodGen resetMethod = new MethodGen(
-                Constants.ACC_PUBLIC,
-                Type.VOID,
-                Type.NO_ARGS,
-                null,
-                "__vinject_markClean",
+    private void addFieldIndexMethod(ClassGen classGen, ConstantPoolGen constantPool, DirtyMask dirtyMask) {
+        MethodGen fieldIndexMethod = new MethodGen(
+                Constants.ACC_PUBLIC | Constants.ACC_STATIC,
+                Type.INT,
+                new Type[]{Type.STRING},
+                new String[]{"fieldName"},
+                "__vinject_fieldIndex",
                 classGen.getClassName(),
                 new InstructionList(),
                 constantPool
         );
-        resetMethod.getInstructionList().append(new ALOAD(0));
-        resetMethod.getInstructionList().append(new GETFIELD(constantPool.addFieldref(
-                classGen.getClassName(),
-                "__vinject_dirty_fields",
-                "Ljava/util/Set;"))
-        );
-        resetMethod.getInstructionList().append(new INVOKEINTERFACE(constantPool.addInterfaceMethodref(
-                "java/util/Set", "clear", "()V"), (short) 1));
-        resetMethod.getInstructionList().append(InstructionFactory.createReturn(Type.VOID));
-        resetMethod.setMaxStack();
-        resetMethod.setMaxLocals();
-        resetMethod.removeLineNumbers();
-        resetMethod.removeLocalVariables();
-        classGen.addMethod(resetMethod.getMethod());
-        resetMethod.getInstructionList().dispose();
+        InstructionList il = fieldIndexMethod.getInstructionList();
+
+        // if (fieldName.equals("name")) return index; for every tracked field
+        int equals = constantPool.addMethodref("java.lang.String", "equals", "(Ljava/lang/Object;)Z");
+        BranchHandle previous = null;
+        List<String> fields = dirtyMask.getFields();
+        for (int i = 0; i < fields.size(); i++) {
+            InstructionHandle check = il.append(new ALOAD(0));
+            if (previous != null) {
+                previous.setTarget(check);
+            }
+            il.append(new PUSH(constantPool, fields.get(i)));
+            il.append(new INVOKEVIRTUAL(equals));
+            previous = il.append(new IFEQ(null));
+            il.append(new PUSH(constantPool, i));
+            il.append(InstructionConstants.IRETURN);
+        }
+        InstructionHandle notFound = il.append(InstructionConstants.ICONST_M1);
+        if (previous != null) {
+            previous.setTarget(notFound);
+        }
+        il.append(InstructionConstants.IRETURN);
+
+        addGeneratedMethod(classGen, fieldIndexMethod);
     }
 
     /**
-     * Adds an isFieldModified method to check if a field has been modified.
+     * Adds isFieldModified(int), reading a bit of the mask, and the isFieldModified(String) shim.
      */
-    private void addIsFieldModifiedMethod(ClassGen classGen, ConstantPoolGen constantPool) {
-        MethodGen isFieldModifiedMethod = new MethodGen(
+    private void addIsFieldModifiedMethods(ClassGen classGen, ConstantPoolGen constantPool, DirtyMask dirtyMask) {
+        MethodGen byIndex = new MethodGen(
+                Constants.ACC_PUBLIC,
+                Type.BOOLEAN,
+                new Type[]{Type.INT},
+                new String[]{"index"},
+                "isFieldModified",
+                classGen.getClassName(),
+                new InstructionList(),
+                constantPool
+        );
+
+        // if (index < 0 || index >= fields) return false;
+        InstructionList il = byIndex.getInstructionList();
+        il.append(new ILOAD(1));
+        BranchHandle negative = il.append(new IFLT(null));
+        il.append(new ILOAD(1));
+        il.append(new PUSH(constantPool, dirtyMask.getFields().size()));
+        BranchHandle beyond = il.append(new IF_ICMPGE(null));
+
+        // return (int) ((mask >>> index) & 1L), reading the word index >>> 6 of a wide mask
+        il.append(new ALOAD(0));
+        il.append(dirtyMask.getField());
+        if (dirtyMask.isWide()) {
+            il.append(new ILOAD(1));
+            il.append(new PUSH(constantPool, 6));
+            il.append(InstructionConstants.IUSHR);
+            il.append(InstructionConstants.LALOAD);
+        }
+        il.append(new ILOAD(1));
+        il.append(InstructionConstants.LUSHR);
+        il.append(InstructionConstants.LCONST_1);
+        il.append(InstructionConstants.LAND);
+        il.append(InstructionConstants.L2I);
+        il.append(InstructionConstants.IRETURN);
+        InstructionHandle outOfRange = il.append(InstructionConstants.ICONST_0);
+        il.append(InstructionConstants.IRETURN);
+        negative.setTarget(outOfRange);
+        beyond.setTarget(outOfRange);
+        addGeneratedMethod(classGen, byIndex);
+
+        MethodGen byName = new MethodGen(
                 Constants.ACC_PUBLIC,
                 Type.BOOLEAN,
                 new Type[]{Type.STRING},
@@ -667,35 +978,96 @@ public class EntityTransformer extends AbstractMojo {
                 constantPool
         );
 
-        // this.__vinject_dirty_fields.contains(fieldName)
-        isFieldModifiedMethod.getInstructionList().append(new ALOAD(0));
-        isFieldModifiedMethod.getInstructionList().append(
-                new GETFIELD(constantPool.addFieldref(
-                        classGen.getClassName(),
-                        "__vinject_dirty_fields",
-                        "Ljava/util/Set;"))
+        // int index = __vinject_fieldIndex(fieldName); return index >= 0 && isFieldModified(index);
+        il = byName.getInstructionList();
+        il.append(new ALOAD(1));
+        il.append(new INVOKESTATIC(constantPool.addMethodref(classGen.getClassName(), "__vinject_fieldIndex", "(Ljava/lang/String;)I")));
+        il.append(new ISTORE(2));
+        il.append(new ILOAD(2));
+        BranchHandle untracked = il.append(new IFLT(null));
+        il.append(new ALOAD(0));
+        il.append(new ILOAD(2));
+        il.append(new INVOKEVIRTUAL(constantPool.addMethodref(classGen.getClassName(), "isFieldModified", "(I)Z")));
+        il.append(InstructionConstants.IRETURN);
+        untracked.setTarget(il.append(InstructionConstants.ICONST_0));
+        il.append(InstructionConstants.IRETURN);
+        addGeneratedMethod(classGen, byName);
+    }
+
+    /**
+     * Adds resetModifiedFields() clearing the mask, resetFieldModified(int) atomically clearing one bit,
+     * and __vinject_markClean() delegating to resetModifiedFields().
+     */
+    private void addResetMethods(ClassGen classGen, ConstantPoolGen constantPool, DirtyMask dirtyMask) {
+        MethodGen resetMethod = new MethodGen(
+                Constants.ACC_PUBLIC,
+                Type.VOID,
+                Type.NO_ARGS,
+                null,
+                "resetModifiedFields",
+                classGen.getClassName(),
+                new InstructionList(),
+                constantPool
+        );
+        InstructionList il = resetMethod.getInstructionList();
+        il.append(new ALOAD(0));
+        if (dirtyMask.isWide()) {
+            // Arrays.fill(this.__vinject_dirty_mask, 0L)
+            il.append(dirtyMask.getField());
+            il.append(InstructionConstants.LCONST_0);
+            il.append(new INVOKESTATIC(constantPool.addMethodref("java.util.Arrays", "fill", "([JJ)V")));
+        } else {
+            il.append(InstructionConstants.LCONST_0);
+            il.append(dirtyMask.putField());
+        }
+        il.append(InstructionConstants.RETURN);
+        addGeneratedMethod(classGen, resetMethod);
+
+        MethodGen resetFieldMethod = new MethodGen(
+                Constants.ACC_PUBLIC,
+                Type.VOID,
+                new Type[]{Type.INT},
+                new String[]{"index"},
+                "resetFieldModified",
+                classGen.getClassName(),
+                new InstructionList(),
+                constantPool
+        );
+        // if (index >= 0 && index < fields) clear the bit, a setter running concurrently keeps its own bit
+        il = resetFieldMethod.getInstructionList();
+        il.append(new ILOAD(1));
+        BranchHandle negative = il.append(new IFLT(null));
+        il.append(new ILOAD(1));
+        il.append(new PUSH(constantPool, dirtyMask.getFields().size()));
+        BranchHandle beyond = il.append(new IF_ICMPGE(null));
+        il.append(dirtyMask.clear());
+        InstructionHandle done = il.append(InstructionConstants.RETURN);
+        negative.setTarget(done);
+        beyond.setTarget(done);
+        addGeneratedMethod(classGen, resetFieldMethod);
+
+        MethodGen markCleanMethod = new MethodGen(
+                Constants.ACC_PUBLIC,
+                Type.VOID,
+                Type.NO_ARGS,
+                null,
+                "__vinject_markClean",
+                classGen.getClassName(),
+                new InstructionList(),
+                constantPool
         );
-        isFieldModifiedMethod.getInstructionList().append(new ALOAD(1)); // fieldName
-        isFieldModifiedMethod.getInstructionList().append(new INVOKEINTERFACE(
-                constantPool.addInterfaceMethodref("java/util/Set", "contains", "(Ljava/lang/Object;)Z"),
-                2 // the number of argument slots (Set itself + the fieldName)
-        ));
-        isFieldModifiedMethod.getInstructionList().append(InstructionFactory.createReturn(Type.BOOLEAN));
-
-        // Finalize and add the method
-        isFieldModifiedMethod.setMaxStack();
-        isFieldModifiedMethod.setMaxLocals();
-        isFieldModifiedMethod.removeLineNumbers();
-        isFieldModifiedMethod.removeLocalVariables();
-        classGen.addMethod(isFieldModifiedMethod.getMethod());
-        isFieldModifiedMethod.getInstructionList().dispose();
+        il = markCleanMethod.getInstructionList();
+        il.append(new ALOAD(0));
+        il.append(new INVOKEVIRTUAL(constantPool.addMethodref(classGen.getClassName(), "resetModifiedFields", "()V")));
+        il.append(InstructionConstants.RETURN);
+        addGeneratedMethod(classGen, markCleanMethod);
     }
 
     /**
      * Adds a __vinject_isDirty method to check if any fields have been modified.
-     * Returns true if the dirty fields set is not empty.
+     * Returns true if any bit of the mask is set.
      */
-    private void addIsDirtyMethod(ClassGen classGen, ConstantPoolGen constantPool) {
+    private void addIsDirtyMethod(ClassGen classGen, ConstantPoolGen constantPool, DirtyMask dirtyMask) {
         MethodGen isDirtyMethod = new MethodGen(
                 Constants.ACC_PUBLIC,
                 Type.BOOLEAN,
@@ -707,48 +1079,479 @@ public class EntityTransformer extends AbstractMojo {
                 constantPool
         );
 
-        // return !this.__vinject_dirty_fields.isEmpty();
-        isDirtyMethod.getInstructionList().append(new ALOAD(0));
-        isDirtyMethod.getInstructionList().append(
-                new GETFIELD(constantPool.addFieldref(
-                        classGen.getClassName(),
-                        "__vinject_dirty_fields",
-                        "Ljava/util/Set;"))
+        // if (word != 0L) return true; for every word of the mask, then return false
+        InstructionList il = isDirtyMethod.getInstructionList();
+        List<BranchHandle> dirty = new ArrayList<>();
+        for (int word = 0; word < dirtyMask.getWords(); word++) {
+            il.append(new ALOAD(0));
+            il.append(dirtyMask.getField());
+            if (dirtyMask.isWide()) {
+                il.append(new PUSH(constantPool, word));
+                il.append(InstructionConstants.LALOAD);
+            }
+            il.append(InstructionConstants.LCONST_0);
+            il.append(InstructionConstants.LCMP);
+            dirty.add(il.append(new IFNE(null)));
+        }
+        il.append(InstructionConstants.ICONST_0);
+        il.append(InstructionConstants.IRETURN);
+        InstructionHandle isDirty = il.append(InstructionConstants.ICONST_1);
+        il.append(InstructionConstants.IRETURN);
+        dirty.forEach(branch -> branch.setTarget(isDirty));
+
+        addGeneratedMethod(classGen, isDirtyMethod);
+    }
+
+    /**
+     * Adds dirtyMask() returning the mask, a copy of it for entities with more than 64 fields.
+     */
+    private void addDirtyMaskMethod(ClassGen classGen, ConstantPoolGen constantPool, DirtyMask dirtyMask) {
+        MethodGen dirtyMaskMethod = new MethodGen(
+                Constants.ACC_PUBLIC,
+                dirtyMask.getType(),
+                Type.NO_ARGS,
+                null,
+                "dirtyMask",
+                classGen.getClassName(),
+                new InstructionList(),
+                constantPool
         );
-        isDirtyMethod.getInstructionList().append(new INVOKEINTERFACE(
-                constantPool.addInterfaceMethodref("java/util/Set", "isEmpty", "()Z"),
-                1 // argument slots
-        ));
-        
-        // Invert the result (isEmpty() returns true when empty, we want false)
-        // Use ICONST_1 and IXOR to flip the boolean
-        isDirtyMethod.getInstructionList().append(InstructionConstants.ICONST_1);
-        isDirtyMethod.getInstructionList().append(InstructionConstants.IXOR);
-        
-        isDirtyMethod.getInstructionList().append(InstructionFactory.createReturn(Type.BOOLEAN));
+        InstructionList il = dirtyMaskMethod.getInstructionList();
+        il.append(new ALOAD(0));
+        il.append(dirtyMask.getField());
+        if (dirtyMask.isWide()) {
+            il.append(new INVOKEVIRTUAL(constantPool.addMethodref("[J", "clone", "()Ljava/lang/Object;")));
+            il.append(new CHECKCAST(constantPool.addArrayClass((ArrayType) dirtyMask.getType())));
+        }
+        il.append(InstructionFactory.createReturn(dirtyMask.getType()));
+        addGeneratedMethod(classGen, dirtyMaskMethod);
+    }
+
+    /**
+     * Adds __vinject_mapRow(ResultSet, int[]) assigning every mappable column field from the row with a typed getter,
+     * {@code columns[slot]} holds the 1-based column index of a field, 0 to skip it.
+     * Fields are assigned directly, so mapping does not mark them as modified.
+     *
+     * @return The names of the mapped fields in slot order
+     */
+    private List<String> addMapRowMethod(ClassGen classGen, ConstantPoolGen constantPool) {
+        InstructionFactory factory = new InstructionFactory(classGen, constantPool);
+        MethodGen mapRowMethod = new MethodGen(
+                Constants.ACC_PUBLIC | Constants.ACC_SYNTHETIC,
+                Type.VOID,
+                new Type[]{RESULT_SET, new ArrayType(Type.INT, 1)},
+                new String[]{"resultSet", "columns"},
+                MAP_ROW_METHOD,
+                classGen.getClassName(),
+                new InstructionList(),
+                constantPool
+        );
+        mapRowMethod.addException("java.sql.SQLException");
+        InstructionList il = mapRowMethod.getInstructionList();
+
+        List<String> mappedFields = new ArrayList<>();
+        BranchHandle skip = null;
+        for (Field field : classGen.getFields()) {
+            if ((field.getAccessFlags() & (Constants.ACC_STATIC | Constants.ACC_SYNTHETIC)) != 0) {
+                continue;
+            }
+            InstructionList read = createColumnRead(field, factory, constantPool);
+            if (read == null) {
+                continue;
+            }
+
+            // int column = columns[slot]; if (column > 0) this.field = <read>;
+            InstructionHandle check = il.append(new ALOAD(2));
+            if (skip != null) {
+                skip.setTarget(check);
+            }
+            il.append(new PUSH(constantPool, mappedFields.size()));
+            il.append(InstructionConstants.IALOAD);
+            il.append(new ISTORE(3));
+            il.append(new ILOAD(3));
+            skip = il.append(new IFLE(null));
+            il.append(new ALOAD(0));
+            il.append(read);
+            il.append(new PUTFIELD(constantPool.addFieldref(classGen.getClassName(), field.getName(), field.getType().getSignature())));
+            mappedFields.add(field.getName());
+        }
+        InstructionHandle end = il.append(InstructionConstants.RETURN);
+        if (skip != null) {
+            skip.setTarget(end);
+        }
 
-        // Finalize and add the method
-        isDirtyMethod.setMaxStack();
-        isDirtyMethod.setMaxLocals();
-        isDirtyMethod.removeLineNumbers();
-        isDirtyMethod.removeLocalVariables();
-        classGen.addMethod(isDirtyMethod.getMethod());
-        isDirtyMethod.getInstructionList().dispose();
+        if (mappedFields.isEmpty()) {
+            il.dispose();
+            return mappedFields;
+        }
+        addGeneratedMethod(classGen, mapRowMethod);
+        return mappedFields;
     }
 
-    private void modifyConstructor(ClassGen classGen, Method method, ConstantPoolGen constantPool, String fieldName) {
+    /**
+     * Instructions reading the column of a field (index in local 3) as the field type,
+     * or null if the field is not a column the generated mapper can read.
+     */
+    private InstructionList createColumnRead(Field field, InstructionFactory factory, ConstantPoolGen constantPool) {
+        String temporalType = temporalType(field);
+        boolean column = isColumnField(field);
+        if (temporalType == null && !column) {
+            return null;
+        }
+
+        Type type = field.getType();
+        InstructionList il = new InstructionList();
+        il.append(new ALOAD(1));
+        il.append(new ILOAD(3));
+
+        if (temporalType != null) {
+            // Same conversion as the reflective mapping, other field types are left to it
+            String typeName = type.toString();
+            boolean supported = switch (temporalType) {
+                case "DATE" -> Set.of("java.sql.Date", "java.util.Date", "java.lang.Object").contains(typeName);
+                case "TIME" -> Set.of("java.sql.Time", "java.util.Date", "java.lang.Object").contains(typeName);
+                case "TIMESTAMP" -> Set.of("long", "java.lang.Long", "java.lang.Number", "java.lang.Object").contains(typeName);
+                default -> false;
+            };
+            if (!supported) {
+                il.dispose();
+                return null;
+            }
+            il.append(new PUSH(constantPool, temporalType));
+            il.append(factory.createInvoke(ROW_MAPPER_SUPPORT, "readTemporal", Type.OBJECT,
+                    new Type[]{RESULT_SET, Type.INT, Type.STRING}, Const.INVOKESTATIC));
+            if (type.equals(Type.LONG)) {
+                il.append(factory.createInvoke(ROW_MAPPER_SUPPORT, "toLong", Type.LONG, new Type[]{Type.OBJECT}, Const.INVOKESTATIC));
+            } else if (!typeName.equals("java.lang.Object")) {
+                il.append(factory.createCheckCast((ObjectType) type));
+            }
+            return il;
+        }
+
+        if (type instanceof BasicType) {
+            String getter = resultSetGetter(type);
+            if (getter == null) {
+                il.dispose();
+                return null;
+            }
+            il.append(factory.createInvoke(RESULT_SET.getClassName(), getter, type, new Type[]{Type.INT}, Const.INVOKEINTERFACE));
+            return il;
+        }
+
+        if (type.equals(Type.STRING)) {
+            il.append(factory.createInvoke(RESULT_SET.getClassName(), "getString", Type.STRING, new Type[]{Type.INT}, Const.INVOKEINTERFACE));
+            return il;
+        }
+
+        Type primitive = unboxedType(type);
+        if (primitive != null) {
+            // value = getX(column); this.field = resultSet.wasNull() ? null : X.valueOf(value)
+            il.append(factory.createInvoke(RESULT_SET.getClassName(), resultSetGetter(primitive), primitive, new Type[]{Type.INT}, Const.INVOKEINTERFACE));
+            il.append(new ALOAD(1));
+            il.append(factory.createInvoke(RESULT_SET.getClassName(), "wasNull", Type.BOOLEAN, Type.NO_ARGS, Const.INVOKEINTERFACE));
+            BranchHandle notNull = il.append(new IFEQ(null));
+            il.append(primitive.getSize() == 2 ? InstructionConstants.POP2 : InstructionConstants.POP);
+            il.append(InstructionConstants.ACONST_NULL);
+            BranchHandle done = il.append(new GOTO(null));
+            notNull.setTarget(il.append(factory.createInvoke(type.toString(), "valueOf", type, new Type[]{primitive}, Const.INVOKESTATIC)));
+            done.setTarget(il.append(InstructionConstants.NOP));
+            return il;
+        }
+
+        // Enums, UUIDs, byte arrays and anything else go through the shared conversion
+        il.append(new LDC(type instanceof ArrayType arrayType
+                ? constantPool.addArrayClass(arrayType)
+                : constantPool.addClass((ObjectType) type)));
+        il.append(factory.createInvoke(ROW_MAPPER_SUPPORT, "readObject", Type.OBJECT,
+                new Type[]{RESULT_SET, Type.INT, new ObjectType("java.lang.Class")}, Const.INVOKESTATIC));
+        il.append(type instanceof ArrayType arrayType
+                ? new CHECKCAST(constantPool.addArrayClass(arrayType))
+                : factory.createCheckCast((ObjectType) type));
+        return il;
+    }
+
+    private static String resultSetGetter(Type primitive) {
+        return switch (primitive.getType()) {
+            case Const.T_INT -> "getInt";
+            case Const.T_LONG -> "getLong";
+            case Const.T_DOUBLE -> "getDouble";
+            case Const.T_FLOAT -> "getFloat";
+            case Const.T_SHORT -> "getShort";
+            case Const.T_BYTE -> "getByte";
+            case Const.T_BOOLEAN -> "getBoolean";
+            default -> null;
+        };
+    }
+
+    private static Type unboxedType(Type type) {
+        return switch (type.toString()) {
+            case "java.lang.Integer" -> Type.INT;
+            case "java.lang.Long" -> Type.LONG;
+            case "java.lang.Double" -> Type.DOUBLE;
+            case "java.lang.Float" -> Type.FLOAT;
+            case "java.lang.Short" -> Type.SHORT;
+            case "java.lang.Byte" -> Type.BYTE;
+            case "java.lang.Boolean" -> Type.BOOLEAN;
+            default -> null;
+        };
+    }
+
+    /**
+     * Adds __vinject_bindColumns(PreparedStatement, int[]) binding every column field with a typed setter,
+     * {@code parameters[slot]} holds the 1-based parameter index of the field with dirty mask bit {@code slot}, 0 to skip it.
+     */
+    private void addBindColumnsMethod(ClassGen classGen, ConstantPoolGen constantPool, DirtyMask dirtyMask) {
+        InstructionFactory factory = new InstructionFactory(classGen, constantPool);
+        MethodGen bindMethod = new MethodGen(
+                Constants.ACC_PUBLIC | Constants.ACC_SYNTHETIC,
+                Type.VOID,
+                new Type[]{PREPARED_STATEMENT, new ArrayType(Type.INT, 1)},
+                new String[]{"statement", "parameters"},
+                BIND_COLUMNS_METHOD,
+                classGen.getClassName(),
+                new InstructionList(),
+                constantPool
+        );
+        bindMethod.addException("java.sql.SQLException");
+        InstructionList il = bindMethod.getInstructionList();
+
+        BranchHandle skip = null;
+        for (Field field : classGen.getFields()) {
+            int slot = dirtyMask.indexOf(field.getName());
+            if (slot < 0 || (!isColumnField(field) && temporalType(field) == null)) {
+                continue;
+            }
+
+            // int parameter = parameters[slot]; if (parameter > 0) statement.setX(parameter, this.field);
+            InstructionHandle check = il.append(new ALOAD(2));
+            if (skip != null) {
+                skip.setTarget(check);
+            }
+            il.append(new PUSH(constantPool, slot));
+            il.append(InstructionConstants.IALOAD);
+            il.append(new ISTORE(3));
+            il.append(new ILOAD(3));
+            skip = il.append(new IFLE(null));
+            il.append(createColumnBind(classGen, field, factory, constantPool));
+        }
+        InstructionHandle end = il.append(InstructionConstants.RETURN);
+        if (skip != null) {
+            skip.setTarget(end);
+        }
+        addGeneratedMethod(classGen, bindMethod);
+    }
+
+    /**
+     * Instructions binding a field to the statement parameter in local 3, the same way as
+     * RepositoryUtils.setStatementParameter for everything without a typed setter.
+     */
+    private InstructionList createColumnBind(ClassGen classGen, Field field, InstructionFactory factory, ConstantPoolGen constantPool) {
+        Type type = field.getType();
+        InstructionList il = new InstructionList();
+        il.append(new ALOAD(1));
+        il.append(new ILOAD(3));
+        il.append(new ALOAD(0));
+        il.append(new GETFIELD(constantPool.addFieldref(classGen.getClassName(), field.getName(), type.getSignature())));
+
+        String setter = type instanceof BasicType ? resultSetGetter(type) : null;
+        if (temporalType(field) == null && setter != null) {
+            il.append(factory.createInvoke(PREPARED_STATEMENT.getClassName(), "s" + setter.substring(1), Type.VOID,
+                    new Type[]{Type.INT, type}, Const.INVOKEINTERFACE));
+            return il;
+        }
+        if (temporalType(field) == null && type.equals(Type.STRING)) {
+            il.append(factory.createInvoke(PREPARED_STATEMENT.getClassName(), "setString", Type.VOID,
+                    new Type[]{Type.INT, Type.STRING}, Const.INVOKEINTERFACE));
+            return il;
+        }
+
+        if (type instanceof BasicType) {
+            String boxName = boxedTypeName(type);
+            il.append(factory.createInvoke(boxName, "valueOf", new ObjectType(boxName), new Type[]{type}, Const.INVOKESTATIC));
+        }
+        il.append(factory.createInvoke(REPOSITORY_UTILS, temporalType(field) != null ? "setTemporalParameter" : "setStatementParameter",
+                Type.VOID, new Type[]{PREPARED_STATEMENT, Type.INT, Type.OBJECT}, Const.INVOKESTATIC));
+        return il;
+    }
+
+    private static String boxedTypeName(Type primitive) {
+        return switch (primitive.getType()) {
+            case Const.T_INT -> "java.lang.Integer";
+            case Const.T_LONG -> "java.lang.Long";
+            case Const.T_DOUBLE -> "java.lang.Double";
+            case Const.T_FLOAT -> "java.lang.Float";
+            case Const.T_SHORT -> "java.lang.Short";
+            case Const.T_BYTE -> "java.lang.Byte";
+            case Const.T_CHAR -> "java.lang.Character";
+            default -> "java.lang.Boolean";
+        };
+    }
+
+    private static boolean isColumnField(Field field) {
+        return Arrays.stream(field.getAnnotationEntries()).anyMatch(annotation ->
+                annotation.getAnnotationType().equals("Lnet/vortexdevelopment/vinject/annotation/database/Id;") ||
+                annotation.getAnnotationType().equals("Lnet/vortexdevelopment/vinject/annotation/database/Column;"));
+    }
+
+    /**
+     * The @Temporal type of a field, null if it is not temporal.
+     */
+    private static String temporalType(Field field) {
+        for (AnnotationEntry annotation : field.getAnnotationEntries()) {
+            if (!annotation.getAnnotationType().equals("Lnet/vortexdevelopment/vinject/annotation/database/Temporal;")) {
+                continue;
+            }
+            for (ElementValuePair pair : annotation.getElementValuePairs()) {
+                if (pair.getNameString().equals("value") && pair.getValue() instanceof EnumElementValue enumValue) {
+                    return enumValue.getEnumValueString();
+                }
+            }
+            return "TIMESTAMP";
+        }
+        return null;
+    }
+
+    /**
+     * Creates the {@code <Entity><suffix>} companion class of an entity, implementing the given interface with a public
+     * no-arg constructor and {@code getFields()} returning the field names.
+     */
+    private ClassGen createCompanionClass(JavaClass entityClass, File entityClassFile, String suffix, String interfaceName, List<String> fields) {
+        String companionName = entityClass.getClassName() + suffix;
+        ClassGen companion = new ClassGen(
+                companionName,
+                "java.lang.Object",
+                companionFileName(entityClassFile, suffix, ".java"),
+                Constants.ACC_PUBLIC | Constants.ACC_FINAL | Constants.ACC_SUPER | Constants.ACC_SYNTHETIC,
+                new String[]{interfaceName}
+        );
+        companion.setMajor(entityClass.getMajor());
+        companion.setMinor(entityClass.getMinor());
+        companion.addEmptyConstructor(Constants.ACC_PUBLIC);
+        ConstantPoolGen constantPool = companion.getConstantPool();
+
+        addStringArrayMethod(companion, "getFields", fields);
+        return companion;
+    }
+
+    /**
+     * Adds a method returning a constant String array: {@code return new String[]{"value", ...}}.
+     */
+    private void addStringArrayMethod(ClassGen classGen, String name, List<String> values) {
+        ConstantPoolGen constantPool = classGen.getConstantPool();
+        MethodGen method = new MethodGen(
+                Constants.ACC_PUBLIC,
+                new ArrayType(Type.STRING, 1),
+                Type.NO_ARGS,
+                null,
+                name,
+                classGen.getClassName(),
+                new InstructionList(),
+                constantPool
+        );
+        InstructionList il = method.getInstructionList();
+        il.append(new PUSH(constantPool, values.size()));
+        il.append(new ANEWARRAY(constantPool.addClass(Type.STRING)));
+        for (int i = 0; i < values.size(); i++) {
+            il.append(InstructionConstants.DUP);
+            il.append(new PUSH(constantPool, i));
+            il.append(new PUSH(constantPool, values.get(i)));
+            il.append(InstructionConstants.AASTORE);
+        }
+        il.append(InstructionConstants.ARETURN);
+        addGeneratedMethod(classGen, method);
+    }
+
+    /**
+     * Adds a companion method casting its first argument to the entity and calling an entity method with the remaining ones.
+     */
+    private void addDelegatingMethod(ClassGen companion, String entityName, String name, Type returnType, Type[] argumentTypes,
+                                     String targetName, boolean throwsSqlException) {
+        ConstantPoolGen constantPool = companion.getConstantPool();
+        Type[] companionArguments = new Type[argumentTypes.length + 1];
+        companionArguments[0] = Type.OBJECT;
+        System.arraycopy(argumentTypes, 0, companionArguments, 1, argumentTypes.length);
+        MethodGen method = new MethodGen(
+                Constants.ACC_PUBLIC,
+                returnType,
+                companionArguments,
+                null,
+                name,
+                companion.getClassName(),
+                new InstructionList(),
+                constantPool
+        );
+        if (throwsSqlException) {
+            method.addException("java.sql.SQLException");
+        }
+
+        InstructionList il = method.getInstructionList();
+        il.append(new ALOAD(1));
+        il.append(new CHECKCAST(constantPool.addClass(entityName)));
+        int local = 2;
+        for (Type argumentType : argumentTypes) {
+            il.append(InstructionFactory.createLoad(argumentType, local));
+            local += argumentType.getSize();
+        }
+        il.append(new INVOKEVIRTUAL(constantPool.addMethodref(entityName, targetName, Type.getMethodSignature(returnType, argumentTypes))));
+        il.append(InstructionFactory.createReturn(returnType));
+        addGeneratedMethod(companion, method);
+    }
+
+    private void writeCompanionClass(ClassGen companion, File entityClassFile, String suffix) throws IOException {
+        File companionFile = new File(entityClassFile.getParentFile(), companionFileName(entityClassFile, suffix, ".class"));
+        byte[] bcelBytes;
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            companion.getJavaClass().dump(out);
+            bcelBytes = out.toByteArray();
+        }
+        try (OutputStream outputStream = new FileOutputStream(companionFile)) {
+            outputStream.write(computeFrames(bcelBytes));
+        }
+        getLog().info("Generated " + companion.getClassName());
+    }
+
+    /**
+     * Recomputes the stack map frames of BCEL generated code with ASM.
+     */
+    private static byte[] computeFrames(byte[] classBytes) {
+        ClassReader cr = new ClassReader(classBytes);
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS);
+        cr.accept(cw, ClassReader.EXPAND_FRAMES);
+        return cw.toByteArray();
+    }
+
+    private static String companionFileName(File entityClassFile, String suffix, String extension) {
+        String name = entityClassFile.getName();
+        return name.substring(0, name.length() - ".class".length()) + suffix + extension;
+    }
+
+    private void addGeneratedMethod(ClassGen classGen, MethodGen method) {
+        method.setMaxStack();
+        method.setMaxLocals();
+        method.removeLineNumbers();
+        method.removeLocalVariables();
+        classGen.addMethod(method.getMethod());
+        method.getInstructionList().dispose();
+    }
+
+    private void modifyConstructor(ClassGen classGen, Method method, ConstantPoolGen constantPool, InstructionList initInstructions) {
         MethodGen methodGen = new MethodGen(method, classGen.getClassName(), constantPool);
         InstructionList instructionList = methodGen.getInstructionList();
-        InstructionFactory factory = new InstructionFactory(classGen, constantPool);
 
-        // Find the "super()" call in the constructor
+        // Find the "super()" call in the constructor, constructors delegating to this(...) are left alone
         InstructionHandle superCall = null;
         for (InstructionHandle handle : instructionList.getInstructionHandles()) {
             if (handle.getInstruction() instanceof INVOKESPECIAL) {
                 INVOKESPECIAL invokeSpecial = (INVOKESPECIAL) handle.getInstruction();
                 if (invokeSpecial.getMethodName(constantPool).equals("<init>")) {
-                    superCall = handle;
-                    break;
+                    String owner = invokeSpecial.getClassName(constantPool);
+                    if (owner.equals(classGen.getClassName())) {
+                        return;
+                    }
+                    if (owner.equals(classGen.getSuperclassName())) {
+                        superCall = handle;
+                        break;
+                    }
                 }
             }
         }
@@ -757,34 +1560,9 @@ public class EntityTransformer extends AbstractMojo {
             throw new IllegalStateException("No super() call found in constructor.");
         }
 
-        // Create instructions to initialize modifiedFields using Collections.newSetFromMap()
-        InstructionList initInstructions = new InstructionList();
-        initInstructions.append(InstructionConstants.ALOAD_0); // Push 'this' onto the stack
-        initInstructions.append(factory.createNew("java.util.concurrent.ConcurrentHashMap"));
-        initInstructions.append(InstructionConstants.DUP);
-        initInstructions.append(factory.createInvoke(
-                "java.util.concurrent.ConcurrentHashMap",
-                "<init>",
-                Type.VOID,
-                Type.NO_ARGS,
-                Constants.INVOKESPECIAL
-        ));
-        initInstructions.append(factory.createInvoke(
-                "java.util.Collections",
-                "newSetFromMap",
-                Type.getType("Ljava/util/Set;"),
-                new Type[]{Type.getType("Ljava/util/Map;")},
-                Constants.INVOKESTATIC
-        ));
-        initInstructions.append(factory.createPutField(
-                classGen.getClassName(),
-                fieldName,
-                Type.getType("Ljava/util/Set;")
-        ));
-
         // Insert initialization instructions after the "super()" call
         instructionList.append(superCall, initInstructions);
-        getLog().info("Appended initInstructions after superCall in constructor");
+        getLog().debug("Appended dirty mask initialization after superCall in constructor");
 
         // Update the method
         methodGen.setInstructionList(instructionList);
@@ -795,6 +1573,257 @@ public class EntityTransformer extends AbstractMojo {
         classGen.replaceMethod(method, methodGen.getMethod());
     }
 
+    /**
+     * Runs the given instructions first in the static initializer, creating one if the class has none.
+     */
+    private void addStaticInitializer(ClassGen classGen, ConstantPoolGen constantPool, InstructionList initInstructions) {
+        Method staticInitializer = classGen.containsMethod("<clinit>", "()V");
+        if (staticInitializer == null) {
+            initInstructions.append(InstructionConstants.RETURN);
+            MethodGen methodGen = new MethodGen(
+                    Constants.ACC_STATIC,
+                    Type.VOID,
+                    Type.NO_ARGS,
+                    null,
+                    "<clinit>",
+                    classGen.getClassName(),
+                    initInstructions,
+                    constantPool
+            );
+            methodGen.setMaxStack();
+            methodGen.setMaxLocals();
+            classGen.addMethod(methodGen.getMethod());
+            return;
+        }
+
+        MethodGen methodGen = new MethodGen(staticInitializer, classGen.getClassName(), constantPool);
+        InstructionList instructionList = methodGen.getInstructionList();
+        instructionList.insert(initInstructions);
+        methodGen.setMaxStack();
+        methodGen.setMaxLocals();
+        methodGen.removeLineNumbers();
+        methodGen.removeLocalVariables();
+        classGen.replaceMethod(staticInitializer, methodGen.getMethod());
+    }
+
+    /**
+     * Bit assignment of an entity's fields. Up to 64 fields are tracked in a {@code long}, more in a
+     * {@code long[]} allocated by the constructors. Bits are set atomically through a static {@code VarHandle}
+     * on the field, or on the elements of the array for wide masks.
+     */
+    private static final class DirtyMask {
+
+        private final String className;
+        private final List<String> fields;
+        private final ConstantPoolGen constantPool;
+        private final boolean wide;
+
+        private DirtyMask(String className, List<String> fields, ConstantPoolGen constantPool) {
+            this.className = className;
+            this.fields = fields;
+            this.constantPool = constantPool;
+            this.wide = fields.size() > 64;
+        }
+
+        private List<String> getFields() {
+            return fields;
+        }
+
+        private int indexOf(String fieldName) {
+            return fields.indexOf(fieldName);
+        }
+
+        private boolean isWide() {
+            return wide;
+        }
+
+        private int getWords() {
+            return wide ? (fields.size() + 63) / 64 : 1;
+        }
+
+        private Type getType() {
+            return wide ? new ArrayType(Type.LONG, 1) : Type.LONG;
+        }
+
+        private GETFIELD getField() {
+            return new GETFIELD(constantPool.addFieldref(className, DIRTY_MASK_FIELD, getType().getSignature()));
+        }
+
+        private PUTFIELD putField() {
+            return new PUTFIELD(constantPool.addFieldref(className, DIRTY_MASK_FIELD, getType().getSignature()));
+        }
+
+        private GETSTATIC getHandle() {
+            return new GETSTATIC(constantPool.addFieldref(className, DIRTY_MASK_HANDLE_FIELD, VAR_HANDLE.getSignature()));
+        }
+
+        /**
+         * Instructions setting the bit of a field: {@code HANDLE.getAndBitwiseOr(this, 1L << index)}, or
+         * {@code HANDLE.getAndBitwiseOr(mask, index >>> 6, 1L << index)} for wide masks.
+         */
+        private InstructionList mark(int index) {
+            InstructionList il = new InstructionList();
+            il.append(getHandle());
+            il.append(new ALOAD(0));
+            if (wide) {
+                il.append(getField());
+                il.append(new PUSH(constantPool, index >>> 6));
+                il.append(new PUSH(constantPool, 1L << (index & 63)));
+                il.append(new INVOKEVIRTUAL(constantPool.addMethodref(VAR_HANDLE.getClassName(), "getAndBitwiseOr", "([JIJ)J")));
+            } else {
+                il.append(new PUSH(constantPool, 1L << index));
+                il.append(new INVOKEVIRTUAL(constantPool.addMethodref(VAR_HANDLE.getClassName(), "getAndBitwiseOr",
+                        "(" + new ObjectType(className).getSignature() + "J)J")));
+            }
+            il.append(InstructionConstants.POP2);
+            return il;
+        }
+
+        /**
+         * Instructions clearing the bit of the field index in local 1:
+         * {@code HANDLE.getAndBitwiseAnd(this, ~(1L << index))}, or
+         * {@code HANDLE.getAndBitwiseAnd(mask, index >>> 6, ~(1L << index))} for wide masks.
+         */
+        private InstructionList clear() {
+            InstructionList il = new InstructionList();
+            il.append(getHandle());
+            il.append(new ALOAD(0));
+            if (wide) {
+                il.append(getField());
+                il.append(new ILOAD(1));
+                il.append(new PUSH(constantPool, 6));
+                il.append(InstructionConstants.IUSHR);
+            }
+            il.append(InstructionConstants.LCONST_1);
+            il.append(new ILOAD(1));
+            il.append(InstructionConstants.LSHL);
+            il.append(new PUSH(constantPool, -1L));
+            il.append(InstructionConstants.LXOR);
+            String target = wide ? "[JI" : new ObjectType(className).getSignature();
+            il.append(new INVOKEVIRTUAL(constantPool.addMethodref(VAR_HANDLE.getClassName(), "getAndBitwiseAnd", "(" + target + "J)J")));
+            il.append(InstructionConstants.POP2);
+            return il;
+        }
+
+        /**
+         * Instructions creating the static {@code VarHandle}: {@code MethodHandles.lookup().findVarHandle(...)}
+         * for the mask field, or {@code MethodHandles.arrayElementVarHandle(long[].class)} for wide masks.
+         */
+        private InstructionList initHandle() {
+            InstructionList il = new InstructionList();
+            if (wide) {
+                il.append(new LDC(constantPool.addArrayClass(new ArrayType(Type.LONG, 1))));
+                il.append(new INVOKESTATIC(constantPool.addMethodref("java.lang.invoke.MethodHandles", "arrayElementVarHandle",
+                        "(Ljava/lang/Class;)Ljava/lang/invoke/VarHandle;")));
+            } else {
+                il.append(new INVOKESTATIC(constantPool.addMethodref("java.lang.invoke.MethodHandles", "lookup",
+                        "()Ljava/lang/invoke/MethodHandles$Lookup;")));
+                il.append(new LDC(constantPool.addClass(className)));
+                il.append(new PUSH(constantPool, DIRTY_MASK_FIELD));
+                il.append(new GETSTATIC(constantPool.addFieldref("java.lang.Long", "TYPE", "Ljava/lang/Class;")));
+                il.append(new INVOKEVIRTUAL(constantPool.addMethodref("java.lang.invoke.MethodHandles$Lookup", "findVarHandle",
+                        "(Ljava/lang/Class;Ljava/lang/String;Ljava/lang/Class;)Ljava/lang/invoke/VarHandle;")));
+            }
+            il.append(new PUTSTATIC(constantPool.addFieldref(className, DIRTY_MASK_HANDLE_FIELD, VAR_HANDLE.getSignature())));
+            return il;
+        }
+
+        /**
+         * Instructions allocating a wide mask: {@code this.mask = new long[words]}.
+         */
+        private InstructionList allocate() {
+            InstructionList il = new InstructionList();
+            il.append(new ALOAD(0));
+            il.append(new PUSH(constantPool, getWords()));
+            il.append(new NEWARRAY(Type.LONG));
+            il.append(putField());
+            return il;
+        }
+    }
+
+    /**
+     * Records the class-level annotations and direct supertypes of a class for the component index.
+     * The runtime ClasspathScanner answers annotation and subtype queries from this data instead of
+     * scanning the classpath with Reflections.
+     */
+    private void indexClass(JavaClass javaClass, File classFile) {
+        String className = javaClass.getClassName();
+        if (className.endsWith("package-info") || className.endsWith("module-info") || className.endsWith(ROW_MAPPER_SUFFIX) || className.endsWith(BINDER_SUFFIX)
+                || className.endsWith(INJECTOR_SUFFIX)) {
+            return;
+        }
+
+        List<String> superTypes = new ArrayList<>();
+        String superClassName = javaClass.getSuperclassName();
+        if (superClassName != null && !superClassName.equals("java.lang.Object")) {
+            superTypes.add(superClassName);
+        }
+        superTypes.addAll(Arrays.asList(javaClass.getInterfaceNames()));
+        indexedSuperTypes.put(className, superTypes);
+        indexedFiles.put(className, classFile);
+
+        List<String> annotations = new ArrayList<>();
+        for (AnnotationEntry annotation : javaClass.getAnnotationEntries()) {
+            String annotationName = Type.getType(annotation.getAnnotationType()).getClassName();
+            if (annotationName.startsWith("java.lang.annotation.")) {
+                // JDK meta-annotations (@Retention, @Target, ...) are never queried
+                continue;
+            }
+            annotations.add(annotationName);
+        }
+        indexedAnnotations.put(className, annotations);
+    }
+
+    /**
+     * Writes META-INF/vinject/component-index.properties into the processed classes directory.
+     * Every class has its own {@code class.<name>=<annotations>|<supertypes>|<crc32>} entry, so the index files
+     * of several modules can be appended into one when they are shaded into the same jar. The CRC32 of the
+     * transformed class file makes the index change whenever a class changes, e.g. an annotation value or an
+     * injected field, which is what the container snapshot key relies on.
+     * Entries are sorted so the output is reproducible between builds.
+     */
+    private void generateComponentIndex(File targetDirectory) throws MojoExecutionException {
+        if (indexedSuperTypes.isEmpty()) {
+            return;
+        }
+
+        File metaInfDir = new File(targetDirectory, "META-INF/vinject");
+        if (!metaInfDir.exists()) {
+            metaInfDir.mkdirs();
+        }
+
+        File indexFile = new File(metaInfDir, "component-index.properties");
+        getLog().info("Writing component index (" + indexedSuperTypes.size() + " classes) to: " + indexFile.getAbsolutePath());
+
+        StringBuilder builder = new StringBuilder();
+        builder.append("# Generated by VInject-Transformer, do not edit\n");
+        for (Map.Entry<String, List<String>> entry : indexedSuperTypes.entrySet()) {
+            builder.append("class.").append(entry.getKey()).append('=')
+                    .append(String.join(",", indexedAnnotations.get(entry.getKey()))).append('|')
+                    .append(String.join(",", entry.getValue())).append('|')
+                    .append(checksum(indexedFiles.get(entry.getKey()))).append('\n');
+        }
+        for (Map.Entry<String, String> entry : indexedInjectors.entrySet()) {
+            builder.append("injector.").append(entry.getKey()).append('=').append(entry.getValue()).append('\n');
+        }
+
+        try (FileOutputStream fos = new FileOutputStream(indexFile)) {
+            fos.write(builder.toString().getBytes(java.nio.charset.StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new MojoExecutionException("Failed to write component index", e);
+        }
+    }
+
+    private static String checksum(File classFile) throws MojoExecutionException {
+        CRC32 crc = new CRC32();
+        try {
+            crc.update(Files.readAllBytes(classFile.toPath()));
+        } catch (IOException e) {
+            throw new MojoExecutionException("Failed to read class file for the component index: " + classFile, e);
+        }
+        return Long.toHexString(crc.getValue());
+    }
+
     private void generateCustomRegistryMetadata() throws MojoExecutionException {
         if (customRegistryAnnotations.isEmpty()) {
             return;